@@ -32,6 +32,14 @@ public interface Agent {
 
   AgentExecution getAgentExecution(ProviderRegistry providerRegistry);
 
+  /**
+   * @return an AgentExecution that may report the phases of its executions to executionInstrumentation
+   */
+  default AgentExecution getAgentExecution(ProviderRegistry providerRegistry,
+                                           ExecutionInstrumentation executionInstrumentation) {
+    return getAgentExecution(providerRegistry);
+  }
+
   default public boolean handlesAccount(String accountName) {
     if (this instanceof AccountAware) {
       return accountName.equals(((AccountAware)this).getAccountName());
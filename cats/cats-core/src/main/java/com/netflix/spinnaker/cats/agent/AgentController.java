@@ -34,7 +34,7 @@ public class AgentController {
             }
 
             for (Agent agent : provider.getAgents()) {
-                agentScheduler.schedule(agent, agent.getAgentExecution(providerRegistry), executionInstrumentation);
+                agentScheduler.schedule(agent, agent.getAgentExecution(providerRegistry, executionInstrumentation), executionInstrumentation);
             }
         }
     }
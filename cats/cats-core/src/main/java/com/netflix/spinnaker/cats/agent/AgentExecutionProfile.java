@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.agent;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The time spent in each phase of a caching agent execution, and the size of the result it stored.
+ */
+public class AgentExecutionProfile {
+  public enum Phase {
+    /**
+     * CachingAgent.loadData, calling the cloud provider and building the CacheResult.
+     */
+    LOAD,
+
+    /**
+     * Preparing the CacheResult for the provider cache (authoritative types and stale identifiers).
+     */
+    TRANSFORM,
+
+    /**
+     * ProviderCache.putCacheResult.
+     */
+    STORE;
+
+    public String toString() {
+      return name().toLowerCase();
+    }
+  }
+
+  private final Map<Phase, Long> phaseDurationsMs = new EnumMap<>(Phase.class);
+  private long itemCount;
+  private long evictionCount;
+  private long estimatedBytes;
+  private long resultFingerprint;
+
+  public void phaseCompleted(Phase phase, long elapsedMs) {
+    phaseDurationsMs.put(phase, elapsedMs);
+  }
+
+  /**
+   * @return the duration of every completed phase (the load phase is missing when the result was loaded elsewhere)
+   */
+  public Map<Phase, Long> getPhaseDurationsMs() {
+    return Collections.unmodifiableMap(phaseDurationsMs);
+  }
+
+  public long getTotalMs() {
+    return phaseDurationsMs.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  public long getItemCount() {
+    return itemCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * @return the approximate size of the stored items once serialized to JSON
+   */
+  public long getEstimatedBytes() {
+    return estimatedBytes;
+  }
+
+  /**
+   * @return a hash of the stored items, independent of their order, to tell whether consecutive executions produced the
+   * same result (attributes recording when an item was cached are not part of it, and items whose attributes do not
+   * implement a stable hashCode yield a different fingerprint on every execution)
+   */
+  public long getResultFingerprint() {
+    return resultFingerprint;
+  }
+
+  void resultStored(long itemCount, long evictionCount, long estimatedBytes, long resultFingerprint) {
+    this.itemCount = itemCount;
+    this.evictionCount = evictionCount;
+    this.estimatedBytes = estimatedBytes;
+    this.resultFingerprint = resultFingerprint;
+  }
+}
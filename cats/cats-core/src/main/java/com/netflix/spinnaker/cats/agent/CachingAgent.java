@@ -23,11 +23,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -60,12 +64,32 @@ public interface CachingAgent extends Agent {
     return new CacheExecution(providerRegistry);
   }
 
+  @Override
+  default AgentExecution getAgentExecution(ProviderRegistry providerRegistry,
+                                           ExecutionInstrumentation executionInstrumentation) {
+    return new CacheExecution(providerRegistry, executionInstrumentation);
+  }
+
   class CacheExecution implements AgentExecution {
+    /**
+     * Attributes recording when an item was cached or processed, rather than anything about the item itself.
+     */
+    private static final Set<String> VOLATILE_ATTRIBUTES = new HashSet<>(Arrays.asList("cacheTime", "processedTime", "processedCount"));
+
     private final Logger log = LoggerFactory.getLogger(CacheExecution.class);
     private final ProviderRegistry providerRegistry;
+    private final ExecutionInstrumentation executionInstrumentation;
 
     public CacheExecution(ProviderRegistry providerRegistry) {
+      this(providerRegistry, null);
+    }
+
+    /**
+     * @param executionInstrumentation notified of the phases of every execution (executions are not profiled when null)
+     */
+    public CacheExecution(ProviderRegistry providerRegistry, ExecutionInstrumentation executionInstrumentation) {
       this.providerRegistry = providerRegistry;
+      this.executionInstrumentation = executionInstrumentation;
     }
 
     public void executeAgent(Agent agent) {
@@ -76,10 +100,26 @@ public interface CachingAgent extends Agent {
       CachingAgent cachingAgent = (CachingAgent) agent;
       ProviderCache cache = providerRegistry.getProviderCache(cachingAgent.getProviderName());
 
-      return cachingAgent.loadData(cache);
+      if (executionInstrumentation == null) {
+        return cachingAgent.loadData(cache);
+      }
+
+      long startTime = System.nanoTime();
+      CacheResult result = cachingAgent.loadData(cache);
+      return result == null ? null : new ProfiledCacheResult(result, elapsedMs(startTime));
     }
 
     public void storeAgentResult(Agent agent, CacheResult result) {
+      AgentExecutionProfile profile = null;
+      if (executionInstrumentation != null) {
+        profile = new AgentExecutionProfile();
+        if (result instanceof ProfiledCacheResult) {
+          profile.phaseCompleted(AgentExecutionProfile.Phase.LOAD, ((ProfiledCacheResult) result).loadMs);
+          result = ((ProfiledCacheResult) result).result;
+        }
+      }
+      long startTime = System.nanoTime();
+
       CachingAgent cachingAgent = (CachingAgent) agent;
       ProviderCache cache = providerRegistry.getProviderCache(cachingAgent.getProviderName());
       Collection<AgentDataType> providedTypes = cachingAgent.getProvidedDataTypes();
@@ -121,7 +161,143 @@ public interface CachingAgent extends Agent {
         }
       }
 
+      if (profile == null) {
+        cache.putCacheResult(agent.getAgentType(), authoritative, result);
+        return;
+      }
+
+      profile.phaseCompleted(AgentExecutionProfile.Phase.TRANSFORM, elapsedMs(startTime));
+      startTime = System.nanoTime();
       cache.putCacheResult(agent.getAgentType(), authoritative, result);
+      profile.phaseCompleted(AgentExecutionProfile.Phase.STORE, elapsedMs(startTime));
+
+      long itemCount = 0;
+      long estimatedBytes = 0;
+      long resultFingerprint = 0;
+      for (Map.Entry<String, Collection<CacheData>> entry : result.getCacheResults().entrySet()) {
+        itemCount += entry.getValue().size();
+        for (CacheData item : entry.getValue()) {
+          estimatedBytes += estimateSize(item.getId()) + estimateSize(item.getAttributes()) + estimateSize(item.getRelationships());
+          resultFingerprint += mix(Objects.hash(entry.getKey(), item.getId(), fingerprint(item.getAttributes()), fingerprint(item.getRelationships())));
+        }
+      }
+      long evictionCount = result.getEvictions().values().stream().mapToLong(Collection::size).sum();
+      profile.resultStored(itemCount, evictionCount, estimatedBytes, resultFingerprint);
+
+      executionInstrumentation.executionProfiled(agent, profile);
+    }
+
+    private static long elapsedMs(long startTime) {
+      return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Hashes a value the same way on every execution and node: maps and collections are hashed independently of their
+     * order, and attributes only recording when an item was cached are left out. Values of other types are hashed by
+     * their hashCode, those without a stable one make every result look different (and their agents keep their interval).
+     */
+    private static long fingerprint(Object value) {
+      if (value == null) {
+        return 0;
+      }
+      if (value instanceof CharSequence) {
+        return value.toString().hashCode();
+      }
+      if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+        return Long.hashCode(((Number) value).longValue());
+      }
+      if (value instanceof Number) {
+        return Double.hashCode(((Number) value).doubleValue());
+      }
+      if (value instanceof Enum) {
+        return ((Enum<?>) value).name().hashCode();
+      }
+      if (value instanceof Date) {
+        return Long.hashCode(((Date) value).getTime());
+      }
+      if (value instanceof Map) {
+        long fingerprint = 1;
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+          String key = String.valueOf(entry.getKey());
+          if (!VOLATILE_ATTRIBUTES.contains(key)) {
+            fingerprint += mix(31L * key.hashCode() + fingerprint(entry.getValue()));
+          }
+        }
+        return fingerprint;
+      }
+      if (value instanceof Collection) {
+        long fingerprint = 2;
+        for (Object element : (Collection<?>) value) {
+          fingerprint += mix(fingerprint(element));
+        }
+        return fingerprint;
+      }
+      return value.hashCode();
+    }
+
+    /**
+     * Scrambles the hash of an element before it is summed with the others, so that moving a value from one element to
+     * another changes the sum.
+     */
+    private static long mix(long hash) {
+      hash ^= hash >>> 33;
+      hash *= 0xff51afd7ed558ccdL;
+      hash ^= hash >>> 33;
+      hash *= 0xc4ceb9fe1a85ec53L;
+      hash ^= hash >>> 33;
+      return hash;
+    }
+
+    /**
+     * Approximates the size of value once serialized to JSON, without serializing it.
+     */
+    private static long estimateSize(Object value) {
+      if (value == null) {
+        return 4;
+      }
+      if (value instanceof CharSequence) {
+        return ((CharSequence) value).length() + 2;
+      }
+      if (value instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        long size = 2 + Math.max(0, 2 * map.size() - 1);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          size += estimateSize(String.valueOf(entry.getKey())) + estimateSize(entry.getValue());
+        }
+        return size;
+      }
+      if (value instanceof Collection) {
+        Collection<?> collection = (Collection<?>) value;
+        long size = 2 + Math.max(0, collection.size() - 1);
+        for (Object element : collection) {
+          size += estimateSize(element);
+        }
+        return size;
+      }
+      return String.valueOf(value).length();
+    }
+
+    /**
+     * A CacheResult carrying the duration of the load that produced it until it is stored.
+     */
+    private static class ProfiledCacheResult implements CacheResult {
+      private final CacheResult result;
+      private final long loadMs;
+
+      ProfiledCacheResult(CacheResult result, long loadMs) {
+        this.result = result;
+        this.loadMs = loadMs;
+      }
+
+      @Override
+      public Map<String, Collection<CacheData>> getCacheResults() {
+        return result.getCacheResults();
+      }
+
+      @Override
+      public Map<String, Collection<String>> getEvictions() {
+        return result.getEvictions();
+      }
     }
   }
 }
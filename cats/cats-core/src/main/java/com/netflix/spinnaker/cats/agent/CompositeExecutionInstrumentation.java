@@ -45,4 +45,11 @@ public class CompositeExecutionInstrumentation implements ExecutionInstrumentati
             exec.executionFailed(agent, cause);
         }
     }
+
+    @Override
+    public void executionProfiled(Agent agent, AgentExecutionProfile profile) {
+        for (ExecutionInstrumentation exec : instrumentations) {
+            exec.executionProfiled(agent, profile);
+        }
+    }
 }
@@ -22,4 +22,11 @@ public interface ExecutionInstrumentation {
     void executionCompleted(Agent agent, long elapsedMs);
 
     void executionFailed(Agent agent, Throwable cause);
+
+    /**
+     * Reports the phases of a caching agent execution once its result has been stored.
+     */
+    default void executionProfiled(Agent agent, AgentExecutionProfile profile) {
+        //noop
+    }
 }
@@ -149,6 +149,10 @@ public class DefaultProviderCache implements ProviderCache {
         for (Map.Entry<String, Collection<String>> eviction : evictions.entrySet()) {
           evictDeletedItems(eviction.getKey(), eviction.getValue());
         }
+
+        Map<String, Object> freshness = new HashMap<>(1);
+        freshness.put(LAST_SUCCESSFUL_WRITE, System.currentTimeMillis());
+        backingStore.merge(AGENT_FRESHNESS_TYPE, new DefaultCacheData(sourceAgentType, freshness, Collections.emptyMap()));
     }
 
     @Override
@@ -23,6 +23,16 @@ import com.netflix.spinnaker.cats.cache.CacheData;
 import java.util.Collection;
 
 public interface ProviderCache extends Cache {
+    /**
+     * The type of the items recording when each source last stored a cache result, identified by source agent type.
+     */
+    String AGENT_FRESHNESS_TYPE = "agentFreshness";
+
+    /**
+     * The attribute of an AGENT_FRESHNESS_TYPE item holding the time (epoch millis) its source last stored a cache result.
+     */
+    String LAST_SUCCESSFUL_WRITE = "lastSuccessfulWrite";
+
     void putCacheResult(String source, Collection<String> authoritativeTypes, CacheResult cacheResult);
     void putCacheData(String type, CacheData cacheData);
 
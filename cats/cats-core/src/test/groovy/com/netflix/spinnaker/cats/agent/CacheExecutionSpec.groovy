@@ -82,4 +82,95 @@ class CacheExecutionSpec extends Specification {
 
     result.evictions.isEmpty()
   }
+
+  void "should report the phases and size of a profiled execution"() {
+    given:
+    def instrumentation = Mock(ExecutionInstrumentation)
+    def cacheExecution = new CachingAgent.CacheExecution(providerRegistry, instrumentation)
+    def result = new DefaultCacheResult([
+      "securityGroups": [new DefaultCacheData("sg", [name: "foo"], [:])]
+    ], [
+      "securityGroups": ["stale"]
+    ])
+    AgentExecutionProfile profile = null
+
+    when:
+    cacheExecution.executeAgent(cachingAgent)
+
+    then:
+    _ * providerRegistry.getProviderCache(_) >> providerCache
+    1 * cachingAgent.loadData(providerCache) >> result
+    1 * cachingAgent.getProvidedDataTypes() >> [AUTHORITATIVE.forType("securityGroups")]
+    1 * cachingAgent.getCacheKeyPatterns() >> Optional.empty()
+    1 * providerCache.putCacheResult(_, ["securityGroups"] as Set, result)
+    1 * instrumentation.executionProfiled(cachingAgent, _) >> { agent, AgentExecutionProfile p -> profile = p }
+
+    profile.phaseDurationsMs.keySet() == [AgentExecutionProfile.Phase.LOAD, AgentExecutionProfile.Phase.TRANSFORM, AgentExecutionProfile.Phase.STORE] as Set
+    profile.itemCount == 1
+    profile.evictionCount == 1
+    // "sg", {"name":"foo"} and {}
+    profile.estimatedBytes == 4 + 14 + 2
+  }
+
+  void "should fingerprint a result independently of the order of its items and of when they were cached"() {
+    given:
+    def instrumentation = Mock(ExecutionInstrumentation)
+    def cacheExecution = new CachingAgent.CacheExecution(providerRegistry, instrumentation)
+    List<Long> fingerprints = []
+
+    when:
+    [
+      [a: [instances: ["i-1", "i-2"], attributes: [name: "a", ports: [80, 443], cacheTime: 1]], b: [instances: [], attributes: [name: "b"]]],
+      [b: [instances: [], attributes: [name: "b", processedTime: 2]], a: [instances: ["i-2", "i-1"], attributes: [ports: [443, 80], name: "a", cacheTime: 2]]],
+      [a: [instances: ["i-1"], attributes: [name: "a", ports: [80, 443]]], b: [instances: ["i-2"], attributes: [name: "b"]]],
+      [a: [instances: ["i-1", "i-2"], attributes: [name: "a", ports: [80, 443]]], c: [instances: [], attributes: [name: "b"]]],
+      [a: [instances: ["i-1", "i-2"], attributes: [name: "a", ports: [80]]], b: [instances: [], attributes: [name: "b"]]],
+      [a: [instances: ["i-1", "i-2"], attributes: [name: "a", ports: [80, 443]]]]
+    ].each { Map<String, Map> items ->
+      cacheExecution.storeAgentResult(cachingAgent, new DefaultCacheResult([
+        "securityGroups": items.collect { id, item ->
+          new DefaultCacheData(id, item.attributes as Map<String, Object>, [instances: item.instances])
+        }
+      ]))
+    }
+
+    then:
+    _ * providerRegistry.getProviderCache(_) >> providerCache
+    _ * cachingAgent.getProvidedDataTypes() >> [AUTHORITATIVE.forType("securityGroups")]
+    _ * cachingAgent.getCacheKeyPatterns() >> Optional.empty()
+    6 * instrumentation.executionProfiled(cachingAgent, _) >> { agent, AgentExecutionProfile p -> fingerprints << p.resultFingerprint }
+
+    // reordered items, relationships and attributes, and different cache times
+    fingerprints[0] == fingerprints[1]
+    // a changed relationship
+    fingerprints[0] != fingerprints[2]
+    // a changed key
+    fingerprints[0] != fingerprints[3]
+    // a changed attribute
+    fingerprints[0] != fingerprints[4]
+    // a removed item
+    fingerprints[0] != fingerprints[5]
+  }
+
+  void "should fingerprint attributes without a stable hash code differently on every execution"() {
+    given:
+    def instrumentation = Mock(ExecutionInstrumentation)
+    def cacheExecution = new CachingAgent.CacheExecution(providerRegistry, instrumentation)
+    List<Long> fingerprints = []
+
+    when:
+    2.times {
+      cacheExecution.storeAgentResult(cachingAgent, new DefaultCacheResult([
+        "securityGroups": [new DefaultCacheData("a", [name: "a", owner: new Object()], [:])]
+      ]))
+    }
+
+    then:
+    _ * providerRegistry.getProviderCache(_) >> providerCache
+    _ * cachingAgent.getProvidedDataTypes() >> [AUTHORITATIVE.forType("securityGroups")]
+    _ * cachingAgent.getCacheKeyPatterns() >> Optional.empty()
+    2 * instrumentation.executionProfiled(cachingAgent, _) >> { agent, AgentExecutionProfile p -> fingerprints << p.resultFingerprint }
+
+    fingerprints[0] != fingerprints[1]
+  }
 }
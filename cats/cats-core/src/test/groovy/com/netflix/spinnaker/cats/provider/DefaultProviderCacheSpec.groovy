@@ -123,6 +123,20 @@ class DefaultProviderCacheSpec extends CacheSpec {
         sg == null
     }
 
+    def "records when each agent last stored a cache result"() {
+        setup:
+        String agent = 'AwsProvider:test/us-east-1/ClusterCachingAgent'
+        long before = System.currentTimeMillis()
+
+        when:
+        defaultProviderCache.putCacheResult(agent, ['serverGroup'], buildCacheResult('test', 'us-east-1'))
+        def freshness = defaultProviderCache.get(ProviderCache.AGENT_FRESHNESS_TYPE, agent)
+
+        then:
+        freshness.attributes[ProviderCache.LAST_SUCCESSFUL_WRITE] >= before
+        freshness.attributes[ProviderCache.LAST_SUCCESSFUL_WRITE] <= System.currentTimeMillis()
+    }
+
     private CacheResult buildCacheResult(String account, String region, String sgVersion = 'v001') {
         String serverGroup = "$account/$region/testapp-test-$sgVersion"
         String cluster = "$account/testapp-test"
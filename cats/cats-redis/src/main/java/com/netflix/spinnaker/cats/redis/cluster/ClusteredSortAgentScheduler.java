@@ -30,9 +30,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -84,6 +87,7 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
   private static final String SWAP_SET_SCRIPT = "swapSetScript";
   private static final String REMOVE_AGENT_SCRIPT = "removeAgentScript";
   private static final String CONDITIONAL_SWAP_SET_SCRIPT = "conditionalSwapSetScript";
+  private static final String ACQUIRE_AGENTS_SCRIPT = "acquireAgentsScript";
 
   private ConcurrentHashMap<String, String> scriptShas;
 
@@ -112,67 +116,99 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
 
   private void storeScripts() {
     try (Jedis jedis = jedisPool.getResource()) {
-      // When we switch an agent from one set to another, we first make sure it exists in the set we are removing it
-      // from, and then we perform the swap. If this check fails, the thread performing the swap does not get ownership
-      // of the agent.
-      // Swap happens from KEYS[1] -> KEYS[2] with the agent type being ARGV[1], and the score being ARGV[2].
-      scriptShas.put(SWAP_SET_SCRIPT, jedis.scriptLoad(
-          "local score = redis.call('zscore', KEYS[1], ARGV[1])\n" +
-          "if score ~= nil then\n" +
-          "  redis.call('zrem', KEYS[1], ARGV[1])\n" +
-          "  redis.call('zadd', KEYS[2], ARGV[2], ARGV[1])\n" +
-          "  return score\n" +
-          "else return nil end\n"
-      ));
-
-      scriptShas.put(CONDITIONAL_SWAP_SET_SCRIPT, jedis.scriptLoad(
-          "local score = redis.call('zscore', KEYS[1], ARGV[1])\n" +
-          "if score == ARGV[3] then\n" +
-          "  redis.call('zrem', KEYS[1], ARGV[1])\n" +
-          "  redis.call('zadd', KEYS[2], ARGV[2], ARGV[1])\n" +
-          "  return score\n" +
-          "else return nil end\n"
-      ));
-
-      scriptShas.put(VALID_SCORE_SCRIPT, jedis.scriptLoad(
-          "local score = redis.call('zscore', KEYS[1], ARGV[1])\n" +
-          "if score == ARGV[2] then\n" +
-          "  return score\n" +
-          "else return nil end\n"
-      ));
-
-      // If the agent isn't present in either the WAITING or WORKING sets, it's safe to add. If it's present in either,
-      // it's being worked on or was recently run, so leave it be.
-      // KEYS[1] and KEYS[2] are checked for inclusion. If the agent is in neither ARGV[1] is added to KEYS[1] with score
-      // ARGV[2].
-      scriptShas.put(ADD_AGENT_SCRIPT, jedis.scriptLoad(
-          "if redis.call('zrank', KEYS[1], ARGV[1]) ~= nil then\n" +
-          "  if redis.call('zrank', KEYS[2], ARGV[1]) ~= nil then\n" +
-          "    return redis.call('zadd', KEYS[1], ARGV[2], ARGV[1])\n" +
-          "  else return nil end\n" +
-          "else return nil end\n"));
-
-      scriptShas.put(REMOVE_AGENT_SCRIPT, jedis.scriptLoad(
-          "redis.call('zrem', KEYS[1], ARGV[1])\n" +
-          "redis.call('zrem', KEYS[2], ARGV[1])\n"));
+      storeScripts(jedis);
+    }
+  }
+
+  private void storeScripts(Jedis jedis) {
+    // When we switch an agent from one set to another, we first make sure it exists in the set we are removing it
+    // from, and then we perform the swap. If this check fails, the thread performing the swap does not get ownership
+    // of the agent.
+    // Swap happens from KEYS[1] -> KEYS[2] with the agent type being ARGV[1], and the score being ARGV[2].
+    scriptShas.put(SWAP_SET_SCRIPT, jedis.scriptLoad(
+        "local score = redis.call('zscore', KEYS[1], ARGV[1])\n" +
+        "if score ~= nil then\n" +
+        "  redis.call('zrem', KEYS[1], ARGV[1])\n" +
+        "  redis.call('zadd', KEYS[2], ARGV[2], ARGV[1])\n" +
+        "  return score\n" +
+        "else return nil end\n"
+    ));
+
+    scriptShas.put(CONDITIONAL_SWAP_SET_SCRIPT, jedis.scriptLoad(
+        "local score = redis.call('zscore', KEYS[1], ARGV[1])\n" +
+        "if score == ARGV[3] then\n" +
+        "  redis.call('zrem', KEYS[1], ARGV[1])\n" +
+        "  redis.call('zadd', KEYS[2], ARGV[2], ARGV[1])\n" +
+        "  return score\n" +
+        "else return nil end\n"
+    ));
+
+    scriptShas.put(VALID_SCORE_SCRIPT, jedis.scriptLoad(
+        "local score = redis.call('zscore', KEYS[1], ARGV[1])\n" +
+        "if score == ARGV[2] then\n" +
+        "  return score\n" +
+        "else return nil end\n"
+    ));
+
+    // If the agent isn't present in either the WAITING or WORKING sets, it's safe to add. If it's present in either,
+    // it's being worked on or was recently run, so leave it be.
+    // KEYS[1] and KEYS[2] are checked for inclusion. If the agent is in neither ARGV[1] is added to KEYS[1] with score
+    // ARGV[2].
+    scriptShas.put(ADD_AGENT_SCRIPT, jedis.scriptLoad(
+        "if redis.call('zrank', KEYS[1], ARGV[1]) ~= nil then\n" +
+        "  if redis.call('zrank', KEYS[2], ARGV[1]) ~= nil then\n" +
+        "    return redis.call('zadd', KEYS[1], ARGV[2], ARGV[1])\n" +
+        "  else return nil end\n" +
+        "else return nil end\n"));
+
+    scriptShas.put(REMOVE_AGENT_SCRIPT, jedis.scriptLoad(
+        "redis.call('zrem', KEYS[1], ARGV[1])\n" +
+        "redis.call('zrem', KEYS[2], ARGV[1])\n"));
+
+    // Acquires every agent that is still waiting and ready to run at time ARGV[1], moving it from KEYS[1] to KEYS[2].
+    // The agents are given as (agent type, acquire score) pairs starting at ARGV[2], and the acquired agent types are
+    // returned.
+    scriptShas.put(ACQUIRE_AGENTS_SCRIPT, jedis.scriptLoad(
+        "local acquired = {}\n" +
+        "for i = 2, #ARGV, 2 do\n" +
+        "  local score = redis.call('zscore', KEYS[1], ARGV[i])\n" +
+        "  if score and tonumber(score) <= tonumber(ARGV[1]) then\n" +
+        "    redis.call('zrem', KEYS[1], ARGV[i])\n" +
+        "    redis.call('zadd', KEYS[2], ARGV[i + 1], ARGV[i])\n" +
+        "    acquired[#acquired + 1] = ARGV[i]\n" +
+        "  end\n" +
+        "end\n" +
+        "return acquired\n"));
+  }
+
+  /**
+   * Evaluates a preloaded script, reloading the scripts once if Redis has lost them (e.g. after a restart or a
+   * SCRIPT FLUSH).
+   */
+  private Object evalScript(Jedis jedis, String scriptName, List<String> keys, List<String> args) {
+    try {
+      return jedis.evalsha(getScriptSha(scriptName, jedis), keys, args);
+    } catch (JedisDataException e) {
+      if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) {
+        throw e;
+      }
+      log.info("Reloading scheduler scripts ({})", e.getMessage());
+      storeScripts(jedis);
+      return jedis.evalsha(getScriptSha(scriptName, jedis), keys, args);
     }
   }
 
   private String getScriptSha(String scriptName, Jedis jedis) {
     String scriptSha = scriptShas.get(scriptName);
     if (scriptSha == null) {
-      storeScripts();
+      storeScripts(jedis);
       scriptSha = scriptShas.get(scriptName);
       if (scriptSha == null) {
         throw new RuntimeException("Failed to load caching scripts.");
       }
     }
 
-    if (!jedis.scriptExists(scriptSha)) {
-      storeScripts();
-    }
-
-    return scriptShas.get(scriptName);
+    return scriptSha;
   }
 
   @Override
@@ -187,7 +223,9 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
 
     agents.put(agent.getAgentType(), new AgentWorker(agent, (CachingAgent.CacheExecution)agentExecution, executionInstrumentation, this));
     try (Jedis jedis = jedisPool.getResource()) {
-      jedis.evalsha(getScriptSha(ADD_AGENT_SCRIPT, jedis), 2, WAITING_SET, WORKING_SET, agent.getAgentType(), score(jedis, NOW));
+      evalScript(jedis, ADD_AGENT_SCRIPT,
+          Arrays.asList(WAITING_SET, WORKING_SET),
+          Arrays.asList(agent.getAgentType(), score(redisTime(jedis), NOW)));
     }
   }
 
@@ -209,16 +247,18 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
   @Override
   public boolean lockValid(ClusteredSortAgentLock lock) {
     try (Jedis jedis = jedisPool.getResource()) {
-      return jedis.evalsha(getScriptSha(VALID_SCORE_SCRIPT, jedis), 1, WORKING_SET,
-                           lock.getAgent().getAgentType(),
-                           lock.getAcquireScore()) != null;
+      return evalScript(jedis, VALID_SCORE_SCRIPT,
+          Collections.singletonList(WORKING_SET),
+          Arrays.asList(lock.getAgent().getAgentType(), lock.getAcquireScore())) != null;
     }
   }
 
   public void unschedule(Agent agent) {
     agents.remove(agent.getAgentType());
     try (Jedis jedis = jedisPool.getResource()) {
-      jedis.evalsha(getScriptSha(REMOVE_AGENT_SCRIPT, jedis), 2, WAITING_SET, WORKING_SET, agent.getAgentType());
+      evalScript(jedis, REMOVE_AGENT_SCRIPT,
+          Arrays.asList(WAITING_SET, WORKING_SET),
+          Collections.singletonList(agent.getAgentType()));
     }
   }
 
@@ -241,13 +281,16 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
     }
   }
 
-  private static String score(Jedis jedis, long offset) {
+  private static long redisTime(Jedis jedis) {
     List<String> times = jedis.time();
     if (times == null || times.size() != 2) {
       throw new IllegalStateException("Error retrieving time from Redis");
     }
-    int time = Integer.parseInt(jedis.time().get(0));
-    return String.format("%d", time + offset);
+    return Long.parseLong(times.get(0));
+  }
+
+  private static String score(long now, long offset) {
+    return String.format("%d", now + offset);
   }
 
   private String agentScore(Agent agent) {
@@ -268,8 +311,8 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
 
   private ScoreTuple acquireAgent(Agent agent) {
     try (Jedis jedis = jedisPool.getResource()) {
-      String acquireScore = score(jedis, intervalProvider.getInterval(agent).getTimeout());
-      Object releaseScore = jedis.evalsha(getScriptSha(SWAP_SET_SCRIPT, jedis),
+      String acquireScore = score(redisTime(jedis), intervalProvider.getInterval(agent).getTimeout());
+      Object releaseScore = evalScript(jedis, SWAP_SET_SCRIPT,
           Arrays.asList(WAITING_SET, WORKING_SET),
           Arrays.asList(agent.getAgentType(), acquireScore));
 
@@ -282,8 +325,8 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
       long newInterval = status == Status.SUCCESS 
         ? intervalProvider.getInterval(agent).getInterval() 
         : intervalProvider.getInterval(agent).getErrorInterval();
-      String newAcquireScore = score(jedis, newInterval);
-      Object releaseScore = jedis.evalsha(getScriptSha(CONDITIONAL_SWAP_SET_SCRIPT, jedis),
+      String newAcquireScore = score(redisTime(jedis), newInterval);
+      Object releaseScore = evalScript(jedis, CONDITIONAL_SWAP_SET_SCRIPT,
           Arrays.asList(WORKING_SET, WAITING_SET),
           Arrays.asList(agent.getAgentType(), newAcquireScore,
               acquireScore));
@@ -294,68 +337,94 @@ public class ClusteredSortAgentScheduler extends CatsModuleAware implements Agen
 
   private ScoreTuple conditionalReleaseAgent(Agent agent, String acquireScore, String newAcquireScore) {
     try (Jedis jedis = jedisPool.getResource()) {
-      Object releaseScore = jedis.evalsha(getScriptSha(CONDITIONAL_SWAP_SET_SCRIPT, jedis),
+      Object releaseScore = evalScript(jedis, CONDITIONAL_SWAP_SET_SCRIPT,
           Arrays.asList(WORKING_SET, WAITING_SET),
           Arrays.asList(agent.getAgentType(), newAcquireScore,
-              acquireScore)).toString();
+              acquireScore));
 
       return releaseScore != null ? new ScoreTuple(newAcquireScore, releaseScore.toString()) : null;
     }
   }
 
-  private ScoreTuple releaseAgent(Agent agent) {
-    try (Jedis jedis = jedisPool.getResource()) {
-      String acquireScore = score(jedis, intervalProvider.getInterval(agent).getInterval());
-      Object releaseScore = jedis.evalsha(getScriptSha(SWAP_SET_SCRIPT, jedis),
-          Arrays.asList(WORKING_SET, WAITING_SET),
-          Arrays.asList(agent.getAgentType(), acquireScore)).toString();
+  private ScoreTuple releaseAgent(Jedis jedis, long now, Agent agent) {
+    String acquireScore = score(now, intervalProvider.getInterval(agent).getInterval());
+    Object releaseScore = evalScript(jedis, SWAP_SET_SCRIPT,
+        Arrays.asList(WORKING_SET, WAITING_SET),
+        Arrays.asList(agent.getAgentType(), acquireScore));
 
-      return releaseScore != null ? new ScoreTuple(acquireScore, releaseScore.toString()) : null;
-    }
+    return releaseScore != null ? new ScoreTuple(acquireScore, releaseScore.toString()) : null;
   }
 
-  private void saturatePool() {
+  void saturatePool() {
     try (Jedis jedis = jedisPool.getResource()) {
+      // Every score in this pass is relative to a single read of the Redis server's clock.
+      long now = redisTime(jedis);
+      String nowScore = score(now, NOW);
+
       // Occasionally repopulate the agents in case redis went down. If they already exist, this is a NOOP
       if (runCount % REDIS_REFRESH_PERIOD == 0) {
         for (String agent : agents.keySet()) {
-          jedis.evalsha(getScriptSha(ADD_AGENT_SCRIPT, jedis), 2, WAITING_SET, WORKING_SET, agent, score(jedis, NOW));
+          evalScript(jedis, ADD_AGENT_SCRIPT, Arrays.asList(WAITING_SET, WORKING_SET), Arrays.asList(agent, nowScore));
         }
       }
 
       // First cull threads in the WORKING set that have been there too long (TIMEOUT time).
-      Set<String> oldKeys = jedis.zrangeByScore(WORKING_SET, "-inf", score(jedis, NOW));
+      Set<String> oldKeys = jedis.zrangeByScore(WORKING_SET, "-inf", nowScore);
       for (String key : oldKeys) {
         // Ignore result, since if this agent was released between now and the above jedis call, our work was done
         // for us.
         AgentWorker worker = agents.get(key);
         if (worker != null) {
-          releaseAgent(worker.agent);
+          releaseAgent(jedis, now, worker.agent);
+        }
+      }
+
+      // Now look for agents that have been in the queue for at least INTERVAL time, taking as many as we have threads
+      // to run.
+      List<AgentWorker> candidates = new ArrayList<>();
+      for (String key : jedis.zrangeByScore(WAITING_SET, "-inf", nowScore)) {
+        AgentWorker worker = agents.get(key);
+        if (worker == null) {
+          continue;
+        }
+        if (!runningAgents.map(Semaphore::tryAcquire).orElse(true)) {
+          break;
         }
+        candidates.add(worker);
       }
 
-      // Now look for agents that have been in the queue for at least INTERVAL time.
-      List<String> keys = new ArrayList<>();
-      keys.addAll(jedis.zrangeByScore(WAITING_SET, "-inf", score(jedis, NOW)));
-      Set<AgentWorker> workers = new HashSet<>();
+      if (candidates.isEmpty()) {
+        return;
+      }
 
-      // Loop until we either run out of threads to use, or agents (which are keys) to run.
-      while (!keys.isEmpty() && runningAgents.map(Semaphore::tryAcquire).orElse(true)) {
-        String agent = keys.remove(0);
+      // Acquire all of the candidates in a single script call. Any that were picked up by another node in the meantime
+      // are not acquired, and give their thread back.
+      Map<String, String> acquireScores = new HashMap<>();
+      List<String> args = new ArrayList<>();
+      args.add(nowScore);
+      for (AgentWorker worker : candidates) {
+        String agentType = worker.agent.getAgentType();
+        String acquireScore = score(now, intervalProvider.getInterval(worker.agent).getTimeout());
+        acquireScores.put(agentType, acquireScore);
+        args.add(agentType);
+        args.add(acquireScore);
+      }
 
-        AgentWorker worker = agents.get(agent);
-        ScoreTuple score;
-        if (worker != null && (score = acquireAgent(worker.agent)) != null) {
+      @SuppressWarnings("unchecked")
+      List<String> acquired = (List<String>) evalScript(jedis, ACQUIRE_AGENTS_SCRIPT, Arrays.asList(WAITING_SET, WORKING_SET), args);
+      Set<String> acquiredAgentTypes = new HashSet<>(acquired);
+
+      for (AgentWorker worker : candidates) {
+        String agentType = worker.agent.getAgentType();
+        if (acquiredAgentTypes.contains(agentType)) {
           // This score is used to determine if the worker thread running the agent is allowed to store its results.
           // If on release of this agent, the scores don't match, this agent was rescheduled by a separate thread.
-          worker.setScore(score.acquireScore);
-          workers.add(worker);
+          worker.setScore(acquireScores.get(agentType));
+          agentWorkPool.submit(worker);
+        } else {
+          runningAgents.ifPresent(Semaphore::release);
         }
       }
-
-      for (AgentWorker worker : workers) {
-        agentWorkPool.submit(worker);
-      }
     }
   }
 
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.cats.redis.cluster
+
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.CacheResult
+import com.netflix.spinnaker.cats.agent.CachingAgent
+import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
+import com.netflix.spinnaker.cats.test.TestAgent
+import com.netflix.spinnaker.kork.jedis.EmbeddedRedis
+import redis.clients.jedis.Jedis
+import redis.clients.jedis.JedisPool
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class ClusteredSortAgentSchedulerSpec extends Specification {
+
+  @Shared
+  @AutoCleanup("destroy")
+  EmbeddedRedis embeddedRedis = EmbeddedRedis.embed()
+
+  JedisPool jedisPool = embeddedRedis.pool as JedisPool
+
+  // the scheduler's own polling loop is disabled, passes are driven by calling saturatePool()
+  def nodeStatusProvider = Stub(NodeStatusProvider) {
+    isNodeEnabled() >> false
+  }
+
+  def executed = new ConcurrentHashMap<String, AtomicInteger>()
+  def execution = new CachingAgent.CacheExecution(null) {
+    @Override
+    CacheResult executeAgentWithoutStore(Agent agent) {
+      executed.computeIfAbsent(agent.agentType, { new AtomicInteger() }).incrementAndGet()
+      return null
+    }
+  }
+
+  def setup() {
+    withJedis { it.flushAll() }
+  }
+
+  def "should acquire every ready agent in a single pass"() {
+    given:
+    def scheduler = new ClusteredSortAgentScheduler(jedisPool, nodeStatusProvider, { new AgentIntervalProvider.Interval(60, 120) }, -1)
+    def agents = (1..5).collect { new TestAgent() }
+    agents.each { scheduler.schedule(it, execution, Mock(ExecutionInstrumentation)) }
+
+    when:
+    scheduler.saturatePool()
+
+    then:
+    eventually { executed.keySet() == agents*.agentType as Set }
+    eventually { withJedis { it.zcard("WAITZ") } == 5L }
+  }
+
+  def "should only acquire as many agents as there are threads available"() {
+    given:
+    def scheduler = new ClusteredSortAgentScheduler(jedisPool, nodeStatusProvider, { new AgentIntervalProvider.Interval(60, 120) }, 2)
+    (1..5).each { scheduler.schedule(new TestAgent(), execution, Mock(ExecutionInstrumentation)) }
+
+    when:
+    scheduler.saturatePool()
+
+    then:
+    eventually { executed.size() == 2 }
+    eventually { withJedis { it.zcard("WAITZ") } == 5L }
+    executed.size() == 2
+  }
+
+  def "should reload scripts that are no longer cached by redis"() {
+    given:
+    def scheduler = new ClusteredSortAgentScheduler(jedisPool, nodeStatusProvider, { new AgentIntervalProvider.Interval(60, 120) }, -1)
+    def agent = new TestAgent()
+    withJedis { it.scriptFlush() }
+
+    when:
+    scheduler.schedule(agent, execution, Mock(ExecutionInstrumentation))
+    scheduler.saturatePool()
+
+    then:
+    eventually { executed.containsKey(agent.agentType) }
+  }
+
+  @IgnoreIf({ !System.getProperty("benchmark") })
+  def "benchmark: agents scheduled per second"() {
+    given:
+    def agentCount = 2000
+    def scheduler = new ClusteredSortAgentScheduler(jedisPool, nodeStatusProvider, { new AgentIntervalProvider.Interval(0, 60) }, -1)
+    (1..agentCount).each { scheduler.schedule(new TestAgent(), execution, Mock(ExecutionInstrumentation)) }
+
+    when:
+    def passes = 50
+    def start = System.nanoTime()
+    passes.times { scheduler.saturatePool() }
+    def elapsedSeconds = (System.nanoTime() - start) / 1e9d
+    def scheduled = executed.values().sum { it.get() } ?: 0
+
+    then:
+    println "Scheduled ${scheduled} agent runs in ${passes} passes over ${String.format('%.2f', elapsedSeconds)}s " +
+      "(${String.format('%.0f', scheduled / elapsedSeconds)} agents/s)"
+    scheduled > 0
+  }
+
+  private <T> T withJedis(Closure<T> closure) {
+    jedisPool.resource.withCloseable { Jedis jedis -> closure.call(jedis) }
+  }
+
+  private static void eventually(Closure<Boolean> condition) {
+    long deadline = System.currentTimeMillis() + 5000
+    while (!condition.call()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Condition not met within 5 seconds")
+      }
+      Thread.sleep(10)
+    }
+  }
+}
@@ -16,66 +16,38 @@
 
 package com.netflix.spinnaker.clouddriver.appengine.health
 
+import com.netflix.spinnaker.clouddriver.appengine.AppengineCloudProvider
 import com.netflix.spinnaker.clouddriver.appengine.security.AppengineNamedAccountCredentials
-import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
 import groovy.transform.InheritConstructors
-import org.slf4j.Logger
-import org.slf4j.LoggerFactory
-import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
 import org.springframework.web.bind.annotation.ResponseStatus
 
-import java.util.concurrent.atomic.AtomicReference
-
 @Component
-class AppengineHealthIndicator implements HealthIndicator {
-  private static final Logger LOG = LoggerFactory.getLogger(AppengineHealthIndicator)
-
-  @Autowired
-  AccountCredentialsProvider accountCredentialsProvider
-
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
-
-  @Override
-  Health health() {
-    def ex = lastException.get()
-
-    if (ex) {
-      throw ex
-    }
+class AppengineHealthIndicator extends AbstractAccountHealthIndicator<AppengineNamedAccountCredentials> {
 
-    new Health.Builder().up().build()
+  AppengineHealthIndicator() {
+    super(AppengineCloudProvider.ID, AppengineNamedAccountCredentials)
   }
 
   @Scheduled(fixedDelay = 300000L)
   void checkHealth() {
-    try {
-      Set<AppengineNamedAccountCredentials> appengineCredentialsSet = accountCredentialsProvider.all.findAll {
-        it instanceof AppengineNamedAccountCredentials
-      } as Set<AppengineNamedAccountCredentials>
-
-      for (AppengineNamedAccountCredentials accountCredentials in appengineCredentialsSet) {
-        try {
-          /*
-            Location is the only App Engine resource guaranteed to exist.
-            The API only accepts '-' here, rather than project name. To paraphrase the provided error,
-            the list of locations is static and not a property of an individual project.
-          */
-          accountCredentials.appengine.apps().locations().list('-').execute()
-        } catch (IOException e) {
-          throw new AppengineIOException(e)
-        }
-      }
-
-      lastException.set(null)
-    } catch (Exception ex) {
-      LOG.warn "Unhealthy", ex
+    probeAccounts()
+  }
 
-      lastException.set(ex)
+  @Override
+  protected void probe(AppengineNamedAccountCredentials accountCredentials) {
+    try {
+      /*
+        Location is the only App Engine resource guaranteed to exist.
+        The API only accepts '-' here, rather than project name. To paraphrase the provided error,
+        the list of locations is static and not a property of an individual project.
+      */
+      accountCredentials.appengine.apps().locations().list('-').execute()
+    } catch (IOException e) {
+      throw new AppengineIOException(e)
     }
   }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.appengine.provider.agent
+
+import com.google.api.client.googleapis.batch.BatchRequest
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback
+import com.google.api.services.appengine.v1.Appengine
+import com.google.api.services.appengine.v1.model.ListInstancesResponse
+import com.google.api.services.appengine.v1.model.ListVersionsResponse
+import groovy.transform.CompileStatic
+
+/**
+ * A list request of the App Engine Admin API whose responses are paginated, queued on batch requests one page at a
+ * time.
+ */
+@CompileStatic
+abstract class AppenginePaginatedRequest<T> {
+  /**
+   * Names what is listed, in error messages.
+   */
+  final String resource
+
+  protected AppenginePaginatedRequest(String resource) {
+    this.resource = resource
+  }
+
+  /**
+   * Queues the request of a page, the first page when pageToken is null.
+   */
+  abstract void queue(BatchRequest batch, JsonBatchCallback<T> callback, String pageToken)
+
+  /**
+   * @return the token of the page following response, null when response is the last page
+   */
+  abstract String getNextPageToken(T response)
+
+  static AppenginePaginatedRequest<ListVersionsResponse> versions(String loadBalancerName,
+                                                                  Appengine.Apps.Services.Versions.List request) {
+    return new AppenginePaginatedRequest<ListVersionsResponse>(loadBalancerName) {
+      @Override
+      void queue(BatchRequest batch, JsonBatchCallback<ListVersionsResponse> callback, String pageToken) {
+        request.setPageToken(pageToken).queue(batch, callback)
+      }
+
+      @Override
+      String getNextPageToken(ListVersionsResponse response) {
+        return response.getNextPageToken()
+      }
+    }
+  }
+
+  static AppenginePaginatedRequest<ListInstancesResponse> instances(String serverGroupName,
+                                                                    Appengine.Apps.Services.Versions.Instances.List request) {
+    return new AppenginePaginatedRequest<ListInstancesResponse>(serverGroupName) {
+      @Override
+      void queue(BatchRequest batch, JsonBatchCallback<ListInstancesResponse> callback, String pageToken) {
+        request.setPageToken(pageToken).queue(batch, callback)
+      }
+
+      @Override
+      String getNextPageToken(ListInstancesResponse response) {
+        return response.getNextPageToken()
+      }
+    }
+  }
+}
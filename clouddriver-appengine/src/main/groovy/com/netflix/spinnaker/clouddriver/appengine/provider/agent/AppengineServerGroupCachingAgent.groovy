@@ -24,6 +24,7 @@ import com.google.api.client.http.HttpHeaders
 import com.google.api.client.http.HttpResponseException
 import com.google.api.services.appengine.v1.model.*
 import com.netflix.frigga.Names
+import com.netflix.spectator.api.Id
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.AgentDataType
 import com.netflix.spinnaker.cats.agent.CacheResult
@@ -41,8 +42,12 @@ import com.netflix.spinnaker.clouddriver.appengine.security.AppengineNamedAccoun
 import com.netflix.spinnaker.clouddriver.cache.OnDemandAgent
 import com.netflix.spinnaker.clouddriver.cache.OnDemandMetricsSupport
 import com.netflix.spinnaker.clouddriver.kubernetes.v1.provider.view.MutableCacheData
+import groovy.transform.CompileStatic
 import groovy.util.logging.Slf4j
 
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.BiConsumer
+
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.INFORMATIVE
 import static com.netflix.spinnaker.clouddriver.appengine.cache.Keys.Namespace.*
@@ -53,6 +58,13 @@ class AppengineServerGroupCachingAgent extends AbstractAppengineCachingAgent imp
 
   final OnDemandMetricsSupport metricsSupport
 
+  // The App Engine Admin API accepts at most 1000 requests per batch.
+  static final int MAX_BATCH_SIZE = 1000
+
+  private final Registry registry
+  private final Id apiCallsId
+  private final Id apiCallsPerCycleId
+
   static final Set<AgentDataType> types = Collections.unmodifiableSet([
     AUTHORITATIVE.forType(APPLICATIONS.ns),
     AUTHORITATIVE.forType(CLUSTERS.ns),
@@ -72,6 +84,9 @@ class AppengineServerGroupCachingAgent extends AbstractAppengineCachingAgent imp
       registry,
       this,
       "$AppengineCloudProvider.ID:$OnDemandAgent.OnDemandType.ServerGroup")
+    this.registry = registry
+    this.apiCallsId = registry.createId("appengine.api.calls").withTag("account", accountName)
+    this.apiCallsPerCycleId = registry.createId("appengine.api.callsPerCycle").withTag("account", accountName)
   }
 
   @Override
@@ -160,8 +175,10 @@ class AppengineServerGroupCachingAgent extends AbstractAppengineCachingAgent imp
   @Override
   CacheResult loadData(ProviderCache providerCache) {
     Long start = System.currentTimeMillis()
-    Map<Service, List<Version>> serverGroupsByLoadBalancer = loadServerGroups()
-    Map<Version, List<Instance>> instancesByServerGroup = loadInstances(serverGroupsByLoadBalancer)
+    AtomicInteger apiCalls = new AtomicInteger()
+    Map<Service, List<Version>> serverGroupsByLoadBalancer = loadServerGroups(apiCalls)
+    Map<Version, List<Instance>> instancesByServerGroup = loadInstances(serverGroupsByLoadBalancer, apiCalls)
+    registry.distributionSummary(apiCallsPerCycleId).record(apiCalls.get())
     List<CacheData> evictFromOnDemand = []
     List<CacheData> keepInOnDemand = []
 
@@ -303,21 +320,50 @@ class AppengineServerGroupCachingAgent extends AbstractAppengineCachingAgent imp
   }
 
   Map<Service, List<Version>> loadServerGroups() {
+    return loadServerGroups(new AtomicInteger())
+  }
+
+  private Map<Service, List<Version>> loadServerGroups(AtomicInteger apiCalls) {
     def project = credentials.project
-    def loadBalancers = credentials.appengine.apps().services().list(project).execute().getServices() ?: []
+    def loadBalancers = loadLoadBalancers(apiCalls)
     Map<Service, List<Version>> serverGroupsByLoadBalancer = [:].withDefault { [] }
 
-    loadBalancers.each { loadBalancer ->
-      def loadBalancerName = loadBalancer.getId()
-      def versions = credentials.appengine.apps().services().versions().list(project, loadBalancerName).execute().getVersions() ?: []
-      serverGroupsByLoadBalancer[loadBalancer].addAll(versions)
+    Map<Service, AppenginePaginatedRequest<ListVersionsResponse>> requests = loadBalancers.collectEntries { Service loadBalancer ->
+      serverGroupsByLoadBalancer[loadBalancer] // Keep load balancers without server groups.
+      [(loadBalancer): AppenginePaginatedRequest.versions(
+        loadBalancer.getId(),
+        credentials.appengine.apps().services().versions().list(project, loadBalancer.getId())
+      )]
+    }
+
+    executePaginated("versions.list", requests, apiCalls) { Service loadBalancer, ListVersionsResponse response ->
+      serverGroupsByLoadBalancer[loadBalancer].addAll(response.getVersions() ?: [])
     }
     return serverGroupsByLoadBalancer
   }
 
-  Map loadServerGroupAndLoadBalancer(String serverGroupName) {
+  private List<Service> loadLoadBalancers(AtomicInteger apiCalls) {
     def project = credentials.project
-    def loadBalancers = credentials.appengine.apps().services().list(project).execute().getServices() ?: []
+    List<Service> loadBalancers = []
+    String pageToken = null
+
+    while (true) {
+      def request = credentials.appengine.apps().services().list(project)
+      if (pageToken) {
+        request.setPageToken(pageToken)
+      }
+      recordApiCall("services.list", apiCalls)
+      def response = request.execute()
+      loadBalancers.addAll(response.getServices() ?: [])
+      pageToken = response.getNextPageToken()
+      if (!pageToken) {
+        return loadBalancers
+      }
+    }
+  }
+
+  Map loadServerGroupAndLoadBalancer(String serverGroupName) {
+    def loadBalancers = loadLoadBalancers(new AtomicInteger())
 
     // We don't know where our server group is, so we have to check all of the load balancers.
     return loadBalancers.findResult { Service lb ->
@@ -341,29 +387,93 @@ class AppengineServerGroupCachingAgent extends AbstractAppengineCachingAgent imp
   }
 
   Map<Version, List<Instance>> loadInstances(Map<Service, List<Version>> serverGroupsByLoadBalancer) {
-    BatchRequest batch = credentials.appengine.batch()
+    return loadInstances(serverGroupsByLoadBalancer, new AtomicInteger())
+  }
+
+  private Map<Version, List<Instance>> loadInstances(Map<Service, List<Version>> serverGroupsByLoadBalancer,
+                                                     AtomicInteger apiCalls) {
     Map<Version, List<Instance>> instancesByServerGroup = [:].withDefault { [] }
+    Map<Version, AppenginePaginatedRequest<ListInstancesResponse>> requests = [:]
 
     serverGroupsByLoadBalancer.each { Service loadBalancer, List<Version> serverGroups ->
       serverGroups.each { Version serverGroup ->
-        def serverGroupName = serverGroup.getId()
-        def instances = credentials
-          .appengine
-          .apps()
-          .services()
-          .versions()
-          .instances()
-          .list(credentials.project, loadBalancer.getId(), serverGroupName)
-          .execute()
-          .getInstances() ?: []
-        instancesByServerGroup[serverGroup].addAll(instances)
+        requests[serverGroup] = AppenginePaginatedRequest.instances(
+          serverGroup.getId(),
+          credentials
+            .appengine
+            .apps()
+            .services()
+            .versions()
+            .instances()
+            .list(credentials.project, loadBalancer.getId(), serverGroup.getId())
+        )
       }
     }
 
-    executeIfRequestsAreQueued(batch)
+    executePaginated("instances.list", requests, apiCalls) { Version serverGroup, ListInstancesResponse response ->
+      instancesByServerGroup[serverGroup].addAll(response.getInstances() ?: [])
+    }
     return instancesByServerGroup
   }
 
+  /**
+   * Queues the first page of each list request in a batch, then the next page of each unfinished listing in the
+   * following batch, until every listing is exhausted. Pages of all listings are thereby fetched concurrently.
+   *
+   * Fails if any page could not be fetched, rather than caching (and evicting based on) a partial listing.
+   */
+  @CompileStatic
+  protected <K, T> void executePaginated(String call,
+                                         Map<K, AppenginePaginatedRequest<T>> requestsByKey,
+                                         AtomicInteger apiCalls,
+                                         BiConsumer<K, T> onPage) {
+    // Pending listings, by key, with the token of their next page (null for the first page).
+    Map<K, String> pending = new LinkedHashMap<>()
+    requestsByKey.keySet().each { K key -> pending[key] = null }
+    List<String> failures = []
+    while (pending) {
+      Map<K, String> nextPages = [:]
+      pending.entrySet().collate(MAX_BATCH_SIZE).each { List<Map.Entry<K, String>> chunk ->
+        BatchRequest batch = newBatch()
+        chunk.each { Map.Entry<K, String> entry ->
+          AppenginePaginatedRequest<T> request = requestsByKey[entry.key]
+          def callback = new AppengineCallback<T>()
+            .success { T response, HttpHeaders responseHeaders ->
+              onPage.accept(entry.key, response)
+              String nextPageToken = request.getNextPageToken(response)
+              if (nextPageToken) {
+                nextPages[entry.key] = nextPageToken
+              }
+            }
+            .failure { GoogleJsonError e, HttpHeaders responseHeaders ->
+              failures << "${request.resource}: ${e.getMessage()}".toString()
+            }
+          request.queue(batch, callback, entry.value)
+        }
+        chunk.size().times { recordApiCall(call, apiCalls) }
+        executeBatch(batch)
+      }
+      pending = nextPages
+    }
+
+    if (failures) {
+      throw new IllegalStateException("Failed to $call in account $accountName (${failures.join(", ")})")
+    }
+  }
+
+  protected BatchRequest newBatch() {
+    return credentials.appengine.batch()
+  }
+
+  protected void executeBatch(BatchRequest batch) {
+    executeIfRequestsAreQueued(batch)
+  }
+
+  private void recordApiCall(String call, AtomicInteger apiCalls) {
+    apiCalls.incrementAndGet()
+    registry.counter(apiCallsId.withTag("call", call)).increment()
+  }
+
   @Override
   Collection<Map> pendingOnDemandRequests(ProviderCache providerCache) {
     def keys = providerCache.getIdentifiers(ON_DEMAND.ns)
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.appengine.provider.agent
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.api.client.googleapis.batch.BatchRequest
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback
+import com.google.api.client.googleapis.json.GoogleJsonError
+import com.google.api.services.appengine.v1.Appengine
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.clouddriver.appengine.security.AppengineCredentials
+import com.netflix.spinnaker.clouddriver.appengine.security.AppengineNamedAccountCredentials
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class AppengineServerGroupCachingAgentSpec extends Specification {
+  private static final ACCOUNT_NAME = 'my-appengine-account'
+
+  def registry = new DefaultRegistry()
+
+  // The callbacks of the requests queued on the current batch, delivered when it is executed.
+  List<Closure> queued = []
+  List<Integer> batchSizes = []
+
+  def credentials = new AppengineNamedAccountCredentials.Builder()
+    .credentials(Mock(AppengineCredentials))
+    .name(ACCOUNT_NAME)
+    .region('us-central')
+    .project('my-gcp-project')
+    .appengine(Mock(Appengine))
+    .build()
+
+  def agent = new AppengineServerGroupCachingAgent(ACCOUNT_NAME, credentials, new ObjectMapper(), registry) {
+    @Override
+    protected BatchRequest newBatch() {
+      return null
+    }
+
+    @Override
+    protected void executeBatch(BatchRequest batch) {
+      batchSizes << queued.size()
+      List<Closure> callbacks = new ArrayList<>(queued)
+      queued.clear()
+      callbacks*.call()
+    }
+  }
+
+  void "should fetch every page of every listing, queueing next pages in the following batches"() {
+    given:
+    def requests = [
+      a: pages('a', 3),
+      b: pages('b', 1),
+      c: pages('c', 2)
+    ]
+    def apiCalls = new AtomicInteger()
+    List<String> fetched = []
+
+    when:
+    agent.executePaginated("versions.list", requests, apiCalls) { String key, Page page ->
+      fetched << "${key}${page.number}".toString()
+    }
+
+    then:
+    fetched == ["a0", "b0", "c0", "a1", "c1", "a2"]
+    requests.a.pageTokens == [null, "a-1", "a-2"]
+    requests.b.pageTokens == [null]
+    requests.c.pageTokens == [null, "c-1"]
+    batchSizes == [3, 2, 1]
+    apiCalls.get() == 6
+    registry.counter(registry.createId("appengine.api.calls").withTag("account", ACCOUNT_NAME).withTag("call", "versions.list")).count() == 6
+  }
+
+  void "should split listings into batches of at most the maximum batch size"() {
+    given:
+    def requests = (0..<AppengineServerGroupCachingAgent.MAX_BATCH_SIZE + 1).collectEntries { [(it): pages("$it", 1)] }
+
+    when:
+    agent.executePaginated("instances.list", requests, new AtomicInteger()) { key, Page page -> }
+
+    then:
+    batchSizes == [AppengineServerGroupCachingAgent.MAX_BATCH_SIZE, 1]
+  }
+
+  void "should fail rather than return a partial listing when a page cannot be fetched"() {
+    given:
+    def requests = [
+      a: pages('a', 3, 1),
+      b: pages('b', 2)
+    ]
+    List<String> fetched = []
+
+    when:
+    agent.executePaginated("versions.list", requests, new AtomicInteger()) { String key, Page page ->
+      fetched << "${key}${page.number}".toString()
+    }
+
+    then:
+    IllegalStateException e = thrown()
+    e.message == "Failed to versions.list in account $ACCOUNT_NAME (a: page 1 of a is unavailable)"
+
+    // the other listings are still exhausted, but the caller never sees them
+    fetched == ["a0", "b0", "b1"]
+  }
+
+  private FakePaginatedRequest pages(String resource, int pageCount, Integer failingPage = null) {
+    new FakePaginatedRequest(resource, pageCount, failingPage, queued)
+  }
+
+  static class Page {
+    int number
+    String nextPageToken
+  }
+
+  static class FakePaginatedRequest extends AppenginePaginatedRequest<Page> {
+    final int pageCount
+    final Integer failingPage
+    final List<Closure> queued
+    final List<String> pageTokens = []
+
+    FakePaginatedRequest(String resource, int pageCount, Integer failingPage, List<Closure> queued) {
+      super(resource)
+      this.pageCount = pageCount
+      this.failingPage = failingPage
+      this.queued = queued
+    }
+
+    @Override
+    void queue(BatchRequest batch, JsonBatchCallback<Page> callback, String pageToken) {
+      int number = pageTokens.size()
+      pageTokens << pageToken
+      queued << {
+        if (number == failingPage) {
+          callback.onFailure(new GoogleJsonError(message: "page $number of $resource is unavailable".toString()), null)
+        } else {
+          callback.onSuccess(new Page(number: number, nextPageToken: number + 1 < pageCount ? "$resource-${number + 1}" : null), null)
+        }
+      }
+    }
+
+    @Override
+    String getNextPageToken(Page response) {
+      return response.nextPageToken
+    }
+  }
+}
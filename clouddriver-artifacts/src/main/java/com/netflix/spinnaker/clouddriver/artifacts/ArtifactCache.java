@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.artifacts;
+
+import com.netflix.spinnaker.kork.artifacts.model.Artifact;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A size-bounded, on-disk cache of immutable artifacts.
+ *
+ * Artifact contents are stored once under the SHA-256 of their content ("blobs"), and each cached artifact
+ * reference points at the blob holding its contents ("refs"). The least recently used blobs are evicted once the
+ * cache exceeds its maximum size; refs whose blob has been evicted are treated as misses.
+ */
+@Slf4j
+public class ArtifactCache {
+  private final Path blobs;
+  private final Path refs;
+  private final Path tmp;
+  private final long maxSizeBytes;
+
+  public ArtifactCache(Path directory, long maxSizeBytes) throws IOException {
+    this.blobs = Files.createDirectories(directory.resolve("blobs"));
+    this.refs = Files.createDirectories(directory.resolve("refs"));
+    this.tmp = Files.createDirectories(directory.resolve("tmp"));
+    this.maxSizeBytes = maxSizeBytes;
+  }
+
+  public interface Download {
+    InputStream open() throws IOException;
+  }
+
+  /**
+   * Returns the contents of the artifact, downloading and caching them if they are not already cached.
+   */
+  public InputStream get(Artifact artifact, Download download) throws IOException {
+    Path ref = refs.resolve(DigestUtils.sha256Hex(referenceKey(artifact)));
+    InputStream cached = open(ref);
+    if (cached != null) {
+      return cached;
+    }
+
+    Path blob = store(download);
+    Path tmpRef = Files.createTempFile(tmp, "ref", null);
+    Files.write(tmpRef, blob.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+    Files.move(tmpRef, ref, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    InputStream contents = Files.newInputStream(blob);
+    evict();
+    return contents;
+  }
+
+  private InputStream open(Path ref) throws IOException {
+    try {
+      String blobName = new String(Files.readAllBytes(ref), StandardCharsets.UTF_8);
+      Path blob = blobs.resolve(blobName);
+      InputStream contents = Files.newInputStream(blob);
+      try {
+        Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+      } catch (NoSuchFileException e) {
+        // evicted after being opened, the open stream remains readable
+      }
+      return contents;
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  private Path store(Download download) throws IOException {
+    Path tmpBlob = Files.createTempFile(tmp, "blob", null);
+    try {
+      MessageDigest digest = DigestUtils.getSha256Digest();
+      try (InputStream is = new DigestInputStream(download.open(), digest);
+           OutputStream os = Files.newOutputStream(tmpBlob)) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+          os.write(buffer, 0, read);
+        }
+      }
+
+      Path blob = blobs.resolve(Hex.encodeHexString(digest.digest()));
+      Files.move(tmpBlob, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      return blob;
+    } finally {
+      Files.deleteIfExists(tmpBlob);
+    }
+  }
+
+  private synchronized void evict() throws IOException {
+    List<Path> cachedBlobs;
+    try (Stream<Path> files = Files.list(blobs)) {
+      cachedBlobs = files
+        .sorted(Comparator.comparing(ArtifactCache::lastModified).reversed())
+        .collect(Collectors.toList());
+    }
+
+    long size = 0;
+    for (Path blob : cachedBlobs) {
+      long blobSize = Files.size(blob);
+      size += blobSize;
+      if (size > maxSizeBytes) {
+        // an open stream on an evicted blob remains readable until it is closed
+        log.debug("Evicting cached artifact blob {} ({} bytes)", blob.getFileName(), blobSize);
+        Files.deleteIfExists(blob);
+      }
+    }
+  }
+
+  private static long lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static String referenceKey(Artifact artifact) {
+    return String.join("\n",
+      String.valueOf(artifact.getArtifactAccount()),
+      String.valueOf(artifact.getType()),
+      String.valueOf(artifact.getReference()),
+      String.valueOf(artifact.getVersion()));
+  }
+}
@@ -19,6 +19,8 @@ package com.netflix.spinnaker.clouddriver.artifacts;
 
 import com.netflix.spinnaker.clouddriver.artifacts.gcs.GcsArtifactConfiguration;
 import com.netflix.spinnaker.clouddriver.artifacts.github.GitHubArtifactConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -27,6 +29,9 @@ import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
 @Configuration
 @EnableConfigurationProperties
 @EnableScheduling
@@ -41,4 +46,19 @@ public class ArtifactConfiguration {
   ArtifactCredentialsRepository artifactCredentialsRepository() {
     return new ArtifactCredentialsRepository();
   }
+
+  @Bean
+  @ConfigurationProperties("artifacts.cache")
+  ArtifactCacheProperties artifactCacheProperties() {
+    return new ArtifactCacheProperties();
+  }
+
+  @Bean
+  @ConditionalOnProperty("artifacts.cache.enabled")
+  ArtifactCache artifactCache(ArtifactCacheProperties artifactCacheProperties) throws IOException {
+    return new ArtifactCache(
+      Paths.get(artifactCacheProperties.getDirectory()),
+      artifactCacheProperties.getMaxSizeMb() * 1024 * 1024
+    );
+  }
 }
@@ -27,6 +27,7 @@ import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
 
 @Component
 public class ArtifactDownloader {
@@ -34,12 +35,17 @@ public class ArtifactDownloader {
 
   final private ObjectMapper objectMapper;
 
+  final private Optional<ArtifactCache> artifactCache;
+
   final Yaml yamlParser;
 
   @Autowired
-  public ArtifactDownloader(ArtifactCredentialsRepository artifactCredentialsRepository, ObjectMapper objectMapper) {
+  public ArtifactDownloader(ArtifactCredentialsRepository artifactCredentialsRepository,
+                            ObjectMapper objectMapper,
+                            Optional<ArtifactCache> artifactCache) {
     this.artifactCredentialsRepository = artifactCredentialsRepository;
     this.objectMapper = objectMapper;
+    this.artifactCache = artifactCache;
     this.yamlParser = new Yaml();
   }
 
@@ -52,12 +58,17 @@ public class ArtifactDownloader {
         .findFirst()
         .orElseThrow(() -> new IllegalArgumentException("No credentials registered to handle " + artifact));
 
+    if (artifactCache.isPresent() && credentials.isImmutable(artifact)) {
+      return artifactCache.get().get(artifact, () -> credentials.download(artifact));
+    }
+
     return credentials.download(artifact);
   }
 
   public <T> T downloadAsYaml(Artifact artifact, Class<T> clazz) throws IOException {
-    InputStream is = download(artifact);
-    Object parsed = yamlParser.load(is);
-    return objectMapper.convertValue(parsed, clazz);
+    try (InputStream is = download(artifact)) {
+      Object parsed = yamlParser.load(is);
+      return objectMapper.convertValue(parsed, clazz);
+    }
   }
 }
@@ -26,4 +26,11 @@ public interface ArtifactCredentials {
   String getName();
   boolean handlesType(String type);
   InputStream download(Artifact artifact) throws IOException;
+
+  /**
+   * @return true if the artifact's reference (and version) always resolves to the same contents, making it safe to cache
+   */
+  default boolean isImmutable(Artifact artifact) {
+    return false;
+  }
 }
@@ -36,10 +36,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Data
 public class GcsArtifactCredentials implements ArtifactCredentials {
+  // <file-path>#<generation>
+  private static final Pattern GENERATION = Pattern.compile("(.*)#([0-9]+)");
+
   @JsonIgnore
   private final Storage storage;
   private final String name;
@@ -77,15 +82,30 @@ public class GcsArtifactCredentials implements ArtifactCredentials {
 
     int slash = reference.indexOf("/");
     if (slash <= 0) {
-      throw new IllegalArgumentException("GCS references must be of the format gs://<bucket>/<file-path>, got: " + artifact);
+      throw new IllegalArgumentException("GCS references must be of the format gs://<bucket>/<file-path>[#<generation>], got: " + artifact);
     }
 
     String bucketName = reference.substring(0, slash);
     String path = reference.substring(slash + 1);
-    Storage.Objects.Get get = storage.objects().get(bucketName, path);
+    Long generation = null;
+    Matcher generationMatcher = GENERATION.matcher(path);
+    if (generationMatcher.matches()) {
+      // only an all-digit suffix is a generation, object names may contain '#' themselves
+      path = generationMatcher.group(1);
+      generation = Long.valueOf(generationMatcher.group(2));
+    }
+
+    Storage.Objects.Get get = storage.objects().get(bucketName, path).setGeneration(generation);
     return get.executeMediaAsInputStream();
   }
 
+  @Override
+  public boolean isImmutable(Artifact artifact) {
+    // gs://<bucket>/<file-path>#<generation> always refers to the same object generation
+    String reference = artifact.getReference();
+    return reference != null && GENERATION.matcher(reference).matches();
+  }
+
   @Override
   public boolean handlesType(String type) {
     return type.equals("gcs/object");
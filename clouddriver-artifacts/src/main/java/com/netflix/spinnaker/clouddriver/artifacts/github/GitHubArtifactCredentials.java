@@ -36,10 +36,13 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Data
 public class GitHubArtifactCredentials implements ArtifactCredentials {
+  private static final Pattern COMMIT_SHA = Pattern.compile("[0-9a-f]{40}");
+
   private final String name;
 
   @JsonIgnore
@@ -110,6 +113,11 @@ public class GitHubArtifactCredentials implements ArtifactCredentials {
       throw new FailedDownloadException("Unable to determine the download URL of artifact " + artifact + ": " + e.getMessage(), e);
     }
 
+    if (!metadataResponse.isSuccessful()) {
+      metadataResponse.body().close();
+      throw new FailedDownloadException("Unable to determine the download URL of artifact " + artifact + ": HTTP " + metadataResponse.code());
+    }
+
     String body = metadataResponse.body().string();
     ContentMetadata metadata = objectMapper.readValue(body, ContentMetadata.class);
     if (StringUtils.isEmpty(metadata.downloadUrl)) {
@@ -120,12 +128,18 @@ public class GitHubArtifactCredentials implements ArtifactCredentials {
       .url(metadata.getDownloadUrl())
       .build();
 
+    Response downloadResponse;
     try {
-      Response downloadResponse = okHttpClient.newCall(downloadRequest).execute();
-      return downloadResponse.body().byteStream();
+      downloadResponse = okHttpClient.newCall(downloadRequest).execute();
     } catch (IOException e) {
       throw new FailedDownloadException("Unable to download the contents of artifact " + artifact + ": " + e.getMessage(), e);
     }
+
+    if (!downloadResponse.isSuccessful()) {
+      downloadResponse.body().close();
+      throw new FailedDownloadException("Unable to download the contents of artifact " + artifact + ": HTTP " + downloadResponse.code());
+    }
+    return downloadResponse.body().byteStream();
   }
 
   @Override
@@ -133,6 +147,13 @@ public class GitHubArtifactCredentials implements ArtifactCredentials {
     return type.equals("github/file");
   }
 
+  @Override
+  public boolean isImmutable(Artifact artifact) {
+    // branches and tags can move, full commit SHAs cannot
+    String version = artifact.getVersion();
+    return version != null && COMMIT_SHA.matcher(version).matches();
+  }
+
   @Data
   public static class ContentMetadata {
     @JsonProperty("download_url")
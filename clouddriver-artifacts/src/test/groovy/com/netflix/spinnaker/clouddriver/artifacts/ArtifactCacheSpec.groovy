@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.clouddriver.artifacts
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.clouddriver.artifacts.config.ArtifactCredentials
+import com.netflix.spinnaker.kork.artifacts.model.Artifact
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+
+class ArtifactCacheSpec extends Specification {
+
+  Path directory = Files.createTempDirectory("artifact-cache")
+
+  def cleanup() {
+    directory.toFile().deleteDir()
+  }
+
+  def "should download an artifact on a miss and serve it from disk on a hit"() {
+    given:
+    def cache = new ArtifactCache(directory, 1024)
+    def download = Mock(ArtifactCache.Download)
+
+    when:
+    def first = cache.get(artifact("gs://bucket/file#1"), download).text
+    def second = cache.get(artifact("gs://bucket/file#1"), download).text
+
+    then:
+    1 * download.open() >> stream("contents")
+    first == "contents"
+    second == "contents"
+
+    when: 'a different version is a different reference'
+    def other = cache.get(artifact("gs://bucket/file#2"), download).text
+
+    then:
+    1 * download.open() >> stream("other contents")
+    other == "other contents"
+  }
+
+  def "should store identical contents once"() {
+    given:
+    def cache = new ArtifactCache(directory, 1024)
+
+    when:
+    cache.get(artifact("gs://bucket/file#1"), { stream("contents") }).close()
+    cache.get(artifact("gs://bucket/copy#1"), { stream("contents") }).close()
+
+    then:
+    Files.list(directory.resolve("blobs")).count() == 1
+  }
+
+  def "should evict the least recently used artifacts once over capacity"() {
+    given:
+    def cache = new ArtifactCache(directory, 10)
+    def download = Mock(ArtifactCache.Download)
+
+    when:
+    cache.get(artifact("gs://bucket/old#1"), download).close()
+    ageBlobs()
+    cache.get(artifact("gs://bucket/new#1"), download).close()
+
+    then:
+    1 * download.open() >> stream("old-01")
+    1 * download.open() >> stream("new-01")
+    Files.list(directory.resolve("blobs")).count() == 1
+
+    when:
+    def recent = cache.get(artifact("gs://bucket/new#1"), download).text
+    def evicted = cache.get(artifact("gs://bucket/old#1"), download).text
+
+    then:
+    1 * download.open() >> stream("old-01")
+    recent == "new-01"
+    evicted == "old-01"
+  }
+
+  def "should not cache a failed download"() {
+    given:
+    def cache = new ArtifactCache(directory, 1024)
+    def download = Mock(ArtifactCache.Download)
+
+    when:
+    cache.get(artifact("gs://bucket/file#1"), download)
+
+    then:
+    1 * download.open() >> { throw new IOException("HTTP 404") }
+    thrown(IOException)
+
+    when:
+    def contents = cache.get(artifact("gs://bucket/file#1"), download).text
+
+    then:
+    1 * download.open() >> stream("contents")
+    contents == "contents"
+  }
+
+  def "should only cache artifacts that the credentials report as immutable"() {
+    given:
+    def credentials = Mock(ArtifactCredentials) {
+      getName() >> "gcs"
+      handlesType("gcs/object") >> true
+      isImmutable({ it.reference.endsWith("#1") }) >> true
+    }
+    def credentialsRepository = new ArtifactCredentialsRepository()
+    credentialsRepository.save(credentials)
+    def downloader = new ArtifactDownloader(credentialsRepository, new ObjectMapper(), Optional.of(new ArtifactCache(directory, 1024)))
+
+    when:
+    2.times { downloader.download(artifact("gs://bucket/file")).close() }
+
+    then:
+    2 * credentials.download(_) >> { stream("latest") }
+
+    when:
+    2.times { downloader.download(artifact("gs://bucket/file#1")).close() }
+
+    then:
+    1 * credentials.download(_) >> { stream("pinned") }
+  }
+
+  private void ageBlobs() {
+    Files.list(directory.resolve("blobs")).each { Path blob ->
+      Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis() - 60000))
+    }
+  }
+
+  private static Artifact artifact(String reference) {
+    Artifact.builder()
+      .artifactAccount("gcs")
+      .type("gcs/object")
+      .reference(reference)
+      .build()
+  }
+
+  private static InputStream stream(String contents) {
+    new ByteArrayInputStream(contents.bytes)
+  }
+}
@@ -16,6 +16,9 @@
 
 package com.netflix.spinnaker.clouddriver.aws.data
 
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.CacheLoader
+import com.google.common.cache.LoadingCache
 import com.google.common.collect.ImmutableMap
 import com.google.common.collect.ImmutableSet
 import com.netflix.frigga.Names
@@ -48,6 +51,15 @@ class Keys implements KeyParser {
       .addAll(Namespace.LOAD_BALANCERS.fields)
       .build()
 
+  // Read paths parse the same keys (and the names embedded in them) many times over, so parsed values are interned.
+  private static final long MAX_INTERNED_KEYS = 100000
+
+  private static final LoadingCache<String, Names> NAMES = Keys.<Names>intern { String name -> Names.parseName(name) }
+  private static final LoadingCache<String, ServerGroupKey> SERVER_GROUP_KEYS = Keys.<ServerGroupKey>intern { String key -> toServerGroupKey(key) }
+  private static final LoadingCache<String, InstanceKey> INSTANCE_KEYS = Keys.<InstanceKey>intern { String key -> toInstanceKey(key) }
+  private static final LoadingCache<String, ClusterKey> CLUSTER_KEYS = Keys.<ClusterKey>intern { String key -> toClusterKey(key) }
+  private static final LoadingCache<String, LoadBalancerKey> LOAD_BALANCER_KEYS = Keys.<LoadBalancerKey>intern { String key -> toLoadBalancerKey(key) }
+
   @Override
   String getNameMapping(String cache) {
     return NAMESPACE_MAPPING.get(cache)
@@ -74,6 +86,29 @@ class Keys implements KeyParser {
     return PARSEABLE_FIELDS.contains(field)
   }
 
+  /**
+   * Frigga's Names.parseName, memoized.
+   */
+  static Names parseName(String name) {
+    return name == null ? Names.parseName(name) : NAMES.getUnchecked(name)
+  }
+
+  static ServerGroupKey parseServerGroupKey(String key) {
+    return isKeyOfType(key, Namespace.SERVER_GROUPS) ? SERVER_GROUP_KEYS.getUnchecked(key) : null
+  }
+
+  static InstanceKey parseInstanceKey(String key) {
+    return isKeyOfType(key, Namespace.INSTANCES) ? INSTANCE_KEYS.getUnchecked(key) : null
+  }
+
+  static ClusterKey parseClusterKey(String key) {
+    return isKeyOfType(key, Namespace.CLUSTERS) ? CLUSTER_KEYS.getUnchecked(key) : null
+  }
+
+  static LoadBalancerKey parseLoadBalancerKey(String key) {
+    return isKeyOfType(key, Namespace.LOAD_BALANCERS) ? LOAD_BALANCER_KEYS.getUnchecked(key) : null
+  }
+
   static Map<String, String> parse(String key) {
     def parts = key.split(':')
 
@@ -95,29 +130,29 @@ class Keys implements KeyParser {
         result << [account: parts[2], imageName: parts[3]]
         break
       case Namespace.SERVER_GROUPS.ns:
-        def names = Names.parseName(parts[5])
+        def names = parseName(parts[5])
         result << [application: names.app.toLowerCase(), cluster: parts[2], account: parts[3], region: parts[4], serverGroup: parts[5], stack: names.stack, detail: names.detail, sequence: names.sequence?.toString()]
         break
       case Namespace.INSTANCES.ns:
         result << [account: parts[2], region: parts[3], instanceId: parts[4]]
         break
       case Namespace.LAUNCH_CONFIGS.ns:
-        def names = Names.parseName(parts[4])
+        def names = parseName(parts[4])
         result << [account: parts[2], region: parts[3], launchConfig: parts[4], application: names.app?.toLowerCase(), stack: names.stack]
         break
       case Namespace.LOAD_BALANCERS.ns:
-        def names = Names.parseName(parts[4])
+        def names = parseName(parts[4])
         String vpcId = parts.length > 5 ? (parts[5] ?: null) : null
         String loadBalancerType = vpcId && parts.length > 6 ? parts[6] : 'classic'
         result << [account: parts[2], region: parts[3], loadBalancer: parts[4], vpcId: vpcId, application: names.app?.toLowerCase(), stack: names.stack, detail: names.detail, loadBalancerType: loadBalancerType]
         break
       case Namespace.TARGET_GROUPS.ns:
-        def names = Names.parseName(parts[4])
+        def names = parseName(parts[4])
         String vpcId = parts.length > 5 ? (parts[5] ?: null) : null
         result << [account: parts[2], region: parts[3], targetGroup: parts[4], vpcId: vpcId, application: names.app?.toLowerCase(), stack: names.stack, detail: names.detail]
         break
       case Namespace.CLUSTERS.ns:
-        def names = Names.parseName(parts[4])
+        def names = parseName(parts[4])
         result << [application: parts[2].toLowerCase(), account: parts[3], cluster: parts[4], stack: names.stack, detail: names.detail]
         break
       case Namespace.APPLICATIONS.ns:
@@ -134,6 +169,70 @@ class Keys implements KeyParser {
     result
   }
 
+  private static boolean isKeyOfType(String key, Namespace namespace) {
+    return key != null && key.startsWith("${ID}:${namespace}:".toString())
+  }
+
+  private static ServerGroupKey toServerGroupKey(String key) {
+    def parts = key.split(':')
+    def names = parseName(parts[5])
+    return new ServerGroupKey(
+      application: names.app.toLowerCase(),
+      cluster: parts[2],
+      account: parts[3],
+      region: parts[4],
+      serverGroup: parts[5],
+      stack: names.stack,
+      detail: names.detail,
+      sequence: names.sequence
+    )
+  }
+
+  private static InstanceKey toInstanceKey(String key) {
+    def parts = key.split(':')
+    return new InstanceKey(account: parts[2], region: parts[3], instanceId: parts[4])
+  }
+
+  private static ClusterKey toClusterKey(String key) {
+    def parts = key.split(':')
+    def names = parseName(parts[4])
+    return new ClusterKey(
+      application: parts[2].toLowerCase(),
+      account: parts[3],
+      cluster: parts[4],
+      stack: names.stack,
+      detail: names.detail
+    )
+  }
+
+  private static LoadBalancerKey toLoadBalancerKey(String key) {
+    def parts = key.split(':')
+    def names = parseName(parts[4])
+    String vpcId = parts.length > 5 ? (parts[5] ?: null) : null
+    String loadBalancerType = vpcId && parts.length > 6 ? parts[6] : 'classic'
+    return new LoadBalancerKey(
+      account: parts[2],
+      region: parts[3],
+      loadBalancer: parts[4],
+      vpcId: vpcId,
+      loadBalancerType: loadBalancerType,
+      application: names.app?.toLowerCase(),
+      stack: names.stack,
+      detail: names.detail
+    )
+  }
+
+  private static <T> LoadingCache<String, T> intern(Closure<T> parser) {
+    return CacheBuilder.newBuilder()
+      .maximumSize(MAX_INTERNED_KEYS)
+      .build(new CacheLoader<String, T>() {
+        @Override
+        T load(String key) {
+          return parser.call(key)
+        }
+      })
+  }
+
   static String getImageKey(String imageId, String account, String region) {
     "${ID}:${Namespace.IMAGES}:${account}:${region}:${imageId}"
   }
@@ -143,7 +242,7 @@ class Keys implements KeyParser {
   }
 
   static String getServerGroupKey(String autoScalingGroupName, String account, String region) {
-    Names names = Names.parseName(autoScalingGroupName)
+    Names names = parseName(autoScalingGroupName)
     return getServerGroupKey(names.cluster, names.group, account, region)
   }
 
@@ -18,18 +18,17 @@ package com.netflix.spinnaker.clouddriver.aws.health
 
 import com.amazonaws.AmazonClientException
 import com.amazonaws.AmazonServiceException
-import com.amazonaws.services.ec2.model.AmazonEC2Exception
-import com.netflix.spectator.api.Counter
 import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
 import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
+import com.netflix.spinnaker.clouddriver.health.AccountHealth
+import com.netflix.spinnaker.clouddriver.health.AccountHealthProber
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
 import groovy.transform.InheritConstructors
-import org.slf4j.Logger
-import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
@@ -39,23 +38,28 @@ import java.util.concurrent.atomic.AtomicLong
 import java.util.concurrent.atomic.AtomicReference
 
 @Component
-class AmazonHealthIndicator implements HealthIndicator {
+class AmazonHealthIndicator extends AbstractAccountHealthIndicator<NetflixAmazonCredentials> {
 
-  private static final Logger LOG = LoggerFactory.getLogger(AmazonHealthIndicator)
-
-  private final AccountCredentialsProvider accountCredentialsProvider
   private final AmazonClientProvider amazonClientProvider
 
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
   private final AtomicReference<Boolean> hasInitialized = new AtomicReference<>(null)
 
   private final AtomicLong errors;
 
-  @Autowired
   AmazonHealthIndicator(AccountCredentialsProvider accountCredentialsProvider,
                         AmazonClientProvider amazonClientProvider,
                         Registry registry) {
+    this(accountCredentialsProvider, amazonClientProvider, registry, new AccountHealthProber(registry))
+  }
+
+  @Autowired
+  AmazonHealthIndicator(AccountCredentialsProvider accountCredentialsProvider,
+                        AmazonClientProvider amazonClientProvider,
+                        Registry registry,
+                        AccountHealthProber accountHealthProber) {
+    super(AmazonCloudProvider.ID, NetflixAmazonCredentials)
     this.accountCredentialsProvider = accountCredentialsProvider
+    this.accountHealthProber = accountHealthProber
     this.amazonClientProvider = amazonClientProvider
 
     this.errors = registry.gauge("health.amazon.errors", new AtomicLong(0))
@@ -65,41 +69,41 @@ class AmazonHealthIndicator implements HealthIndicator {
   Health health() {
     if (hasInitialized.get() == Boolean.TRUE) {
       // avoid being marked unhealthy once connectivity to all accounts has been verified at least once
-      return new Health.Builder().up().build()
+      return withUnhealthyAccounts(new Health.Builder().up()).build()
     }
 
-    def ex = lastException.get()
-    if (ex) {
-      throw ex
+    if (accountHealth == null) {
+      return new Health.Builder().unknown().build()
     }
 
-    return new Health.Builder().unknown().build()
+    return super.health()
   }
 
   @Scheduled(fixedDelay = 120000L)
   void checkHealth() {
+    Map<String, AccountHealth> accountHealth = probeAccounts()
+    if (accountHealth == null) {
+      errors.set(1)
+      return
+    }
+
+    long unhealthy = accountHealth.values().count { !it.healthy }
+    if (!unhealthy) {
+      hasInitialized.set(Boolean.TRUE)
+    }
+    errors.set(unhealthy)
+  }
+
+  @Override
+  protected void probe(NetflixAmazonCredentials credentials) {
     try {
-      Set<NetflixAmazonCredentials> amazonCredentials = accountCredentialsProvider.all.findAll {
-        it instanceof NetflixAmazonCredentials
-      } as Set<NetflixAmazonCredentials>
-      for (NetflixAmazonCredentials credentials in amazonCredentials) {
-        try {
-          def ec2 = amazonClientProvider.getAmazonEC2(credentials, AmazonClientProvider.DEFAULT_REGION, true)
-          if (!ec2) {
-            throw new AmazonClientException("Could not create Amazon client for ${credentials.name}")
-          }
-          ec2.describeAccountAttributes()
-        } catch (AmazonServiceException e) {
-          throw new AmazonUnreachableException("Failed to describe account attributes for '${credentials.name}'",  e)
-        }
+      def ec2 = amazonClientProvider.getAmazonEC2(credentials, AmazonClientProvider.DEFAULT_REGION, true)
+      if (!ec2) {
+        throw new AmazonClientException("Could not create Amazon client for ${credentials.name}")
       }
-      hasInitialized.set(Boolean.TRUE)
-      lastException.set(null)
-      errors.set(0)
-    } catch (Exception ex) {
-      LOG.error "Unhealthy", ex
-      lastException.set(ex)
-      errors.set(1)
+      ec2.describeAccountAttributes()
+    } catch (AmazonServiceException e) {
+      throw new AmazonUnreachableException("Failed to describe account attributes for '${credentials.name}'",  e)
     }
   }
 
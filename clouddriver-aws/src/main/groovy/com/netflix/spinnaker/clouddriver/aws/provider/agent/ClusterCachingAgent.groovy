@@ -36,6 +36,7 @@ import com.fasterxml.jackson.core.type.TypeReference
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.SerializationFeature
 import com.netflix.frigga.Names
+import com.netflix.spectator.api.Id
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.AccountAware
 import com.netflix.spinnaker.cats.agent.AgentDataType
@@ -54,6 +55,15 @@ import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.RunnableFuture
+import java.util.concurrent.TimeUnit
+
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.*
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.*
 import com.netflix.spinnaker.cats.agent.CacheResult
@@ -84,8 +94,16 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
   final Registry registry
   final EddaTimeoutConfig eddaTimeoutConfig
 
+  /**
+   * Pool (shared by all accounts and regions) used to issue independent describe calls concurrently, describes are
+   * issued sequentially on the caching thread when null or busy.
+   */
+  final ExecutorService describePool
+
   final OnDemandMetricsSupport metricsSupport
 
+  private final Id describeTimerId
+
   ClusterCachingAgent(AmazonCloudProvider amazonCloudProvider,
                       AmazonClientProvider amazonClientProvider,
                       NetflixAmazonCredentials account,
@@ -93,6 +111,17 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
                       ObjectMapper objectMapper,
                       Registry registry,
                       EddaTimeoutConfig eddaTimeoutConfig) {
+    this(amazonCloudProvider, amazonClientProvider, account, region, objectMapper, registry, eddaTimeoutConfig, null)
+  }
+
+  ClusterCachingAgent(AmazonCloudProvider amazonCloudProvider,
+                      AmazonClientProvider amazonClientProvider,
+                      NetflixAmazonCredentials account,
+                      String region,
+                      ObjectMapper objectMapper,
+                      Registry registry,
+                      EddaTimeoutConfig eddaTimeoutConfig,
+                      ExecutorService describePool) {
     this.amazonCloudProvider = amazonCloudProvider
     this.amazonClientProvider = amazonClientProvider
     this.account = account
@@ -100,6 +129,10 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     this.objectMapper = objectMapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
     this.registry = registry
     this.eddaTimeoutConfig = eddaTimeoutConfig
+    this.describePool = describePool
+    this.describeTimerId = registry.createId("aws.clusterCaching.describe")
+      .withTag("account", account.name)
+      .withTag("region", region)
     this.metricsSupport = new OnDemandMetricsSupport(registry, this, "${amazonCloudProvider.id}:${OnDemandAgent.OnDemandType.ServerGroup}")
   }
 
@@ -395,9 +428,26 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
 
     def clients = new AmazonClients(amazonClientProvider, account, region, false)
 
-    def autoScalingGroupsResult = loadAutoScalingGroups(clients)
-    def scalingPolicies = loadScalingPolicies(clients)
-    def scheduledActions = loadScheduledActions(clients)
+    // these describes are independent of one another, each request still acquires a permit from the client's
+    // RateLimitingRequestHandler so running them concurrently does not exceed the account's rate limit
+    RunnableFuture<AutoScalingGroupsResults> autoScalingGroupsFuture = describe("autoScalingGroups") { loadAutoScalingGroups(clients) }
+    RunnableFuture<Map<String, List<Map>>> scalingPoliciesFuture = describe("scalingPolicies") { loadScalingPolicies(clients) }
+    RunnableFuture<Map<String, List<Map>>> scheduledActionsFuture = describe("scheduledActions") { loadScheduledActions(clients) }
+    RunnableFuture<Map<String, String>> subnetMapFuture = describe("subnets") { getSubnetToVpcIdMap(clients) }
+    List<Future> describes = [autoScalingGroupsFuture, scalingPoliciesFuture, scheduledActionsFuture, subnetMapFuture]
+
+    AutoScalingGroupsResults autoScalingGroupsResult
+    Map<String, List<Map>> scalingPolicies
+    Map<String, List<Map>> scheduledActions
+    Map<String, String> subnetMap
+    try {
+      autoScalingGroupsResult = await(autoScalingGroupsFuture)
+      scalingPolicies = await(scalingPoliciesFuture)
+      scheduledActions = await(scheduledActionsFuture)
+      subnetMap = await(subnetMapFuture)
+    } finally {
+      describes*.cancel(true)
+    }
 
     Long start = autoScalingGroupsResult.start
     List<AutoScalingGroup> asgs = autoScalingGroupsResult.asgs
@@ -425,7 +475,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
       }
     }
 
-    CacheResult result = buildCacheResult(asgs, scalingPolicies, scheduledActions, getSubnetToVpcIdMap(clients), usableOnDemandCacheDatas.collectEntries { [it.id, it] }, evictableOnDemandCacheDatas*.id)
+    CacheResult result = buildCacheResult(asgs, scalingPolicies, scheduledActions, subnetMap, usableOnDemandCacheDatas.collectEntries { [it.id, it] }, evictableOnDemandCacheDatas*.id)
     recordDrift(start)
     def cacheResults = result.cacheResults
     log.debug("Caching ${cacheResults[APPLICATIONS.ns]?.size()} applications in ${agentType}")
@@ -447,6 +497,46 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware,
     result
   }
 
+  /**
+   * Offers a describe to the describe pool (if any), recording its latency (excluding time spent waiting for a
+   * pool thread) tagged by describe.
+   *
+   * The pool is shared by every account and region, so a describe that no pool thread has picked up by the time it
+   * is awaited is run on the caching thread instead (see {@link #await}); a busy pool only costs concurrency.
+   */
+  private <T> RunnableFuture<T> describe(String describeName, Closure<T> describeCall) {
+    Callable<T> timedDescribe = {
+      long startTime = System.nanoTime()
+      try {
+        return describeCall.call()
+      } finally {
+        registry.timer(describeTimerId.withTag("describe", describeName)).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS)
+      }
+    } as Callable<T>
+
+    def task = new FutureTask<T>(timedDescribe)
+    if (describePool != null) {
+      try {
+        describePool.execute(task)
+      } catch (RejectedExecutionException ignored) {
+        // run on the caching thread when awaited
+      }
+    }
+    return task
+  }
+
+  /**
+   * Runs the describe on the calling thread if it has not been started yet (a no-op otherwise) and returns its result.
+   */
+  private static <T> T await(RunnableFuture<T> future) {
+    future.run()
+    try {
+      return future.get()
+    } catch (ExecutionException e) {
+      throw e.cause
+    }
+  }
+
   @Override
   Collection<Map> pendingOnDemandRequests(ProviderCache providerCache) {
     def keys = providerCache.getIdentifiers(ON_DEMAND.ns)
@@ -21,6 +21,7 @@ import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.agent.AgentProvider
 import com.netflix.spinnaker.cats.provider.ProviderSynchronizerTypeWrapper
+import com.netflix.spinnaker.cats.thread.NamedThreadFactory
 import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.aws.provider.agent.AmazonApplicationLoadBalancerCachingAgent
 import com.netflix.spinnaker.clouddriver.aws.provider.agent.AmazonCertificateCachingAgent
@@ -42,6 +43,7 @@ import com.netflix.spinnaker.clouddriver.aws.provider.agent.ImageCachingAgent
 import com.netflix.spinnaker.clouddriver.aws.provider.agent.InstanceCachingAgent
 import com.netflix.spinnaker.clouddriver.aws.provider.agent.LaunchConfigCachingAgent
 import com.netflix.spinnaker.clouddriver.aws.provider.agent.ReservationReportCachingAgent
+import org.springframework.beans.factory.annotation.Qualifier
 import org.springframework.beans.factory.config.ConfigurableBeanFactory
 import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.ApplicationContext
@@ -55,7 +57,7 @@ import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 
 @Configuration
-@EnableConfigurationProperties(ReservationReportConfigurationProperties)
+@EnableConfigurationProperties([ReservationReportConfigurationProperties, ClusterCachingConfigurationProperties])
 class AwsProviderConfig {
   @Bean
   @DependsOn('netflixAmazonCredentials')
@@ -66,7 +68,8 @@ class AwsProviderConfig {
                           EddaApiFactory eddaApiFactory,
                           ApplicationContext ctx,
                           Registry registry,
-                          ExecutorService reservationReportPool,
+                          @Qualifier("reservationReportPool") ExecutorService reservationReportPool,
+                          @Qualifier("clusterCachingDescribePool") ExecutorService clusterCachingDescribePool,
                           Optional<Collection<AgentProvider>> agentProviders,
                           EddaTimeoutConfig eddaTimeoutConfig) {
     def awsProvider =
@@ -81,6 +84,7 @@ class AwsProviderConfig {
                            ctx,
                            registry,
                            reservationReportPool,
+                           clusterCachingDescribePool,
                            agentProviders.orElse(Collections.emptyList()),
                            eddaTimeoutConfig)
 
@@ -92,6 +96,14 @@ class AwsProviderConfig {
     return Executors.newFixedThreadPool(reservationReportConfigurationProperties.threadPoolSize)
   }
 
+  @Bean
+  ExecutorService clusterCachingDescribePool(ClusterCachingConfigurationProperties clusterCachingConfigurationProperties) {
+    return Executors.newFixedThreadPool(
+      Math.max(1, clusterCachingConfigurationProperties.describeThreadPoolSize),
+      new NamedThreadFactory(ClusterCachingAgent.simpleName)
+    )
+  }
+
   @Bean
   AwsProviderSynchronizerTypeWrapper awsProviderSynchronizerTypeWrapper() {
     new AwsProviderSynchronizerTypeWrapper()
@@ -116,7 +128,8 @@ class AwsProviderConfig {
                                                  EddaApiFactory eddaApiFactory,
                                                  ApplicationContext ctx,
                                                  Registry registry,
-                                                 ExecutorService reservationReportPool,
+                                                 @Qualifier("reservationReportPool") ExecutorService reservationReportPool,
+                                                 @Qualifier("clusterCachingDescribePool") ExecutorService clusterCachingDescribePool,
                                                  Collection<AgentProvider> agentProviders,
                                                  EddaTimeoutConfig eddaTimeoutConfig) {
     def scheduledAccounts = ProviderUtils.getScheduledAccounts(awsProvider)
@@ -132,7 +145,7 @@ class AwsProviderConfig {
     allAccounts.sort { it.name }.each { NetflixAmazonCredentials credentials ->
       for (AmazonCredentials.AWSRegion region : credentials.regions) {
         if (!scheduledAccounts.contains(credentials.name)) {
-          newlyAddedAgents << new ClusterCachingAgent(amazonCloudProvider, amazonClientProvider, credentials, region.name, objectMapper, registry, eddaTimeoutConfig)
+          newlyAddedAgents << new ClusterCachingAgent(amazonCloudProvider, amazonClientProvider, credentials, region.name, objectMapper, registry, eddaTimeoutConfig, clusterCachingDescribePool)
           newlyAddedAgents << new LaunchConfigCachingAgent(amazonClientProvider, credentials, region.name, objectMapper, registry)
           newlyAddedAgents << new ImageCachingAgent(amazonClientProvider, credentials, region.name, objectMapper, registry, false)
           if (!publicRegions.contains(region.name)) {
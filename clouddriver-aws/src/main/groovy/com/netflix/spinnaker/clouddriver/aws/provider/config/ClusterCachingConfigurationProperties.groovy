@@ -0,0 +1,30 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.provider.config
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+
+@ConfigurationProperties('aws.caching.cluster')
+class ClusterCachingConfigurationProperties {
+  /**
+   * Threads (shared across all accounts and regions) used to issue independent describe calls concurrently.
+   *
+   * A caching agent runs any describe that is still queued when it needs the result itself, so a saturated pool
+   * slows agents down to sequential describes rather than stalling them.
+   */
+  int describeThreadPoolSize = 10
+}
@@ -25,6 +25,7 @@ import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
 import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.model.Application
 import com.netflix.spinnaker.clouddriver.model.ApplicationProvider
+import com.netflix.spinnaker.clouddriver.aws.data.ClusterKey
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
@@ -67,7 +68,7 @@ class AmazonApplicationProvider implements ApplicationProvider {
     Map<String, String> attributes = objectMapper.convertValue(cacheData.attributes, CatsApplication.ATTRIBUTES)
     Map<String, Set<String>> clusterNames = [:].withDefault { new HashSet<String>() }
     for (String clusterId : cacheData.relationships[CLUSTERS.ns]) {
-      Map<String, String> cluster = Keys.parse(clusterId)
+      ClusterKey cluster = Keys.parseClusterKey(clusterId)
       if (cluster.account && cluster.cluster) {
         clusterNames[cluster.account].add(cluster.cluster)
       }
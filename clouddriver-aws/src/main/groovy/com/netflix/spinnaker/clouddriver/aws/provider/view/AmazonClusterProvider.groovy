@@ -26,7 +26,11 @@ import com.netflix.spinnaker.cats.cache.RelationshipCacheFilter
 import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.core.provider.agent.ExternalHealthProvider
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider
+import com.netflix.spinnaker.clouddriver.aws.data.ClusterKey
+import com.netflix.spinnaker.clouddriver.aws.data.InstanceKey
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import com.netflix.spinnaker.clouddriver.aws.data.LoadBalancerKey
+import com.netflix.spinnaker.clouddriver.aws.data.ServerGroupKey
 import com.netflix.spinnaker.clouddriver.aws.model.*
 import com.netflix.spinnaker.clouddriver.aws.provider.AwsProvider
 import org.springframework.beans.factory.annotation.Autowired
@@ -126,7 +130,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster> {
 
   private static Map<String, AmazonLoadBalancer> translateLoadBalancers(Collection<CacheData> loadBalancerData) {
     loadBalancerData.collectEntries { loadBalancerEntry ->
-      Map<String, String> lbKey = Keys.parse(loadBalancerEntry.id)
+      LoadBalancerKey lbKey = Keys.parseLoadBalancerKey(loadBalancerEntry.id)
       [(loadBalancerEntry.id) : new AmazonLoadBalancer(name: lbKey.loadBalancer, account: lbKey.account, region: lbKey.region)]
     }
   }
@@ -158,7 +162,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster> {
     }
 
     Collection<AmazonCluster> clusters = clusterData.collect { CacheData clusterDataEntry ->
-      Map<String, String> clusterKey = Keys.parse(clusterDataEntry.id)
+      ClusterKey clusterKey = Keys.parseClusterKey(clusterDataEntry.id)
 
       AmazonCluster cluster = new AmazonCluster()
       cluster.accountName = clusterKey.account
@@ -170,7 +174,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster> {
         cluster.targetGroups = clusterDataEntry.relationships[TARGET_GROUPS.ns]?.findResults { targetGroups.get(it) }
       } else {
         cluster.loadBalancers = clusterDataEntry.relationships[LOAD_BALANCERS.ns]?.collect { loadBalancerKey ->
-          Map parts = Keys.parse(loadBalancerKey)
+          LoadBalancerKey parts = Keys.parseLoadBalancerKey(loadBalancerKey)
           new AmazonLoadBalancer(name: parts.loadBalancer, account: parts.account, region: parts.region)
         }
         cluster.targetGroups = clusterDataEntry.relationships[TARGET_GROUPS.ns]?.collect { targetGroupKey ->
@@ -200,7 +204,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster> {
     Map<String, AmazonInstance> instances = translateInstances(allInstances)
 
     Map<String, AmazonServerGroup> serverGroups = serverGroupData.collectEntries { serverGroupEntry ->
-      Map<String, String> serverGroupKey = Keys.parse(serverGroupEntry.id)
+      ServerGroupKey serverGroupKey = Keys.parseServerGroupKey(serverGroupEntry.id)
 
       AmazonServerGroup serverGroup = new AmazonServerGroup(serverGroupEntry.attributes)
       def asg = serverGroupEntry.attributes.asg
@@ -275,7 +279,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster> {
   private void addHealthToInstances(Collection<CacheData> instanceData, Map<String, AmazonInstance> instances) {
     Map<String, String> healthKeysToInstance = [:]
     instanceData.each { instanceEntry ->
-      Map<String, String> instanceKey = Keys.parse(instanceEntry.id)
+      InstanceKey instanceKey = Keys.parseInstanceKey(instanceEntry.id)
       awsProvider.healthAgents.each {
         def key = Keys.getInstanceHealthKey(instanceKey.instanceId, instanceKey.account, instanceKey.region, it.healthId)
         healthKeysToInstance.put(key, instanceEntry.id)
@@ -344,7 +348,7 @@ class AmazonClusterProvider implements ClusterProvider<AmazonCluster> {
     if (application == null) {
       return [] as Set
     }
-    Collection<String> clusterKeys = application.relationships[CLUSTERS.ns].findAll { Keys.parse(it).account == account }
+    Collection<String> clusterKeys = application.relationships[CLUSTERS.ns].findAll { Keys.parseClusterKey(it).account == account }
     Collection<CacheData> clusters = cacheView.getAll(CLUSTERS.ns, clusterKeys)
     translateClusters(clusters, true) as Set<AmazonCluster>
   }
@@ -26,6 +26,7 @@ import com.netflix.spinnaker.clouddriver.core.provider.agent.ExternalHealthProvi
 import com.netflix.spinnaker.clouddriver.model.InstanceProvider
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import com.netflix.spinnaker.clouddriver.aws.data.ServerGroupKey
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonInstance
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.stereotype.Component
@@ -63,7 +64,7 @@ class AmazonInstanceProvider implements InstanceProvider<AmazonInstance> {
     AmazonInstance instance = new AmazonInstance(instanceEntry.attributes)
     instance.name = id
     if (instanceEntry.relationships[SERVER_GROUPS.ns] && !instanceEntry.relationships[SERVER_GROUPS.ns].empty) {
-      Map serverGroup = Keys.parse(instanceEntry.relationships[SERVER_GROUPS.ns].iterator().next())
+      ServerGroupKey serverGroup = Keys.parseServerGroupKey(instanceEntry.relationships[SERVER_GROUPS.ns].iterator().next())
       instance.serverGroup = serverGroup.serverGroup
       instance.cluster = serverGroup.cluster
     }
@@ -25,7 +25,9 @@ import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
 import com.netflix.spinnaker.clouddriver.aws.data.ArnUtils
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonTargetGroup
 import com.netflix.spinnaker.clouddriver.model.LoadBalancerInstance
+import com.netflix.spinnaker.clouddriver.aws.data.InstanceKey
 import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import com.netflix.spinnaker.clouddriver.aws.data.ServerGroupKey
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonInstance
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonLoadBalancer
 import com.netflix.spinnaker.clouddriver.aws.model.AmazonServerGroup
@@ -204,12 +206,12 @@ class AmazonLoadBalancerProvider implements LoadBalancerProvider<AmazonLoadBalan
 
   private static Map<String, AmazonServerGroup> translateServerGroups(Collection<CacheData> serverGroupData, Map<String, AmazonInstance> instances) {
     Map<String, AmazonServerGroup> serverGroups = serverGroupData.collectEntries { serverGroupEntry ->
-      Map<String, String> serverGroupKey = Keys.parse(serverGroupEntry.id)
+      ServerGroupKey serverGroupKey = Keys.parseServerGroupKey(serverGroupEntry.id)
 
       AmazonServerGroup serverGroup = new AmazonServerGroup(name: serverGroupKey.serverGroup, region: serverGroupKey.region)
       serverGroup.instances = serverGroupEntry.relationships[INSTANCES.ns]?.findResults { instances.get(it) }
       serverGroup.asg = (Map<String, Object>)serverGroupEntry.attributes.asg
-      serverGroup.detachedInstances = serverGroupEntry.relationships[INSTANCES.ns]?.findResults { instances.get(it) ? null : Keys.parse(it).instanceId }
+      serverGroup.detachedInstances = serverGroupEntry.relationships[INSTANCES.ns]?.findResults { instances.get(it) ? null : Keys.parseInstanceKey(it).instanceId }
       [(serverGroupEntry.id) : serverGroup]
     }
 
@@ -233,7 +235,7 @@ class AmazonLoadBalancerProvider implements LoadBalancerProvider<AmazonLoadBalan
     def loadBalancingHealthAgents = awsProvider.healthAgents.findAll { it.healthId.contains('load-balancer')}
 
     instanceData.each { instanceEntry ->
-      Map<String, String> instanceKey = Keys.parse(instanceEntry.id)
+      InstanceKey instanceKey = Keys.parseInstanceKey(instanceEntry.id)
       loadBalancingHealthAgents.each {
         def key = Keys.getInstanceHealthKey(instanceKey.instanceId, instanceKey.account, instanceKey.region, it.healthId)
         healthKeysToInstance.put(key, instanceEntry.id)
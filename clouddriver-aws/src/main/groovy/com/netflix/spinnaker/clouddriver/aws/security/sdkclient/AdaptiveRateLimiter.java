@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A RateLimiter whose permitted rate adapts to throttling (additive increase, multiplicative decrease).
+ *
+ * The rate starts at the configured limit. Each throttled request halves the rate (at most once per adjustment
+ * interval, so a burst of throttled requests only backs off once), and each interval with successful requests adds
+ * back a fixed fraction of the configured limit. The rate never exceeds the configured limit.
+ */
+public class AdaptiveRateLimiter {
+  private static final double MIN_RATE_FRACTION = 0.05d;
+  private static final double INCREASE_FRACTION = 0.05d;
+  private static final double DECREASE_FACTOR = 0.5d;
+  private static final long ADJUSTMENT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final RateLimiter rateLimiter;
+  private final double maxRate;
+  private final double minRate;
+  private final double additiveIncrease;
+  private final LongSupplier nanoTime;
+
+  private double rate;
+  private long lastIncrease;
+  private long lastDecrease;
+
+  public AdaptiveRateLimiter(double maxRate) {
+    this(maxRate, System::nanoTime);
+  }
+
+  AdaptiveRateLimiter(double maxRate, LongSupplier nanoTime) {
+    this.maxRate = maxRate;
+    this.minRate = maxRate * MIN_RATE_FRACTION;
+    this.additiveIncrease = maxRate * INCREASE_FRACTION;
+    this.nanoTime = nanoTime;
+    this.rate = maxRate;
+    this.rateLimiter = RateLimiter.create(maxRate);
+
+    long now = nanoTime.getAsLong();
+    this.lastIncrease = now;
+    this.lastDecrease = now - ADJUSTMENT_INTERVAL_NANOS;
+  }
+
+  /**
+   * @return the number of seconds spent waiting for a permit
+   */
+  public double acquire() {
+    return rateLimiter.acquire();
+  }
+
+  public synchronized void onSuccess() {
+    long now = nanoTime.getAsLong();
+    if (rate >= maxRate || now - lastIncrease < ADJUSTMENT_INTERVAL_NANOS) {
+      return;
+    }
+    lastIncrease = now;
+    setRate(Math.min(maxRate, rate + additiveIncrease));
+  }
+
+  public synchronized void onThrottle() {
+    long now = nanoTime.getAsLong();
+    if (now - lastDecrease < ADJUSTMENT_INTERVAL_NANOS) {
+      return;
+    }
+    lastDecrease = now;
+    lastIncrease = now;
+    setRate(Math.max(minRate, rate * DECREASE_FACTOR));
+  }
+
+  public synchronized double getRate() {
+    return rate;
+  }
+
+  public double getMaxRate() {
+    return maxRate;
+  }
+
+  private void setRate(double rate) {
+    this.rate = rate;
+    rateLimiter.setRate(rate);
+  }
+}
@@ -27,7 +27,6 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
-import com.google.common.util.concurrent.RateLimiter;
 import com.netflix.spectator.api.Counter;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.aws.security.AWSProxy;
@@ -75,12 +74,16 @@ public class AwsSdkClientSupplier {
   }
 
   private RequestHandler2 getRateLimiterHandler(Class<?> sdkInterface, String account, String region) {
-    final RateLimiter limiter = rateLimiterSupplier.getRateLimiter(sdkInterface, account, region);
+    final AdaptiveRateLimiter limiter = rateLimiterSupplier.getRateLimiter(sdkInterface, account, region);
     final Counter rateLimitCounter = registry.counter("amazonClientProvider.rateLimitDelayMillis",
       "clientType", sdkInterface.getSimpleName(),
       "account", account,
       "region", region == null ? "UNSPECIFIED" : region);
-    return new RateLimitingRequestHandler(rateLimitCounter, limiter);
+    final Counter throttleCounter = registry.counter("amazonClientProvider.throttles",
+      "clientType", sdkInterface.getSimpleName(),
+      "account", account,
+      "region", region == null ? "UNSPECIFIED" : region);
+    return new RateLimitingRequestHandler(rateLimitCounter, throttleCounter, limiter);
   }
 
   private static class SdkClientCacheLoader extends CacheLoader<AmazonClientKey<?>, Object> {
@@ -128,14 +131,20 @@ public class AwsSdkClientSupplier {
     }
 
     private RetryPolicy getRetryPolicy(AmazonClientKey<?> key) {
+      final boolean stsCredentials = key.getAwsCredentialsProvider() instanceof NetflixSTSAssumeRoleSessionCredentialsProvider;
+      final Optional<RateLimitingRequestHandler> rateLimitingRequestHandler = key.getRequestHandler()
+        .filter(RateLimitingRequestHandler.class::isInstance)
+        .map(RateLimitingRequestHandler.class::cast);
 
-      if (!(key.getAwsCredentialsProvider() instanceof NetflixSTSAssumeRoleSessionCredentialsProvider)) {
+      if (!stsCredentials && !rateLimitingRequestHandler.isPresent()) {
         return retryPolicy;
       }
 
+      // the retry condition sees every failed attempt, allowing the rate limiter to react to throttling that is retried
       final RetryPolicy.RetryCondition delegatingRetryCondition = (originalRequest, exception, retriesAttempted) -> {
-        NetflixSTSAssumeRoleSessionCredentialsProvider stsCredentialsProvider = (NetflixSTSAssumeRoleSessionCredentialsProvider) key.getAwsCredentialsProvider();
-        if (exception instanceof AmazonServiceException) {
+        rateLimitingRequestHandler.ifPresent(handler -> handler.onAttemptFailed(exception));
+        if (stsCredentials && exception instanceof AmazonServiceException) {
+          NetflixSTSAssumeRoleSessionCredentialsProvider stsCredentialsProvider = (NetflixSTSAssumeRoleSessionCredentialsProvider) key.getAwsCredentialsProvider();
           ((AmazonServiceException) exception).getHttpHeaders().put("targetAccountId", stsCredentialsProvider.getAccountId());
         }
         return retryPolicy.getRetryCondition().shouldRetry(originalRequest, exception, retriesAttempted);
@@ -19,7 +19,6 @@ package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import com.google.common.util.concurrent.RateLimiter;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider;
 import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfiguration;
@@ -29,18 +28,18 @@ import java.util.concurrent.ExecutionException;
 
 
 /**
- * Factory for shared RateLimiters by SDK client interface/account/region.
+ * Factory for shared AdaptiveRateLimiters by SDK client interface/account/region.
  */
 public class RateLimiterSupplier {
 
-  private final LoadingCache<RateLimitKey, RateLimiter> rateLimiters;
+  private final LoadingCache<RateLimitKey, AdaptiveRateLimiter> rateLimiters;
 
   public RateLimiterSupplier(ServiceLimitConfiguration serviceLimitConfiguration, Registry registry) {
-    rateLimiters = CacheBuilder.newBuilder().recordStats().build(new RateLimitCacheLoader(serviceLimitConfiguration));
+    rateLimiters = CacheBuilder.newBuilder().recordStats().build(new RateLimitCacheLoader(serviceLimitConfiguration, registry));
     LoadingCacheMetrics.instrument("rateLimiterSupplier", registry, rateLimiters);
   }
 
-  public RateLimiter getRateLimiter(Class<?> implementation, String account, String region) {
+  public AdaptiveRateLimiter getRateLimiter(Class<?> implementation, String account, String region) {
     try {
       return rateLimiters.get(new RateLimitKey(implementation, account, region));
     } catch (ExecutionException executionException) {
@@ -51,23 +50,25 @@ public class RateLimiterSupplier {
     }
   }
 
-  private static class RateLimitCacheLoader extends CacheLoader<RateLimitKey, RateLimiter> {
+  private static class RateLimitCacheLoader extends CacheLoader<RateLimitKey, AdaptiveRateLimiter> {
     private static final double DEFAULT_LIMIT = 10.0d;
 
     private final ServiceLimitConfiguration serviceLimitConfiguration;
+    private final Registry registry;
     private final double defaultLimit;
 
-    public RateLimitCacheLoader(ServiceLimitConfiguration serviceLimitConfiguration) {
-      this(serviceLimitConfiguration, DEFAULT_LIMIT);
+    public RateLimitCacheLoader(ServiceLimitConfiguration serviceLimitConfiguration, Registry registry) {
+      this(serviceLimitConfiguration, registry, DEFAULT_LIMIT);
     }
 
-    public RateLimitCacheLoader(ServiceLimitConfiguration serviceLimitConfiguration, double defaultLimit) {
+    public RateLimitCacheLoader(ServiceLimitConfiguration serviceLimitConfiguration, Registry registry, double defaultLimit) {
       this.serviceLimitConfiguration = Objects.requireNonNull(serviceLimitConfiguration);
+      this.registry = Objects.requireNonNull(registry);
       this.defaultLimit = defaultLimit;
     }
 
     @Override
-    public RateLimiter load(RateLimitKey key) throws Exception {
+    public AdaptiveRateLimiter load(RateLimitKey key) throws Exception {
       double rateLimit = serviceLimitConfiguration.getLimit(
         ServiceLimitConfiguration.API_RATE_LIMIT,
         key.implementationClass.getSimpleName(),
@@ -75,7 +76,15 @@ public class RateLimiterSupplier {
         AmazonCloudProvider.ID,
         defaultLimit);
 
-      return RateLimiter.create(rateLimit);
+      AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(rateLimit);
+      registry.gauge(
+        registry.createId("amazonClientProvider.rateLimit",
+          "clientType", key.implementationClass.getSimpleName(),
+          "account", key.account,
+          "region", key.region == null ? "UNSPECIFIED" : key.region),
+        rateLimiter,
+        AdaptiveRateLimiter::getRate);
+      return rateLimiter;
     }
   }
 
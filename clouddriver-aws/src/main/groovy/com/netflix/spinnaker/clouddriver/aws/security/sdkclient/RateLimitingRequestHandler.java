@@ -16,22 +16,29 @@
 
 package com.netflix.spinnaker.clouddriver.aws.security.sdkclient;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.Request;
+import com.amazonaws.Response;
 import com.amazonaws.handlers.RequestHandler2;
-import com.google.common.util.concurrent.RateLimiter;
+import com.amazonaws.retry.RetryUtils;
 import com.netflix.spectator.api.Counter;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * A RequestHandler that will throttle requests via the supplied RateLimiter.
+ * A RequestHandler that will throttle requests via the supplied AdaptiveRateLimiter.
+ *
+ * Successful responses and throttling errors are reported back to the limiter so that it can adjust its rate.
  */
 public class RateLimitingRequestHandler extends RequestHandler2 {
   private final Counter counter;
-  private final RateLimiter rateLimiter;
+  private final Counter throttleCounter;
+  private final AdaptiveRateLimiter rateLimiter;
 
-  public RateLimitingRequestHandler(Counter counter, RateLimiter rateLimiter) {
+  public RateLimitingRequestHandler(Counter counter, Counter throttleCounter, AdaptiveRateLimiter rateLimiter) {
     this.counter = requireNonNull(counter);
+    this.throttleCounter = requireNonNull(throttleCounter);
     this.rateLimiter = requireNonNull(rateLimiter);
   }
 
@@ -43,6 +50,22 @@ public class RateLimitingRequestHandler extends RequestHandler2 {
     super.beforeRequest(request);
   }
 
+  @Override
+  public void afterResponse(Request<?> request, Response<?> response) {
+    rateLimiter.onSuccess();
+    super.afterResponse(request, response);
+  }
+
+  /**
+   * Invoked for every failed attempt of a request (including those that will be retried).
+   */
+  public void onAttemptFailed(AmazonClientException exception) {
+    if (exception instanceof AmazonServiceException && RetryUtils.isThrottlingException((AmazonServiceException) exception)) {
+      throttleCounter.increment();
+      rateLimiter.onThrottle();
+    }
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -52,6 +52,28 @@ class KeysSpec extends Specification {
     Keys.parse(Keys.getLoadBalancerKey('loadBalancer', 'account', 'region', 'vpc-12345', 'application')) == [provider: 'aws', type: Namespace.LOAD_BALANCERS.ns, loadBalancer: 'loadBalancer', account: 'account', region: 'region', vpcId: 'vpc-12345', loadBalancerType: 'application', application: 'loadbalancer', stack: null, detail: null]
   }
 
+  def 'typed key parsing'() {
+    expect:
+    Keys.parseServerGroupKey(Keys.getServerGroupKey('theAsg-test-v001', 'account', 'region')) == new ServerGroupKey(application: 'theasg', cluster: 'theAsg-test', account: 'account', region: 'region', serverGroup: 'theAsg-test-v001', stack: 'test', detail: null, sequence: 1)
+    Keys.parseInstanceKey(Keys.getInstanceKey('i-1234', 'account', 'region')) == new InstanceKey(account: 'account', region: 'region', instanceId: 'i-1234')
+    Keys.parseClusterKey(Keys.getClusterKey('cluster-test-useast1', 'Application', 'account')) == new ClusterKey(application: 'application', account: 'account', cluster: 'cluster-test-useast1', stack: 'test', detail: 'useast1')
+    Keys.parseLoadBalancerKey('aws:loadBalancers:account:region:lbname:vpc:application') == new LoadBalancerKey(account: 'account', region: 'region', loadBalancer: 'lbname', vpcId: 'vpc', loadBalancerType: 'application', application: 'lbname', stack: null, detail: null)
+    Keys.parseLoadBalancerKey('aws:loadBalancers:account:region:lbname').loadBalancerType == 'classic'
+
+    and: 'keys of another type are not parsed'
+    Keys.parseServerGroupKey(Keys.getInstanceKey('i-1234', 'account', 'region')) == null
+    Keys.parseInstanceKey(null) == null
+  }
+
+  def 'parsed keys are interned'() {
+    given:
+    def key = Keys.getServerGroupKey('theAsg-v001', 'account', 'region')
+
+    expect:
+    Keys.parseServerGroupKey(key).is(Keys.parseServerGroupKey(new String(key)))
+    Keys.parseName('theAsg-v001').is(Keys.parseName('theAsg-v001'))
+  }
+
   def 'load balancer key backwards compatibility'() {
     expect:
     Keys.getLoadBalancerKey('lbname', 'account', 'region', null, 'classic') == 'aws:loadBalancers:account:region:lbname'
@@ -17,11 +17,33 @@
 
 package com.netflix.spinnaker.clouddriver.aws.provider.agent
 
+import com.amazonaws.services.autoscaling.AmazonAutoScaling
 import com.amazonaws.services.autoscaling.model.AutoScalingGroup
+import com.amazonaws.services.autoscaling.model.DescribeAutoScalingGroupsResult
+import com.amazonaws.services.autoscaling.model.DescribePoliciesResult
+import com.amazonaws.services.autoscaling.model.DescribeScheduledActionsResult
 import com.amazonaws.services.autoscaling.model.SuspendedProcess
+import com.amazonaws.services.cloudwatch.AmazonCloudWatch
+import com.amazonaws.services.cloudwatch.model.DescribeAlarmsResult
+import com.amazonaws.services.ec2.AmazonEC2
+import com.amazonaws.services.ec2.model.DescribeSubnetsResult
+import com.amazonaws.services.ec2.model.Subnet
+import com.netflix.awsobjectmapper.AmazonObjectMapper
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.clouddriver.aws.AmazonCloudProvider
+import com.netflix.spinnaker.clouddriver.aws.data.Keys
+import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider
+import com.netflix.spinnaker.clouddriver.aws.security.EddaTimeoutConfig
+import com.netflix.spinnaker.clouddriver.aws.security.NetflixAmazonCredentials
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.SERVER_GROUPS
+
 class ClusterCachingAgentSpec extends Specification {
   static int defaultMin = 1
   static int defaultMax = 1
@@ -86,6 +108,93 @@ class ClusterCachingAgentSpec extends Specification {
     e.message.startsWith("failed to resolve only one vpc")
   }
 
+  def "should issue describes concurrently and record their latency"() {
+    given:
+    def describePool = Executors.newFixedThreadPool(4)
+    def registry = new DefaultRegistry()
+    def autoScaling = Mock(AmazonAutoScaling)
+    def amazonEC2 = Mock(AmazonEC2)
+    def amazonCloudWatch = Mock(AmazonCloudWatch)
+    def credentials = Stub(NetflixAmazonCredentials) {
+      getName() >> "test"
+    }
+    def amazonClientProvider = Stub(AmazonClientProvider) {
+      getAutoScaling(credentials, "us-west-1", false) >> autoScaling
+      getAmazonEC2(credentials, "us-west-1", false) >> amazonEC2
+      getAmazonCloudWatch(credentials, "us-west-1", false) >> amazonCloudWatch
+    }
+    def providerCache = Stub(ProviderCache) {
+      getAll(_, _) >> []
+    }
+    def agent = new ClusterCachingAgent(
+      Stub(AmazonCloudProvider), amazonClientProvider, credentials, "us-west-1", new AmazonObjectMapper(), registry, EddaTimeoutConfig.DEFAULT, describePool
+    )
+
+    when:
+    def result = agent.loadData(providerCache)
+
+    then:
+    1 * autoScaling.describeAutoScalingGroups(_) >> new DescribeAutoScalingGroupsResult().withAutoScalingGroups(defaultAsg)
+    1 * autoScaling.describePolicies(_) >> new DescribePoliciesResult()
+    1 * autoScaling.describeScheduledActions(_) >> new DescribeScheduledActionsResult()
+    1 * amazonCloudWatch.describeAlarms(_) >> new DescribeAlarmsResult()
+    1 * amazonEC2.describeSubnets(_) >> new DescribeSubnetsResult().withSubnets(
+      new Subnet().withSubnetId("subnetId1").withVpcId(vpc),
+      new Subnet().withSubnetId("subnetId2").withVpcId(vpc)
+    )
+
+    result.cacheResults[SERVER_GROUPS.ns]*.id == [Keys.getServerGroupKey("test-v001", "test", "us-west-1")]
+    ["autoScalingGroups", "scalingPolicies", "scheduledActions", "subnets"].every {
+      registry.timer("aws.clusterCaching.describe", "account", "test", "region", "us-west-1", "describe", it).count() == 1
+    }
+
+    cleanup:
+    describePool.shutdownNow()
+  }
+
+  def "should run describes on the caching thread when the describe pool is busy"() {
+    given:
+    def describePool = Executors.newSingleThreadExecutor()
+    def blockPool = new CountDownLatch(1)
+    describePool.submit({ blockPool.await() } as Runnable)
+    def autoScaling = Mock(AmazonAutoScaling)
+    def amazonEC2 = Mock(AmazonEC2)
+    def amazonCloudWatch = Mock(AmazonCloudWatch)
+    def credentials = Stub(NetflixAmazonCredentials) {
+      getName() >> "test"
+    }
+    def amazonClientProvider = Stub(AmazonClientProvider) {
+      getAutoScaling(credentials, "us-west-1", false) >> autoScaling
+      getAmazonEC2(credentials, "us-west-1", false) >> amazonEC2
+      getAmazonCloudWatch(credentials, "us-west-1", false) >> amazonCloudWatch
+    }
+    def providerCache = Stub(ProviderCache) {
+      getAll(_, _) >> []
+    }
+    def agent = new ClusterCachingAgent(
+      Stub(AmazonCloudProvider), amazonClientProvider, credentials, "us-west-1", new AmazonObjectMapper(), new DefaultRegistry(), EddaTimeoutConfig.DEFAULT, describePool
+    )
+
+    when:
+    def result = agent.loadData(providerCache)
+
+    then:
+    1 * autoScaling.describeAutoScalingGroups(_) >> new DescribeAutoScalingGroupsResult().withAutoScalingGroups(defaultAsg)
+    1 * autoScaling.describePolicies(_) >> new DescribePoliciesResult()
+    1 * autoScaling.describeScheduledActions(_) >> new DescribeScheduledActionsResult()
+    1 * amazonCloudWatch.describeAlarms(_) >> new DescribeAlarmsResult()
+    1 * amazonEC2.describeSubnets(_) >> new DescribeSubnetsResult().withSubnets(
+      new Subnet().withSubnetId("subnetId1").withVpcId(vpc),
+      new Subnet().withSubnetId("subnetId2").withVpcId(vpc)
+    )
+
+    result.cacheResults[SERVER_GROUPS.ns]*.id == [Keys.getServerGroupKey("test-v001", "test", "us-west-1")]
+
+    cleanup:
+    blockPool.countDown()
+    describePool.shutdownNow()
+  }
+
   private SuspendedProcess sP(String processName) {
     return new SuspendedProcess().withProcessName(processName)
   }
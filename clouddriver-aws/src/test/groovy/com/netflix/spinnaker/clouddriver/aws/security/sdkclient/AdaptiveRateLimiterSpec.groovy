@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.aws.security.sdkclient
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class AdaptiveRateLimiterSpec extends Specification {
+
+  long now = 0
+  def rateLimiter = new AdaptiveRateLimiter(20.0d, { now })
+
+  def "should back off multiplicatively on throttling, at most once per interval"() {
+    when:
+    rateLimiter.onThrottle()
+    rateLimiter.onThrottle()
+
+    then:
+    rateLimiter.rate == 10.0d
+
+    when:
+    advanceSeconds(1)
+    rateLimiter.onThrottle()
+
+    then:
+    rateLimiter.rate == 5.0d
+  }
+
+  def "should not back off below the minimum rate"() {
+    when:
+    10.times {
+      rateLimiter.onThrottle()
+      advanceSeconds(1)
+    }
+
+    then:
+    rateLimiter.rate == 1.0d
+  }
+
+  def "should increase additively on success up to the configured limit"() {
+    given:
+    rateLimiter.onThrottle()
+
+    when:
+    rateLimiter.onSuccess()
+
+    then: 'no increase within the same interval'
+    rateLimiter.rate == 10.0d
+
+    when:
+    advanceSeconds(1)
+    rateLimiter.onSuccess()
+
+    then:
+    rateLimiter.rate == 11.0d
+
+    when:
+    20.times {
+      advanceSeconds(1)
+      rateLimiter.onSuccess()
+    }
+
+    then:
+    rateLimiter.rate == rateLimiter.maxRate
+  }
+
+  private void advanceSeconds(long seconds) {
+    now += TimeUnit.SECONDS.toNanos(seconds)
+  }
+}
@@ -129,6 +129,34 @@ public class AzureComputeClient extends AzureBaseClient {
     result
   }
 
+  /**
+   * Return the names of the VM image publishers of a location
+   */
+  List<String> listVMImagePublishers(String location) {
+    executeOp({vmImageOps.listPublishers(location)})?.body?.collect { it.name } ?: []
+  }
+
+  /**
+   * Return the names of the VM image offers of a publisher
+   */
+  List<String> listVMImageOffers(String location, String publisher) {
+    executeOp({vmImageOps.listOffers(location, publisher)})?.body?.collect { it.name } ?: []
+  }
+
+  /**
+   * Return the names of the VM image SKUs of an offer
+   */
+  List<String> listVMImageSkus(String location, String publisher, String offer) {
+    executeOp({vmImageOps.listSkus(location, publisher, offer)})?.body?.collect { it.name } ?: []
+  }
+
+  /**
+   * Return the (at most 100) versions of a VM image SKU
+   */
+  List<String> listVMImageVersions(String location, String publisher, String offer, String sku) {
+    executeOp({vmImageOps.list(location, publisher, offer, sku, null, 100, "name")})?.body?.collect { it.name } ?: []
+  }
+
   VirtualMachineImage getVMImage(String location, String publisher, String offer, String skus, String version) {
     executeOp({vmImageOps.get(location, publisher, offer, skus,version)})?.body
   }
@@ -38,5 +38,37 @@ class AzureConfigurationProperties {
     String defaultKeyVault
   }
 
+  @ToString(includeNames = true)
+  static class VMImageCaching {
+    /**
+     * Marketplace images are only cached when enabled, crawling every publisher of a region is expensive.
+     */
+    boolean enabled = false
+
+    /**
+     * Publishers to crawl, every publisher of the region is crawled when empty.
+     */
+    List<String> publishers = []
+
+    /**
+     * Number of threads each account (shared by its regions) uses to crawl offers, SKUs and versions.
+     */
+    int threadPoolSize = 4
+
+    /**
+     * A publisher is re-crawled this often while its images keep changing, the interval doubles (up to the max) every
+     * time a crawl finds no change.
+     */
+    long minPublisherRefreshIntervalMinutes = 120
+    long maxPublisherRefreshIntervalMinutes = 2880
+
+    /**
+     * Upper bound on the number of publishers crawled per run (least recently crawled first), 0 means no bound.
+     */
+    int maxPublishersPerRun = 0
+  }
+
   List<ManagedAccount> accounts = []
+
+  VMImageCaching vmImageCaching = new VMImageCaching()
 }
@@ -20,12 +20,15 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.provider.ProviderSynchronizerTypeWrapper
+import com.netflix.spinnaker.cats.thread.NamedThreadFactory
 import com.netflix.spinnaker.clouddriver.azure.AzureCloudProvider
+import com.netflix.spinnaker.clouddriver.azure.config.AzureConfigurationProperties
 import com.netflix.spinnaker.clouddriver.azure.resources.appgateway.cache.AzureAppGatewayCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.network.cache.AzureNetworkCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.securitygroup.cache.AzureSecurityGroupCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.servergroup.cache.AzureServerGroupCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache.AzureCustomImageCachingAgent
+import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache.AzureVMImageCachingAgent
 import com.netflix.spinnaker.clouddriver.azure.security.AzureNamedAccountCredentials
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsRepository
 import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.provider.AzureInfrastructureProvider
@@ -38,6 +41,10 @@ import org.springframework.context.annotation.DependsOn
 import org.springframework.context.annotation.Scope
 
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
 
 @Configuration
 @ConditionalOnProperty('azure.enabled')
@@ -47,14 +54,16 @@ class AzureInfrastructureProviderConfig {
   AzureInfrastructureProvider azureInfrastructureProvider(AzureCloudProvider azureCloudProvider,
                                                             AccountCredentialsRepository accountCredentialsRepository,
                                                             ObjectMapper objectMapper,
-                                                            Registry registry) {
+                                                            Registry registry,
+                                                            AzureConfigurationProperties azureConfigurationProperties) {
     def azureInfrastructureProvider = new AzureInfrastructureProvider(azureCloudProvider,Collections.newSetFromMap(new ConcurrentHashMap<Agent, Boolean>()))
 
     synchronizeAzureInfrastructureProvider(azureInfrastructureProvider,
                                            azureCloudProvider,
                                            accountCredentialsRepository,
                                            objectMapper,
-                                           registry)
+                                           registry,
+                                           azureConfigurationProperties)
 
     azureInfrastructureProvider
   }
@@ -79,11 +88,13 @@ class AzureInfrastructureProviderConfig {
                                                                              AzureCloudProvider azureCloudProvider,
                                                                              AccountCredentialsRepository accountCredentialsRepository,
                                                                              ObjectMapper objectMapper,
-                                                                             Registry registry) {
+                                                                             Registry registry,
+                                                                             AzureConfigurationProperties azureConfigurationProperties) {
     def scheduledAccounts = ProviderUtils.getScheduledAccounts(azureInfrastructureProvider)
     def allAccounts = ProviderUtils.buildThreadSafeSetOfAccounts(accountCredentialsRepository, AzureNamedAccountCredentials)
 
     allAccounts.each { AzureNamedAccountCredentials creds ->
+      ExecutorService vmImageCrawlPool = null
       creds.regions.each { region ->
         if (!scheduledAccounts.contains(creds.accountName)) {
           def newlyAddedAgents = []
@@ -92,7 +103,12 @@ class AzureInfrastructureProviderConfig {
           newlyAddedAgents << new AzureSecurityGroupCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper, registry)
           newlyAddedAgents << new AzureNetworkCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper)
 //          newlyAddedAgents << new AzureSubnetCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper)
-//          newlyAddedAgents << new AzureVMImageCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper)
+          if (azureConfigurationProperties.vmImageCaching.enabled) {
+            vmImageCrawlPool = vmImageCrawlPool ?: newVMImageCrawlPool(creds.accountName, azureConfigurationProperties.vmImageCaching.threadPoolSize)
+            newlyAddedAgents << new AzureVMImageCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper,
+              AzureVMImageCachingAgent.DEFAULT_POLL_INTERVAL_MILLIS, AzureVMImageCachingAgent.DEFAULT_TIMEOUT_MILLIS,
+              azureConfigurationProperties.vmImageCaching, vmImageCrawlPool, registry)
+          }
           newlyAddedAgents << new AzureCustomImageCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, creds.vmCustomImages, objectMapper)
           newlyAddedAgents << new AzureServerGroupCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper, registry)
           newlyAddedAgents << new AzureAppGatewayCachingAgent(azureCloudProvider, creds.accountName, creds.credentials, region.name, objectMapper, registry)
@@ -110,5 +126,18 @@ class AzureInfrastructureProviderConfig {
 
     new AzureInfrastructureProviderSynchronizer()
   }
+
+  /**
+   * Azure Resource Manager throttles reads per subscription, and every region of an account crawls through the same
+   * subscription, so the marketplace image crawls of an account's regions share one pool sized for that quota. Other
+   * accounts are not slowed down by a large crawl. Crawls are infrequent, so idle threads time out.
+   */
+  private static ExecutorService newVMImageCrawlPool(String accountName, int threadPoolSize) {
+    int threads = Math.max(1, threadPoolSize)
+    def pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+      new NamedThreadFactory("${AzureVMImageCachingAgent.simpleName}-${accountName}"))
+    pool.allowCoreThreadTimeOut(true)
+    return pool
+  }
 }
 
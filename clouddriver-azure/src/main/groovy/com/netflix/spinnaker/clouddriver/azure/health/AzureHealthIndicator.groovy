@@ -16,69 +16,47 @@
 
 package com.netflix.spinnaker.clouddriver.azure.health
 
+import com.netflix.spinnaker.clouddriver.azure.AzureCloudProvider
 import com.netflix.spinnaker.clouddriver.azure.security.AzureNamedAccountCredentials
-import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
 import groovy.transform.CompileStatic
 import groovy.transform.InheritConstructors
-import org.slf4j.Logger
-import org.slf4j.LoggerFactory
-import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
 import org.springframework.web.bind.annotation.ResponseStatus
 
-import java.util.concurrent.atomic.AtomicReference
-
 @Component
 @CompileStatic
-class AzureHealthIndicator implements HealthIndicator {
-
-  private static final Logger LOG = LoggerFactory.getLogger(AzureHealthIndicator)
-
-  @Autowired
-  AccountCredentialsProvider accountCredentialsProvider
+class AzureHealthIndicator extends AbstractAccountHealthIndicator<AzureNamedAccountCredentials> {
 
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
+  AzureHealthIndicator() {
+    super(AzureCloudProvider.ID as String, AzureNamedAccountCredentials)
+  }
 
   @Override
-  Health health() {
-    def ex = lastException.get()
+  protected Collection<AzureNamedAccountCredentials> getAccounts() {
+    Collection<AzureNamedAccountCredentials> azureCredentialsSet = super.getAccounts()
 
-    if (ex) {
-      throw ex
+    if (!azureCredentialsSet) {
+      throw new AzureCredentialsNotFoundException()
     }
 
-    new Health.Builder().up().build()
+    return azureCredentialsSet
   }
 
   @Scheduled(fixedDelay = 300000L)
   void checkHealth() {
-    try {
-      Set<AzureNamedAccountCredentials> azureCredentialsSet = accountCredentialsProvider.all.findAll {
-        it instanceof AzureNamedAccountCredentials
-      } as Set<AzureNamedAccountCredentials>
-
-      if (!azureCredentialsSet) {
-        throw new AzureCredentialsNotFoundException()
-      }
-
-      for (AzureNamedAccountCredentials accountCredentials in azureCredentialsSet) {
-        try {
-          // This verifies that the specified credentials are sufficient to access the referenced project.
-          accountCredentials.credentials.resourceManagerClient.healthCheck()
-        } catch (IOException e) {
-          throw new AzureIOException(e)
-        }
-      }
-
-      lastException.set(null)
-    } catch (Exception ex) {
-      LOG.warn "Unhealthy", ex
+    probeAccounts()
+  }
 
-      lastException.set(ex)
+  @Override
+  protected void probe(AzureNamedAccountCredentials accountCredentials) {
+    try {
+      // This verifies that the specified credentials are sufficient to access the referenced project.
+      accountCredentials.credentials.resourceManagerClient.healthCheck()
+    } catch (IOException e) {
+      throw new AzureIOException(e)
     }
   }
 
@@ -31,6 +31,7 @@ class Keys {
     AZURE_SERVER_GROUPS,
     AZURE_INSTANCES,
     AZURE_VMIMAGES,
+    AZURE_VMIMAGE_PUBLISHERS,
     AZURE_CUSTOMVMIMAGES,
     AZURE_ON_DEMAND,
     AZURE_EVICTIONS
@@ -100,6 +101,9 @@ class Keys {
       case Namespace.AZURE_VMIMAGES.ns:
         result << [account: parts[2], region: parts[3], name: parts[4], vmversion: parts[5]]
         break
+      case Namespace.AZURE_VMIMAGE_PUBLISHERS.ns:
+        result << [account: parts[2], region: parts[3], publisher: parts[4]]
+        break
       case Namespace.AZURE_CUSTOMVMIMAGES.ns:
         result << [account: parts[2], region: parts[3], name: parts[4]]
         break
@@ -212,6 +216,13 @@ class Keys {
     "${azureCloudProviderId}:${Namespace.AZURE_VMIMAGES}:${account}:${region}:${vmImageName}:${vmImageVersion}"
   }
 
+  static String getVMImagePublisherKey(String azureCloudProviderId,
+                                       String account,
+                                       String region,
+                                       String publisher) {
+    "${azureCloudProviderId}:${Namespace.AZURE_VMIMAGE_PUBLISHERS}:${account}:${region}:${publisher}"
+  }
+
   static String getCustomVMImageKey(AzureCloudProvider azureCloudProvider,
                                     String account,
                                     String region,
@@ -17,6 +17,8 @@
 package com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.AccountAware
 import com.netflix.spinnaker.cats.agent.AgentDataType
 import com.netflix.spinnaker.cats.agent.CacheResult
@@ -26,6 +28,7 @@ import com.netflix.spinnaker.cats.cache.CacheData
 import com.netflix.spinnaker.cats.cache.DefaultCacheData
 import com.netflix.spinnaker.cats.provider.ProviderCache
 import com.netflix.spinnaker.clouddriver.azure.AzureCloudProvider
+import com.netflix.spinnaker.clouddriver.azure.config.AzureConfigurationProperties
 import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.Keys
 import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.provider.AzureInfrastructureProvider
 import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.model.AzureVMImage
@@ -33,6 +36,8 @@ import com.netflix.spinnaker.clouddriver.azure.security.AzureCredentials
 import com.netflix.spinnaker.clouddriver.cache.CustomScheduledAgent
 import groovy.util.logging.Slf4j
 
+import java.time.Clock
+import java.util.concurrent.ExecutorService
 import java.util.concurrent.TimeUnit
 
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
@@ -52,8 +57,14 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
   final long pollIntervalMillis
   final long timeoutMillis
 
+  final AzureConfigurationProperties.VMImageCaching vmImageCaching
+  final AzureVMImageCrawler crawler
+  final Registry registry
+  final Clock clock
+
   static final Set<AgentDataType> types = Collections.unmodifiableSet([
-    AUTHORITATIVE.forType(Keys.Namespace.AZURE_VMIMAGES.ns)
+    AUTHORITATIVE.forType(Keys.Namespace.AZURE_VMIMAGES.ns),
+    AUTHORITATIVE.forType(Keys.Namespace.AZURE_VMIMAGE_PUBLISHERS.ns)
   ] as Set)
 
   AzureVMImageCachingAgent(AzureCloudProvider azureCloudProvider,
@@ -71,6 +82,21 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
                            ObjectMapper objectMapper,
                            long pollIntervalMillis,
                            long timeoutMillis) {
+    this(azureCloudProvider, accountName, creds, region, objectMapper, pollIntervalMillis, timeoutMillis,
+      new AzureConfigurationProperties.VMImageCaching(), null, new NoopRegistry())
+  }
+
+  AzureVMImageCachingAgent(AzureCloudProvider azureCloudProvider,
+                           String accountName,
+                           AzureCredentials creds,
+                           String region,
+                           ObjectMapper objectMapper,
+                           long pollIntervalMillis,
+                           long timeoutMillis,
+                           AzureConfigurationProperties.VMImageCaching vmImageCaching,
+                           ExecutorService crawlPool,
+                           Registry registry,
+                           Clock clock = Clock.systemDefaultZone()) {
     this.azureCloudProvider = azureCloudProvider
     this.accountName = accountName
     this.creds = creds
@@ -78,6 +104,10 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
     this.objectMapper = objectMapper
     this.pollIntervalMillis = pollIntervalMillis
     this.timeoutMillis = timeoutMillis
+    this.vmImageCaching = vmImageCaching
+    this.crawler = new AzureVMImageCrawler(creds.computeClient, accountName, region, crawlPool, registry)
+    this.registry = registry
+    this.clock = clock
   }
 
   @Override
@@ -100,22 +130,103 @@ class AzureVMImageCachingAgent implements CachingAgent, CustomScheduledAgent, Ac
     return types
   }
 
+  /**
+   * Crawls the publishers that are due for a refresh, the images of every other publisher (including those whose crawl
+   * failed) are carried over from the previous run.
+   *
+   * Each publisher is checkpointed with the time it was last crawled, the keys of its images and its refresh interval. The
+   * interval is reset to the minimum whenever the images of a publisher change and doubles (up to the maximum)
+   * whenever they don't, so that rarely changing publishers are re-crawled less often.
+   */
   @Override
   CacheResult loadData(ProviderCache providerCache) {
     log.info("Describing items in ${agentType}")
 
-    def vmImages = creds.computeClient.getVMImagesAll(region)
+    long now = clock.millis()
+    String imagesNs = Keys.Namespace.AZURE_VMIMAGES.ns
+    String publishersNs = Keys.Namespace.AZURE_VMIMAGE_PUBLISHERS.ns
 
-    List<CacheData> data = vmImages.collect() { AzureVMImage vmImage ->
-      Map<String, Object> attributes = [vmimage: vmImage]
-      def vmImageName = "${vmImage.offer}-${vmImage.sku}"
-      def vmImageVersion = "${vmImage.version}(${vmImage.publisher})"
-      new DefaultCacheData(Keys.getVMImageKey(azureCloudProvider, accountName, region, vmImageName, vmImageVersion),
-        attributes,
+    Collection<String> checkpointKeys = providerCache.filterIdentifiers(publishersNs,
+      Keys.getVMImagePublisherKey(azureCloudProvider.id, accountName, region, "*"))
+    Map<String, CacheData> checkpoints = providerCache.getAll(publishersNs, checkpointKeys).collectEntries {
+      [(it.attributes.publisher): it]
+    }
+
+    int requests = 0
+    List<String> publishers = vmImageCaching.publishers
+    if (!publishers) {
+      publishers = crawler.listPublishers()
+      requests++
+    }
+
+    List<String> duePublishers = publishers.findAll { String publisher ->
+      CacheData checkpoint = checkpoints[publisher]
+      !checkpoint || now - (checkpoint.attributes.crawledAt as long) >= (checkpoint.attributes.refreshIntervalMillis as long)
+    }.sort { checkpoints[it]?.attributes?.crawledAt ?: 0L }
+    if (vmImageCaching.maxPublishersPerRun > 0) {
+      duePublishers = duePublishers.take(vmImageCaching.maxPublishersPerRun)
+    }
+
+    AzureVMImageCrawler.CrawlResult crawlResult = crawler.crawl(duePublishers)
+    requests += crawlResult.requests
+
+    List<CacheData> publisherData = []
+    List<CacheData> imageData = []
+    Set<String> carriedOverImageKeys = [] as Set
+    publishers.each { String publisher ->
+      CacheData checkpoint = checkpoints[publisher]
+      List<AzureVMImage> vmImages = crawlResult.imagesByPublisher[publisher]
+      if (vmImages == null) {
+        if (checkpoint) {
+          publisherData << checkpoint
+          carriedOverImageKeys.addAll(checkpoint.attributes.imageKeys ?: [])
+        }
+        return
+      }
+
+      List<CacheData> publisherImages = vmImages.collect { buildCacheData(it) }
+      Set<String> imageKeys = publisherImages*.id as Set
+      imageData.addAll(publisherImages)
+      publisherData << new DefaultCacheData(
+        Keys.getVMImagePublisherKey(azureCloudProvider.id, accountName, region, publisher),
+        [
+          publisher            : publisher,
+          crawledAt            : now,
+          refreshIntervalMillis: refreshIntervalMillis(checkpoint, imageKeys),
+          imageKeys            : imageKeys.sort()
+        ],
         [:])
     }
+    imageData.addAll(providerCache.getAll(imagesNs, carriedOverImageKeys))
+
+    registry.distributionSummary(registry.createId("azure.vmImageCrawl.requestsPerRun")
+      .withTag("account", accountName)
+      .withTag("region", region)).record(requests)
+    log.info("Crawled ${duePublishers.size() - crawlResult.failedPublishers.size()} of ${publishers.size()} publishers " +
+      "(${crawlResult.failedPublishers.size()} failed) with ${requests} requests in ${agentType}")
+    log.info("Caching ${imageData.size()} items in ${agentType}")
+
+    new DefaultCacheResult([
+      (imagesNs)    : imageData,
+      (publishersNs): publisherData
+    ])
+  }
+
+  private CacheData buildCacheData(AzureVMImage vmImage) {
+    Map<String, Object> attributes = [vmimage: vmImage]
+    def vmImageName = "${vmImage.offer}-${vmImage.sku}"
+    def vmImageVersion = "${vmImage.version}(${vmImage.publisher})"
+    new DefaultCacheData(Keys.getVMImageKey(azureCloudProvider, accountName, region, vmImageName, vmImageVersion),
+      attributes,
+      [:])
+  }
 
-    log.info("Caching ${data.size()} items in ${agentType}")
-    new DefaultCacheResult([(Keys.Namespace.AZURE_VMIMAGES.ns): data])
+  private long refreshIntervalMillis(CacheData checkpoint, Set<String> imageKeys) {
+    long minIntervalMillis = TimeUnit.MINUTES.toMillis(vmImageCaching.minPublisherRefreshIntervalMinutes)
+    long maxIntervalMillis = TimeUnit.MINUTES.toMillis(vmImageCaching.maxPublisherRefreshIntervalMinutes)
+    if (!checkpoint || ((checkpoint.attributes.imageKeys ?: []) as Set) != imageKeys) {
+      return minIntervalMillis
+    }
+    Math.max(minIntervalMillis, Math.min(maxIntervalMillis, 2 * (checkpoint.attributes.refreshIntervalMillis as long)))
   }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 The original authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache
+
+import com.netflix.spectator.api.Id
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.azure.client.AzureComputeClient
+import com.netflix.spinnaker.clouddriver.azure.resources.vmimage.model.AzureVMImage
+import groovy.util.logging.Slf4j
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.FutureTask
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.RunnableFuture
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Crawls the marketplace images of a location, publisher by publisher (offers, then SKUs, then versions).
+ *
+ * The requests of each level are offered to the account's crawl pool. The calling thread runs any request no pool
+ * thread has started by the time it waits for it, so the crawl does not wait on other regions' queued requests and
+ * falls back to sequential requests when there is no pool. A publisher any of whose requests fails is reported as
+ * failed instead of failing the whole crawl.
+ */
+@Slf4j
+class AzureVMImageCrawler {
+
+  final AzureComputeClient computeClient
+  final String location
+  final ExecutorService crawlPool
+  final Registry registry
+
+  private final Id requestsId
+
+  AzureVMImageCrawler(AzureComputeClient computeClient,
+                      String account,
+                      String location,
+                      ExecutorService crawlPool,
+                      Registry registry) {
+    this.computeClient = computeClient
+    this.location = location
+    this.crawlPool = crawlPool
+    this.registry = registry
+    this.requestsId = registry.createId("azure.vmImageCrawl.requests")
+      .withTag("account", account)
+      .withTag("region", location)
+  }
+
+  static class CrawlResult {
+    /**
+     * Images of every publisher that was successfully crawled (publishers without images map to an empty list).
+     */
+    Map<String, List<AzureVMImage>> imagesByPublisher = [:]
+    Set<String> failedPublishers = [] as Set
+    int requests
+  }
+
+  List<String> listPublishers() {
+    registry.counter(requestsId.withTag("operation", "publishers")).increment()
+    computeClient.listVMImagePublishers(location)
+  }
+
+  CrawlResult crawl(Collection<String> publishers) {
+    AtomicInteger requests = new AtomicInteger()
+    Set<String> failedPublishers = [] as Set
+
+    Map<List<String>, List<String>> offers = fetchAll("offers", publishers.collect { [it] }, requests, failedPublishers) { String publisher ->
+      computeClient.listVMImageOffers(location, publisher)
+    }
+    Map<List<String>, List<String>> skus = fetchAll("skus", children(offers, failedPublishers), requests, failedPublishers) { String publisher, String offer ->
+      computeClient.listVMImageSkus(location, publisher, offer)
+    }
+    Map<List<String>, List<String>> versions = fetchAll("versions", children(skus, failedPublishers), requests, failedPublishers) { String publisher, String offer, String sku ->
+      computeClient.listVMImageVersions(location, publisher, offer, sku)
+    }
+
+    Map<String, List<AzureVMImage>> imagesByPublisher = publishers.findAll { !failedPublishers.contains(it) }.collectEntries {
+      [(it): []]
+    }
+    versions.each { List<String> path, List<String> names ->
+      imagesByPublisher[path[0]]?.addAll(names.collect {
+        new AzureVMImage(publisher: path[0], offer: path[1], sku: path[2], version: it)
+      })
+    }
+
+    new CrawlResult(imagesByPublisher: imagesByPublisher, failedPublishers: failedPublishers, requests: requests.get())
+  }
+
+  private static List<List<String>> children(Map<List<String>, List<String>> parents, Set<String> failedPublishers) {
+    parents.findAll { !failedPublishers.contains(it.key[0]) }.collectMany { List<String> path, List<String> names ->
+      names.collect { path + it }
+    }
+  }
+
+  /**
+   * Issues one request per path (publisher first) and waits for all of them, the publishers of failed requests are
+   * added to failedPublishers.
+   */
+  private Map<List<String>, List<String>> fetchAll(String operation,
+                                                   List<List<String>> paths,
+                                                   AtomicInteger requests,
+                                                   Set<String> failedPublishers,
+                                                   Closure<List<String>> request) {
+    Map<List<String>, RunnableFuture<List<String>>> futures = paths.collectEntries { List<String> path ->
+      Callable<List<String>> call = {
+        requests.incrementAndGet()
+        registry.counter(requestsId.withTag("operation", operation)).increment()
+        request.call(*path)
+      } as Callable<List<String>>
+      [(path): submit(call)]
+    }
+
+    try {
+      return futures.collectEntries { List<String> path, RunnableFuture<List<String>> future ->
+        try {
+          // no-op when a pool thread has already started the request
+          future.run()
+          [(path): future.get()]
+        } catch (ExecutionException e) {
+          log.warn("Failed to list ${operation} of ${path.join('/')} in azure/${location}, skipping publisher ${path[0]}", e.cause)
+          failedPublishers << path[0]
+          [:]
+        }
+      }
+    } finally {
+      futures.values()*.cancel(true)
+    }
+  }
+
+  private <T> RunnableFuture<T> submit(Callable<T> call) {
+    def task = new FutureTask<T>(call)
+    if (crawlPool != null) {
+      try {
+        crawlPool.execute(task)
+      } catch (RejectedExecutionException ignored) {
+        // run by the calling thread when awaited
+      }
+    }
+    return task
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 The original authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.azure.resources.vmimage.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.cats.mem.InMemoryCache
+import com.netflix.spinnaker.cats.provider.DefaultProviderCache
+import com.netflix.spinnaker.clouddriver.azure.AzureCloudProvider
+import com.netflix.spinnaker.clouddriver.azure.client.AzureComputeClient
+import com.netflix.spinnaker.clouddriver.azure.config.AzureConfigurationProperties
+import com.netflix.spinnaker.clouddriver.azure.resources.common.cache.Keys
+import com.netflix.spinnaker.clouddriver.azure.security.AzureCredentials
+import spock.lang.Specification
+
+import java.time.Clock
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class AzureVMImageCachingAgentSpec extends Specification {
+  static final String ACCOUNT = "azure-account"
+  static final String REGION = "westus"
+
+  def computeClient = Mock(AzureComputeClient)
+  def providerCache = new DefaultProviderCache(new InMemoryCache())
+  def registry = new DefaultRegistry()
+  def crawlPool = Executors.newFixedThreadPool(4)
+  long now = 0
+  def clock = Stub(Clock) {
+    millis() >> { now }
+  }
+  def vmImageCaching = new AzureConfigurationProperties.VMImageCaching(
+    minPublisherRefreshIntervalMinutes: 60,
+    maxPublisherRefreshIntervalMinutes: 240
+  )
+
+  AzureVMImageCachingAgent agent
+
+  def setup() {
+    def creds = Mock(AzureCredentials) {
+      getComputeClient() >> computeClient
+    }
+    agent = new AzureVMImageCachingAgent(new AzureCloudProvider(), ACCOUNT, creds, REGION, new ObjectMapper(),
+      AzureVMImageCachingAgent.DEFAULT_POLL_INTERVAL_MILLIS, AzureVMImageCachingAgent.DEFAULT_TIMEOUT_MILLIS,
+      vmImageCaching, crawlPool, registry, clock)
+  }
+
+  def cleanup() {
+    crawlPool.shutdownNow()
+  }
+
+  def "should only re-crawl publishers that are due and back off publishers that do not change"() {
+    when:
+    def result = loadData()
+
+    then:
+    1 * computeClient.listVMImagePublishers(REGION) >> ["pubA", "pubB"]
+    1 * computeClient.listVMImageOffers(REGION, "pubA") >> ["offer1"]
+    1 * computeClient.listVMImageOffers(REGION, "pubB") >> ["offer2"]
+    1 * computeClient.listVMImageSkus(REGION, "pubA", "offer1") >> ["sku1", "sku2"]
+    1 * computeClient.listVMImageSkus(REGION, "pubB", "offer2") >> ["sku3"]
+    1 * computeClient.listVMImageVersions(REGION, "pubA", "offer1", "sku1") >> ["1.0"]
+    1 * computeClient.listVMImageVersions(REGION, "pubA", "offer1", "sku2") >> ["1.0", "1.1"]
+    1 * computeClient.listVMImageVersions(REGION, "pubB", "offer2", "sku3") >> ["2.0"]
+    result.cacheResults[Keys.Namespace.AZURE_VMIMAGES.ns].size() == 4
+    checkpoint(result, "pubA").refreshIntervalMillis == TimeUnit.MINUTES.toMillis(60)
+    requestsPerRun().totalAmount() == 8
+
+    when: 'no publisher is due yet'
+    now = TimeUnit.MINUTES.toMillis(30)
+    result = loadData()
+
+    then:
+    1 * computeClient.listVMImagePublishers(REGION) >> ["pubA", "pubB"]
+    0 * computeClient.listVMImageOffers(_, _)
+    result.cacheResults[Keys.Namespace.AZURE_VMIMAGES.ns].size() == 4
+
+    when: 'pubA is unchanged and pubB has a new version'
+    now = TimeUnit.MINUTES.toMillis(60)
+    result = loadData()
+
+    then:
+    1 * computeClient.listVMImagePublishers(REGION) >> ["pubA", "pubB"]
+    1 * computeClient.listVMImageOffers(REGION, "pubA") >> ["offer1"]
+    1 * computeClient.listVMImageOffers(REGION, "pubB") >> ["offer2"]
+    1 * computeClient.listVMImageSkus(REGION, "pubA", "offer1") >> ["sku1", "sku2"]
+    1 * computeClient.listVMImageSkus(REGION, "pubB", "offer2") >> ["sku3"]
+    1 * computeClient.listVMImageVersions(REGION, "pubA", "offer1", "sku1") >> ["1.0"]
+    1 * computeClient.listVMImageVersions(REGION, "pubA", "offer1", "sku2") >> ["1.0", "1.1"]
+    1 * computeClient.listVMImageVersions(REGION, "pubB", "offer2", "sku3") >> ["2.0", "2.1"]
+    result.cacheResults[Keys.Namespace.AZURE_VMIMAGES.ns].size() == 5
+    checkpoint(result, "pubA").refreshIntervalMillis == TimeUnit.MINUTES.toMillis(120)
+    checkpoint(result, "pubB").refreshIntervalMillis == TimeUnit.MINUTES.toMillis(60)
+
+    when: 'only pubB is due'
+    now = TimeUnit.MINUTES.toMillis(120)
+    result = loadData()
+
+    then:
+    1 * computeClient.listVMImagePublishers(REGION) >> ["pubA", "pubB"]
+    0 * computeClient.listVMImageOffers(REGION, "pubA")
+    1 * computeClient.listVMImageOffers(REGION, "pubB") >> ["offer2"]
+    1 * computeClient.listVMImageSkus(REGION, "pubB", "offer2") >> ["sku3"]
+    1 * computeClient.listVMImageVersions(REGION, "pubB", "offer2", "sku3") >> ["2.0", "2.1"]
+    result.cacheResults[Keys.Namespace.AZURE_VMIMAGES.ns].size() == 5
+  }
+
+  def "should keep the images of publishers whose crawl failed"() {
+    given:
+    vmImageCaching.publishers = ["pubA"]
+
+    when:
+    loadData()
+    now = TimeUnit.MINUTES.toMillis(60)
+    def result = loadData()
+
+    then:
+    0 * computeClient.listVMImagePublishers(_)
+    2 * computeClient.listVMImageOffers(REGION, "pubA") >> ["offer1"]
+    2 * computeClient.listVMImageSkus(REGION, "pubA", "offer1") >> ["sku1"]
+    2 * computeClient.listVMImageVersions(REGION, "pubA", "offer1", "sku1") >> ["1.0"] >> { throw new IllegalStateException("throttled") }
+    result.cacheResults[Keys.Namespace.AZURE_VMIMAGES.ns]*.attributes*.vmimage*.version == ["1.0"]
+    checkpoint(result, "pubA").crawledAt == 0
+  }
+
+  private def loadData() {
+    def result = agent.loadData(providerCache)
+    providerCache.putCacheResult(agent.agentType, agent.providedDataTypes*.typeName, result)
+    result
+  }
+
+  private static Map<String, Object> checkpoint(def result, String publisher) {
+    result.cacheResults[Keys.Namespace.AZURE_VMIMAGE_PUBLISHERS.ns].find { it.attributes.publisher == publisher }.attributes
+  }
+
+  private def requestsPerRun() {
+    registry.distributionSummary(registry.createId("azure.vmImageCrawl.requestsPerRun", [account: ACCOUNT, region: REGION]))
+  }
+}
@@ -32,6 +32,16 @@ class CloudFoundryConfigurationProperties {
   int asyncOperationTimeoutSecondsDefault = ASYNC_OPERATION_TIMEOUT_SECONDS_DEFAULT
   int asyncOperationMaxPollingIntervalSeconds = ASYNC_OPERATION_MAX_POLLING_INTERVAL_SECONDS
 
+  /**
+   * Number of threads each account uses to fetch application instances.
+   */
+  int instancesThreadPoolSize = 4
+
+  /**
+   * How long the spaces, services and routes of an account are reused for by the caching and on demand paths.
+   */
+  int accountDataTtlSeconds = 60
+
   List<CloudFoundryAccountCredentials> accounts = []
 
 }
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonProperty
 import com.fasterxml.jackson.core.type.TypeReference
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.frigga.Names
+import com.netflix.spectator.api.Id
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.*
 import com.netflix.spinnaker.cats.cache.CacheData
@@ -42,6 +43,13 @@ import org.cloudfoundry.client.lib.domain.*
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.concurrent.TimeUnit
+
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.INFORMATIVE
 import static com.netflix.spinnaker.clouddriver.cf.cache.Keys.Namespace.*
@@ -65,16 +73,44 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware {
   final ObjectMapper objectMapper
   final Registry registry
 
+  /**
+   * This account's pool used to fetch application instances concurrently, instances are fetched sequentially on the
+   * caching thread when null.
+   */
+  final ExecutorService instancesPool
+
+  /**
+   * How long the spaces, services and routes of the account are reused for by both the caching and the on demand
+   * path, they are reloaded on every use when 0.
+   */
+  final long accountDataTtlMillis
+
   final OnDemandMetricsSupport metricsSupport
 
+  private final Id phaseTimerId
+
+  private AccountData cachedAccountData
+
   ClusterCachingAgent(CloudFoundryClientFactory cloudFoundryClientFactory,
                       CloudFoundryAccountCredentials account,
                       ObjectMapper objectMapper,
                       Registry registry) {
+    this(cloudFoundryClientFactory, account, objectMapper, registry, null, 0)
+  }
+
+  ClusterCachingAgent(CloudFoundryClientFactory cloudFoundryClientFactory,
+                      CloudFoundryAccountCredentials account,
+                      ObjectMapper objectMapper,
+                      Registry registry,
+                      ExecutorService instancesPool,
+                      long accountDataTtlMillis) {
     this.objectMapper = objectMapper
     this.account = account
     this.cloudFoundryClientFactory = cloudFoundryClientFactory
     this.registry = registry
+    this.instancesPool = instancesPool
+    this.accountDataTtlMillis = accountDataTtlMillis
+    this.phaseTimerId = registry.createId("cf.clusterCaching.phase").withTag("account", account.name)
     this.metricsSupport = new OnDemandMetricsSupport(registry, this, "${CloudFoundryCloudProvider.ID}:${OnDemandAgent.OnDemandType.ServerGroup}")
   }
 
@@ -152,11 +188,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware {
     String serverGroupName = data.serverGroupName.toString()
 
     def client = cloudFoundryClientFactory.createCloudFoundryClient(account, true)
-
-    def spaces = loadSpaces(client)
-    def currentSpace = spaces.values().find { it?.name == account.space && it?.organization.name == account.org }
-    def services = loadServices(client, currentSpace)
-    def routes = loadRoutes(client)
+    def accountData = loadAccountData(client)
 
     Collection<AppAndInstances> onDemandData = metricsSupport.readData {
       try {
@@ -173,7 +205,7 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware {
     }
 
     def cacheResult = metricsSupport.transformData {
-      buildCacheResult(onDemandData, currentSpace, services, routes, [:], [], Long.MAX_VALUE)
+      buildCacheResult(onDemandData, accountData.currentSpace, accountData.services, accountData.routes, [:], [], Long.MAX_VALUE)
     }
 
     if (cacheResult.cacheResults.values().flatten().isEmpty()) {
@@ -234,15 +266,9 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware {
     log.info "Describing items in ${agentType}"
 
     def client = cloudFoundryClientFactory.createCloudFoundryClient(account, true)
+    def accountData = loadAccountData(client)
 
-    def spaces = loadSpaces(client)
-    def currentSpace = spaces.values().find { it?.name == account.space && it?.organization.name == account.org }
-    def services = loadServices(client, currentSpace)
-    def routes = loadRoutes(client)
-
-    Collection<AppAndInstances> appsAndInstances = client.applications.collect { app ->
-      new AppAndInstances(app: app, instancesInfo: client.getApplicationInstances(app))
-    }
+    Collection<AppAndInstances> appsAndInstances = loadAppsAndInstances(client)
 
     def evictableOnDemandCacheDatas = []
     def keepInOnDemand = []
@@ -259,8 +285,10 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware {
 
     def stuffToConsider = keepInOnDemand.collectEntries { [(it.id), it] }
 
-    def result = buildCacheResult(appsAndInstances, currentSpace, services, routes,
-        stuffToConsider, evictableOnDemandCacheDatas*.id, start)
+    def result = timed("buildCacheResult") {
+      buildCacheResult(appsAndInstances, accountData.currentSpace, accountData.services, accountData.routes,
+          stuffToConsider, evictableOnDemandCacheDatas*.id, start)
+    }
 
     result.cacheResults[ON_DEMAND.ns].each {
       it.attributes.processedTime = System.currentTimeMillis()
@@ -270,6 +298,72 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware {
     result
   }
 
+  /**
+   * Returns the spaces, services and routes of the account, reusing those loaded by a previous caching or on demand
+   * run when they are less than accountDataTtlMillis old.
+   */
+  private synchronized AccountData loadAccountData(CloudFoundryOperations client) {
+    if (cachedAccountData != null && System.currentTimeMillis() - cachedAccountData.loadedAt < accountDataTtlMillis) {
+      return cachedAccountData
+    }
+
+    long loadedAt = System.currentTimeMillis()
+    def spaces = timed("spaces") { loadSpaces(client) }
+    def currentSpace = spaces.values().find { it?.name == account.space && it?.organization.name == account.org }
+    def services = timed("services") { loadServices(client, currentSpace) }
+    def routes = timed("routes") { loadRoutes(client) }
+
+    cachedAccountData = new AccountData(currentSpace: currentSpace, services: services, routes: routes, loadedAt: loadedAt)
+    return cachedAccountData
+  }
+
+  private Collection<AppAndInstances> loadAppsAndInstances(CloudFoundryOperations client) {
+    List<CloudApplication> applications = timed("applications") { client.applications }
+
+    timed("instances") {
+      List<Future<AppAndInstances>> instances = applications.collect { app ->
+        fetch { new AppAndInstances(app: app, instancesInfo: client.getApplicationInstances(app)) }
+      }
+      try {
+        return instances.collect { await(it) }
+      } finally {
+        instances*.cancel(true)
+      }
+    }
+  }
+
+  /**
+   * Issues a fetch on the instances pool (if any).
+   */
+  private <T> Future<T> fetch(Closure<T> fetchCall) {
+    if (instancesPool == null) {
+      def task = new FutureTask<T>(fetchCall as Callable<T>)
+      task.run()
+      return task
+    }
+    return instancesPool.submit(fetchCall as Callable<T>)
+  }
+
+  private static <T> T await(Future<T> future) {
+    try {
+      return future.get()
+    } catch (ExecutionException e) {
+      throw e.cause
+    }
+  }
+
+  /**
+   * Records the latency of a phase of a caching (or on demand) run, tagged by phase.
+   */
+  private <T> T timed(String phase, Closure<T> closure) {
+    long startTime = System.nanoTime()
+    try {
+      return closure.call()
+    } finally {
+      registry.timer(phaseTimerId.withTag("phase", phase)).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS)
+    }
+  }
+
   private Set<CloudRoute> loadRoutes(CloudFoundryOperations client) {
     log.info "Looking up routes for ${agentType}"
     Set<CloudRoute> routes = [] as Set<CloudRoute>
@@ -511,4 +605,11 @@ class ClusterCachingAgent implements CachingAgent, OnDemandAgent, AccountAware {
     InstancesInfo instancesInfo
   }
 
+  private static class AccountData {
+    CloudSpace currentSpace
+    Map<String, Set<CloudService>> services
+    Set<CloudRoute> routes
+    long loadedAt
+  }
+
 }
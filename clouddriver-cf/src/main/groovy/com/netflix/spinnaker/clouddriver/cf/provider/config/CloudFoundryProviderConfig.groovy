@@ -20,6 +20,8 @@ import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.agent.CachingAgent
 import com.netflix.spinnaker.cats.provider.ProviderSynchronizerTypeWrapper
+import com.netflix.spinnaker.cats.thread.NamedThreadFactory
+import com.netflix.spinnaker.clouddriver.cf.config.CloudFoundryConfigurationProperties
 import com.netflix.spinnaker.clouddriver.cf.provider.CloudFoundryProvider
 import com.netflix.spinnaker.clouddriver.cf.provider.agent.ClusterCachingAgent
 import com.netflix.spinnaker.clouddriver.cf.security.CloudFoundryAccountCredentials
@@ -34,6 +36,10 @@ import org.springframework.context.annotation.DependsOn
 import org.springframework.context.annotation.Scope
 
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
 
 @Configuration
 class CloudFoundryProviderConfig {
@@ -44,7 +50,8 @@ class CloudFoundryProviderConfig {
                                             CloudFoundryClientFactory cloudFoundryClientFactory,
                                             ObjectMapper objectMapper,
                                             ApplicationContext ctx,
-                                            Registry registry) {
+                                            Registry registry,
+                                            CloudFoundryConfigurationProperties cloudFoundryConfigurationProperties) {
     def cloudFoundryProvider =
         new CloudFoundryProvider(Collections.newSetFromMap(new ConcurrentHashMap<Agent, Boolean>()))
 
@@ -54,7 +61,8 @@ class CloudFoundryProviderConfig {
         cloudFoundryClientFactory,
         objectMapper,
         ctx,
-        registry)
+        registry,
+        cloudFoundryConfigurationProperties)
 
     cloudFoundryProvider
   }
@@ -80,7 +88,8 @@ class CloudFoundryProviderConfig {
                                                                    CloudFoundryClientFactory cloudFoundryClientFactory,
                                                                    ObjectMapper objectMapper,
                                                                    ApplicationContext ctx,
-                                                                   Registry registry) {
+                                                                   Registry registry,
+                                                                   CloudFoundryConfigurationProperties cloudFoundryConfigurationProperties) {
     def scheduledAccounts = ProviderUtils.getScheduledAccounts(cloudFoundryProvider)
     def allAccounts = ProviderUtils.buildThreadSafeSetOfAccounts(accountCredentialsRepository, CloudFoundryAccountCredentials)
 
@@ -88,7 +97,9 @@ class CloudFoundryProviderConfig {
 
     allAccounts.each { CloudFoundryAccountCredentials credentials ->
       if (!scheduledAccounts.contains(credentials.name)) {
-        newlyAddedAgents << new ClusterCachingAgent(cloudFoundryClientFactory, credentials, objectMapper, registry)
+        newlyAddedAgents << new ClusterCachingAgent(cloudFoundryClientFactory, credentials, objectMapper, registry,
+            newInstancesPool(credentials.name, cloudFoundryConfigurationProperties.instancesThreadPoolSize),
+            TimeUnit.SECONDS.toMillis(cloudFoundryConfigurationProperties.accountDataTtlSeconds))
       }
     }
 
@@ -97,4 +108,17 @@ class CloudFoundryProviderConfig {
     new CloudFoundryProviderSynchronizer()
   }
 
+  /**
+   * Each account is a separate foundation with its own API endpoint and rate limits, and has a single caching agent, so
+   * every account gets its own instances pool: a slow foundation only delays its own instance fetches. Idle threads
+   * time out between caching runs.
+   */
+  private static ExecutorService newInstancesPool(String accountName, int threadPoolSize) {
+    int threads = Math.max(1, threadPoolSize)
+    def pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+        new NamedThreadFactory("${ClusterCachingAgent.simpleName}-${accountName}"))
+    pool.allowCoreThreadTimeOut(true)
+    return pool
+  }
+
 }
@@ -32,6 +32,8 @@ import org.cloudfoundry.client.lib.CloudFoundryClient
 import org.cloudfoundry.client.lib.domain.*
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
+
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
 import static com.netflix.spinnaker.clouddriver.cf.cache.Keys.Namespace.*
 import static com.netflix.spinnaker.clouddriver.cf.provider.ProviderUtils.buildNativeApplication
@@ -314,4 +316,64 @@ class ClusterCachingAgentSpec extends Specification {
 
     0 * client._
   }
+
+  def "should fetch instances on the instances pool and reuse account data between caching and on demand runs"() {
+    given:
+    def instancesPool = Executors.newFixedThreadPool(2)
+    def registry = new DefaultRegistry()
+    cachingAgent = new ClusterCachingAgent(
+        new TestCloudFoundryClientFactory(stubClient: client),
+        this.account,
+        new ObjectMapper(),
+        registry,
+        instancesPool,
+        60000
+    )
+    def applications = ['testapp-production-v001', 'testapp-staging-v001'].collect { name ->
+      buildNativeApplication([
+          name     : name,
+          state    : CloudApplication.AppState.STARTED.toString(),
+          instances: 1,
+          services : [],
+          memory   : 1024,
+          env      : ["${CloudFoundryConstants.LOAD_BALANCERS}=my-cool-test-app".toString()],
+          meta     : [guid: UUID.randomUUID().toString(), created: 5L],
+          space    : [
+              meta        : [guid: uuid3, created: 6L],
+              name        : 'test',
+              organization: [meta: [guid: uuid1, created: 7L], name: 'spinnaker']
+          ]
+      ])
+    }
+
+    when:
+    def initialResults = cachingAgent.loadData(cache)
+    def onDemandUpdate = cachingAgent.handle(cache, [serverGroupName: 'testapp-production-v001', account: 'test', region: 'spinnaker'])
+    def finalResults = cachingAgent.loadData(cache)
+
+    then:
+    initialResults.cacheResults.serverGroups*.attributes.name.sort() == ['testapp-production-v001', 'testapp-staging-v001']
+    initialResults.cacheResults.instances.size() == 2
+    onDemandUpdate.cacheResult.cacheResults.serverGroups*.attributes.name == ['testapp-production-v001']
+    finalResults.cacheResults.instances.size() == 2
+    registry.timer(registry.createId('cf.clusterCaching.phase', [account: 'test', phase: 'instances'])).count() == 2
+    registry.timer(registry.createId('cf.clusterCaching.phase', [account: 'test', phase: 'routes'])).count() == 1
+
+    1 * client.spaces >> {
+      [new CloudSpace(mapToMeta([guid: uuid1, created: 1L]), "test", new CloudOrganization(mapToMeta([guid: uuid2, created: 2L]), "spinnaker"))]
+    }
+    1 * client.services >> { [] }
+    1 * client.domainsForOrg >> { [new CloudDomain(null, 'cfapps.io', null)] }
+    1 * client.getRoutes('cfapps.io') >> { [] }
+    2 * client.applications >> { applications }
+    1 * client.getApplication('testapp-production-v001') >> { applications[0] }
+    5 * client.getApplicationInstances(_) >> {
+      new InstancesInfo([[since: 1L, index: 0, state: InstanceState.RUNNING.toString()]])
+    }
+
+    0 * client._
+
+    cleanup:
+    instancesPool.shutdownNow()
+  }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import com.netflix.spectator.api.Id
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.AgentExecutionProfile
+import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
+import com.netflix.spinnaker.cats.redis.RedisClientDelegate
+import com.netflix.spinnaker.cats.redis.cluster.AgentIntervalProvider
+import groovy.util.logging.Slf4j
+import redis.clients.jedis.JedisCommands
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.Consumer
+import java.util.function.Function
+
+/**
+ * Adapts the poll interval of each caching agent to how often its result changes.
+ *
+ * The interval of an agent is lengthened while its executions keep storing the same result, and reset to the minimum
+ * as soon as its result changes (or items are evicted) or on demand updates are requested for it, so that changing
+ * data is at most one lengthened interval stale. Agents whose interval (as provided by the delegate) is outside of the
+ * min/max bounds keep that interval.
+ *
+ * The adapted interval is kept in redis, next to the lock of the agent, so that every node schedules the agent with
+ * the same interval and an on demand update handled by any node shortens it. It expires after a few maximum intervals
+ * without an execution, the agent then starts again from its configured interval.
+ */
+@Slf4j
+class AdaptiveAgentIntervalProvider implements AgentIntervalProvider, ExecutionInstrumentation {
+  static final String INTERVAL = 'interval'
+  static final String FINGERPRINT = 'fingerprint'
+  static final String UNCHANGED_EXECUTIONS = 'unchangedExecutions'
+
+  private static final int EXPIRY_INTERVALS = 3
+
+  private final AgentIntervalProvider delegate
+  private final RedisClientDelegate redisClientDelegate
+  private final Registry registry
+  private final long minIntervalMillis
+  private final long maxIntervalMillis
+  private final double backoffMultiplier
+  private final int unchangedExecutionsBeforeBackoff
+  private final int expirySeconds
+  private final Id intervalId
+
+  private final ConcurrentMap<String, AtomicLong> intervalGauges = new ConcurrentHashMap<>()
+
+  AdaptiveAgentIntervalProvider(AgentIntervalProvider delegate,
+                                RedisClientDelegate redisClientDelegate,
+                                Registry registry,
+                                long minIntervalMillis,
+                                long maxIntervalMillis,
+                                double backoffMultiplier,
+                                int unchangedExecutionsBeforeBackoff) {
+    if (minIntervalMillis > maxIntervalMillis) {
+      throw new IllegalArgumentException("minIntervalMillis (${minIntervalMillis}) must not exceed maxIntervalMillis (${maxIntervalMillis})")
+    }
+    if (backoffMultiplier <= 1) {
+      throw new IllegalArgumentException("backoffMultiplier (${backoffMultiplier}) must be greater than 1")
+    }
+    this.delegate = delegate
+    this.redisClientDelegate = redisClientDelegate
+    this.registry = registry
+    this.minIntervalMillis = minIntervalMillis
+    this.maxIntervalMillis = maxIntervalMillis
+    this.backoffMultiplier = backoffMultiplier
+    this.unchangedExecutionsBeforeBackoff = Math.max(1, unchangedExecutionsBeforeBackoff)
+    this.expirySeconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxIntervalMillis * EXPIRY_INTERVALS))
+    this.intervalId = registry.createId('cats.agent.interval').withTag('className', AdaptiveAgentIntervalProvider.simpleName)
+  }
+
+  /**
+   * @return the redis key of the adapted interval of an agent, next to its lock (keyed by agent type)
+   */
+  static String intervalKey(Agent agent) {
+    "${agent.agentType}:adaptiveInterval"
+  }
+
+  @Override
+  AgentIntervalProvider.Interval getInterval(Agent agent) {
+    AgentIntervalProvider.Interval interval = delegate.getInterval(agent)
+    if (!isAdaptive(interval)) {
+      return interval
+    }
+
+    String adaptedInterval
+    try {
+      adaptedInterval = redisClientDelegate.withCommandsClient({ JedisCommands client ->
+        client.hget(intervalKey(agent), INTERVAL)
+      } as Function<JedisCommands, String>)
+    } catch (Exception e) {
+      log.warn("Unable to read the adaptive interval of ${agent.agentType}, using its configured interval", e)
+      return interval
+    }
+
+    long intervalMillis = adaptedInterval == null ? interval.interval : bounded(Long.parseLong(adaptedInterval))
+    gauge(agent).set(intervalMillis)
+    return new AgentIntervalProvider.Interval(intervalMillis, interval.errorInterval, interval.timeout)
+  }
+
+  /**
+   * Shortens the interval of an agent to the minimum, as on demand updates suggest its resources are changing.
+   */
+  void onDemandRequested(Agent agent) {
+    if (!isAdaptive(delegate.getInterval(agent))) {
+      return
+    }
+
+    try {
+      store(agent, [(INTERVAL): Long.toString(minIntervalMillis), (UNCHANGED_EXECUTIONS): '0'])
+    } catch (Exception e) {
+      log.warn("Unable to reset the adaptive interval of ${agent.agentType}", e)
+    }
+  }
+
+  @Override
+  void executionStarted(Agent agent) {
+    // do nothing
+  }
+
+  @Override
+  void executionCompleted(Agent agent, long elapsedMs) {
+    // do nothing
+  }
+
+  @Override
+  void executionFailed(Agent agent, Throwable cause) {
+    // do nothing
+  }
+
+  /**
+   * Only the node holding the lock of an agent profiles its executions, so the state of the agent is read and written
+   * back without a transaction.
+   */
+  @Override
+  void executionProfiled(Agent agent, AgentExecutionProfile profile) {
+    AgentIntervalProvider.Interval interval = delegate.getInterval(agent)
+    if (!isAdaptive(interval)) {
+      return
+    }
+
+    try {
+      Map<String, String> state = redisClientDelegate.withCommandsClient({ JedisCommands client ->
+        client.hgetAll(intervalKey(agent))
+      } as Function<JedisCommands, Map<String, String>>) ?: [:]
+
+      long intervalMillis = state[INTERVAL] == null ? interval.interval : bounded(Long.parseLong(state[INTERVAL]))
+      int unchangedExecutions = state[UNCHANGED_EXECUTIONS] == null ? 0 : Integer.parseInt(state[UNCHANGED_EXECUTIONS])
+      boolean firstExecution = state[FINGERPRINT] == null
+      boolean changed = profile.evictionCount > 0 ||
+        (!firstExecution && Long.parseLong(state[FINGERPRINT]) != profile.resultFingerprint)
+
+      if (changed) {
+        unchangedExecutions = 0
+        intervalMillis = minIntervalMillis
+      } else if (!firstExecution && ++unchangedExecutions >= unchangedExecutionsBeforeBackoff) {
+        unchangedExecutions = 0
+        intervalMillis = Math.min(maxIntervalMillis, (long) (intervalMillis * backoffMultiplier))
+      }
+
+      store(agent, [
+        (INTERVAL)            : Long.toString(intervalMillis),
+        (FINGERPRINT)         : Long.toString(profile.resultFingerprint),
+        (UNCHANGED_EXECUTIONS): Integer.toString(unchangedExecutions)
+      ])
+      gauge(agent).set(intervalMillis)
+    } catch (Exception e) {
+      log.warn("Unable to adapt the interval of ${agent.agentType}", e)
+    }
+  }
+
+  private boolean isAdaptive(AgentIntervalProvider.Interval interval) {
+    return interval.interval >= minIntervalMillis && interval.interval <= maxIntervalMillis
+  }
+
+  private long bounded(long intervalMillis) {
+    return Math.min(maxIntervalMillis, Math.max(minIntervalMillis, intervalMillis))
+  }
+
+  private void store(Agent agent, Map<String, String> state) {
+    String key = intervalKey(agent)
+    redisClientDelegate.withCommandsClient({ JedisCommands client ->
+      client.hmset(key, state)
+      client.expire(key, expirySeconds)
+    } as Consumer<JedisCommands>)
+  }
+
+  private AtomicLong gauge(Agent agent) {
+    String agentName = "$agent.providerName/$agent.agentType"
+    return intervalGauges.computeIfAbsent(agentName) {
+      registry.gauge(intervalId.withTag('agent', agentName), new AtomicLong())
+    }
+  }
+}
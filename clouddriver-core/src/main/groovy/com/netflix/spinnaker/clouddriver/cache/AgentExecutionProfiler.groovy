@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.AgentExecutionProfile
+import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+
+/**
+ * Accumulates the execution profiles of the caching agents of this instance, to rank them by cost.
+ */
+class AgentExecutionProfiler implements ExecutionInstrumentation {
+  static final String TOTAL = "total"
+  static final String ITEMS = "items"
+  static final String BYTES = "bytes"
+
+  private final ConcurrentMap<String, AgentProfileSummary> summaries = new ConcurrentHashMap<>()
+
+  @Override
+  void executionStarted(Agent agent) {
+    // do nothing
+  }
+
+  @Override
+  void executionCompleted(Agent agent, long elapsedMs) {
+    // do nothing
+  }
+
+  @Override
+  void executionFailed(Agent agent, Throwable cause) {
+    // do nothing
+  }
+
+  @Override
+  void executionProfiled(Agent agent, AgentExecutionProfile profile) {
+    summaries.computeIfAbsent("${agent.providerName}/${agent.agentType}".toString()) {
+      new AgentProfileSummary(agent.providerName, agent.agentType)
+    }.record(profile)
+  }
+
+  /**
+   * @param sortBy a phase (load, transform or store) or total to rank agents by their average duration, items or bytes
+   *               to rank them by the size of their last result
+   */
+  List<Map> getMostExpensiveAgents(String sortBy, int limit) {
+    List<Map> snapshots = summaries.values()*.snapshot()
+    return snapshots.sort { -cost(it, sortBy) }.take(limit)
+  }
+
+  private static long cost(Map snapshot, String sortBy) {
+    switch (sortBy) {
+      case ITEMS:
+        return snapshot.lastItemCount as long
+      case BYTES:
+        return snapshot.lastEstimatedBytes as long
+      default:
+        return (snapshot.averageMs[sortBy] ?: 0) as long
+    }
+  }
+
+  static class AgentProfileSummary {
+    final String provider
+    final String agentType
+
+    private long executions
+    private final Map<String, Long> totalMs = [:]
+    private AgentExecutionProfile lastProfile
+
+    AgentProfileSummary(String provider, String agentType) {
+      this.provider = provider
+      this.agentType = agentType
+    }
+
+    synchronized void record(AgentExecutionProfile profile) {
+      executions++
+      profile.phaseDurationsMs.each { AgentExecutionProfile.Phase phase, Long elapsedMs ->
+        totalMs[phase.toString()] = (totalMs[phase.toString()] ?: 0L) + elapsedMs
+      }
+      totalMs[TOTAL] = (totalMs[TOTAL] ?: 0L) + profile.totalMs
+      lastProfile = profile
+    }
+
+    synchronized Map snapshot() {
+      [
+        provider          : provider,
+        agentType         : agentType,
+        executions        : executions,
+        averageMs         : totalMs.collectEntries { phase, elapsedMs -> [(phase): elapsedMs.intdiv(executions)] },
+        lastItemCount     : lastProfile.itemCount,
+        lastEvictionCount : lastProfile.evictionCount,
+        lastEstimatedBytes: lastProfile.estimatedBytes
+      ]
+    }
+  }
+}
@@ -28,7 +28,9 @@ import com.netflix.spinnaker.cats.cache.NamedCacheFactory
 import com.netflix.spinnaker.cats.mem.InMemoryNamedCacheFactory
 import com.netflix.spinnaker.cats.module.CatsModule
 import com.netflix.spinnaker.cats.provider.Provider
+import com.netflix.spinnaker.cats.redis.cluster.AgentIntervalProvider
 import com.netflix.spinnaker.clouddriver.search.SearchProvider
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.context.annotation.Bean
@@ -107,8 +109,21 @@ class CacheConfig {
 
   @Bean
   @ConditionalOnMissingBean(CatsModule)
-  CatsModule catsModule(List<Provider> providers, List<ExecutionInstrumentation> executionInstrumentation, NamedCacheFactory cacheFactory, AgentScheduler agentScheduler) {
-    new CatsModule.Builder().cacheFactory(cacheFactory).scheduler(agentScheduler).instrumentation(executionInstrumentation).build(providers)
+  CatsModule catsModule(List<Provider> providers,
+                        List<ExecutionInstrumentation> executionInstrumentation,
+                        NamedCacheFactory cacheFactory,
+                        AgentScheduler agentScheduler,
+                        Optional<SearchIndex> searchIndex) {
+    NamedCacheFactory catsCacheFactory = searchIndex
+      .map({ new SearchIndexingNamedCacheFactory(cacheFactory, it) as NamedCacheFactory })
+      .orElse(cacheFactory)
+    new CatsModule.Builder().cacheFactory(catsCacheFactory).scheduler(agentScheduler).instrumentation(executionInstrumentation).build(providers)
+  }
+
+  @Bean
+  @ConditionalOnProperty(value = 'caching.search.index.enabled')
+  SearchIndex searchIndex(@Value('${caching.search.index.refreshIntervalSeconds:60}') long refreshIntervalSeconds) {
+    new InMemorySearchIndex(TimeUnit.SECONDS.toMillis(refreshIntervalSeconds))
   }
 
   @Bean
@@ -127,8 +142,27 @@ class CacheConfig {
   }
 
   @Bean
-  OnDemandCacheUpdater catsOnDemandCacheUpdater(List<Provider> providers, CatsModule catsModule) {
-    new CatsOnDemandCacheUpdater(providers, catsModule)
+  AgentExecutionProfiler agentExecutionProfiler() {
+    new AgentExecutionProfiler()
+  }
+
+  @Bean
+  CacheFreshnessMonitor cacheFreshnessMonitor(Registry registry,
+                                              CatsModule catsModule,
+                                              Optional<AgentIntervalProvider> agentIntervalProvider,
+                                              @Value('${redis.poll.intervalSeconds:30}') long defaultIntervalSeconds,
+                                              @Value('${caching.freshness.staleIntervals:3}') double staleIntervals) {
+    new CacheFreshnessMonitor(
+      registry, catsModule, agentIntervalProvider.orElse(null), TimeUnit.SECONDS.toMillis(defaultIntervalSeconds), staleIntervals
+    )
+  }
+
+  @Bean
+  OnDemandCacheUpdater catsOnDemandCacheUpdater(List<Provider> providers,
+                                                CatsModule catsModule,
+                                                Registry registry,
+                                                @Value('${caching.onDemand.debounceMs:0}') long debounceMillis) {
+    new CatsOnDemandCacheUpdater(providers, catsModule, registry, debounceMillis)
   }
 
   @Bean
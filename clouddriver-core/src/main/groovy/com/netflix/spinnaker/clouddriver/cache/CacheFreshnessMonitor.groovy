@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import com.netflix.spectator.api.Id
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.cats.agent.AccountAware
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.CachingAgent
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.module.CatsModule
+import com.netflix.spinnaker.cats.provider.Provider
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.cats.redis.cluster.AgentIntervalProvider
+import groovy.transform.Immutable
+import groovy.util.logging.Slf4j
+import org.springframework.scheduling.annotation.Scheduled
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tracks how long ago each caching agent last stored a result, as recorded by the provider caches, and reports the
+ * agents that have not done so within a multiple of their expected interval as stale.
+ */
+@Slf4j
+class CacheFreshnessMonitor {
+  private final Registry registry
+  private final CatsModule catsModule
+  private final AgentIntervalProvider agentIntervalProvider
+  private final long defaultIntervalMillis
+  private final double staleIntervals
+  private final long startTime = System.currentTimeMillis()
+
+  private final Id stalenessId
+  private final Id staleAgentsId
+  private final ConcurrentMap<Id, AtomicLong> gauges = new ConcurrentHashMap<>()
+
+  private volatile List<AgentFreshness> lastFreshness = []
+
+  /**
+   * @param agentIntervalProvider provides the expected interval of each agent (defaultIntervalMillis is used when null)
+   * @param staleIntervals how many expected intervals may elapse without a write before an agent is considered stale
+   */
+  CacheFreshnessMonitor(Registry registry,
+                        CatsModule catsModule,
+                        AgentIntervalProvider agentIntervalProvider,
+                        long defaultIntervalMillis,
+                        double staleIntervals) {
+    this.registry = registry
+    this.catsModule = catsModule
+    this.agentIntervalProvider = agentIntervalProvider
+    this.defaultIntervalMillis = defaultIntervalMillis
+    this.staleIntervals = staleIntervals
+    this.stalenessId = registry.createId('cache.staleness.seconds')
+    this.staleAgentsId = registry.createId('cache.staleness.staleAgents')
+  }
+
+  /**
+   * Reads the freshness of every caching agent from the provider caches.
+   */
+  List<AgentFreshness> getFreshness() {
+    long now = System.currentTimeMillis()
+    catsModule.providerRegistry.providers.collectMany { Provider provider ->
+      Map<String, Long> lastWrites = lastSuccessfulWrites(provider)
+      provider.agents.findAll { it instanceof CachingAgent }.collect { Agent agent ->
+        freshness(provider, agent, lastWrites[agent.agentType], now)
+      }
+    }
+  }
+
+  /**
+   * @return the freshness of every caching agent as of the last refresh, without reading the provider caches
+   */
+  List<AgentFreshness> getLastFreshness() {
+    return lastFreshness
+  }
+
+  /**
+   * Updates the staleness gauges, tagged by provider, account and region.
+   */
+  @Scheduled(fixedDelayString = '${caching.freshness.refreshIntervalMs:30000}')
+  void refresh() {
+    try {
+      lastFreshness = getFreshness()
+    } catch (Exception e) {
+      log.warn("Unable to read the freshness of caching agents", e)
+      return
+    }
+
+    lastFreshness.groupBy { [it.provider, it.account ?: 'none', it.region ?: 'none'] }.each { List<String> tags, List<AgentFreshness> agents ->
+      gauge(tagged(stalenessId, tags)).set((long) (agents*.ageMillis.max() / 1000))
+      gauge(tagged(staleAgentsId, tags)).set(agents.count { it.stale })
+    }
+  }
+
+  private static Id tagged(Id id, List<String> tags) {
+    id.withTag('provider', tags[0]).withTag('account', tags[1]).withTag('region', tags[2])
+  }
+
+  private AtomicLong gauge(Id id) {
+    gauges.computeIfAbsent(id) { registry.gauge(id, new AtomicLong()) }
+  }
+
+  private Map<String, Long> lastSuccessfulWrites(Provider provider) {
+    ProviderCache providerCache = catsModule.providerRegistry.getProviderCache(provider.providerName)
+    providerCache.getAll(ProviderCache.AGENT_FRESHNESS_TYPE).collectEntries { CacheData freshness ->
+      [(freshness.id): freshness.attributes[ProviderCache.LAST_SUCCESSFUL_WRITE] as Long]
+    }
+  }
+
+  private AgentFreshness freshness(Provider provider, Agent agent, Long lastSuccessfulWrite, long now) {
+    long expectedIntervalMillis = agentIntervalProvider ? agentIntervalProvider.getInterval(agent).interval : defaultIntervalMillis
+    // agents that have never stored a result are as stale as this instance is old
+    long ageMillis = now - (lastSuccessfulWrite ?: startTime)
+
+    return new AgentFreshness(
+      provider: provider.providerName,
+      agentType: agent.agentType,
+      account: agent instanceof AccountAware ? ((AccountAware) agent).accountName : null,
+      region: agent.hasProperty('region') ? agent.region?.toString() : null,
+      lastSuccessfulWrite: lastSuccessfulWrite,
+      ageMillis: ageMillis,
+      expectedIntervalMillis: expectedIntervalMillis,
+      stale: ageMillis > expectedIntervalMillis * staleIntervals
+    )
+  }
+
+  @Immutable
+  static class AgentFreshness {
+    String provider
+    String agentType
+    String account
+    String region
+    Long lastSuccessfulWrite
+    long ageMillis
+    long expectedIntervalMillis
+    boolean stale
+  }
+}
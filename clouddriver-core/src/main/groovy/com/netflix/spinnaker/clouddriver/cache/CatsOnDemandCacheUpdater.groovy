@@ -16,6 +16,10 @@
 
 package com.netflix.spinnaker.clouddriver.cache
 
+import com.fasterxml.jackson.core.JsonProcessingException
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.SerializationFeature
+import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.Agent
 import com.netflix.spinnaker.cats.agent.AgentLock
 import com.netflix.spinnaker.cats.agent.AgentScheduler
@@ -24,24 +28,53 @@ import com.netflix.spinnaker.cats.module.CatsModule
 import com.netflix.spinnaker.cats.provider.Provider
 import groovy.util.logging.Slf4j
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.stereotype.Component
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.ExecutionException
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
 
 @Component
 @Slf4j
 class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
 
+  private static final String ON_DEMAND_EXECUTED = "onDemand_executed"
+  private static final String ON_DEMAND_COALESCED = "onDemand_coalesced"
+
   private final List<Provider> providers
   private final CatsModule catsModule
+  private final Registry registry
+  private final long debounceMillis
+
+  private final ObjectMapper normalizingObjectMapper = new ObjectMapper()
+    .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+  private final ConcurrentMap<String, InFlightRefresh> inFlightRefreshes = new ConcurrentHashMap<>()
 
   @Autowired
   AgentScheduler agentScheduler
 
+  @Autowired(required = false)
+  AdaptiveAgentIntervalProvider adaptiveAgentIntervalProvider
+
+  /**
+   * How long a coalesced request waits for the identical request it joined before asking the caller to retry.
+   */
+  @Value('${caching.onDemand.coalescedWaitMs:30000}')
+  long coalescedWaitMillis = TimeUnit.SECONDS.toMillis(30)
+
   @Autowired
-  public CatsOnDemandCacheUpdater(List<Provider> providers, CatsModule catsModule) {
+  public CatsOnDemandCacheUpdater(List<Provider> providers,
+                                  CatsModule catsModule,
+                                  Registry registry,
+                                  @Value('${caching.onDemand.debounceMs:0}') long debounceMillis) {
     this.providers = providers
     this.catsModule = catsModule
+    this.registry = registry
+    this.debounceMillis = debounceMillis
   }
 
   private Collection<OnDemandAgent> getOnDemandAgents() {
@@ -62,53 +95,141 @@ class CatsOnDemandCacheUpdater implements OnDemandCacheUpdater {
   }
 
   OnDemandCacheUpdater.OnDemandCacheStatus handle(OnDemandAgent.OnDemandType type, Collection<OnDemandAgent> onDemandAgents, Map<String, ? extends Object> data) {
+    pruneCompletedRefreshes()
+
     boolean hasOnDemandResults = false
     for (OnDemandAgent agent : onDemandAgents) {
+      Boolean agentHasOnDemandResults = coalesce(type, agent, data)
+      if (agentHasOnDemandResults != null) {
+        hasOnDemandResults = agentHasOnDemandResults
+      }
+    }
+
+    return hasOnDemandResults ? OnDemandCacheUpdater.OnDemandCacheStatus.PENDING : OnDemandCacheUpdater.OnDemandCacheStatus.SUCCESSFUL
+  }
+
+  /**
+   * Runs an agent's on demand update, unless an identical update (same agent and payload) is already in flight, in
+   * which case its outcome is shared.
+   *
+   * When a debounce window is configured (caching.onDemand.debounceMs, disabled by default), the outcome of a
+   * completed update is also shared with identical requests made within that window.
+   */
+  private Boolean coalesce(OnDemandAgent.OnDemandType type, OnDemandAgent agent, Map<String, ? extends Object> data) {
+    String key = "${agent.providerName}/${agent.onDemandAgentType}/${type}:${normalize(data)}"
+    String[] tags = ["providerName", agent.providerName, "agentType", agent.onDemandAgentType, "onDemandType", type.toString()]
+
+    InFlightRefresh refresh = new InFlightRefresh()
+    InFlightRefresh existing = inFlightRefreshes.compute(key) { String k, InFlightRefresh current ->
+      (current && !current.isExpired(debounceMillis)) ? current : refresh
+    }
+
+    if (existing != refresh) {
+      registry.counter(ON_DEMAND_COALESCED, tags).increment()
       try {
-        AgentLock lock = null;
-        if (agentScheduler.atomic && !(lock = agentScheduler.tryLock((Agent) agent))) {
-          hasOnDemandResults = true // force Orca to retry
-          continue;
+        return existing.result.get(coalescedWaitMillis, TimeUnit.MILLISECONDS)
+      } catch (ExecutionException e) {
+        throw e.cause
+      } catch (TimeoutException ignored) {
+        log.warn("Timed out waiting ${coalescedWaitMillis}ms for an identical on demand update of ${agent.providerName}/${agent.onDemandAgentType} (${type})")
+        return true // force Orca to retry
+      }
+    }
+
+    registry.counter(ON_DEMAND_EXECUTED, tags).increment()
+    try {
+      Boolean result = handleAgent(type, agent, data)
+      refresh.complete(result)
+      return result
+    } catch (Throwable t) {
+      refresh.completeExceptionally(t)
+      throw t
+    } finally {
+      if (debounceMillis <= 0) {
+        inFlightRefreshes.remove(key, refresh)
+      }
+    }
+  }
+
+  private void pruneCompletedRefreshes() {
+    if (debounceMillis > 0) {
+      inFlightRefreshes.values().removeIf { it.isExpired(debounceMillis) }
+    }
+  }
+
+  private String normalize(Map<String, ? extends Object> data) {
+    try {
+      return normalizingObjectMapper.writeValueAsString(data ?: [:])
+    } catch (JsonProcessingException ignored) {
+      return String.valueOf(data)
+    }
+  }
+
+  /**
+   * @return whether the agent has pending on demand results, or null if the agent did not produce a result
+   */
+  private Boolean handleAgent(OnDemandAgent.OnDemandType type, OnDemandAgent agent, Map<String, ? extends Object> data) {
+    Boolean hasOnDemandResults = null
+    adaptiveAgentIntervalProvider?.onDemandRequested((Agent) agent)
+    try {
+      AgentLock lock = null;
+      if (agentScheduler.atomic && !(lock = agentScheduler.tryLock((Agent) agent))) {
+        return true // force Orca to retry
+      }
+      final long startTime = System.nanoTime()
+      def providerCache = catsModule.getProviderRegistry().getProviderCache(agent.providerName)
+      OnDemandAgent.OnDemandResult result = agent.handle(providerCache, data)
+      if (result) {
+        if (agentScheduler.atomic && !(agentScheduler.lockValid(lock))) {
+          return true // force Orca to retry
         }
-        final long startTime = System.nanoTime()
-        def providerCache = catsModule.getProviderRegistry().getProviderCache(agent.providerName)
-        OnDemandAgent.OnDemandResult result = agent.handle(providerCache, data)
-        if (result) {
-          if (agentScheduler.atomic && !(agentScheduler.lockValid(lock))) {
-            hasOnDemandResults = true // force Orca to retry
-            continue;
-          }
-          if (!agent.metricsSupport) {
-            hasOnDemandResults = false
-            continue;
-          }
-          if (result.cacheResult) {
-            hasOnDemandResults = !(result.cacheResult.cacheResults ?: [:]).values().flatten().isEmpty() && !agentScheduler.atomic
-            agent.metricsSupport.cacheWrite {
-              providerCache.putCacheResult(result.sourceAgentType, result.authoritativeTypes, result.cacheResult)
-            }
+        if (!agent.metricsSupport) {
+          return false
+        }
+        if (result.cacheResult) {
+          hasOnDemandResults = !(result.cacheResult.cacheResults ?: [:]).values().flatten().isEmpty() && !agentScheduler.atomic
+          agent.metricsSupport.cacheWrite {
+            providerCache.putCacheResult(result.sourceAgentType, result.authoritativeTypes, result.cacheResult)
           }
-          if (result.evictions) {
-            agent.metricsSupport.cacheEvict {
-              result.evictions.each { String evictType, Collection<String> ids ->
-                providerCache.evictDeletedItems(evictType, ids)
-              }
+        }
+        if (result.evictions) {
+          agent.metricsSupport.cacheEvict {
+            result.evictions.each { String evictType, Collection<String> ids ->
+              providerCache.evictDeletedItems(evictType, ids)
             }
           }
-          if (agentScheduler.atomic && !(agentScheduler.tryRelease(lock))) {
-            throw new IllegalStateException("We likely just wrote stale data. If you're seeing this, file a github issue: https://github.com/spinnaker/spinnaker/issues")
-          }
-          final long elapsed = System.nanoTime() - startTime
-          agent.metricsSupport.recordTotalRunTimeNanos(elapsed)
-          log.info("$agent.providerName/$agent?.onDemandAgentType handled $type in ${TimeUnit.NANOSECONDS.toMillis(elapsed)} millis. Payload: $data")
         }
-      } catch (e) {
-        agent.metricsSupport.countError()
-        log.warn("$agent.providerName/$agent.onDemandAgentType failed to handle on demand update for $type", e)
+        if (agentScheduler.atomic && !(agentScheduler.tryRelease(lock))) {
+          throw new IllegalStateException("We likely just wrote stale data. If you're seeing this, file a github issue: https://github.com/spinnaker/spinnaker/issues")
+        }
+        final long elapsed = System.nanoTime() - startTime
+        agent.metricsSupport.recordTotalRunTimeNanos(elapsed)
+        log.info("$agent.providerName/$agent?.onDemandAgentType handled $type in ${TimeUnit.NANOSECONDS.toMillis(elapsed)} millis. Payload: $data")
       }
+    } catch (e) {
+      agent.metricsSupport.countError()
+      log.warn("$agent.providerName/$agent.onDemandAgentType failed to handle on demand update for $type", e)
     }
+    return hasOnDemandResults
+  }
 
-    return hasOnDemandResults ? OnDemandCacheUpdater.OnDemandCacheStatus.PENDING : OnDemandCacheUpdater.OnDemandCacheStatus.SUCCESSFUL
+  private static class InFlightRefresh {
+    final CompletableFuture<Boolean> result = new CompletableFuture<>()
+    volatile long completedAt = Long.MAX_VALUE
+
+    void complete(Boolean value) {
+      completedAt = System.currentTimeMillis()
+      result.complete(value)
+    }
+
+    void completeExceptionally(Throwable t) {
+      completedAt = System.currentTimeMillis()
+      result.completeExceptionally(t)
+    }
+
+    boolean isExpired(long debounceMillis) {
+      return completedAt != Long.MAX_VALUE && System.currentTimeMillis() - completedAt >= debounceMillis
+    }
   }
 
   @Override
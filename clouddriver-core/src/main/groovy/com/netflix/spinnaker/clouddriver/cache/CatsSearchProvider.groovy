@@ -29,6 +29,8 @@ import org.springframework.security.core.Authentication
 import org.springframework.security.core.context.SecurityContextHolder
 import org.springframework.stereotype.Component
 
+import java.util.function.Supplier
+
 import static com.netflix.spinnaker.clouddriver.cache.SearchableProvider.SearchableResource
 
 @Component
@@ -52,6 +54,9 @@ class CatsSearchProvider implements SearchProvider {
   @Autowired(required = false)
   List<KeyProcessor> keyProcessors;
 
+  @Autowired(required = false)
+  SearchIndex searchIndex
+
   @Autowired
   public CatsSearchProvider(Cache cacheView, List<SearchableProvider> providers) {
     this.cacheView = cacheView
@@ -94,10 +99,19 @@ class CatsSearchProvider implements SearchProvider {
     // ensure we're only searching for types supported by the backing providers
     types = defaultCaches.intersect(types)
 
-    List<String> matches = findMatches(query, types, filters)
+    String q = resolveQuery(query, filters)
+    List<String> matches = findMatches(q, types, filters)
     if (permissionEvaluator) {
       Authentication auth = SecurityContextHolder.context.authentication
 
+      // many keys share an application or account, so only evaluate each permission once per search
+      Map<String, Boolean> permissions = [:]
+      Closure<Boolean> hasPermission = { String resourceName, String resourceType ->
+        permissions.computeIfAbsent("${resourceType}:${resourceName}".toString()) {
+          permissionEvaluator.hasPermission(auth, resourceName, resourceType, 'READ')
+        }
+      }
+
       matches = new ArrayList(matches).findResults { String key ->
         Map<String, String> result = providers.findResult { it.parseKey(key) }
         if (!result) {
@@ -107,19 +121,19 @@ class CatsSearchProvider implements SearchProvider {
 
         boolean canView = true
         if (result.application) {
-          canView = permissionEvaluator.hasPermission(auth, result.application as String, 'APPLICATION', 'READ')
+          canView = hasPermission(result.application as String, 'APPLICATION')
         }
         if (canView && result.account) {
-          canView = permissionEvaluator.hasPermission(auth, result.account as String, 'ACCOUNT', 'READ')
+          canView = hasPermission(result.account as String, 'ACCOUNT')
         }
         return canView ? key : null
       }
     }
-    generateResultSet(query, matches, pageNumber, pageSize)
+    generateResultSet(query, q, matches, pageNumber, pageSize)
   }
 
-  private SearchResultSet generateResultSet(String query, List<String> matches, Integer pageNumber, Integer pageSize) {
-    List<String> resultPage = paginateResults(matches, pageSize, pageNumber)
+  private SearchResultSet generateResultSet(String query, String q, List<String> matches, Integer pageNumber, Integer pageSize) {
+    List<String> resultPage = paginateResults(q, matches, pageSize, pageNumber)
     List<Map<String, String>> results = resultPage.findResults { String key ->
       Map<String, String> result = providers.findResult { it.parseKey(key) }
       if (result) {
@@ -157,8 +171,7 @@ class CatsSearchProvider implements SearchProvider {
     resultSet
   }
 
-  private List<String> findMatches(String q, List<String> cachesToQuery, Map<String, String> filters) {
-
+  private String resolveQuery(String q, Map<String, String> filters) {
     if (!q && keyParsers) {
       // no keyword search so find sensible default value to set for searching
       Set<String> filterKeys = filters.keySet()
@@ -172,7 +185,13 @@ class CatsSearchProvider implements SearchProvider {
       }
       log.info("no query string specified, looked for sensible default and found: ${q}")
     }
+    return q
+  }
 
+  /**
+   * @return the (unsorted) keys of the specified caches that match the query and filters
+   */
+  private List<String> findMatches(String q, List<String> cachesToQuery, Map<String, String> filters) {
     log.info("Querying ${cachesToQuery} for term: ${q}")
     String normalizedWord = q.toLowerCase()
     List<String> matches = cachesToQuery.collect { String cache ->
@@ -211,29 +230,72 @@ class CatsSearchProvider implements SearchProvider {
         }
       }
 
-      Collection<String> identifiers = cacheView
-        .filterIdentifiers(cache, "*:${cache}:*${normalizedWord}*")
+      Collection<String> identifiers = findIdentifiers(cache, normalizedWord)
         .findAll(keyExists)
         .findAll(filtersMatch)
 
       return identifiers
     }.flatten()
 
-    matches.sort { String a, String b ->
-      def aKey = a.toLowerCase().substring(a.indexOf(':'))
-      def bKey = b.toLowerCase().substring(b.indexOf(':'))
-      def indexA = aKey.indexOf(q)
-      def indexB = bKey.indexOf(q)
-      return indexA == indexB ? aKey <=> bKey : indexA - indexB
+    return matches
+  }
+
+  private Collection<String> findIdentifiers(String cache, String normalizedWord) {
+    if (searchIndex) {
+      searchIndex.refresh(cache, { cacheView.getIdentifiers(cache) } as Supplier<Collection<String>>)
+      if (searchIndex.isIndexed(cache)) {
+        return searchIndex.search(cache, normalizedWord)
+      }
+    }
+
+    // the index has not been built yet, or is disabled
+    return cacheView.filterIdentifiers(cache, "*:${cache}:*${normalizedWord}*")
+  }
+
+  private static class SortableMatch implements Comparable<SortableMatch> {
+    final String key
+    final String sortKey
+    final int termIndex
+
+    SortableMatch(String key, String q) {
+      this.key = key
+      this.sortKey = key.toLowerCase().substring(key.indexOf(':'))
+      this.termIndex = sortKey.indexOf(q)
+    }
+
+    @Override
+    int compareTo(SortableMatch other) {
+      return termIndex == other.termIndex ? sortKey <=> other.sortKey : termIndex - other.termIndex
     }
   }
 
-  private static List<String> paginateResults(List<String> matches, Integer pageSize, Integer pageNumber) {
+  /**
+   * Selects the requested page of matches, ordered by where the query occurs in each key and then by key.
+   *
+   * Only the matches up to the end of the requested page are kept and sorted, rather than sorting every match.
+   */
+  private static List<String> paginateResults(String q, List<String> matches, Integer pageSize, Integer pageNumber) {
     log.info("Paginating ${matches.size()} results; page number: ${pageNumber}, items per page: ${pageSize}")
     Integer startingIndex = pageSize * (pageNumber - 1)
     Integer endIndex = Math.min(pageSize * pageNumber, matches.size())
-    boolean hasResults = startingIndex < endIndex
-    List<String> toReturn = hasResults ? matches[startingIndex..endIndex - 1] : new ArrayList<String>()
-    toReturn
+    if (startingIndex >= endIndex) {
+      return new ArrayList<String>()
+    }
+
+    // a max-heap of the first endIndex matches seen so far
+    PriorityQueue<SortableMatch> firstMatches = new PriorityQueue<>(endIndex, Collections.reverseOrder())
+    matches.each { String match ->
+      SortableMatch sortable = new SortableMatch(match, q)
+      if (firstMatches.size() < endIndex) {
+        firstMatches.add(sortable)
+      } else if (sortable < firstMatches.peek()) {
+        firstMatches.poll()
+        firstMatches.add(sortable)
+      }
+    }
+
+    List<SortableMatch> sorted = new ArrayList<>(firstMatches)
+    Collections.sort(sorted)
+    return sorted[startingIndex..endIndex - 1]*.key
   }
 }
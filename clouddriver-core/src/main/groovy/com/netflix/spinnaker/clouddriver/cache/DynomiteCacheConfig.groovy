@@ -135,12 +135,34 @@ class DynomiteCacheConfig {
   }
 
   @Bean
+  @ConditionalOnProperty(value = 'redis.poll.adaptive.enabled', havingValue = 'false', matchIfMissing = true)
   AgentIntervalProvider agentIntervalProvider(RedisConfigurationProperties redisConfigurationProperties) {
+    customSchedulableAgentIntervalProvider(redisConfigurationProperties)
+  }
+
+  @Bean
+  @ConditionalOnProperty('redis.poll.adaptive.enabled')
+  AdaptiveAgentIntervalProvider adaptiveAgentIntervalProvider(RedisConfigurationProperties redisConfigurationProperties,
+                                                              RedisClientDelegate redisClientDelegate,
+                                                              Registry registry) {
+    def poll = redisConfigurationProperties.poll
+    new AdaptiveAgentIntervalProvider(
+      customSchedulableAgentIntervalProvider(redisConfigurationProperties),
+      redisClientDelegate,
+      registry,
+      TimeUnit.SECONDS.toMillis(poll.adaptive.minIntervalSeconds < 0 ? poll.intervalSeconds : poll.adaptive.minIntervalSeconds),
+      TimeUnit.SECONDS.toMillis(poll.adaptive.maxIntervalSeconds),
+      poll.adaptive.backoffMultiplier,
+      poll.adaptive.unchangedExecutionsBeforeBackoff
+    )
+  }
+
+  private static AgentIntervalProvider customSchedulableAgentIntervalProvider(RedisConfigurationProperties redisConfigurationProperties) {
     new CustomSchedulableAgentIntervalProvider(
       TimeUnit.SECONDS.toMillis(redisConfigurationProperties.poll.intervalSeconds),
       TimeUnit.SECONDS.toMillis(redisConfigurationProperties.poll.errorIntervalSeconds),
       TimeUnit.SECONDS.toMillis(redisConfigurationProperties.poll.timeoutSeconds)
-    );
+    )
   }
 
   @Bean
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import com.netflix.spinnaker.cats.thread.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * A SearchIndex that keeps, per cache type, a sorted dictionary of key tokens mapped to the
+ * identifiers containing them, and a trigram index over those tokens.
+ *
+ * Keys are split into tokens on the delimiters commonly used in cache keys and resource names
+ * (':', '-', '/', '.', '_'). A search term is split the same way; the most selective piece of
+ * the term is resolved against the token dictionary (exact, prefix, suffix or substring match)
+ * and the resulting candidates are verified against the full term. Suffix and substring pieces
+ * of three or more characters are resolved through the trigram index; shorter pieces scan the
+ * token dictionary.
+ *
+ * A type is only indexed once it has been searched, and is rebuilt in the background from the
+ * full identifier set once <code>refreshIntervalMillis</code> has elapsed so that nodes that do
+ * not run caching agents still converge on the contents of the cache. Writes and evictions that
+ * arrive while a type is being rebuilt are applied to both the current and the rebuilt index.
+ */
+public class InMemorySearchIndex implements SearchIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(InMemorySearchIndex.class);
+
+  private static final Pattern DELIMITERS = Pattern.compile("[:\\-/._]");
+  private static final String ALL_ID = "_ALL_";
+  private static final int GRAM_LENGTH = 3;
+
+  private final Map<String, TypeIndex> indices = new ConcurrentHashMap<>();
+  private final Map<String, TypeIndex> rebuilding = new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final long refreshIntervalMillis;
+  private final Clock clock;
+  private final ExecutorService executor;
+
+  public InMemorySearchIndex(long refreshIntervalMillis) {
+    this(
+      refreshIntervalMillis,
+      Clock.systemDefaultZone(),
+      Executors.newSingleThreadExecutor(new NamedThreadFactory(InMemorySearchIndex.class.getSimpleName()))
+    );
+  }
+
+  public InMemorySearchIndex(long refreshIntervalMillis, Clock clock, ExecutorService executor) {
+    this.refreshIntervalMillis = refreshIntervalMillis;
+    this.clock = clock;
+    this.executor = executor;
+  }
+
+  @Override
+  public boolean isIndexed(String type) {
+    return indices.containsKey(type);
+  }
+
+  @Override
+  public void refresh(String type, Supplier<Collection<String>> identifiers) {
+    if (!requiresRebuild(type) || !refreshing.add(type)) {
+      return;
+    }
+
+    try {
+      executor.execute(() -> {
+        try {
+          rebuild(type, identifiers);
+        } catch (Exception e) {
+          log.error("Failed to rebuild search index for {}", type, e);
+        } finally {
+          refreshing.remove(type);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      refreshing.remove(type);
+      log.warn("Unable to schedule a rebuild of the search index for {}", type, e);
+    }
+  }
+
+  boolean requiresRebuild(String type) {
+    TypeIndex index = indices.get(type);
+    return index == null || clock.millis() - index.builtAt >= refreshIntervalMillis;
+  }
+
+  /**
+   * Replaces the index for the specified type with one built from the supplied identifiers.
+   *
+   * The new index receives writes and evictions from the moment the rebuild starts, so that
+   * changes made while the identifiers are being read are not lost. Does nothing if the type
+   * is already being rebuilt.
+   */
+  void rebuild(String type, Supplier<Collection<String>> identifiers) {
+    TypeIndex index = new TypeIndex(type, clock.millis());
+    if (rebuilding.putIfAbsent(type, index) != null) {
+      return;
+    }
+
+    try {
+      log.info("Rebuilding search index for {}", type);
+      index.addSnapshot(identifiers.get());
+      indices.put(type, index);
+    } finally {
+      rebuilding.remove(type, index);
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public void index(String type, Collection<String> identifiers) {
+    TypeIndex index = indices.get(type);
+    if (index != null) {
+      index.add(identifiers);
+    }
+    TypeIndex rebuilt = rebuilding.get(type);
+    if (rebuilt != null) {
+      rebuilt.add(identifiers);
+    }
+  }
+
+  @Override
+  public void remove(String type, Collection<String> identifiers) {
+    TypeIndex index = indices.get(type);
+    if (index != null) {
+      index.remove(identifiers);
+    }
+    TypeIndex rebuilt = rebuilding.get(type);
+    if (rebuilt != null) {
+      rebuilt.remove(identifiers);
+    }
+  }
+
+  @Override
+  public Collection<String> search(String type, String term) {
+    TypeIndex index = indices.get(type);
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    return index.search(term);
+  }
+
+  private static class TypeIndex {
+    private final String typeSegment;
+    private final long builtAt;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<String> identifiers = new HashSet<>();
+    private final TreeMap<String, Set<String>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> tokensByGram = new HashMap<>();
+
+    // identifiers evicted since the rebuild started, which a snapshot read before the eviction may still contain
+    private Set<String> evictedDuringRebuild = new HashSet<>();
+
+    TypeIndex(String type, long builtAt) {
+      this.typeSegment = ":" + type + ":";
+      this.builtAt = builtAt;
+    }
+
+    void addSnapshot(Collection<String> ids) {
+      lock.writeLock().lock();
+      try {
+        for (String id : ids) {
+          if (!evictedDuringRebuild.contains(id)) {
+            addIdentifier(id);
+          }
+        }
+        evictedDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void add(Collection<String> ids) {
+      lock.writeLock().lock();
+      try {
+        for (String id : ids) {
+          if (evictedDuringRebuild != null) {
+            evictedDuringRebuild.remove(id);
+          }
+          addIdentifier(id);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void remove(Collection<String> ids) {
+      lock.writeLock().lock();
+      try {
+        for (String id : ids) {
+          if (evictedDuringRebuild != null) {
+            evictedDuringRebuild.add(id);
+          }
+          if (!identifiers.remove(id)) {
+            continue;
+          }
+          for (String token : tokenize(searchablePortion(id))) {
+            Set<String> tokenIds = postings.get(token);
+            if (tokenIds != null) {
+              tokenIds.remove(id);
+              if (tokenIds.isEmpty()) {
+                postings.remove(token);
+                removeToken(token);
+              }
+            }
+          }
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private void addIdentifier(String id) {
+      String searchable = searchablePortion(id);
+      if (searchable == null || !identifiers.add(id)) {
+        return;
+      }
+      for (String token : tokenize(searchable)) {
+        postings.computeIfAbsent(token, t -> {
+          addToken(t);
+          return new HashSet<>();
+        }).add(id);
+      }
+    }
+
+    private void addToken(String token) {
+      for (String gram : grams(token)) {
+        tokensByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+      }
+    }
+
+    private void removeToken(String token) {
+      for (String gram : grams(token)) {
+        Set<String> tokens = tokensByGram.get(gram);
+        if (tokens != null) {
+          tokens.remove(token);
+          if (tokens.isEmpty()) {
+            tokensByGram.remove(gram);
+          }
+        }
+      }
+    }
+
+    Collection<String> search(String term) {
+      lock.readLock().lock();
+      try {
+        Collection<String> candidates = candidates(term);
+        List<String> matches = new ArrayList<>(candidates.size());
+        for (String id : candidates) {
+          if (searchablePortion(id).contains(term)) {
+            matches.add(id);
+          }
+        }
+        return matches;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    /**
+     * Resolves the most selective piece of the term against the token dictionary.
+     *
+     * A piece that is preceded by a delimiter in the term must be the start of a token, a piece
+     * followed by a delimiter must be the end of a token, and a piece bounded on both sides must be
+     * an entire token.
+     */
+    private Collection<String> candidates(String term) {
+      String[] pieces = DELIMITERS.split(term, -1);
+      String best = null;
+      int bestRank = -1;
+      boolean bestLeft = false;
+      boolean bestRight = false;
+      for (int i = 0; i < pieces.length; i++) {
+        String piece = pieces[i];
+        if (piece.isEmpty()) {
+          continue;
+        }
+        boolean left = i > 0;
+        boolean right = i < pieces.length - 1;
+        int rank = (left && right ? 3 : left ? 2 : right ? 1 : 0);
+        if (rank > bestRank || (rank == bestRank && piece.length() > best.length())) {
+          best = piece;
+          bestRank = rank;
+          bestLeft = left;
+          bestRight = right;
+        }
+      }
+
+      if (best == null) {
+        return identifiers;
+      }
+
+      if (bestLeft && bestRight) {
+        return postings.getOrDefault(best, Collections.emptySet());
+      }
+
+      if (bestLeft) {
+        return union(prefixRange(best).values());
+      }
+
+      Set<String> candidates = new LinkedHashSet<>();
+      for (String token : tokensContaining(best)) {
+        if (bestRight ? token.endsWith(best) : token.contains(best)) {
+          candidates.addAll(postings.get(token));
+        }
+      }
+      return candidates;
+    }
+
+    /**
+     * @return the tokens that may contain the piece: those sharing its least common trigram, or every token if
+     * the piece is too short to have one
+     */
+    private Collection<String> tokensContaining(String piece) {
+      if (piece.length() < GRAM_LENGTH) {
+        return postings.keySet();
+      }
+
+      Collection<String> tokens = null;
+      for (String gram : grams(piece)) {
+        Set<String> gramTokens = tokensByGram.get(gram);
+        if (gramTokens == null) {
+          return Collections.emptySet();
+        }
+        if (tokens == null || gramTokens.size() < tokens.size()) {
+          tokens = gramTokens;
+        }
+      }
+      return tokens;
+    }
+
+    private SortedMap<String, Set<String>> prefixRange(String prefix) {
+      return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private static Collection<String> union(Collection<Set<String>> sets) {
+      if (sets.size() == 1) {
+        return sets.iterator().next();
+      }
+      Set<String> result = new LinkedHashSet<>();
+      for (Set<String> set : sets) {
+        result.addAll(set);
+      }
+      return result;
+    }
+
+    /**
+     * @return the portion of the key following the <code>:type:</code> segment, or null if the key does not
+     * contain that segment (and so could never match a <code>*:type:*term*</code> glob)
+     */
+    private String searchablePortion(String id) {
+      if (ALL_ID.equals(id)) {
+        return null;
+      }
+      int idx = id.indexOf(typeSegment);
+      return idx == -1 ? null : id.substring(idx + typeSegment.length());
+    }
+
+    private static Set<String> tokenize(String value) {
+      Set<String> tokens = new HashSet<>();
+      for (String token : DELIMITERS.split(value)) {
+        if (!token.isEmpty()) {
+          tokens.add(token);
+        }
+      }
+      return tokens;
+    }
+
+    private static Set<String> grams(String token) {
+      Set<String> grams = new HashSet<>();
+      for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+        grams.add(token.substring(i, i + GRAM_LENGTH));
+      }
+      return grams;
+    }
+  }
+}
@@ -19,6 +19,7 @@ package com.netflix.spinnaker.clouddriver.cache
 import com.netflix.spectator.api.Id
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.AgentExecutionProfile
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
@@ -35,12 +36,18 @@ class MetricInstrumentation implements ExecutionInstrumentation {
 
   private final Id timingId
   private final Id counterId
+  private final Id phaseTimingId
+  private final Id itemCountId
+  private final Id estimatedBytesId
 
   @Autowired
   public MetricInstrumentation(Registry registry) {
     this.registry = registry
     timingId = registry.createId('executionTime').withTag('className', MetricInstrumentation.simpleName)
     counterId = registry.createId('executionCount').withTag('className', MetricInstrumentation.simpleName)
+    phaseTimingId = registry.createId('executionPhaseTime').withTag('className', MetricInstrumentation.simpleName)
+    itemCountId = registry.createId('executionItemCount').withTag('className', MetricInstrumentation.simpleName)
+    estimatedBytesId = registry.createId('executionEstimatedBytes').withTag('className', MetricInstrumentation.simpleName)
   }
 
   private static String agentName(Agent agent) {
@@ -62,5 +69,13 @@ class MetricInstrumentation implements ExecutionInstrumentation {
   void executionFailed(Agent agent, Throwable cause) {
     registry.counter(counterId.withTag('agent', agentName(agent)).withTag('status', 'failure')).increment()
   }
-}
 
+  @Override
+  void executionProfiled(Agent agent, AgentExecutionProfile profile) {
+    profile.phaseDurationsMs.each { AgentExecutionProfile.Phase phase, Long elapsedMs ->
+      registry.timer(phaseTimingId.withTag('agent', agentName(agent)).withTag('phase', phase.toString())).record(elapsedMs, TimeUnit.MILLISECONDS)
+    }
+    registry.distributionSummary(itemCountId.withTag('agent', agentName(agent))).record(profile.itemCount)
+    registry.distributionSummary(estimatedBytesId.withTag('agent', agentName(agent))).record(profile.estimatedBytes)
+  }
+}
@@ -18,6 +18,7 @@ package com.netflix.spinnaker.clouddriver.cache
 
 import com.netflix.discovery.EurekaClient
 import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.cats.redis.RedisClientDelegate
 import com.netflix.spinnaker.cats.redis.cache.RedisCache.CacheMetrics
 import com.netflix.spinnaker.cats.redis.cache.RedisCacheOptions
 import com.netflix.spinnaker.cats.redis.cluster.AgentIntervalProvider
@@ -25,6 +26,7 @@ import com.netflix.spinnaker.cats.redis.cluster.DefaultNodeStatusProvider
 import com.netflix.spinnaker.cats.redis.cluster.NodeStatusProvider
 import com.netflix.spinnaker.clouddriver.core.RedisConfigurationProperties
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.boot.context.properties.ConfigurationProperties
 import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean
@@ -54,7 +56,29 @@ class RedisCacheConfig {
   }
 
   @Bean
+  @ConditionalOnProperty(value = 'redis.poll.adaptive.enabled', havingValue = 'false', matchIfMissing = true)
   AgentIntervalProvider agentIntervalProvider(RedisConfigurationProperties redisConfigurationProperties) {
+    customSchedulableAgentIntervalProvider(redisConfigurationProperties)
+  }
+
+  @Bean
+  @ConditionalOnProperty('redis.poll.adaptive.enabled')
+  AdaptiveAgentIntervalProvider adaptiveAgentIntervalProvider(RedisConfigurationProperties redisConfigurationProperties,
+                                                              RedisClientDelegate redisClientDelegate,
+                                                              Registry registry) {
+    def poll = redisConfigurationProperties.poll
+    new AdaptiveAgentIntervalProvider(
+      customSchedulableAgentIntervalProvider(redisConfigurationProperties),
+      redisClientDelegate,
+      registry,
+      TimeUnit.SECONDS.toMillis(poll.adaptive.minIntervalSeconds < 0 ? poll.intervalSeconds : poll.adaptive.minIntervalSeconds),
+      TimeUnit.SECONDS.toMillis(poll.adaptive.maxIntervalSeconds),
+      poll.adaptive.backoffMultiplier,
+      poll.adaptive.unchangedExecutionsBeforeBackoff
+    )
+  }
+
+  private static AgentIntervalProvider customSchedulableAgentIntervalProvider(RedisConfigurationProperties redisConfigurationProperties) {
     new CustomSchedulableAgentIntervalProvider(
       TimeUnit.SECONDS.toMillis(redisConfigurationProperties.poll.intervalSeconds),
       TimeUnit.SECONDS.toMillis(redisConfigurationProperties.poll.errorIntervalSeconds),
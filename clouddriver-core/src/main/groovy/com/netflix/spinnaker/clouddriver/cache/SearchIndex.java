@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * A SearchIndex maintains an inverted index over cache identifiers so that
+ * searches do not need to scan every identifier of a type.
+ */
+public interface SearchIndex {
+
+  /**
+   * Indicates whether the specified type has been indexed, and so can be searched.
+   */
+  boolean isIndexed(String type);
+
+  /**
+   * Rebuilds the index for the specified type in the background if it is missing or out of date,
+   * and no rebuild of that type is already in progress.
+   *
+   * @param identifiers supplies the full set of identifiers of the type
+   */
+  void refresh(String type, Supplier<Collection<String>> identifiers);
+
+  /**
+   * Adds identifiers to the index for the specified type.
+   *
+   * Types that have not been indexed, and are not being rebuilt, are ignored.
+   */
+  void index(String type, Collection<String> identifiers);
+
+  /**
+   * Removes identifiers from the index for the specified type.
+   */
+  void remove(String type, Collection<String> identifiers);
+
+  /**
+   * Returns the identifiers of the specified type that contain the term after the <code>:type:</code>
+   * segment of the key, equivalent to a (case sensitive) <code>*:type:*term*</code> glob.
+   */
+  Collection<String> search(String type, String term);
+}
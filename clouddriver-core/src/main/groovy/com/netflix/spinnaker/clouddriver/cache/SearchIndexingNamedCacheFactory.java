@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache;
+
+import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.CacheFilter;
+import com.netflix.spinnaker.cats.cache.NamedCacheFactory;
+import com.netflix.spinnaker.cats.cache.WriteableCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A NamedCacheFactory that keeps a SearchIndex up to date as caching agents write to and evict
+ * from the caches it produces.
+ */
+public class SearchIndexingNamedCacheFactory implements NamedCacheFactory {
+
+  private final NamedCacheFactory delegate;
+  private final SearchIndex searchIndex;
+
+  public SearchIndexingNamedCacheFactory(NamedCacheFactory delegate, SearchIndex searchIndex) {
+    this.delegate = delegate;
+    this.searchIndex = searchIndex;
+  }
+
+  @Override
+  public WriteableCache getCache(String name) {
+    return new SearchIndexingCache(delegate.getCache(name), searchIndex);
+  }
+
+  static class SearchIndexingCache implements WriteableCache {
+    private final WriteableCache delegate;
+    private final SearchIndex searchIndex;
+
+    SearchIndexingCache(WriteableCache delegate, SearchIndex searchIndex) {
+      this.delegate = delegate;
+      this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public void merge(String type, CacheData cacheData) {
+      delegate.merge(type, cacheData);
+      searchIndex.index(type, Collections.singleton(cacheData.getId()));
+    }
+
+    @Override
+    public void mergeAll(String type, Collection<CacheData> items) {
+      delegate.mergeAll(type, items);
+      Collection<String> ids = new ArrayList<>(items.size());
+      for (CacheData item : items) {
+        ids.add(item.getId());
+      }
+      searchIndex.index(type, ids);
+    }
+
+    @Override
+    public void evict(String type, String id) {
+      delegate.evict(type, id);
+      searchIndex.remove(type, Collections.singleton(id));
+    }
+
+    @Override
+    public void evictAll(String type, Collection<String> ids) {
+      delegate.evictAll(type, ids);
+      searchIndex.remove(type, ids);
+    }
+
+    @Override
+    public CacheData get(String type, String id) {
+      return delegate.get(type, id);
+    }
+
+    @Override
+    public CacheData get(String type, String id, CacheFilter cacheFilter) {
+      return delegate.get(type, id, cacheFilter);
+    }
+
+    @Override
+    public Collection<String> getIdentifiers(String type) {
+      return delegate.getIdentifiers(type);
+    }
+
+    @Override
+    public Collection<String> filterIdentifiers(String type, String glob) {
+      return delegate.filterIdentifiers(type, glob);
+    }
+
+    @Override
+    public Collection<CacheData> getAll(String type) {
+      return delegate.getAll(type);
+    }
+
+    @Override
+    public Collection<CacheData> getAll(String type, CacheFilter cacheFilter) {
+      return delegate.getAll(type, cacheFilter);
+    }
+
+    @Override
+    public Collection<CacheData> getAll(String type, Collection<String> identifiers) {
+      return delegate.getAll(type, identifiers);
+    }
+
+    @Override
+    public Collection<CacheData> getAll(String type, Collection<String> identifiers, CacheFilter cacheFilter) {
+      return delegate.getAll(type, identifiers, cacheFilter);
+    }
+
+    @Override
+    public Collection<CacheData> getAll(String type, String... identifiers) {
+      return delegate.getAll(type, identifiers);
+    }
+  }
+}
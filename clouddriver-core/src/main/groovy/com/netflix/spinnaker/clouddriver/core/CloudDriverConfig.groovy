@@ -16,9 +16,11 @@
 
 package com.netflix.spinnaker.clouddriver.core
 
+import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.ExecutionInstrumentation
 import com.netflix.spinnaker.cats.agent.NoopExecutionInstrumentation
 import com.netflix.spinnaker.cats.redis.RedisClientDelegate
+import com.netflix.spinnaker.cats.thread.NamedThreadFactory
 import com.netflix.spinnaker.clouddriver.cache.CacheConfig
 import com.netflix.spinnaker.clouddriver.cache.NoopOnDemandCacheUpdater
 import com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater
@@ -27,6 +29,7 @@ import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfiguration
 import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfigurationBuilder
 import com.netflix.spinnaker.clouddriver.core.provider.CoreProvider
 import com.netflix.spinnaker.clouddriver.core.services.Front50Service
+import com.netflix.spinnaker.clouddriver.health.AccountHealthProber
 import com.netflix.spinnaker.clouddriver.model.ApplicationProvider
 import com.netflix.spinnaker.clouddriver.model.CloudMetricProvider
 import com.netflix.spinnaker.clouddriver.model.ClusterProvider
@@ -69,6 +72,8 @@ import com.netflix.spinnaker.clouddriver.security.DefaultAccountCredentialsProvi
 import com.netflix.spinnaker.clouddriver.security.MapBackedAccountCredentialsRepository
 import com.netflix.spinnaker.kork.core.RetrySupport
 import com.netflix.spinnaker.moniker.Namer
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.context.properties.ConfigurationProperties
@@ -80,6 +85,10 @@ import org.springframework.context.annotation.PropertySource
 import org.springframework.core.env.Environment
 import org.springframework.web.client.RestTemplate
 
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 @Configuration
 @Import([
   RedisConfig,
@@ -243,9 +252,9 @@ class CloudDriverConfig {
   }
 
   @Bean
-  CoreProvider coreProvider(RedisClientDelegate redisClientDelegate, ApplicationContext applicationContext) {
+  CoreProvider coreProvider(RedisClientDelegate redisClientDelegate, ApplicationContext applicationContext, Registry registry) {
     return new CoreProvider([
-      new CleanupPendingOnDemandCachesAgent(redisClientDelegate, applicationContext)
+      new CleanupPendingOnDemandCachesAgent(redisClientDelegate, applicationContext, registry)
     ])
   }
 
@@ -255,6 +264,18 @@ class CloudDriverConfig {
     new NoopAtomicOperationConverter()
   }
 
+  @Bean
+  ExecutorService accountHealthProbePool(@Value('${health.accounts.probeThreadPoolSize:20}') int probeThreadPoolSize) {
+    Executors.newFixedThreadPool(Math.max(1, probeThreadPoolSize), new NamedThreadFactory(AccountHealthProber.simpleName))
+  }
+
+  @Bean
+  AccountHealthProber accountHealthProber(Registry registry,
+                                          @Qualifier("accountHealthProbePool") ExecutorService accountHealthProbePool,
+                                          @Value('${health.accounts.probeTimeoutSeconds:30}') long probeTimeoutSeconds) {
+    new AccountHealthProber(registry, accountHealthProbePool, TimeUnit.SECONDS.toMillis(probeTimeoutSeconds))
+  }
+
   @Bean
   public RetrySupport retrySupport() {
     return new RetrySupport();
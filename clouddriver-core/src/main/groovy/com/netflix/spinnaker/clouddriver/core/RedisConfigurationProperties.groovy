@@ -29,6 +29,25 @@ class RedisConfigurationProperties {
     int intervalSeconds = 30
     int errorIntervalSeconds = 30
     int timeoutSeconds = 300
+
+    @NestedConfigurationProperty
+    final AdaptivePollConfiguration adaptive = new AdaptivePollConfiguration()
+  }
+
+  /**
+   * Lengthens the poll interval of caching agents whose consecutive executions produce the same result.
+   */
+  @Canonical
+  static class AdaptivePollConfiguration {
+    boolean enabled = false
+
+    /**
+     * The interval an agent is reset to as soon as its results change, defaults to the poll interval.
+     */
+    int minIntervalSeconds = -1
+    int maxIntervalSeconds = 300
+    double backoffMultiplier = 2.0
+    int unchangedExecutionsBeforeBackoff = 2
   }
 
   @Canonical
@@ -16,6 +16,9 @@
 
 package com.netflix.spinnaker.clouddriver.core.agent;
 
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.NoopRegistry;
+import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.RunnableAgent;
 import com.netflix.spinnaker.cats.module.CatsModule;
 import com.netflix.spinnaker.cats.provider.Provider;
@@ -25,40 +28,67 @@ import com.netflix.spinnaker.clouddriver.core.provider.CoreProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ScanParams;
 import redis.clients.jedis.ScanResult;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Removes members of each provider's onDemand:members set whose onDemand:attributes key no longer exists.
+ *
+ * The set is walked one SSCAN page at a time, so each batch of existence checks and removals is bounded by the page
+ * size rather than the size of the set.
+ */
 public class CleanupPendingOnDemandCachesAgent implements RunnableAgent, CustomScheduledAgent {
   private static final Logger log = LoggerFactory.getLogger(CleanupPendingOnDemandCachesAgent.class);
 
   private static final long DEFAULT_POLL_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(30);
   private static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final int DEFAULT_BATCH_SIZE = 1000;
 
   private final RedisClientDelegate redisClientDelegate;
   private final ApplicationContext applicationContext;
+  private final Registry registry;
   private final long pollIntervalMillis;
   private final long timeoutMillis;
+  private final int batchSize;
+
+  private final Id scannedId;
+  private final Id removedId;
+  private final Id durationId;
 
   public CleanupPendingOnDemandCachesAgent(RedisClientDelegate redisClientDelegate,
                                            ApplicationContext applicationContext) {
-    this(redisClientDelegate, applicationContext, DEFAULT_POLL_INTERVAL_MILLIS, DEFAULT_TIMEOUT_MILLIS);
+    this(redisClientDelegate, applicationContext, new NoopRegistry());
   }
 
-  private CleanupPendingOnDemandCachesAgent(RedisClientDelegate redisClientDelegate,
-                                            ApplicationContext applicationContext,
-                                            long pollIntervalMillis,
-                                            long timeoutMillis) {
+  public CleanupPendingOnDemandCachesAgent(RedisClientDelegate redisClientDelegate,
+                                           ApplicationContext applicationContext,
+                                           Registry registry) {
+    this(redisClientDelegate, applicationContext, registry, DEFAULT_POLL_INTERVAL_MILLIS, DEFAULT_TIMEOUT_MILLIS, DEFAULT_BATCH_SIZE);
+  }
+
+  CleanupPendingOnDemandCachesAgent(RedisClientDelegate redisClientDelegate,
+                                    ApplicationContext applicationContext,
+                                    Registry registry,
+                                    long pollIntervalMillis,
+                                    long timeoutMillis,
+                                    int batchSize) {
     this.redisClientDelegate = redisClientDelegate;
     this.applicationContext = applicationContext;
+    this.registry = registry;
     this.pollIntervalMillis = pollIntervalMillis;
     this.timeoutMillis = timeoutMillis;
+    this.batchSize = batchSize;
+
+    this.scannedId = registry.createId("cleanupPendingOnDemandCaches.scanned");
+    this.removedId = registry.createId("cleanupPendingOnDemandCaches.removed");
+    this.durationId = registry.createId("cleanupPendingOnDemandCaches.duration");
   }
 
   @Override
@@ -77,44 +107,90 @@ public class CleanupPendingOnDemandCachesAgent implements RunnableAgent, CustomS
   }
 
   void run(Collection<Provider> providers) {
-   providers.forEach(provider -> {
-     String onDemandSetName = provider.getProviderName() + ":onDemand:members";
-     List<String> onDemandKeys = scanMembers(onDemandSetName).stream()
-       .filter(s -> !s.equals("_ALL_"))
-       .collect(Collectors.toList());
-
-     List existingOnDemandKeys;
-     if (redisClientDelegate.supportsMultiKeyPipelines()) {
-       existingOnDemandKeys = redisClientDelegate.withMultiKeyPipeline(pipeline -> {
-         onDemandKeys.forEach(k -> pipeline.get(provider.getProviderName() + ":onDemand:attributes:" + k));
-         return pipeline.syncAndReturnAll();
-       });
-     } else {
-       existingOnDemandKeys = redisClientDelegate.withCommandsClient(client -> {
-         return onDemandKeys.stream()
-           .map(k -> client.get(provider.getProviderName() + "onDemand:attributes:" + k))
-           .collect(Collectors.toList());
-       });
-     }
-
-     Set<String> onDemandKeysToRemove = new HashSet<>();
-     for (int i = 0; i < onDemandKeys.size(); i++) {
-       if (existingOnDemandKeys.get(i) == null) {
-         onDemandKeysToRemove.add(onDemandKeys.get(i));
-       }
-     }
-
-     if (!onDemandKeysToRemove.isEmpty()) {
-       log.info("Removing {} from {}", onDemandKeysToRemove.size(), onDemandSetName);
-       log.debug("Removing {} from {}", onDemandKeysToRemove, onDemandSetName);
-
-       redisClientDelegate.withCommandsClient(client -> {
-         client.srem(onDemandSetName, onDemandKeysToRemove.toArray(new String[onDemandKeysToRemove.size()]));
-       });
-     }
+    providers.forEach(provider -> {
+      String providerName = provider.getProviderName();
+      String onDemandSetName = providerName + ":onDemand:members";
+
+      long startTime = System.nanoTime();
+      long scanned = 0;
+      long removed = 0;
+
+      ScanParams scanParams = new ScanParams().count(batchSize);
+      String cursor = "0";
+      do {
+        final String pageCursor = cursor;
+        ScanResult<String> scanResult = redisClientDelegate.withCommandsClient(client -> {
+          return client.sscan(onDemandSetName, pageCursor, scanParams);
+        });
+
+        List<String> onDemandKeys = scanResult.getResult().stream()
+          .filter(s -> !s.equals("_ALL_"))
+          .collect(Collectors.toList());
+        scanned += onDemandKeys.size();
+        removed += removeStaleMembers(providerName, onDemandSetName, onDemandKeys);
+
+        cursor = scanResult.getStringCursor();
+      } while (!"0".equals(cursor));
+
+      long elapsed = System.nanoTime() - startTime;
+      registry.counter(scannedId.withTag("provider", providerName)).increment(scanned);
+      registry.counter(removedId.withTag("provider", providerName)).increment(removed);
+      registry.timer(durationId.withTag("provider", providerName)).record(elapsed, TimeUnit.NANOSECONDS);
+
+      log.info(
+        "Scanned {} and removed {} members of {} in {}ms",
+        scanned,
+        removed,
+        onDemandSetName,
+        TimeUnit.NANOSECONDS.toMillis(elapsed)
+      );
     });
   }
 
+  private int removeStaleMembers(String providerName, String onDemandSetName, List<String> onDemandKeys) {
+    if (onDemandKeys.isEmpty()) {
+      return 0;
+    }
+
+    List<Boolean> exists;
+    if (redisClientDelegate.supportsMultiKeyPipelines()) {
+      exists = redisClientDelegate.withMultiKeyPipeline(pipeline -> {
+        List<Response<Boolean>> responses = onDemandKeys.stream()
+          .map(k -> pipeline.exists(attributesKey(providerName, k)))
+          .collect(Collectors.toList());
+        pipeline.sync();
+        return responses.stream().map(Response::get).collect(Collectors.toList());
+      });
+    } else {
+      exists = redisClientDelegate.withCommandsClient(client -> {
+        return onDemandKeys.stream()
+          .map(k -> client.exists(attributesKey(providerName, k)))
+          .collect(Collectors.toList());
+      });
+    }
+
+    List<String> onDemandKeysToRemove = new ArrayList<>();
+    for (int i = 0; i < onDemandKeys.size(); i++) {
+      if (!exists.get(i)) {
+        onDemandKeysToRemove.add(onDemandKeys.get(i));
+      }
+    }
+
+    if (!onDemandKeysToRemove.isEmpty()) {
+      log.debug("Removing {} from {}", onDemandKeysToRemove, onDemandSetName);
+
+      redisClientDelegate.withCommandsClient(client -> {
+        client.srem(onDemandSetName, onDemandKeysToRemove.toArray(new String[onDemandKeysToRemove.size()]));
+      });
+    }
+
+    return onDemandKeysToRemove.size();
+  }
+
+  private static String attributesKey(String providerName, String onDemandKey) {
+    return providerName + ":onDemand:attributes:" + onDemandKey;
+  }
+
   public long getPollIntervalMillis() {
     return pollIntervalMillis;
   }
@@ -123,22 +199,6 @@ public class CleanupPendingOnDemandCachesAgent implements RunnableAgent, CustomS
     return timeoutMillis;
   }
 
-  private Set<String> scanMembers(String setKey) {
-    return redisClientDelegate.withCommandsClient(client -> {
-      final Set<String> matches = new HashSet<>();
-      final ScanParams scanParams = new ScanParams().count(25000);
-      String cursor = "0";
-      while (true) {
-        final ScanResult<String> scanResult = client.sscan(setKey, cursor, scanParams);
-        matches.addAll(scanResult.getResult());
-        cursor = scanResult.getStringCursor();
-        if ("0".equals(cursor)) {
-          return matches;
-        }
-      }
-    });
-  }
-
   private CatsModule getCatsModule() {
     return applicationContext.getBean(CatsModule.class);
   }
@@ -17,8 +17,10 @@
 package com.netflix.spinnaker.clouddriver.data.task.jedis
 
 import com.fasterxml.jackson.annotation.JsonIgnore
+import com.netflix.spinnaker.clouddriver.data.task.DefaultTaskStatus
 import com.netflix.spinnaker.clouddriver.data.task.Status
 import com.netflix.spinnaker.clouddriver.data.task.Task
+import com.netflix.spinnaker.clouddriver.data.task.TaskDisplayStatus
 import com.netflix.spinnaker.clouddriver.data.task.TaskState
 import groovy.util.logging.Slf4j
 
@@ -34,11 +36,29 @@ class JedisTask implements Task {
   @JsonIgnore
   final boolean previousRedis
 
+  /**
+   * History and result objects preloaded by a bulk read, used instead of issuing further Redis reads until
+   * this task is next modified.
+   */
+  private volatile Snapshot snapshot
+
   JedisTask(String id, long startTimeMs, RedisTaskRepository repository, boolean previousRedis) {
+    this(id, startTimeMs, repository, previousRedis, null, null)
+  }
+
+  JedisTask(String id,
+            long startTimeMs,
+            RedisTaskRepository repository,
+            boolean previousRedis,
+            List<DefaultTaskStatus> history,
+            List<Object> resultObjects) {
     this.id = id
     this.startTimeMs = startTimeMs
     this.repository = repository
     this.previousRedis = previousRedis
+    if (history) {
+      this.snapshot = new Snapshot(history, resultObjects ?: [])
+    }
   }
 
   @Override
@@ -70,11 +90,13 @@ class JedisTask implements Task {
   }
 
   public List<Object> getResultObjects() {
-    repository.getResultObjects(this)
+    Snapshot snapshot = this.snapshot
+    snapshot ? snapshot.resultObjects : repository.getResultObjects(this)
   }
 
   public List<? extends Status> getHistory() {
-    def status = repository.getHistory(this)
+    Snapshot snapshot = this.snapshot
+    def status = snapshot ? snapshot.history.collect { TaskDisplayStatus.create(it) } : repository.getHistory(this)
     if (status && status.last().isCompleted()) {
       status.subList(0, status.size()  - 1)
     } else {
@@ -84,12 +106,24 @@ class JedisTask implements Task {
 
   @Override
   Status getStatus() {
-    repository.currentState(this)
+    Snapshot snapshot = this.snapshot
+    snapshot ? snapshot.history.last() : repository.currentState(this)
   }
 
   private void checkMutable() {
     if (previousRedis) {
       throw new IllegalStateException("Read-only task")
     }
+    snapshot = null
+  }
+
+  private static class Snapshot {
+    final List<DefaultTaskStatus> history
+    final List<Object> resultObjects
+
+    Snapshot(List<DefaultTaskStatus> history, List<Object> resultObjects) {
+      this.history = history
+      this.resultObjects = resultObjects
+    }
   }
 }
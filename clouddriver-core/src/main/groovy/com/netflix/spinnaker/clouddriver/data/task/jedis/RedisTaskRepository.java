@@ -18,6 +18,7 @@ package com.netflix.spinnaker.clouddriver.data.task.jedis;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Iterables;
 import com.netflix.spinnaker.cats.redis.RedisClientDelegate;
 import com.netflix.spinnaker.clouddriver.data.task.DefaultTaskStatus;
 import com.netflix.spinnaker.clouddriver.data.task.Status;
@@ -25,12 +26,16 @@ import com.netflix.spinnaker.clouddriver.data.task.Task;
 import com.netflix.spinnaker.clouddriver.data.task.TaskDisplayStatus;
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository;
 import com.netflix.spinnaker.clouddriver.data.task.TaskState;
+import redis.clients.jedis.Response;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -42,6 +47,7 @@ public class RedisTaskRepository implements TaskRepository {
   private static final TypeReference<Map<String, String>> HISTORY_TYPE = new TypeReference<Map<String, String>>() {};
 
   private static final int TASK_TTL = (int) TimeUnit.HOURS.toSeconds(12);
+  private static final int LIST_BATCH_SIZE = 500;
 
   private final RedisClientDelegate redisClientDelegate;
   private final Optional<RedisClientDelegate> redisClientDelegatePrevious;
@@ -131,8 +137,55 @@ public class RedisTaskRepository implements TaskRepository {
 
   @Override
   public List<Task> list() {
-    return redisClientDelegate.withCommandsClient(client -> {
-      return client.smembers(RUNNING_TASK_KEY).stream().map(this::get).collect(Collectors.toList());
+    Set<String> taskIds = redisClientDelegate.withCommandsClient(client -> {
+      return client.smembers(RUNNING_TASK_KEY);
+    });
+
+    if (!redisClientDelegate.supportsMultiKeyPipelines()) {
+      return taskIds.stream().map(this::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    List<Task> tasks = new ArrayList<>(taskIds.size());
+    for (List<String> partition : Iterables.partition(taskIds, LIST_BATCH_SIZE)) {
+      tasks.addAll(loadTasks(partition));
+    }
+    return tasks;
+  }
+
+  /**
+   * Loads the task, history and result objects of each task in a single pipeline rather than issuing separate
+   * reads per task (and per property as tasks are serialized).
+   */
+  private List<Task> loadTasks(List<String> taskIds) {
+    return redisClientDelegate.withMultiKeyPipeline(pipeline -> {
+      List<Response<Map<String, String>>> taskResponses = new ArrayList<>(taskIds.size());
+      List<Response<List<String>>> historyResponses = new ArrayList<>(taskIds.size());
+      List<Response<List<String>>> resultResponses = new ArrayList<>(taskIds.size());
+      for (String taskId : taskIds) {
+        taskResponses.add(pipeline.hgetAll("task:" + taskId));
+        historyResponses.add(pipeline.lrange("taskHistory:" + taskId, 0, -1));
+        resultResponses.add(pipeline.lrange("taskResult:" + taskId, 0, -1));
+      }
+      pipeline.sync();
+
+      List<Task> tasks = new ArrayList<>(taskIds.size());
+      for (int i = 0; i < taskIds.size(); i++) {
+        Map<String, String> taskMap = taskResponses.get(i).get();
+        List<String> history = historyResponses.get(i).get();
+        if (!taskMap.containsKey("id") || !taskMap.containsKey("startTimeMs") || history.isEmpty()) {
+          continue;
+        }
+
+        tasks.add(new JedisTask(
+          taskMap.get("id"),
+          Long.parseLong(taskMap.get("startTimeMs")),
+          this,
+          false,
+          history.stream().map(this::readStatus).collect(Collectors.toList()),
+          resultResponses.get(i).get().stream().map(this::readResultObject).collect(Collectors.toList())
+        ));
+      }
+      return tasks;
     });
   }
 
@@ -177,15 +230,7 @@ public class RedisTaskRepository implements TaskRepository {
     return clientForTask(task).withCommandsClient(client -> {
       return client.lrange(historyId, 0, -1);
     }).stream()
-      .map(h -> {
-        Map<String, String> history;
-        try {
-          history = mapper.readValue(h, HISTORY_TYPE);
-        } catch (IOException e) {
-          throw new RuntimeException("Could not convert history json to type", e);
-        }
-        return TaskDisplayStatus.create(DefaultTaskStatus.create(history.get("phase"), history.get("status"), TaskState.valueOf(history.get("state"))));
-      })
+      .map(h -> TaskDisplayStatus.create(readStatus(h)))
       .collect(Collectors.toList());
   }
 
@@ -194,13 +239,7 @@ public class RedisTaskRepository implements TaskRepository {
     String state = clientForTask(task).withCommandsClient(client -> {
       return client.lindex(historyId, -1);
     });
-    Map<String, String> history;
-    try {
-      history = mapper.readValue(state, HISTORY_TYPE);
-    } catch (IOException e) {
-      throw new RuntimeException("Failed converting task history json to object", e);
-    }
-    return DefaultTaskStatus.create(history.get("phase"), history.get("status"), TaskState.valueOf(history.get("state")));
+    return readStatus(state);
   }
 
   public void addResultObjects(List<Object> objects, JedisTask task) {
@@ -226,16 +265,28 @@ public class RedisTaskRepository implements TaskRepository {
     return redisClientDelegate.withCommandsClient(client -> {
       return client.lrange(resultId, 0, -1);
     }).stream()
-      .map(o -> {
-        try {
-          return mapper.readValue(o, Map.class);
-        } catch (IOException e) {
-          throw new RuntimeException("Failed to convert result object to map", e);
-        }
-      })
+      .map(this::readResultObject)
       .collect(Collectors.toList());
   }
 
+  private DefaultTaskStatus readStatus(String json) {
+    Map<String, String> history;
+    try {
+      history = mapper.readValue(json, HISTORY_TYPE);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed converting task history json to object", e);
+    }
+    return DefaultTaskStatus.create(history.get("phase"), history.get("status"), TaskState.valueOf(history.get("state")));
+  }
+
+  private Object readResultObject(String json) {
+    try {
+      return mapper.readValue(json, Map.class);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to convert result object to map", e);
+    }
+  }
+
   private String getClientRequestKey(String clientRequestId) {
     return TASK_KEY_MAP + ":" + clientRequestId;
   }
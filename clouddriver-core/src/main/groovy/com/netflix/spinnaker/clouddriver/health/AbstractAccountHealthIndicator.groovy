@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.health
+
+import com.netflix.spinnaker.clouddriver.security.AccountCredentials
+import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.actuate.health.Health
+import org.springframework.boot.actuate.health.HealthIndicator
+
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * A health indicator that probes every account of a provider through the AccountHealthProber.
+ *
+ * The provider is only reported unhealthy (by throwing the exception of one of its accounts) when none of its accounts
+ * is healthy, unhealthy accounts are otherwise listed in the health details.
+ */
+abstract class AbstractAccountHealthIndicator<T extends AccountCredentials> implements HealthIndicator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AbstractAccountHealthIndicator)
+
+  @Autowired
+  AccountCredentialsProvider accountCredentialsProvider
+
+  @Autowired
+  AccountHealthProber accountHealthProber
+
+  final String provider
+  final Class<T> credentialsType
+
+  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
+  private final AtomicReference<Map<String, AccountHealth>> lastAccountHealth = new AtomicReference<>(null)
+
+  protected AbstractAccountHealthIndicator(String provider, Class<T> credentialsType) {
+    this.provider = provider
+    this.credentialsType = credentialsType
+  }
+
+  /**
+   * Verifies that the account is reachable, throwing when it is not.
+   */
+  protected abstract void probe(T credentials)
+
+  protected Collection<T> getAccounts() {
+    accountCredentialsProvider.all.findAll { credentialsType.isInstance(it) } as List<T>
+  }
+
+  /**
+   * @return the health of every account as of the last probe, null when the accounts have not been probed yet
+   */
+  protected Map<String, AccountHealth> getAccountHealth() {
+    lastAccountHealth.get()
+  }
+
+  @Override
+  Health health() {
+    def ex = lastException.get()
+    if (ex) {
+      throw ex
+    }
+
+    Collection<AccountHealth> unhealthy = unhealthyAccounts()
+    if (unhealthy && unhealthy.size() == accountHealth.size()) {
+      throw unhealthy.first().exception
+    }
+
+    return withUnhealthyAccounts(new Health.Builder().up()).build()
+  }
+
+  protected Health.Builder withUnhealthyAccounts(Health.Builder builder) {
+    Collection<AccountHealth> unhealthy = unhealthyAccounts()
+    if (unhealthy) {
+      builder.withDetail("unhealthyAccounts", unhealthy*.account.sort())
+    }
+    return builder
+  }
+
+  /**
+   * Probes every account, subclasses schedule this from their checkHealth().
+   *
+   * @return the health of every account, null when the accounts could not be listed
+   */
+  protected Map<String, AccountHealth> probeAccounts() {
+    try {
+      Map<String, AccountHealth> accountHealth = accountHealthProber.probe(provider, getAccounts()) { T credentials ->
+        probe(credentials)
+      }
+      accountHealth.values().findAll { !it.healthy }.each {
+        LOG.warn("Unhealthy ${provider} account ${it.account}", it.exception)
+      }
+
+      lastAccountHealth.set(accountHealth)
+      lastException.set(null)
+      return accountHealth
+    } catch (Exception ex) {
+      LOG.warn "Unhealthy", ex
+
+      lastException.set(ex)
+      return null
+    }
+  }
+
+  private Collection<AccountHealth> unhealthyAccounts() {
+    (lastAccountHealth.get() ?: [:]).values().findAll { !it.healthy }
+  }
+}
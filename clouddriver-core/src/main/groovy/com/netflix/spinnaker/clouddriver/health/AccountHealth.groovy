@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.health
+
+import com.fasterxml.jackson.annotation.JsonIgnore
+import groovy.transform.Immutable
+
+/**
+ * The outcome of the last probe of an account.
+ */
+@Immutable(knownImmutableClasses = [Exception])
+class AccountHealth {
+  String provider
+  String account
+  boolean healthy
+  long latencyMillis
+  long lastProbed
+
+  /**
+   * The exception raised by an unhealthy probe (null when healthy).
+   */
+  @JsonIgnore
+  Exception exception
+
+  String getError() {
+    exception?.message ?: exception?.class?.simpleName
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.health
+
+import com.netflix.spectator.api.Id
+import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.security.AccountCredentials
+import groovy.transform.InheritConstructors
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+/**
+ * Probes the accounts of a provider concurrently and keeps the outcome of the last probe of every account.
+ *
+ * Probes are issued on a shared (and bounded) pool, they are issued sequentially on the calling thread when there is
+ * no pool. A probe that does not complete within the probe timeout (measured from the moment it starts) is cancelled
+ * and its account reported unhealthy.
+ */
+class AccountHealthProber {
+  static final long DEFAULT_PROBE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30)
+
+  private final Registry registry
+  private final ExecutorService probePool
+  private final long probeTimeoutMillis
+
+  private final Id probeId
+  private final ConcurrentMap<String, Map<String, AccountHealth>> accountHealthByProvider = new ConcurrentHashMap<>()
+
+  AccountHealthProber(Registry registry) {
+    this(registry, null, DEFAULT_PROBE_TIMEOUT_MILLIS)
+  }
+
+  AccountHealthProber(Registry registry, ExecutorService probePool, long probeTimeoutMillis) {
+    this.registry = registry
+    this.probePool = probePool
+    this.probeTimeoutMillis = probeTimeoutMillis
+    this.probeId = registry.createId("health.account.probe")
+  }
+
+  /**
+   * Probes every account, the probe throws when the account is unhealthy.
+   *
+   * @return the health of every account, by account name
+   */
+  public <T extends AccountCredentials> Map<String, AccountHealth> probe(String provider,
+                                                                         Collection<T> accounts,
+                                                                         Closure<?> probe) {
+    Map<String, Long> startedAt = new ConcurrentHashMap<>()
+    Map<String, Long> latencies = new ConcurrentHashMap<>()
+    Map<String, Future<?>> futures = accounts.collectEntries { T credentials ->
+      Callable<Object> call = {
+        long start = System.nanoTime()
+        startedAt.put(credentials.name, start)
+        try {
+          probe.call(credentials)
+        } finally {
+          latencies.put(credentials.name, System.nanoTime() - start)
+        }
+      } as Callable<Object>
+      [(credentials.name): submit(call)]
+    }
+
+    try {
+      Map<String, AccountHealth> accountHealth = futures.collectEntries { String account, Future<?> future ->
+        [(account): await(provider, account, future, startedAt, latencies)]
+      }
+      accountHealthByProvider.put(provider, accountHealth.asImmutable())
+      return accountHealth
+    } finally {
+      futures.values()*.cancel(true)
+    }
+  }
+
+  /**
+   * @return the health of every probed account, by provider and account name
+   */
+  Map<String, Map<String, AccountHealth>> getAccountHealth() {
+    new TreeMap<>(accountHealthByProvider)
+  }
+
+  private AccountHealth await(String provider,
+                              String account,
+                              Future<?> future,
+                              Map<String, Long> startedAt,
+                              Map<String, Long> latencies) {
+    long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(probeTimeoutMillis)
+    Exception exception = null
+    try {
+      try {
+        future.get(timeoutNanos, TimeUnit.NANOSECONDS)
+      } catch (TimeoutException e) {
+        // a probe that was queued behind others gets the whole timeout once it has started
+        Long started = startedAt.get(account)
+        if (started == null) {
+          throw new AccountProbeTimeoutException("Probe of ${provider}/${account} did not start within ${probeTimeoutMillis}ms")
+        }
+        future.get(Math.max(0, started + timeoutNanos - System.nanoTime()), TimeUnit.NANOSECONDS)
+      }
+    } catch (TimeoutException e) {
+      exception = new AccountProbeTimeoutException("Probe of ${provider}/${account} timed out after ${probeTimeoutMillis}ms")
+    } catch (AccountProbeTimeoutException e) {
+      exception = e
+    } catch (ExecutionException e) {
+      exception = e.cause instanceof Exception ? (Exception) e.cause : e
+    } finally {
+      future.cancel(true)
+    }
+
+    // a probe that timed out has not recorded its latency
+    Long started = startedAt.get(account)
+    Long latency = latencies.get(account) ?: (started == null ? 0 : System.nanoTime() - started)
+    long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latency)
+    boolean healthy = exception == null
+    registry.timer(probeId
+      .withTag("provider", provider)
+      .withTag("account", account)
+      .withTag("success", Boolean.toString(healthy))
+    ).record(latencyMillis, TimeUnit.MILLISECONDS)
+
+    return new AccountHealth(
+      provider: provider,
+      account: account,
+      healthy: healthy,
+      latencyMillis: latencyMillis,
+      lastProbed: System.currentTimeMillis(),
+      exception: exception
+    )
+  }
+
+  private Future<?> submit(Callable<Object> call) {
+    if (probePool == null) {
+      def task = new FutureTask<Object>(call)
+      task.run()
+      return task
+    }
+    return probePool.submit(call)
+  }
+
+  @InheritConstructors
+  static class AccountProbeTimeoutException extends RuntimeException {}
+}
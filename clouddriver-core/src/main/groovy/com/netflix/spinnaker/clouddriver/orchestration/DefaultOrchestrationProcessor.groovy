@@ -17,6 +17,8 @@
 package com.netflix.spinnaker.clouddriver.orchestration
 
 import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfiguration
+import com.netflix.spinnaker.clouddriver.core.limits.ServiceLimitConfigurationBuilder
 import com.netflix.spinnaker.clouddriver.data.task.Task
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
 import com.netflix.spinnaker.clouddriver.metrics.TimedCallable
@@ -29,6 +31,7 @@ import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.ApplicationContext
 
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.RejectedExecutionException
 import java.util.concurrent.SynchronousQueue
 import java.util.concurrent.ThreadPoolExecutor
 import java.util.concurrent.TimeUnit
@@ -39,6 +42,17 @@ import static com.netflix.spinnaker.security.AuthenticatedRequest.propagate
 @Slf4j
 class DefaultOrchestrationProcessor implements OrchestrationProcessor {
   private static final String TASK_PHASE = "ORCHESTRATION"
+  private static final String DEFAULT_PARTITION = "default"
+  private static final String NESTED_PARTITION_SUFFIX = "/nested"
+
+  // the partition of the orchestration running on the current thread, if any
+  private static final ThreadLocal<String> currentPartition = new ThreadLocal<>()
+
+  static final String MAX_CONCURRENT_OPERATIONS = "maxConcurrentOperations"
+  static final String MAX_QUEUED_OPERATIONS = "maxQueuedOperations"
+
+  private static final int DEFAULT_MAX_CONCURRENT_OPERATIONS = 100
+  private static final int DEFAULT_MAX_QUEUED_OPERATIONS = 1000
 
   protected ExecutorService executorService = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
     60L, TimeUnit.SECONDS,
@@ -62,8 +76,18 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
   @Autowired(required = false)
   Collection<OperationEventHandler> operationEventHandlers = []
 
+  @Autowired(required = false)
+  ServiceLimitConfiguration serviceLimitConfiguration = new ServiceLimitConfigurationBuilder().build()
+
+  private PartitionedOperationExecutor operationExecutor
+
   @Override
   Task process(List<AtomicOperation> atomicOperations, String clientRequestId) {
+    process(null, atomicOperations, clientRequestId)
+  }
+
+  @Override
+  Task process(String cloudProvider, List<AtomicOperation> atomicOperations, String clientRequestId) {
 
     def orchestrationsId = registry.createId('orchestrations')
     def atomicOperationId = registry.createId('operations')
@@ -73,7 +97,9 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
       return existingTask
     }
     def task = taskRepository.create(TASK_PHASE, "Initializing Orchestration Task...", clientRequestId)
+    String partition = partitionFor(cloudProvider)
     def operationClosure = {
+      currentPartition.set(partition)
       try {
         // Autowire the atomic operations
         for (op in atomicOperations) {
@@ -141,6 +167,7 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
           task.fail()
         }
       } finally {
+        currentPartition.remove()
         if (!task.status?.isCompleted()) {
           task.complete()
         }
@@ -148,11 +175,60 @@ class DefaultOrchestrationProcessor implements OrchestrationProcessor {
     }
 
     def timedCallable = TimedCallable.forCallable(registry, orchestrationsId, propagate(operationClosure, true))
-    executorService.submit(timedCallable)
+    Closure rejectTask = { RejectedExecutionException e ->
+      registry.counter(tasksId.withTag("success", "false").withTag("cause", e.class.simpleName)).increment()
+      def message = "Too many ${partition} operations are in progress, try again later."
+      task.updateStatus TASK_PHASE, "Orchestration rejected: ${message}"
+      task.addResultObjects([[type: "EXCEPTION", cause: e.class.simpleName, message: message.toString()]])
+      task.fail()
+    }
+    try {
+      getOperationExecutor().submit(
+        partition,
+        timedCallable,
+        { int operationsAhead -> task.updateStatus TASK_PHASE, "Queued behind ${operationsAhead} other ${partition} operation(s)" },
+        rejectTask
+      )
+    } catch (RejectedExecutionException e) {
+      rejectTask(e)
+    }
 
     task
   }
 
+  /**
+   * Orchestrations submitted from within a running orchestration (e.g. a follow up operation) are limited separately
+   * from top level orchestrations, so that they never wait behind the orchestrations that submitted them.
+   */
+  private static String partitionFor(String cloudProvider) {
+    String outerPartition = currentPartition.get()
+    if (outerPartition == null) {
+      return cloudProvider ?: DEFAULT_PARTITION
+    }
+    if (outerPartition.endsWith(NESTED_PARTITION_SUFFIX)) {
+      return outerPartition
+    }
+    return (cloudProvider ?: outerPartition) + NESTED_PARTITION_SUFFIX
+  }
+
+  private synchronized PartitionedOperationExecutor getOperationExecutor() {
+    if (operationExecutor == null) {
+      operationExecutor = new PartitionedOperationExecutor(
+        executorService,
+        registry,
+        { String partition -> getLimit(MAX_CONCURRENT_OPERATIONS, partition, DEFAULT_MAX_CONCURRENT_OPERATIONS) },
+        { String partition -> getLimit(MAX_QUEUED_OPERATIONS, partition, DEFAULT_MAX_QUEUED_OPERATIONS) }
+      )
+    }
+    return operationExecutor
+  }
+
+  private int getLimit(String limit, String partition, int defaultValue) {
+    String topLevelPartition = partition - NESTED_PARTITION_SUFFIX
+    String cloudProvider = topLevelPartition == DEFAULT_PARTITION ? null : topLevelPartition
+    serviceLimitConfiguration.getLimit(limit, null, null, cloudProvider, defaultValue as Double).intValue()
+  }
+
   void autowire(obj) {
     applicationContext.autowireCapableBeanFactory.autowireBean obj
   }
@@ -32,4 +32,14 @@ public interface OrchestrationProcessor {
    * @return a list of results
    */
   Task process(List<AtomicOperation> atomicOperations, String key)
+
+  /**
+   * Orchestrates operations on behalf of a specific cloud provider, allowing implementations to apply limits per
+   * cloud provider.
+   *
+   * @param cloudProvider the cloud provider the operations were submitted for, or null if unknown
+   * @param key a unique key, used to de-dupe orchestration requests
+   * @return a list of results
+   */
+  Task process(String cloudProvider, List<AtomicOperation> atomicOperations, String key)
 }
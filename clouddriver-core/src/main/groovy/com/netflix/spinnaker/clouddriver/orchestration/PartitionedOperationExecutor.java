@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.orchestration;
+
+import com.netflix.spectator.api.Id;
+import com.netflix.spectator.api.Registry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs operations on a shared ExecutorService while bounding the number of concurrently running operations
+ * per partition (e.g. per cloud provider).
+ *
+ * Operations beyond a partition's concurrency limit wait in a FIFO queue for that partition, and are rejected
+ * once that queue is full.
+ */
+public class PartitionedOperationExecutor {
+
+  private static final Logger log = LoggerFactory.getLogger(PartitionedOperationExecutor.class);
+
+  private final ExecutorService executorService;
+  private final Registry registry;
+  private final ToIntFunction<String> maxConcurrentOperations;
+  private final ToIntFunction<String> maxQueuedOperations;
+
+  private final Id activeId;
+  private final Id queuedId;
+  private final Id queueWaitId;
+  private final Id rejectedId;
+
+  private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+  public PartitionedOperationExecutor(ExecutorService executorService,
+                                      Registry registry,
+                                      ToIntFunction<String> maxConcurrentOperations,
+                                      ToIntFunction<String> maxQueuedOperations) {
+    this.executorService = executorService;
+    this.registry = registry;
+    this.maxConcurrentOperations = maxConcurrentOperations;
+    this.maxQueuedOperations = maxQueuedOperations;
+
+    this.activeId = registry.createId("orchestrations.active");
+    this.queuedId = registry.createId("orchestrations.queued");
+    this.queueWaitId = registry.createId("orchestrations.queueWait");
+    this.rejectedId = registry.createId("orchestrations.rejected");
+  }
+
+  /**
+   * Submits an operation, starting it immediately if the partition is below its concurrency limit.
+   *
+   * @param partitionName the partition the operation counts against
+   * @param operation the operation
+   * @param onQueued invoked (outside of any partition lock) with the position of this operation in the queue if it
+   *                 has to wait; the operation does not start until this returns, and it is not invoked if the
+   *                 operation has already started
+   * @param onRejected invoked if a queued operation cannot be started once it reaches the front of the queue
+   * @throws RejectedExecutionException if the partition's queue is full, or the operation cannot be started
+   */
+  public void submit(String partitionName,
+                     Callable<?> operation,
+                     IntConsumer onQueued,
+                     Consumer<RejectedExecutionException> onRejected) {
+    Partition partition = partitions.computeIfAbsent(partitionName, Partition::new);
+    QueuedOperation queuedOperation = new QueuedOperation(operation, onRejected);
+
+    int position;
+    synchronized (partition) {
+      if (partition.active.get() >= partition.maxConcurrent) {
+        if (partition.queue.size() >= partition.maxQueued) {
+          registry.counter(rejectedId.withTag("partition", partitionName)).increment();
+          throw new RejectedExecutionException(
+            "Too many operations queued for " + partitionName + " (" + partition.queue.size() + ")"
+          );
+        }
+        partition.queue.addLast(queuedOperation);
+        partition.queued.incrementAndGet();
+        position = partition.queue.size();
+      } else {
+        partition.active.incrementAndGet();
+        position = 0;
+      }
+    }
+
+    if (position > 0) {
+      queuedOperation.reportQueued(onQueued, position);
+      return;
+    }
+
+    start(partition, queuedOperation);
+  }
+
+  private void start(Partition partition, QueuedOperation queuedOperation) {
+    registry
+      .timer(queueWaitId.withTag("partition", partition.name))
+      .record(System.nanoTime() - queuedOperation.submittedAt, TimeUnit.NANOSECONDS);
+
+    try {
+      executorService.submit(() -> {
+        try {
+          queuedOperation.markStarted();
+          return queuedOperation.operation.call();
+        } finally {
+          complete(partition);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      complete(partition);
+      throw e;
+    }
+  }
+
+  private void complete(Partition partition) {
+    QueuedOperation next;
+    synchronized (partition) {
+      next = partition.queue.pollFirst();
+      if (next == null) {
+        partition.active.decrementAndGet();
+        return;
+      }
+      partition.queued.decrementAndGet();
+    }
+
+    try {
+      start(partition, next);
+    } catch (RejectedExecutionException e) {
+      log.error("Unable to start queued operation for {}", partition.name, e);
+      registry.counter(rejectedId.withTag("partition", partition.name)).increment();
+      try {
+        next.onRejected.accept(e);
+      } catch (Exception onRejectedException) {
+        log.error("Unable to reject queued operation for {}", partition.name, onRejectedException);
+      }
+    }
+  }
+
+  private class Partition {
+    final String name;
+    final int maxConcurrent;
+    final int maxQueued;
+
+    final AtomicInteger active;
+    final AtomicInteger queued;
+    final Deque<QueuedOperation> queue = new ArrayDeque<>();
+
+    Partition(String name) {
+      this.name = name;
+      this.maxConcurrent = Math.max(1, maxConcurrentOperations.applyAsInt(name));
+      this.maxQueued = Math.max(0, maxQueuedOperations.applyAsInt(name));
+      this.active = registry.gauge(activeId.withTag("partition", name), new AtomicInteger());
+      this.queued = registry.gauge(queuedId.withTag("partition", name), new AtomicInteger());
+    }
+  }
+
+  private static class QueuedOperation {
+    final Callable<?> operation;
+    final Consumer<RejectedExecutionException> onRejected;
+    final long submittedAt = System.nanoTime();
+
+    private boolean started;
+
+    QueuedOperation(Callable<?> operation, Consumer<RejectedExecutionException> onRejected) {
+      this.operation = operation;
+      this.onRejected = onRejected;
+    }
+
+    synchronized void reportQueued(IntConsumer onQueued, int position) {
+      if (!started) {
+        onQueued.accept(position);
+      }
+    }
+
+    synchronized void markStarted() {
+      started = true;
+    }
+  }
+}
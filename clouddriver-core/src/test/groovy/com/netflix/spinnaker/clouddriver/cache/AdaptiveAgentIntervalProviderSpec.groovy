@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.AgentExecutionProfile
+import com.netflix.spinnaker.cats.agent.CacheResult
+import com.netflix.spinnaker.cats.agent.CachingAgent
+import com.netflix.spinnaker.cats.agent.DefaultCacheResult
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import com.netflix.spinnaker.cats.redis.JedisClientDelegate
+import com.netflix.spinnaker.kork.jedis.EmbeddedRedis
+import redis.clients.jedis.Jedis
+import redis.clients.jedis.JedisPool
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
+
+class AdaptiveAgentIntervalProviderSpec extends Specification {
+
+  @Shared
+  @AutoCleanup("destroy")
+  EmbeddedRedis embeddedRedis = EmbeddedRedis.embed()
+
+  def redisClientDelegate = new JedisClientDelegate(embeddedRedis.pool as JedisPool)
+  def registry = new DefaultRegistry()
+  def provider = newProvider()
+  def agent = Stub(Agent) {
+    getProviderName() >> "test"
+    getAgentType() >> "agent"
+  }
+
+  def setup() {
+    embeddedRedis.pool.resource.withCloseable { Jedis jedis -> jedis.flushDB() }
+  }
+
+  def "should lengthen the interval while results are unchanged, up to the maximum"() {
+    when:
+    9.times { provider.executionProfiled(agent, profile(42)) }
+    def interval = provider.getInterval(agent)
+
+    then:
+    interval.interval == 8000
+    interval.errorInterval == 500
+    interval.timeout == 5000
+  }
+
+  def "should reset the interval to the minimum as results change or on demand updates are requested"() {
+    given:
+    5.times { provider.executionProfiled(agent, profile(42)) }
+
+    expect:
+    provider.getInterval(agent).interval == 4000
+
+    when:
+    provider.executionProfiled(agent, profile(43))
+
+    then:
+    provider.getInterval(agent).interval == 1000
+
+    when:
+    3.times { provider.executionProfiled(agent, profile(43)) }
+
+    then:
+    provider.getInterval(agent).interval == 2000
+
+    when:
+    provider.executionProfiled(agent, profile(43, 1))
+
+    then:
+    provider.getInterval(agent).interval == 1000
+
+    when:
+    3.times { provider.executionProfiled(agent, profile(43)) }
+    provider.onDemandRequested(agent)
+
+    then:
+    provider.getInterval(agent).interval == 1000
+  }
+
+  def "should reset the interval to the minimum when only an attribute of a stored item changes"() {
+    given:
+    def cachingAgent = cachingAgent()
+    def cacheExecution = new CachingAgent.CacheExecution(providerRegistry(), provider)
+    5.times { int execution ->
+      cacheExecution.storeAgentResult(cachingAgent, result(
+        serverGroup("asg-v001", [desired: 2, health: "Up", cacheTime: execution]),
+        serverGroup("asg-v002", [desired: 0, health: "Up", cacheTime: execution])
+      ))
+    }
+
+    expect: 'attributes recording when items were cached are not changes'
+    provider.getInterval(cachingAgent).interval == 4000
+
+    when:
+    cacheExecution.storeAgentResult(cachingAgent, result(
+      serverGroup("asg-v001", [desired: 2, health: "Down"]),
+      serverGroup("asg-v002", [desired: 0, health: "Up"])
+    ))
+
+    then:
+    provider.getInterval(cachingAgent).interval == 1000
+  }
+
+  def "should reset the interval to the minimum when an item is no longer stored"() {
+    given:
+    def cachingAgent = cachingAgent()
+    def cacheExecution = new CachingAgent.CacheExecution(providerRegistry(), provider)
+    5.times {
+      cacheExecution.storeAgentResult(cachingAgent, result(
+        serverGroup("asg-v001", [desired: 2]),
+        serverGroup("asg-v002", [desired: 0])
+      ))
+    }
+
+    expect:
+    provider.getInterval(cachingAgent).interval == 4000
+
+    when: 'the cache evicts the missing item itself, the result holds no explicit eviction'
+    cacheExecution.storeAgentResult(cachingAgent, result(serverGroup("asg-v001", [desired: 2])))
+
+    then:
+    provider.getInterval(cachingAgent).interval == 1000
+  }
+
+  def "should share the interval of an agent between nodes"() {
+    given:
+    def otherNode = newProvider()
+    5.times { provider.executionProfiled(agent, profile(42)) }
+
+    expect:
+    otherNode.getInterval(agent).interval == 4000
+
+    when: 'an on demand update is handled by a node that never ran the agent'
+    otherNode.onDemandRequested(agent)
+
+    then:
+    provider.getInterval(agent).interval == 1000
+
+    when: 'the agent then runs on the other node'
+    2.times { otherNode.executionProfiled(agent, profile(42)) }
+
+    then: 'it carries on from the shared state'
+    provider.getInterval(agent).interval == 2000
+  }
+
+  def "should keep the configured interval when the adapted interval cannot be read"() {
+    given:
+    def unavailable = new AdaptiveAgentIntervalProvider(
+      new CustomSchedulableAgentIntervalProvider(1000, 500, 5000),
+      new JedisClientDelegate(Stub(JedisPool) { getResource() >> { throw new IllegalStateException("unavailable") } }),
+      registry, 1000, 8000, 2.0, 2
+    )
+
+    when:
+    unavailable.executionProfiled(agent, profile(42))
+    unavailable.onDemandRequested(agent)
+
+    then:
+    unavailable.getInterval(agent).interval == 1000
+  }
+
+  def "should keep the interval of agents scheduled outside of the bounds"() {
+    given:
+    def slowAgent = Stub(CustomScheduledAgent) {
+      getProviderName() >> "test"
+      getAgentType() >> "slow"
+      getPollIntervalMillis() >> 60000
+      getErrorIntervalMillis() >> -1
+      getTimeoutMillis() >> -1
+    }
+
+    when:
+    5.times { provider.executionProfiled(slowAgent, profile(42)) }
+    provider.onDemandRequested(slowAgent)
+
+    then:
+    provider.getInterval(slowAgent).interval == 60000
+    embeddedRedis.pool.resource.withCloseable { Jedis jedis ->
+      !jedis.exists(AdaptiveAgentIntervalProvider.intervalKey(slowAgent))
+    }
+  }
+
+  private AdaptiveAgentIntervalProvider newProvider() {
+    new AdaptiveAgentIntervalProvider(
+      new CustomSchedulableAgentIntervalProvider(1000, 500, 5000), redisClientDelegate, registry, 1000, 8000, 2.0, 2
+    )
+  }
+
+  private CachingAgent cachingAgent() {
+    Stub(CachingAgent) {
+      getProviderName() >> "test"
+      getAgentType() >> "cachingAgent"
+      getProvidedDataTypes() >> [AUTHORITATIVE.forType("serverGroups")]
+      getCacheKeyPatterns() >> Optional.empty()
+    }
+  }
+
+  private ProviderRegistry providerRegistry() {
+    Stub(ProviderRegistry) {
+      getProviderCache(_) >> Stub(ProviderCache)
+    }
+  }
+
+  private static CacheResult result(CacheData... serverGroups) {
+    new DefaultCacheResult([serverGroups: serverGroups as List])
+  }
+
+  private static CacheData serverGroup(String id, Map<String, Object> attributes) {
+    new DefaultCacheData(id, attributes, [:])
+  }
+
+  private AgentExecutionProfile profile(long resultFingerprint, long evictionCount = 0) {
+    Stub(AgentExecutionProfile) {
+      getResultFingerprint() >> resultFingerprint
+      getEvictionCount() >> evictionCount
+    }
+  }
+}
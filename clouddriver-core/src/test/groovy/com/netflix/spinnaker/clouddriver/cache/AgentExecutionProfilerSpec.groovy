@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.AgentExecutionProfile
+import spock.lang.Specification
+
+import static com.netflix.spinnaker.cats.agent.AgentExecutionProfile.Phase.LOAD
+import static com.netflix.spinnaker.cats.agent.AgentExecutionProfile.Phase.STORE
+import static com.netflix.spinnaker.cats.agent.AgentExecutionProfile.Phase.TRANSFORM
+
+class AgentExecutionProfilerSpec extends Specification {
+
+  def profiler = new AgentExecutionProfiler()
+
+  def "should rank agents by their average phase durations"() {
+    given:
+    def slowLoad = agent("slowLoad")
+    def slowStore = agent("slowStore")
+
+    when:
+    profiler.executionProfiled(slowLoad, profile(1000, 10, 100, 5, 500))
+    profiler.executionProfiled(slowLoad, profile(3000, 10, 100, 5, 500))
+    profiler.executionProfiled(slowStore, profile(100, 10, 1500, 50, 50000))
+
+    then:
+    profiler.getMostExpensiveAgents("total", 10)*.agentType == ["slowLoad", "slowStore"]
+    profiler.getMostExpensiveAgents("store", 10)*.agentType == ["slowStore", "slowLoad"]
+    profiler.getMostExpensiveAgents("bytes", 1)*.agentType == ["slowStore"]
+
+    with(profiler.getMostExpensiveAgents("load", 1)[0]) {
+      provider == "test"
+      executions == 2
+      averageMs == [load: 2000, transform: 10, store: 100, total: 2110]
+      lastItemCount == 5
+    }
+  }
+
+  private Agent agent(String agentType) {
+    Stub(Agent) {
+      getProviderName() >> "test"
+      getAgentType() >> agentType
+    }
+  }
+
+  private AgentExecutionProfile profile(long loadMs, long transformMs, long storeMs, long items, long bytes) {
+    def phases = [(LOAD): loadMs, (TRANSFORM): transformMs, (STORE): storeMs]
+    Stub(AgentExecutionProfile) {
+      getPhaseDurationsMs() >> phases
+      getTotalMs() >> phases.values().sum()
+      getItemCount() >> items
+      getEstimatedBytes() >> bytes
+    }
+  }
+}
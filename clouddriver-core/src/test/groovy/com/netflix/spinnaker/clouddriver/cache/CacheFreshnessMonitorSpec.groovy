@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.cats.agent.AccountAware
+import com.netflix.spinnaker.cats.agent.CachingAgent
+import com.netflix.spinnaker.cats.agent.DefaultCacheResult
+import com.netflix.spinnaker.cats.mem.InMemoryCache
+import com.netflix.spinnaker.cats.module.CatsModule
+import com.netflix.spinnaker.cats.provider.DefaultProviderCache
+import com.netflix.spinnaker.cats.provider.Provider
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import spock.lang.Specification
+
+class CacheFreshnessMonitorSpec extends Specification {
+
+  def registry = new DefaultRegistry()
+  def providerCache = new DefaultProviderCache(new InMemoryCache())
+
+  def "should report agents that have not stored a result within their expected interval as stale"() {
+    given:
+    def fresh = agent("fresh")
+    def stale = agent("stale")
+    def provider = Stub(Provider) {
+      getProviderName() >> "test"
+      getAgents() >> [fresh, stale]
+    }
+    def catsModule = Stub(CatsModule) {
+      getProviderRegistry() >> Stub(ProviderRegistry) {
+        getProviders() >> [provider]
+        getProviderCache("test") >> providerCache
+      }
+    }
+    def monitor = new CacheFreshnessMonitor(registry, catsModule, null, 1000, 0.1)
+
+    when:
+    Thread.sleep(200)
+    providerCache.putCacheResult("fresh", [], new DefaultCacheResult([:]))
+    monitor.refresh()
+    def freshness = monitor.lastFreshness.collectEntries { [(it.agentType): it] }
+
+    then:
+    !freshness.fresh.stale
+    freshness.fresh.lastSuccessfulWrite != null
+    freshness.fresh.account == "test-account"
+    freshness.fresh.expectedIntervalMillis == 1000
+
+    freshness.stale.stale
+    freshness.stale.lastSuccessfulWrite == null
+    freshness.stale.ageMillis >= 200
+  }
+
+  private CachingAgent agent(String agentType) {
+    Stub(AccountAwareCachingAgent) {
+      getProviderName() >> "test"
+      getAgentType() >> agentType
+      getAccountName() >> "test-account"
+    }
+  }
+
+  static interface AccountAwareCachingAgent extends CachingAgent, AccountAware {}
+}
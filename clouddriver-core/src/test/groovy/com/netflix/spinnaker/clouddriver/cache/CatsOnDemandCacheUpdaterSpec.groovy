@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.cats.agent.Agent
+import com.netflix.spinnaker.cats.agent.AgentScheduler
+import com.netflix.spinnaker.cats.module.CatsModule
+import com.netflix.spinnaker.cats.provider.Provider
+import com.netflix.spinnaker.cats.provider.ProviderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import static com.netflix.spinnaker.clouddriver.cache.OnDemandAgent.OnDemandType.ServerGroup
+import static com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater.OnDemandCacheStatus.PENDING
+import static com.netflix.spinnaker.clouddriver.cache.OnDemandCacheUpdater.OnDemandCacheStatus.SUCCESSFUL
+
+class CatsOnDemandCacheUpdaterSpec extends Specification {
+
+  def registry = new DefaultRegistry()
+  def executor = Executors.newCachedThreadPool()
+  def agent = Mock(TestOnDemandAgent) {
+    getProviderName() >> "test"
+    getOnDemandAgentType() >> "test/OnDemand"
+    handles(ServerGroup, "test") >> true
+  }
+  def catsModule = Stub(CatsModule) {
+    getProviderRegistry() >> Stub(ProviderRegistry)
+  }
+  def provider = Stub(Provider) {
+    getAgents() >> [agent]
+  }
+
+  def cleanup() {
+    executor.shutdownNow()
+  }
+
+  def "should run concurrent identical requests against the agent once"() {
+    given:
+    def updater = updater(0)
+    def entered = new CountDownLatch(1)
+    def release = new CountDownLatch(1)
+
+    when:
+    def first = executor.submit({ updater.handle(ServerGroup, "test", [serverGroupName: "app-v001"]) })
+    entered.await(5, TimeUnit.SECONDS)
+    def second = executor.submit({ updater.handle(ServerGroup, "test", [serverGroupName: "app-v001"]) })
+    waitForCoalescedRequests(1)
+    release.countDown()
+
+    then:
+    1 * agent.handle(_, [serverGroupName: "app-v001"]) >> {
+      entered.countDown()
+      release.await(5, TimeUnit.SECONDS)
+      new OnDemandAgent.OnDemandResult()
+    }
+    first.get(5, TimeUnit.SECONDS) == SUCCESSFUL
+    second.get(5, TimeUnit.SECONDS) == SUCCESSFUL
+  }
+
+  def "should run requests again once the identical request has completed"() {
+    given:
+    def updater = updater(0)
+
+    when:
+    2.times { updater.handle(ServerGroup, "test", [serverGroupName: "app-v001"]) }
+
+    then:
+    2 * agent.handle(_, _) >> new OnDemandAgent.OnDemandResult()
+  }
+
+  def "should share completed results within the debounce window only"() {
+    given:
+    def updater = updater(100)
+
+    when:
+    2.times { updater.handle(ServerGroup, "test", [serverGroupName: "app-v001"]) }
+
+    then:
+    1 * agent.handle(_, _) >> new OnDemandAgent.OnDemandResult()
+
+    when:
+    Thread.sleep(150)
+    updater.handle(ServerGroup, "test", [serverGroupName: "app-v001"])
+
+    then:
+    1 * agent.handle(_, _) >> new OnDemandAgent.OnDemandResult()
+  }
+
+  def "should ask the caller to retry when the identical request does not complete in time"() {
+    given:
+    def updater = updater(0)
+    updater.coalescedWaitMillis = 50
+    def entered = new CountDownLatch(1)
+    def release = new CountDownLatch(1)
+    agent.handle(_, _) >> {
+      entered.countDown()
+      release.await(5, TimeUnit.SECONDS)
+      new OnDemandAgent.OnDemandResult()
+    }
+
+    when:
+    def first = executor.submit({ updater.handle(ServerGroup, "test", [serverGroupName: "app-v001"]) })
+    entered.await(5, TimeUnit.SECONDS)
+    def second = updater.handle(ServerGroup, "test", [serverGroupName: "app-v001"])
+    release.countDown()
+
+    then:
+    second == PENDING
+    first.get(5, TimeUnit.SECONDS) == SUCCESSFUL
+  }
+
+  private CatsOnDemandCacheUpdater updater(long debounceMillis) {
+    def updater = new CatsOnDemandCacheUpdater([provider], catsModule, registry, debounceMillis)
+    updater.agentScheduler = Stub(AgentScheduler)
+    return updater
+  }
+
+  private void waitForCoalescedRequests(long count) {
+    long deadline = System.currentTimeMillis() + 5000
+    def coalesced = registry.counter("onDemand_coalesced", "providerName", "test", "agentType", "test/OnDemand", "onDemandType", "ServerGroup")
+    while (coalesced.count() < count) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("timed out waiting for ${count} coalesced request(s)")
+      }
+      Thread.sleep(10)
+    }
+  }
+
+  static interface TestOnDemandAgent extends OnDemandAgent, Agent {}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+import java.time.Clock
+import java.util.concurrent.ExecutorService
+
+class InMemorySearchIndexSpec extends Specification {
+
+  static final List<String> SERVER_GROUPS = [
+    "aws:serverGroups:myapp-prod:test:us-east-1:myapp-prod-v001",
+    "aws:serverGroups:myapp-staging:test:us-west-2:myapp-staging-v002",
+    "aws:serverGroups:otherapp:prod:us-east-1:otherapp-v000",
+    "_ALL_"
+  ]
+
+  @Subject
+  def searchIndex = new InMemorySearchIndex(60000)
+
+  @Unroll
+  def "should match '#term' like a *:type:*term* glob"() {
+    given:
+    searchIndex.rebuild("serverGroups", { SERVER_GROUPS })
+
+    expect:
+    searchIndex.search("serverGroups", term) as Set == expected as Set
+
+    where:
+    term              || expected
+    "myapp"           || [SERVER_GROUPS[0], SERVER_GROUPS[1]]
+    "yapp-pr"         || [SERVER_GROUPS[0]]
+    "-prod"           || [SERVER_GROUPS[0]]
+    "prod:"           || [SERVER_GROUPS[0], SERVER_GROUPS[2]]
+    ":prod:"          || [SERVER_GROUPS[2]]
+    "east-1:other"    || [SERVER_GROUPS[2]]
+    "us-east-1"       || [SERVER_GROUPS[0], SERVER_GROUPS[2]]
+    "v00"             || [SERVER_GROUPS[0], SERVER_GROUPS[1], SERVER_GROUPS[2]]
+    ""                || [SERVER_GROUPS[0], SERVER_GROUPS[1], SERVER_GROUPS[2]]
+    "aws"             || []
+    "nothing"         || []
+    "MYAPP"           || []
+  }
+
+  def "should resolve substring terms through the trigram index as tokens come and go"() {
+    given:
+    searchIndex.rebuild("serverGroups", { SERVER_GROUPS })
+
+    when:
+    searchIndex.remove("serverGroups", [SERVER_GROUPS[2]])
+    searchIndex.index("serverGroups", ["aws:serverGroups:anotherapp:prod:us-east-1:anotherapp-v000"])
+
+    then:
+    searchIndex.search("serverGroups", "therap") == ["aws:serverGroups:anotherapp:prod:us-east-1:anotherapp-v000"]
+    searchIndex.search("serverGroups", "ging") == [SERVER_GROUPS[1]]
+  }
+
+  def "should apply writes and evictions once a type has been rebuilt"() {
+    given:
+    def newKey = "aws:serverGroups:myapp-prod:test:us-east-1:myapp-prod-v002"
+
+    when:
+    searchIndex.index("serverGroups", [newKey])
+
+    then:
+    searchIndex.search("serverGroups", "myapp").isEmpty()
+
+    when:
+    searchIndex.rebuild("serverGroups", { SERVER_GROUPS })
+    searchIndex.index("serverGroups", [newKey])
+    searchIndex.remove("serverGroups", [SERVER_GROUPS[0]])
+
+    then:
+    searchIndex.search("serverGroups", "myapp-prod") == [newKey]
+  }
+
+  def "should require a rebuild once the refresh interval has elapsed"() {
+    given:
+    def clock = Mock(Clock)
+    def searchIndex = new InMemorySearchIndex(1000, clock, Mock(ExecutorService))
+
+    when:
+    def initial = searchIndex.requiresRebuild("serverGroups")
+    searchIndex.rebuild("serverGroups", { SERVER_GROUPS })
+
+    then:
+    initial
+    _ * clock.millis() >> 0
+
+    when:
+    def beforeInterval = searchIndex.requiresRebuild("serverGroups")
+
+    then:
+    !beforeInterval
+    1 * clock.millis() >> 999
+
+    when:
+    def afterInterval = searchIndex.requiresRebuild("serverGroups")
+
+    then:
+    afterInterval
+    1 * clock.millis() >> 1000
+  }
+
+  def "should schedule a single background rebuild while one is pending"() {
+    given:
+    def executor = Mock(ExecutorService)
+    def searchIndex = new InMemorySearchIndex(1000, Clock.systemDefaultZone(), executor)
+    Runnable rebuild = null
+
+    when:
+    searchIndex.refresh("serverGroups", { SERVER_GROUPS })
+    searchIndex.refresh("serverGroups", { SERVER_GROUPS })
+
+    then:
+    1 * executor.execute(_) >> { Runnable runnable -> rebuild = runnable }
+    !searchIndex.isIndexed("serverGroups")
+
+    when:
+    rebuild.run()
+    searchIndex.refresh("serverGroups", { SERVER_GROUPS })
+
+    then:
+    0 * executor.execute(_)
+    searchIndex.isIndexed("serverGroups")
+  }
+
+  def "should keep writes and evictions made while the identifiers are read during a rebuild"() {
+    given:
+    def newKey = "aws:serverGroups:myapp-prod:test:us-east-1:myapp-prod-v002"
+
+    when:
+    searchIndex.rebuild("serverGroups", {
+      // the caching agents write and evict while the snapshot is being read
+      searchIndex.index("serverGroups", [newKey])
+      searchIndex.remove("serverGroups", [SERVER_GROUPS[0]])
+      SERVER_GROUPS
+    })
+
+    then:
+    searchIndex.search("serverGroups", "myapp-prod") == [newKey]
+  }
+}
@@ -17,6 +17,7 @@
 
 package com.netflix.spinnaker.clouddriver.core.agent
 
+import com.netflix.spectator.api.DefaultRegistry
 import com.netflix.spinnaker.cats.redis.JedisClientDelegate
 import com.netflix.spinnaker.clouddriver.core.provider.CoreProvider
 import com.netflix.spinnaker.kork.jedis.EmbeddedRedis
@@ -59,4 +60,32 @@ class CleanupPendingOnDemandCachesAgentSpec extends Specification {
     }
 
   }
+
+  def "should cleanup across multiple scan batches and report counts"() {
+    given:
+    def registry = new DefaultRegistry()
+    def agent = new CleanupPendingOnDemandCachesAgent(redisClientDelegate, Stub(ApplicationContext), registry, 1000, 1000, 2)
+    def providers = [
+        new CoreProvider([])
+    ]
+    def setName = CoreProvider.name + ":onDemand:members"
+    embeddedRedis.pool.resource.withCloseable { Jedis jedis ->
+      jedis.del(setName)
+      (0..<10).each { i ->
+        jedis.sadd(setName, "key-" + i)
+        if (i % 2 == 0) {
+          jedis.set(CoreProvider.name + ":onDemand:attributes:key-" + i, "exists")
+        }
+      }
+    }
+
+    when:
+    agent.run(providers)
+
+    then:
+    embeddedRedis.pool.resource.withCloseable { Jedis jedis -> jedis.smembers(setName) } ==
+      ["key-0", "key-2", "key-4", "key-6", "key-8"] as Set
+    registry.counter("cleanupPendingOnDemandCaches.scanned", "provider", CoreProvider.name).count() == 10
+    registry.counter("cleanupPendingOnDemandCaches.removed", "provider", CoreProvider.name).count() == 5
+  }
 }
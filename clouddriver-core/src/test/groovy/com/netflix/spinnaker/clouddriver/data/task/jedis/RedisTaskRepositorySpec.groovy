@@ -136,6 +136,28 @@ class RedisTaskRepositorySpec extends Specification {
     taskRepository.list()*.id.contains(t2.id)
   }
 
+  void "listing tasks preloads history and result objects"() {
+    setup:
+    JedisTask t1 = taskRepository.create "TEST", "Test Status"
+    t1.updateStatus "TEST", "Updated Status"
+    t1.addResultObjects([new TestObject(name: 'blimp', value: 'bah')])
+
+    when:
+    JedisTask listed = taskRepository.list().find { it.id == t1.id } as JedisTask
+
+    then:
+    listed.startTimeMs == t1.startTimeMs
+    listed.status.status == "Updated Status"
+    listed.history*.status == ["Test Status", "Updated Status"]
+    listed.resultObjects*.name == ['blimp']
+
+    when:
+    listed.updateStatus "TEST", "After Listing"
+
+    then:
+    listed.status.status == "After Listing"
+  }
+
   void "Can add a result object and retrieve it"() {
     setup:
     JedisTask t1 = taskRepository.create "Test", "Test Status"
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.health
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.clouddriver.security.AccountCredentials
+import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import org.springframework.boot.actuate.health.Status
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.Executors
+
+class AbstractAccountHealthIndicatorSpec extends Specification {
+
+  def probePool = Executors.newFixedThreadPool(4)
+  def accountCredentialsProvider = Stub(AccountCredentialsProvider)
+
+  def cleanup() {
+    probePool.shutdownNow()
+  }
+
+  @Unroll
+  def "should report the provider up when #description"() {
+    given:
+    def indicator = indicator(reachable)
+    accountCredentialsProvider.getAll() >> accounts("a", "b", "c")
+
+    when:
+    indicator.probeAccounts()
+    def health = indicator.health()
+
+    then:
+    health.status == Status.UP
+    health.details.unhealthyAccounts == unhealthyAccounts
+
+    where:
+    description                 | reachable       || unhealthyAccounts
+    "every account is healthy"  | ["a", "b", "c"] || null
+    "some accounts are healthy" | ["b"]           || ["a", "c"]
+  }
+
+  def "should report the provider down when every account is unhealthy"() {
+    given:
+    def indicator = indicator([])
+    accountCredentialsProvider.getAll() >> accounts("a", "b", "c")
+
+    when:
+    indicator.probeAccounts()
+    indicator.health()
+
+    then:
+    IllegalStateException e = thrown()
+    e.message.startsWith("unreachable")
+    indicator.accountHealth.values()*.healthy == [false, false, false]
+  }
+
+  def "should report the provider up again once an account recovers"() {
+    given:
+    def reachable = [] as Set
+    def indicator = indicator(reachable)
+    accountCredentialsProvider.getAll() >> accounts("a", "b")
+
+    when:
+    indicator.probeAccounts()
+    indicator.health()
+
+    then:
+    thrown(IllegalStateException)
+
+    when:
+    reachable << "a"
+    indicator.probeAccounts()
+    def health = indicator.health()
+
+    then:
+    health.status == Status.UP
+    health.details.unhealthyAccounts == ["b"]
+  }
+
+  def "should report the provider up when it has no accounts or has not been probed"() {
+    given:
+    def indicator = indicator([])
+    accountCredentialsProvider.getAll() >> []
+
+    expect:
+    indicator.health().status == Status.UP
+
+    when:
+    indicator.probeAccounts()
+
+    then:
+    indicator.health().status == Status.UP
+    indicator.accountHealth == [:]
+  }
+
+  def "should report the provider down when its accounts cannot be listed"() {
+    given:
+    def indicator = indicator([])
+    accountCredentialsProvider.getAll() >> { throw new IllegalArgumentException("no accounts") }
+
+    when:
+    def accountHealth = indicator.probeAccounts()
+    indicator.health()
+
+    then:
+    accountHealth == null
+    IllegalArgumentException e = thrown()
+    e.message == "no accounts"
+  }
+
+  private AbstractAccountHealthIndicator<AccountCredentials> indicator(Collection<String> reachable) {
+    def indicator = new AbstractAccountHealthIndicator<AccountCredentials>("test", AccountCredentials) {
+      @Override
+      protected void probe(AccountCredentials credentials) {
+        if (!reachable.contains(credentials.name)) {
+          throw new IllegalStateException("unreachable ${credentials.name}")
+        }
+      }
+    }
+    indicator.accountHealthProber = new AccountHealthProber(new DefaultRegistry(), probePool, 5000)
+    indicator.accountCredentialsProvider = accountCredentialsProvider
+    return indicator
+  }
+
+  private Set<AccountCredentials> accounts(String... names) {
+    names.collect { String name ->
+      Stub(AccountCredentials) {
+        getName() >> name
+      }
+    } as Set
+  }
+}
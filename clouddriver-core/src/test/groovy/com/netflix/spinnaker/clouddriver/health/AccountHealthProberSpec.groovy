@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.health
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.clouddriver.security.AccountCredentials
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class AccountHealthProberSpec extends Specification {
+
+  def registry = new DefaultRegistry()
+  def probePool = Executors.newFixedThreadPool(4)
+
+  def cleanup() {
+    probePool.shutdownNow()
+  }
+
+  def "should probe accounts concurrently and isolate unhealthy accounts"() {
+    given:
+    def prober = new AccountHealthProber(registry, probePool, 5000)
+    def allStarted = new CountDownLatch(3)
+
+    when:
+    def accountHealth = prober.probe("test", accounts("a", "b", "c")) { AccountCredentials credentials ->
+      allStarted.countDown()
+      if (!allStarted.await(5, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("probes did not run concurrently")
+      }
+      if (credentials.name == "b") {
+        throw new IllegalStateException("unreachable")
+      }
+    }
+
+    then:
+    accountHealth.collectEntries { [(it.key): it.value.healthy] } == [a: true, b: false, c: true]
+    accountHealth.b.error == "unreachable"
+    prober.accountHealth.test == accountHealth
+    probeTimer("a", true).count() == 1
+    probeTimer("b", false).count() == 1
+  }
+
+  def "should report accounts whose probe times out as unhealthy"() {
+    given:
+    def prober = new AccountHealthProber(registry, probePool, 100)
+
+    when:
+    def accountHealth = prober.probe("test", accounts("fast", "slow")) { AccountCredentials credentials ->
+      if (credentials.name == "slow") {
+        Thread.sleep(5000)
+      }
+    }
+
+    then:
+    accountHealth.fast.healthy
+    !accountHealth.slow.healthy
+    accountHealth.slow.exception instanceof AccountHealthProber.AccountProbeTimeoutException
+    accountHealth.slow.latencyMillis < 5000
+  }
+
+  private Set<AccountCredentials> accounts(String... names) {
+    names.collect { String name ->
+      Stub(AccountCredentials) {
+        getName() >> name
+      }
+    } as Set
+  }
+
+  private def probeTimer(String account, boolean success) {
+    registry.timer(registry.createId("health.account.probe", [provider: "test", account: account, success: success.toString()]))
+  }
+}
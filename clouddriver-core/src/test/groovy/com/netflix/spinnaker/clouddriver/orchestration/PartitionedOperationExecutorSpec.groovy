@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.orchestration
+
+import com.netflix.spectator.api.DefaultRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class PartitionedOperationExecutorSpec extends Specification {
+
+  def registry = new DefaultRegistry()
+  def executorService = Executors.newCachedThreadPool()
+  def executor = new PartitionedOperationExecutor(executorService, registry, { 1 }, { 1 })
+
+  def noRejection = { throw new AssertionError("unexpected rejection", it) }
+
+  def cleanup() {
+    executorService.shutdownNow()
+  }
+
+  def "should queue operations beyond the partition limit and reject once the queue is full"() {
+    given:
+    def release = new CountDownLatch(1)
+    def completed = new CountDownLatch(2)
+    def blocking = { release.await(); completed.countDown() } as Callable
+    def queuedPositions = []
+
+    when:
+    executor.submit("aws", blocking, { queuedPositions << it }, noRejection)
+    executor.submit("aws", { completed.countDown() } as Callable, { queuedPositions << it }, noRejection)
+
+    then:
+    queuedPositions == [1]
+
+    when:
+    executor.submit("aws", { null } as Callable, { queuedPositions << it }, noRejection)
+
+    then:
+    thrown(RejectedExecutionException)
+    registry.counter("orchestrations.rejected", "partition", "aws").count() == 1
+
+    when: 'another partition is unaffected'
+    def otherRan = new CountDownLatch(1)
+    executor.submit("gce", { otherRan.countDown() } as Callable, { queuedPositions << it }, noRejection)
+
+    then:
+    otherRan.await(5, TimeUnit.SECONDS)
+    queuedPositions == [1]
+
+    when:
+    release.countDown()
+
+    then:
+    completed.await(5, TimeUnit.SECONDS)
+  }
+
+  def "should not start a queued operation until it has been reported as queued"() {
+    given:
+    def release = new CountDownLatch(1)
+    def started = new CountDownLatch(1)
+    def ran = new CountDownLatch(1)
+    def statuses = Collections.synchronizedList([])
+
+    when:
+    executor.submit("aws", { started.countDown(); release.await() } as Callable, { statuses << "queued" }, noRejection)
+    started.await(5, TimeUnit.SECONDS)
+    executor.submit("aws", { statuses << "running"; ran.countDown() } as Callable, { int position ->
+      // the running operation completes while this operation is being reported as queued
+      release.countDown()
+      Thread.sleep(100)
+      statuses << "queued ${position}".toString()
+    }, noRejection)
+
+    then:
+    ran.await(5, TimeUnit.SECONDS)
+    statuses == ["queued 1", "running"]
+  }
+
+  def "should reject a queued operation that cannot be started"() {
+    given:
+    def executorService = Mock(ExecutorService)
+    def executor = new PartitionedOperationExecutor(executorService, registry, { 1 }, { 1 })
+    Callable running = null
+    RejectedExecutionException rejection = null
+
+    when:
+    executor.submit("aws", { null } as Callable, { throw new AssertionError() }, noRejection)
+    executor.submit("aws", { null } as Callable, { }, { rejection = it })
+    running.call()
+
+    then:
+    1 * executorService.submit(_ as Callable) >> { Callable callable -> running = callable; null }
+    1 * executorService.submit(_ as Callable) >> { throw new RejectedExecutionException("shutting down") }
+    rejection.message == "shutting down"
+  }
+}
@@ -17,10 +17,12 @@
 
 package com.netflix.spinnaker.clouddriver.dcos
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.clouddriver.dcos.deploy.util.mapper.DeployDcosServerGroupDescriptionToAppMapper
 import com.netflix.spinnaker.clouddriver.dcos.deploy.util.monitor.DcosDeploymentMonitor
 import com.netflix.spinnaker.clouddriver.dcos.deploy.util.monitor.PollingDcosDeploymentMonitor
 import com.netflix.spinnaker.clouddriver.dcos.health.DcosHealthIndicator
+import com.netflix.spinnaker.clouddriver.dcos.provider.marathon.MarathonClusterStateRegistry
 import com.netflix.spinnaker.clouddriver.dcos.security.DcosCredentialsInitializer
 import com.netflix.spinnaker.clouddriver.helpers.OperationPoller
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
@@ -34,6 +36,8 @@ import org.springframework.context.annotation.Configuration
 import org.springframework.context.annotation.Import
 import org.springframework.scheduling.annotation.EnableScheduling
 
+import java.util.concurrent.TimeUnit
+
 @Configuration
 @ConditionalOnProperty('dcos.enabled')
 @EnableConfigurationProperties
@@ -52,6 +56,12 @@ class DcosConfiguration {
     new DcosClientProvider(credentialsProvider)
   }
 
+  @Bean
+  @ConditionalOnProperty('dcos.eventStream.enabled')
+  MarathonClusterStateRegistry marathonClusterStateRegistry(DcosConfigurationProperties properties, ObjectMapper objectMapper) {
+    new MarathonClusterStateRegistry(objectMapper, TimeUnit.SECONDS.toMillis(properties.eventStream.reconcileIntervalSeconds))
+  }
+
   @Bean
   DcosHealthIndicator dcosHealthIndicator(AccountCredentialsProvider accountCredentialsProvider, DcosClientProvider dcosClientProvider) {
     new DcosHealthIndicator(accountCredentialsProvider, dcosClientProvider)
@@ -32,6 +32,8 @@ class DcosConfigurationProperties {
   int asyncOperationTimeoutSecondsDefault = ASYNC_OPERATION_TIMEOUT_SECONDS_DEFAULT
   int asyncOperationMaxPollingIntervalSeconds = ASYNC_OPERATION_MAX_POLLING_INTERVAL_SECONDS
 
+  EventStream eventStream = new EventStream()
+
   static class Cluster {
     String name
     String dcosUrl
@@ -61,6 +63,15 @@ class DcosConfigurationProperties {
     Permissions.Builder permissions = new Permissions.Builder()
   }
 
+  /**
+   * Keeps the apps and tasks of each cluster current from Marathon's event stream instead of reloading them on every
+   * caching cycle.
+   */
+  static class EventStream {
+    boolean enabled = false
+    long reconcileIntervalSeconds = 600
+  }
+
   static class LoadBalancerConfig {
     String image
     String serviceAccountSecret
@@ -26,6 +26,8 @@ import com.netflix.spinnaker.clouddriver.dcos.deploy.util.id.DcosSpinnakerAppId
 import com.netflix.spinnaker.clouddriver.dcos.model.DcosInstance
 import com.netflix.spinnaker.clouddriver.dcos.provider.DcosProvider
 import com.netflix.spinnaker.clouddriver.dcos.provider.MutableCacheData
+import com.netflix.spinnaker.clouddriver.dcos.provider.marathon.MarathonClusterState
+import com.netflix.spinnaker.clouddriver.dcos.provider.marathon.MarathonClusterStateRegistry
 import com.netflix.spinnaker.clouddriver.dcos.security.DcosAccountCredentials
 import groovy.util.logging.Slf4j
 import mesosphere.dcos.client.DCOS
@@ -41,6 +43,7 @@ class DcosInstanceCachingAgent implements CachingAgent, AccountAware {
   private final String clusterName
   private final String clusterUrl
   private final DCOS dcosClient
+  private final MarathonClusterState clusterState
   private final ObjectMapper objectMapper
 
   static final Set<AgentDataType> types = Collections.unmodifiableSet([
@@ -52,11 +55,25 @@ class DcosInstanceCachingAgent implements CachingAgent, AccountAware {
                            DcosAccountCredentials credentials,
                            DcosClientProvider clientProvider,
                            ObjectMapper objectMapper) {
+    this(accountName, clusterName, credentials, clientProvider, objectMapper, null)
+  }
+
+  /**
+   * @param clusterStateRegistry shares the apps of the cluster with the other agents when present, otherwise every task
+   *                             of the cluster is reloaded on every cycle
+   */
+  DcosInstanceCachingAgent(String accountName,
+                           String clusterName,
+                           DcosAccountCredentials credentials,
+                           DcosClientProvider clientProvider,
+                           ObjectMapper objectMapper,
+                           MarathonClusterStateRegistry clusterStateRegistry) {
     this.accountName = accountName
     this.clusterName = clusterName
     this.clusterUrl = credentials.getCredentialsByCluster(clusterName).dcosUrl
     this.objectMapper = objectMapper
     this.dcosClient = clientProvider.getDcosClient(credentials, clusterName)
+    this.clusterState = clusterStateRegistry?.getClusterState(credentials, clusterName, dcosClient)
   }
 
   @Override
@@ -83,16 +100,26 @@ class DcosInstanceCachingAgent implements CachingAgent, AccountAware {
   CacheResult loadData(ProviderCache providerCache) {
     log.info("Loading tasks in $agentType")
 
+    if (clusterState) {
+      def apps = clusterState.getApps(accountName).findAll {
+        DcosSpinnakerAppId.parse(it.id, accountName).isPresent()
+      }
+      def tasks = apps.collectMany { it.tasks ?: [] }
+      def deployingAppIds = apps.findAll { it.deployments }*.id as Set<String>
+
+      return buildCacheResult(tasks, deployingAppIds)
+    }
+
     // The tasks API returns all tasks, but we want to ensure we only cache ones valid for the current account.
     def tasks = dcosClient.getTasks().tasks.findAll {
       DcosSpinnakerAppId.parse(it.appId, accountName).isPresent()
     }
-    def deployments = dcosClient.getDeployments()
+    def deployingAppIds = dcosClient.getDeployments().collectMany { Deployment deployment -> deployment.affectedApps } as Set<String>
 
-    return buildCacheResult(tasks, deployments)
+    return buildCacheResult(tasks, deployingAppIds)
   }
 
-  private CacheResult buildCacheResult(List<Task> tasks, List<Deployment> deployments) {
+  private CacheResult buildCacheResult(List<Task> tasks, Set<String> deployingAppIds) {
     log.info("Describing items in ${agentType}")
 
     Map<String, MutableCacheData> cachedInstances = MutableCacheData.mutableCacheMap()
@@ -102,7 +129,7 @@ class DcosInstanceCachingAgent implements CachingAgent, AccountAware {
         continue
       }
 
-      def deploymentsActive = deployments.stream().filter({ it.affectedApps.contains(task.appId) }).count() > 0
+      def deploymentsActive = deployingAppIds.contains(task.appId)
       String safeGroup = DcosSpinnakerAppId.parse(task.getAppId()).get().getSafeGroup()
       def groupName = clusterName
       if (!safeGroup.isEmpty()) {
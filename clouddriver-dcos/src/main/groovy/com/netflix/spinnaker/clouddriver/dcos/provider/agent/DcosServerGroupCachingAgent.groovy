@@ -33,6 +33,8 @@ import com.netflix.spinnaker.clouddriver.dcos.deploy.util.id.DcosSpinnakerAppId
 import com.netflix.spinnaker.clouddriver.dcos.model.DcosServerGroup
 import com.netflix.spinnaker.clouddriver.dcos.provider.DcosProvider
 import com.netflix.spinnaker.clouddriver.dcos.provider.MutableCacheData
+import com.netflix.spinnaker.clouddriver.dcos.provider.marathon.MarathonClusterState
+import com.netflix.spinnaker.clouddriver.dcos.provider.marathon.MarathonClusterStateRegistry
 import com.netflix.spinnaker.clouddriver.dcos.security.DcosAccountCredentials
 import groovy.util.logging.Slf4j
 import mesosphere.dcos.client.DCOS
@@ -48,6 +50,7 @@ class DcosServerGroupCachingAgent implements CachingAgent, AccountAware, OnDeman
   private final String clusterName
   private final String clusterUrl
   private final DCOS dcosClient
+  private final MarathonClusterState clusterState
   private final DcosCloudProvider dcosCloudProvider = new DcosCloudProvider()
   private final ObjectMapper objectMapper
   final OnDemandMetricsSupport metricsSupport
@@ -67,11 +70,26 @@ class DcosServerGroupCachingAgent implements CachingAgent, AccountAware, OnDeman
                               DcosClientProvider clientProvider,
                               ObjectMapper objectMapper,
                               Registry registry) {
+    this(accountName, clusterName, credentials, clientProvider, objectMapper, registry, null)
+  }
+
+  /**
+   * @param clusterStateRegistry shares the apps of the cluster with the other agents when present, otherwise the apps
+   *                             of the account are reloaded on every cycle
+   */
+  DcosServerGroupCachingAgent(String accountName,
+                              String clusterName,
+                              DcosAccountCredentials credentials,
+                              DcosClientProvider clientProvider,
+                              ObjectMapper objectMapper,
+                              Registry registry,
+                              MarathonClusterStateRegistry clusterStateRegistry) {
     this.accountName = accountName
     this.clusterName = clusterName
     this.clusterUrl = credentials.getCredentialsByCluster(clusterName).dcosUrl
     this.objectMapper = objectMapper
     this.dcosClient = clientProvider.getDcosClient(credentials, clusterName)
+    this.clusterState = clusterStateRegistry?.getClusterState(credentials, clusterName, dcosClient)
     this.metricsSupport = new OnDemandMetricsSupport(registry,
                                                      this,
                                                      "$dcosCloudProvider.id:$OnDemandAgent.OnDemandType.ServerGroup")
@@ -251,18 +269,25 @@ class DcosServerGroupCachingAgent implements CachingAgent, AccountAware, OnDeman
   }
 
   private List<DcosServerGroup> loadServerGroups() {
-    final Optional<GetAppNamespaceResponse> response = dcosClient.maybeApps(accountName, ['app.tasks', 'app.deployments'])
+    loadApps().findAll {
+      !it.labels?.containsKey("SPINNAKER_LOAD_BALANCER") && DcosSpinnakerAppId.parse(it.id, accountName).isPresent()
+    }.collect {
+      new DcosServerGroup(accountName, clusterName, clusterUrl, it)
+    }
+  }
+
+  private List<App> loadApps() {
+    if (clusterState) {
+      return clusterState.getApps(accountName)
+    }
+
+    final Optional<GetAppNamespaceResponse> response = dcosClient.maybeApps(accountName, MarathonClusterState.EMBED)
     if (!response.isPresent()) {
       log.info("The account namespace [${accountName}] does not exist in DC/OS. No server groups will be cached.")
       return []
     }
 
-
-    response.get().apps.findAll {
-      !it.labels?.containsKey("SPINNAKER_LOAD_BALANCER") && DcosSpinnakerAppId.parse(it.id, accountName).isPresent()
-    }.collect {
-      new DcosServerGroup(accountName, clusterName, clusterUrl, it)
-    }
+    return response.get().apps
   }
 
   private CacheResult buildCacheResult(List<DcosServerGroup> serverGroups,
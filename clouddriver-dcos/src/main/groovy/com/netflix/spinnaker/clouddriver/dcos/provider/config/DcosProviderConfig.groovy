@@ -29,6 +29,7 @@ import com.netflix.spinnaker.clouddriver.dcos.provider.agent.DcosInstanceCaching
 import com.netflix.spinnaker.clouddriver.dcos.provider.agent.DcosLoadBalancerCachingAgent
 import com.netflix.spinnaker.clouddriver.dcos.provider.agent.DcosSecretsCachingAgent
 import com.netflix.spinnaker.clouddriver.dcos.provider.agent.DcosServerGroupCachingAgent
+import com.netflix.spinnaker.clouddriver.dcos.provider.marathon.MarathonClusterStateRegistry
 import com.netflix.spinnaker.clouddriver.dcos.security.DcosAccountCredentials
 import com.netflix.spinnaker.clouddriver.dcos.security.DcosClusterCredentials
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
@@ -50,10 +51,11 @@ class DcosProviderConfig {
                             AccountCredentialsProvider accountCredentialsProvider,
                             AccountCredentialsRepository accountCredentialsRepository,
                             ObjectMapper objectMapper,
-                            Registry registry) {
+                            Registry registry,
+                            Optional<MarathonClusterStateRegistry> clusterStateRegistry) {
 
     def provider = new DcosProvider(dcosCloudProvider, Collections.newSetFromMap(new ConcurrentHashMap<Agent, Boolean>()))
-    synchronizeDcosProvider(provider, accountCredentialsProvider, accountCredentialsRepository, objectMapper, registry)
+    synchronizeDcosProvider(provider, accountCredentialsProvider, accountCredentialsRepository, objectMapper, registry, clusterStateRegistry)
     provider
   }
 
@@ -78,7 +80,8 @@ class DcosProviderConfig {
                                                    AccountCredentialsProvider accountCredentialsProvider,
                                                    AccountCredentialsRepository accountCredentialsRepository,
                                                    ObjectMapper objectMapper,
-                                                   Registry registry) {
+                                                   Registry registry,
+                                                   Optional<MarathonClusterStateRegistry> clusterStateRegistry) {
 
     def accounts = ProviderUtils.getScheduledAccounts(dcosProvider)
     def allAccounts = ProviderUtils.buildThreadSafeSetOfAccounts(accountCredentialsRepository, DcosAccountCredentials)
@@ -99,13 +102,15 @@ class DcosProviderConfig {
                                                           credentials, new DcosClientProvider(accountCredentialsProvider), objectMapper)
 
           newlyAddedAgents << new DcosServerGroupCachingAgent(credentials.account, clusterCredentials.cluster,
-                                                              credentials, new DcosClientProvider(accountCredentialsProvider), objectMapper, registry)
+                                                              credentials, new DcosClientProvider(accountCredentialsProvider), objectMapper, registry,
+                                                              clusterStateRegistry.orElse(null))
 
           newlyAddedAgents << new DcosLoadBalancerCachingAgent(credentials.account, clusterCredentials.cluster,
                                                                credentials, new DcosClientProvider(accountCredentialsProvider), objectMapper, registry)
 
           newlyAddedAgents << new DcosInstanceCachingAgent(credentials.account, clusterCredentials.cluster,
-                                                           credentials, new DcosClientProvider(accountCredentialsProvider), objectMapper)
+                                                           credentials, new DcosClientProvider(accountCredentialsProvider), objectMapper,
+                                                           clusterStateRegistry.orElse(null))
         }
       }
     }
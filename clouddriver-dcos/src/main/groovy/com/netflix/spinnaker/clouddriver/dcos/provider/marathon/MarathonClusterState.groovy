@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.dcos.provider.marathon
+
+import groovy.util.logging.Slf4j
+import mesosphere.dcos.client.DCOS
+import mesosphere.marathon.client.model.v2.App
+import mesosphere.marathon.client.model.v2.GetAppNamespaceResponse
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * The Marathon apps (with their tasks and deployments) of the accounts of a DC/OS cluster, shared by the caching agents
+ * of all these accounts.
+ *
+ * While the Marathon event stream of the cluster is connected, the apps of an account are fully reconciled every
+ * reconcile interval and only the apps named by events are reloaded in between. Otherwise they are fully reloaded on
+ * every read, unless another agent of the account just did so.
+ */
+@Slf4j
+class MarathonClusterState implements MarathonEventStream.Listener {
+  static final List<String> EMBED = ['app.tasks', 'app.deployments']
+
+  /**
+   * Reads of an account within this long of its last reload share that reload, when the event stream is not connected.
+   */
+  static final long SHARED_RELOAD_MILLIS = TimeUnit.SECONDS.toMillis(10)
+
+  private static final Set<String> APP_EVENTS = [
+    'status_update_event',
+    'instance_changed_event',
+    'health_status_changed_event',
+    'instance_health_changed_event',
+    'failed_health_check_event',
+    'unhealthy_task_kill_event',
+    'unhealthy_instance_kill_event',
+    'app_terminated_event'
+  ] as Set
+
+  private static final Set<String> DEPLOYMENT_EVENTS = [
+    'deployment_info',
+    'deployment_success',
+    'deployment_failed',
+    'deployment_step_success',
+    'deployment_step_failure'
+  ] as Set
+
+  private static final Set<String> GROUP_EVENTS = ['group_change_success', 'group_change_failed'] as Set
+
+  final String clusterName
+  private final long reconcileIntervalMillis
+
+  private final ConcurrentMap<String, DCOS> accountClients = new ConcurrentHashMap<>()
+  private final ConcurrentMap<String, App> apps = new ConcurrentHashMap<>()
+  private final Set<String> dirtyAppIds = ConcurrentHashMap.newKeySet()
+  private final ConcurrentMap<String, Object> accountLocks = new ConcurrentHashMap<>()
+  private final ConcurrentMap<String, Long> lastReconciled = new ConcurrentHashMap<>()
+  private final ConcurrentMap<String, Long> reconciledGenerations = new ConcurrentHashMap<>()
+
+  private volatile boolean streaming
+
+  /**
+   * Incremented whenever every account needs to be reconciled, outdating the reconciliations that started before.
+   */
+  private final AtomicLong reconcileGeneration = new AtomicLong()
+
+  MarathonClusterState(String clusterName, long reconcileIntervalMillis) {
+    this.clusterName = clusterName
+    this.reconcileIntervalMillis = reconcileIntervalMillis
+  }
+
+  /**
+   * Registers an account of the cluster, whose apps are loaded with its client.
+   */
+  void register(String accountName, DCOS dcosClient) {
+    accountClients.putIfAbsent(accountName, dcosClient)
+  }
+
+  boolean isStreaming() {
+    return streaming
+  }
+
+  /**
+   * @return the apps in the namespace of the account, with their tasks and deployments
+   */
+  List<App> getApps(String accountName) {
+    DCOS dcosClient = accountClients.get(accountName)
+    if (!dcosClient) {
+      throw new IllegalStateException("Account ${accountName} is not registered with cluster ${clusterName}")
+    }
+
+    synchronized (accountLocks.computeIfAbsent(accountName) { new Object() }) {
+      long reconciled = lastReconciled.get(accountName) ?: 0L
+      long maxAgeMillis = streaming ? reconcileIntervalMillis : SHARED_RELOAD_MILLIS
+      if (reconciledGenerations.get(accountName) != reconcileGeneration.get() ||
+        System.currentTimeMillis() - reconciled >= maxAgeMillis) {
+        reconcile(accountName, dcosClient)
+      } else {
+        reloadDirtyApps(accountName, dcosClient)
+      }
+    }
+
+    return apps.values().findAll { inNamespace(it.id, accountName) }
+  }
+
+  private void reconcile(String accountName, DCOS dcosClient) {
+    long startTime = System.currentTimeMillis()
+    long generation = reconcileGeneration.get()
+    Set<String> dirty = dirtyAppIds.findAll { inNamespace(it, accountName) }
+
+    Optional<GetAppNamespaceResponse> response = dcosClient.maybeApps(accountName, EMBED)
+    if (!response.isPresent()) {
+      log.info("The account namespace [${accountName}] does not exist in DC/OS cluster ${clusterName}.")
+    }
+    Map<String, App> namespaceApps = response.map { it.apps }.orElse([]).collectEntries { [(it.id): it] }
+
+    apps.keySet().removeIf { inNamespace(it, accountName) && !namespaceApps.containsKey(it) }
+    apps.putAll(namespaceApps)
+    dirtyAppIds.removeAll(dirty)
+    lastReconciled.put(accountName, startTime)
+    reconciledGenerations.put(accountName, generation)
+  }
+
+  private void reloadDirtyApps(String accountName, DCOS dcosClient) {
+    for (String appId : dirtyAppIds.findAll { inNamespace(it, accountName) }) {
+      dirtyAppIds.remove(appId)
+      try {
+        Optional<App> app = dcosClient.maybeApp(appId)
+        if (app.isPresent()) {
+          apps.put(appId, app.get())
+        } else {
+          apps.remove(appId)
+        }
+      } catch (Exception e) {
+        dirtyAppIds.add(appId)
+        throw e
+      }
+    }
+  }
+
+  @Override
+  void streamConnected() {
+    // events may have been missed while disconnected
+    reconcileGeneration.incrementAndGet()
+    streaming = true
+  }
+
+  @Override
+  void streamDisconnected() {
+    streaming = false
+  }
+
+  @Override
+  void eventReceived(String eventType, Map<String, Object> event) {
+    if (GROUP_EVENTS.contains(eventType)) {
+      // group changes do not name the apps they affect
+      reconcileGeneration.incrementAndGet()
+      return
+    }
+
+    appIds(eventType, event).findAll { String appId ->
+      accountClients.keySet().any { inNamespace(appId, it) }
+    }.each {
+      dirtyAppIds.add(it)
+    }
+  }
+
+  private static Collection<String> appIds(String eventType, Map<String, Object> event) {
+    if (APP_EVENTS.contains(eventType)) {
+      return event.appId ? [event.appId as String] : []
+    }
+    if (eventType == 'api_post_event') {
+      return event.appDefinition?.id ? [event.appDefinition.id as String] : []
+    }
+    if (DEPLOYMENT_EVENTS.contains(eventType)) {
+      def actions = (event.plan?.steps ?: []).collectMany { it.actions ?: [] } + (event.currentStep?.actions ?: [])
+      return actions.findResults { it.app as String }.unique()
+    }
+    return []
+  }
+
+  private static boolean inNamespace(String appId, String accountName) {
+    return appId?.startsWith("/${accountName}/")
+  }
+}
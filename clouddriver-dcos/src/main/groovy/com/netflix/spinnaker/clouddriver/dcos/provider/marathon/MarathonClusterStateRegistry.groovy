@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.dcos.provider.marathon
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.clouddriver.dcos.security.DcosAccountCredentials
+import com.netflix.spinnaker.clouddriver.dcos.security.DcosClusterCredentials
+import mesosphere.dcos.client.DCOS
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+
+/**
+ * Holds one MarathonClusterState per DC/OS cluster, each kept current by its own Marathon event stream.
+ */
+class MarathonClusterStateRegistry implements Closeable {
+  private final ObjectMapper objectMapper
+  private final long reconcileIntervalMillis
+
+  private final ConcurrentMap<String, MarathonClusterState> clusterStates = new ConcurrentHashMap<>()
+  private final List<MarathonEventStream> eventStreams = [].asSynchronized()
+
+  MarathonClusterStateRegistry(ObjectMapper objectMapper, long reconcileIntervalMillis) {
+    this.objectMapper = objectMapper
+    this.reconcileIntervalMillis = reconcileIntervalMillis
+  }
+
+  /**
+   * @return the state of the cluster, with the account registered to load its apps with dcosClient
+   */
+  MarathonClusterState getClusterState(DcosAccountCredentials credentials, String clusterName, DCOS dcosClient) {
+    MarathonClusterState clusterState = clusterStates.computeIfAbsent(clusterName) {
+      DcosClusterCredentials clusterCredentials = credentials.getCredentialsByCluster(clusterName)
+      MarathonClusterState state = new MarathonClusterState(clusterName, reconcileIntervalMillis)
+      subscribe(state, clusterCredentials, dcosClient)
+      state
+    }
+    clusterState.register(credentials.account, dcosClient)
+    return clusterState
+  }
+
+  private void subscribe(MarathonClusterState state, DcosClusterCredentials clusterCredentials, DCOS dcosClient) {
+    def authToken = {
+      def authCredentials = clusterCredentials.dcosConfig?.credentials
+      authCredentials ? dcosClient.authenticate(authCredentials).token : null
+    }
+    MarathonEventStream eventStream = new MarathonEventStream(
+      clusterCredentials.dcosUrl, authToken, state, objectMapper, reconcileIntervalMillis
+    )
+    eventStreams << eventStream
+
+    Thread thread = new Thread(eventStream, "${MarathonEventStream.simpleName}-${state.clusterName}")
+    thread.daemon = true
+    thread.start()
+  }
+
+  @Override
+  void close() {
+    eventStreams*.close()
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.dcos.provider.marathon
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import groovy.util.logging.Slf4j
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Reads the server-sent events of Marathon's event stream (/v2/events) and hands them to a listener, reconnecting with
+ * a backoff whenever the stream is interrupted.
+ */
+@Slf4j
+class MarathonEventStream implements Runnable, Closeable {
+  static final String EVENTS_PATH = "service/marathon/v2/events"
+
+  private static final long MIN_RECONNECT_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1)
+  private static final long MAX_RECONNECT_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1)
+
+  interface Listener {
+    void streamConnected()
+
+    void streamDisconnected()
+
+    void eventReceived(String eventType, Map<String, Object> event)
+  }
+
+  private final String eventsUrl
+  private final Closure<String> authToken
+  private final Listener listener
+  private final ObjectMapper objectMapper
+  private final int readTimeoutMillis
+
+  private volatile boolean closed
+  private volatile HttpURLConnection connection
+
+  /**
+   * @param authToken supplies the ACS token to connect with (no token is sent when it returns null)
+   * @param readTimeoutMillis reconnects after this long without any event, as a silently dropped connection is
+   *                          otherwise indistinguishable from a quiet cluster
+   */
+  MarathonEventStream(String dcosUrl,
+                      Closure<String> authToken,
+                      Listener listener,
+                      ObjectMapper objectMapper,
+                      long readTimeoutMillis) {
+    this.eventsUrl = dcosUrl.endsWith("/") ? dcosUrl + EVENTS_PATH : "${dcosUrl}/${EVENTS_PATH}"
+    this.authToken = authToken
+    this.listener = listener
+    this.objectMapper = objectMapper
+    this.readTimeoutMillis = (int) Math.min(Integer.MAX_VALUE, readTimeoutMillis)
+  }
+
+  @Override
+  void run() {
+    long reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS
+    while (!closed) {
+      try {
+        InputStream stream = openStream()
+        listener.streamConnected()
+        reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS
+        stream.withReader("UTF-8") { Reader reader ->
+          read(new BufferedReader(reader))
+        }
+      } catch (Exception e) {
+        if (!closed) {
+          log.warn("Marathon event stream ${eventsUrl} was interrupted, reconnecting in ${reconnectDelayMillis}ms", e)
+        }
+      } finally {
+        connection?.disconnect()
+        listener.streamDisconnected()
+      }
+
+      if (!closed) {
+        sleep(reconnectDelayMillis)
+        reconnectDelayMillis = Math.min(MAX_RECONNECT_DELAY_MILLIS, reconnectDelayMillis * 2)
+      }
+    }
+  }
+
+  @Override
+  void close() {
+    closed = true
+    connection?.disconnect()
+  }
+
+  /**
+   * Connects to the event stream, throwing when Marathon does not accept the connection.
+   */
+  protected InputStream openStream() {
+    connection = connect()
+    return connection.inputStream
+  }
+
+  private HttpURLConnection connect() {
+    HttpURLConnection connection = (HttpURLConnection) new URL(eventsUrl).openConnection()
+    connection.setRequestProperty("Accept", "text/event-stream")
+    String token = authToken.call()
+    if (token) {
+      connection.setRequestProperty("Authorization", "token=${token}")
+    }
+    connection.readTimeout = readTimeoutMillis
+    if (connection.responseCode != HttpURLConnection.HTTP_OK) {
+      throw new IOException("Unexpected response ${connection.responseCode} from ${eventsUrl}")
+    }
+    return connection
+  }
+
+  /**
+   * Dispatches every event until the end of the stream: an event is made of an "event:" line naming its type and of
+   * "data:" lines holding its JSON payload, and ends with a blank line. The data lines of an event are joined with
+   * newlines, and an event without an "event:" line is named by the "eventType" of its payload.
+   */
+  void read(BufferedReader reader) {
+    String eventType = null
+    StringBuilder data = null
+    String line
+    while (!closed && (line = reader.readLine()) != null) {
+      if (line.isEmpty()) {
+        if (data != null) {
+          dispatch(eventType, data.toString())
+        }
+        eventType = null
+        data = null
+      } else if (line.startsWith("event:")) {
+        eventType = field(line, "event:")
+      } else if (line.startsWith("data:")) {
+        data = data == null ? new StringBuilder() : data.append('\n')
+        data.append(field(line, "data:"))
+      }
+    }
+  }
+
+  private static String field(String line, String name) {
+    String value = line.substring(name.length())
+    return value.startsWith(" ") ? value.substring(1) : value
+  }
+
+  private void dispatch(String eventType, String data) {
+    try {
+      Map<String, Object> event = objectMapper.readValue(data, Map)
+      eventType = eventType ?: event.eventType
+      if (eventType) {
+        listener.eventReceived(eventType, event)
+      }
+    } catch (Exception e) {
+      log.warn("Unable to handle Marathon ${eventType} from ${eventsUrl}", e)
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.dcos.health
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.clouddriver.dcos.DcosClientProvider
+import com.netflix.spinnaker.clouddriver.dcos.security.DcosAccountCredentials
+import com.netflix.spinnaker.clouddriver.dcos.security.DcosClusterCredentials
+import com.netflix.spinnaker.clouddriver.dcos.security.DcosCredentialMap
+import com.netflix.spinnaker.clouddriver.health.AccountHealthProber
+import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import mesosphere.dcos.client.DCOS
+import org.springframework.boot.actuate.health.Status
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+class DcosHealthIndicatorSpec extends Specification {
+
+  def probePool = Executors.newFixedThreadPool(2)
+  def pongs = [cluster1: "pong", cluster2: "pong"]
+  def accountCredentialsProvider = Stub(AccountCredentialsProvider) {
+    getAll() >> [account("account1", "cluster1"), account("account2", "cluster2")]
+  }
+  def dcosClientProvider = Stub(DcosClientProvider) {
+    getDcosClient(_ as DcosClusterCredentials) >> { DcosClusterCredentials cluster ->
+      Stub(DCOS) {
+        getPing() >> { pongs[cluster.name] }
+      }
+    }
+  }
+  def indicator = new DcosHealthIndicator(accountCredentialsProvider, dcosClientProvider)
+
+  def setup() {
+    indicator.accountHealthProber = new AccountHealthProber(new DefaultRegistry(), probePool, 5000)
+  }
+
+  def cleanup() {
+    probePool.shutdownNow()
+  }
+
+  void "should report DC/OS up while any account answers its pings"() {
+    given:
+    pongs.cluster2 = "unexpected"
+
+    when:
+    indicator.checkHealth()
+    def health = indicator.health()
+
+    then:
+    health.status == Status.UP
+    health.details.unhealthyAccounts == ["account2"]
+  }
+
+  void "should report DC/OS down once no account answers its pings"() {
+    given:
+    pongs.cluster1 = "unexpected"
+    pongs.cluster2 = "unexpected"
+
+    when:
+    indicator.checkHealth()
+    indicator.health()
+
+    then:
+    thrown(DcosHealthIndicator.DcosIOException)
+  }
+
+  private DcosAccountCredentials account(String name, String clusterName) {
+    def cluster = Stub(DcosClusterCredentials) {
+      getName() >> clusterName
+    }
+    Stub(DcosAccountCredentials) {
+      getName() >> name
+      getCredentials() >> new DcosCredentialMap([cluster])
+    }
+  }
+}
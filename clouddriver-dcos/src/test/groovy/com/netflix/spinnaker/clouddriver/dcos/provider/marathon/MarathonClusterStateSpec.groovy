@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.dcos.provider.marathon
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import mesosphere.dcos.client.DCOS
+import mesosphere.marathon.client.model.v2.App
+import mesosphere.marathon.client.model.v2.GetAppNamespaceResponse
+import spock.lang.Specification
+
+class MarathonClusterStateSpec extends Specification {
+  static final String ACCOUNT = "test"
+
+  def dcosClient = Mock(DCOS)
+  def clusterState = new MarathonClusterState("cluster", 60000)
+
+  def setup() {
+    clusterState.register(ACCOUNT, dcosClient)
+  }
+
+  void "should only reload the apps named by events between reconciliations while streaming"() {
+    given:
+    clusterState.streamConnected()
+    def eventStream = new MarathonEventStream("https://dcos", { null }, clusterState, new ObjectMapper(), 60000)
+
+    when:
+    def apps = clusterState.getApps(ACCOUNT)
+
+    then:
+    1 * dcosClient.maybeApps(ACCOUNT, MarathonClusterState.EMBED) >> namespace(app("/test/foo-v000"), app("/test/bar-v000"))
+    apps*.id.sort() == ["/test/bar-v000", "/test/foo-v000"]
+
+    when:
+    eventStream.read(new BufferedReader(new StringReader(
+      'event: status_update_event\n' +
+        'data: {"appId":"/test/foo-v000","taskStatus":"TASK_RUNNING"}\n' +
+        '\n' +
+        'event: status_update_event\n' +
+        'data: {"appId":"/other/foo-v000","taskStatus":"TASK_RUNNING"}\n' +
+        '\n' +
+        'event: app_terminated_event\n' +
+        'data: {"appId":"/test/bar-v000"}\n' +
+        '\n'
+    )))
+    apps = clusterState.getApps(ACCOUNT)
+
+    then:
+    0 * dcosClient.maybeApps(_, _)
+    1 * dcosClient.maybeApp("/test/foo-v000") >> Optional.of(app("/test/foo-v000"))
+    1 * dcosClient.maybeApp("/test/bar-v000") >> Optional.empty()
+    0 * dcosClient.maybeApp(_)
+    apps*.id == ["/test/foo-v000"]
+
+    when:
+    clusterState.getApps(ACCOUNT)
+
+    then:
+    0 * dcosClient._
+  }
+
+  void "should reconcile again once the event stream connects or a group changes"() {
+    when:
+    clusterState.getApps(ACCOUNT)
+    clusterState.streamConnected()
+    clusterState.getApps(ACCOUNT)
+    clusterState.eventReceived("group_change_success", [:])
+    clusterState.getApps(ACCOUNT)
+
+    then:
+    3 * dcosClient.maybeApps(ACCOUNT, MarathonClusterState.EMBED) >> Optional.empty()
+  }
+
+  private static App app(String id) {
+    new App(id: id)
+  }
+
+  private Optional<GetAppNamespaceResponse> namespace(App... apps) {
+    Optional.of(Stub(GetAppNamespaceResponse) {
+      getApps() >> (apps as List)
+    })
+  }
+}
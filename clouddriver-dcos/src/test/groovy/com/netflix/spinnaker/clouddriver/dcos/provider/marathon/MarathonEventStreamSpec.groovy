@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.dcos.provider.marathon
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class MarathonEventStreamSpec extends Specification {
+
+  def listener = Mock(MarathonEventStream.Listener)
+  def eventStream = new MarathonEventStream("https://dcos", { null }, listener, new ObjectMapper(), 60000)
+
+  void "should dispatch each event once its blank line is read"() {
+    when:
+    read(
+      'event: status_update_event\n' +
+        'data: {"appId":"/test/foo-v000","taskStatus":"TASK_RUNNING"}\n' +
+        '\n' +
+        'event: deployment_success\n' +
+        'data: {"id":"d-1"}\n' +
+        '\n' +
+        'event: app_terminated_event\n' +
+        'data: {"appId":"/test/bar-v000"}\n'
+    )
+
+    then:
+    1 * listener.eventReceived("status_update_event", [appId: "/test/foo-v000", taskStatus: "TASK_RUNNING"])
+
+    then:
+    1 * listener.eventReceived("deployment_success", [id: "d-1"])
+
+    // the last event is incomplete when the stream ends
+    0 * listener._
+  }
+
+  void "should join the data lines of an event"() {
+    when:
+    read(
+      'event: api_post_event\n' +
+        'data: {\n' +
+        'data:   "appDefinition": {"id": "/test/foo-v001"},\n' +
+        'data:   "clientIp": "10.0.0.1"\n' +
+        'data: }\n' +
+        '\n'
+    )
+
+    then:
+    1 * listener.eventReceived("api_post_event", [appDefinition: [id: "/test/foo-v001"], clientIp: "10.0.0.1"])
+    0 * listener._
+  }
+
+  void "should name events without an event line by the event type of their payload"() {
+    when:
+    read(
+      ': keep-alive comment\n' +
+        '\n' +
+        'data:{"eventType":"health_status_changed_event","appId":"/test/foo-v000"}\n' +
+        '\n' +
+        'data: {"appId":"/test/bar-v000"}\n' +
+        '\n'
+    )
+
+    then:
+    1 * listener.eventReceived("health_status_changed_event", [eventType: "health_status_changed_event", appId: "/test/foo-v000"])
+    0 * listener._
+  }
+
+  void "should skip events whose payload is not JSON and keep reading"() {
+    when:
+    read(
+      'event: status_update_event\n' +
+        'data: not json\n' +
+        '\n' +
+        'event: app_terminated_event\n' +
+        'data: {"appId":"/test/bar-v000"}\n' +
+        '\n'
+    )
+
+    then:
+    1 * listener.eventReceived("app_terminated_event", [appId: "/test/bar-v000"])
+    0 * listener._
+  }
+
+  void "should reconnect once the stream ends"() {
+    given:
+    def streams = [
+      'event: status_update_event\ndata: {"appId":"/test/foo-v000"}\n\n',
+      'event: app_terminated_event\ndata: {"appId":"/test/bar-v000"}\n\n'
+    ]
+    def cannedStream = new MarathonEventStream("https://dcos", { null }, listener, new ObjectMapper(), 60000) {
+      @Override
+      protected InputStream openStream() {
+        new ByteArrayInputStream(streams.remove(0).getBytes(StandardCharsets.UTF_8))
+      }
+    }
+
+    when:
+    cannedStream.run()
+
+    then:
+    1 * listener.streamConnected()
+
+    then:
+    1 * listener.eventReceived("status_update_event", [appId: "/test/foo-v000"])
+
+    then:
+    1 * listener.streamDisconnected()
+
+    then:
+    1 * listener.streamConnected()
+
+    then:
+    1 * listener.eventReceived("app_terminated_event", [appId: "/test/bar-v000"])
+
+    then:
+    1 * listener.streamDisconnected() >> { cannedStream.close() }
+    0 * listener._
+  }
+
+  private void read(String stream) {
+    eventStream.read(new BufferedReader(new StringReader(stream)))
+  }
+}
@@ -16,63 +16,33 @@
 
 package com.netflix.spinnaker.clouddriver.docker.registry.health
 
+import com.netflix.spinnaker.clouddriver.docker.registry.DockerRegistryCloudProvider
 import com.netflix.spinnaker.clouddriver.docker.registry.security.DockerRegistryCredentials
 import com.netflix.spinnaker.clouddriver.docker.registry.security.DockerRegistryNamedAccountCredentials
-import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
 import groovy.transform.InheritConstructors
-import org.slf4j.Logger
-import org.slf4j.LoggerFactory
-import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
 import org.springframework.web.bind.annotation.ResponseStatus
-import retrofit.RetrofitError
-
-import java.util.concurrent.atomic.AtomicReference
 
 @Component
-class DockerRegistryHealthIndicator implements HealthIndicator {
-
-  private static final Logger LOG = LoggerFactory.getLogger(DockerRegistryHealthIndicator)
-
-  @Autowired
-  AccountCredentialsProvider accountCredentialsProvider
-
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
-
-  @Override
-  Health health() {
-    def ex = lastException.get()
+class DockerRegistryHealthIndicator extends AbstractAccountHealthIndicator<DockerRegistryNamedAccountCredentials> {
 
-    if (ex) {
-      throw ex
-    }
-
-    new Health.Builder().up().build()
+  DockerRegistryHealthIndicator() {
+    super(DockerRegistryCloudProvider.DOCKER_REGISTRY, DockerRegistryNamedAccountCredentials)
   }
 
   @Scheduled(fixedDelay = 300000L)
   void checkHealth() {
-    try {
-      Set<DockerRegistryNamedAccountCredentials> dockerRegistryCredentialsSet = accountCredentialsProvider.all.findAll {
-        it instanceof DockerRegistryNamedAccountCredentials
-      } as Set<DockerRegistryNamedAccountCredentials>
-
-      for (DockerRegistryNamedAccountCredentials accountCredentials in dockerRegistryCredentialsSet) {
-        DockerRegistryCredentials dockerRegistryCredentials = accountCredentials.credentials
-
-        dockerRegistryCredentials.client.checkV2Availability()
-      }
+    probeAccounts()
+  }
 
-      lastException.set(null)
-    } catch (Exception ex) {
-      LOG.warn "Unhealthy", ex
+  @Override
+  protected void probe(DockerRegistryNamedAccountCredentials accountCredentials) {
+    DockerRegistryCredentials dockerRegistryCredentials = accountCredentials.credentials
 
-      lastException.set(ex)
-    }
+    dockerRegistryCredentials.client.checkV2Availability()
   }
 
   @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Problem communicating with DockerRegistry.")
@@ -23,6 +23,7 @@ import com.netflix.spinnaker.clouddriver.ecs.cache.Keys;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -76,6 +77,20 @@ abstract class AbstractCacheClient<T> {
     return null;
   }
 
+  /**
+   * @param keys Keys within the key namespace that will be used to retrieve the objects, in a single cache read.
+   * @return The objects of the generic type that exist in the cache, associated to their key.
+   */
+  public Map<String, T> getAll(Collection<String> keys) {
+    Collection<CacheData> allData = cacheView.getAll(keyNamespace, keys);
+    if (allData == null) {
+      return Collections.emptyMap();
+    }
+
+    return allData.stream()
+      .collect(Collectors.toMap(CacheData::getId, this::convert, (first, second) -> first));
+  }
+
   /**
    * @param cacheData A collection of CacheData that will be converted into a collection of generic typ objects.
    * @return A collection of generic typ objects.
@@ -70,8 +70,16 @@ public class EcsCloudWatchAlarmCacheClient extends AbstractCacheClient<EcsMetric
   }
 
   public List<EcsMetricAlarm> getMetricAlarms(String serviceName, String accountName, String region) {
+    return getMetricAlarms(serviceName, getAll(accountName, region));
+  }
+
+  /**
+   * @param serviceName     Name of the service the alarms act on.
+   * @param allMetricAlarms Alarms of the account and region of the service, see getAll(account, region).
+   * @return The alarms that act on the service.
+   */
+  public List<EcsMetricAlarm> getMetricAlarms(String serviceName, Collection<EcsMetricAlarm> allMetricAlarms) {
     List<EcsMetricAlarm> metricAlarms = new LinkedList<>();
-    Collection<EcsMetricAlarm> allMetricAlarms = getAll(accountName, region);
 
     outLoop:
     for (EcsMetricAlarm metricAlarm : allMetricAlarms) {
@@ -56,4 +56,17 @@ public class EcsInstanceCacheClient {
       .collect(Collectors.toSet());
   }
 
+  /**
+   * Finds the given EC2 instances with a single cache read.
+   */
+  public Set<Instance> find(Collection<String> instanceIds, String account, String region) {
+    Set<String> instanceKeys = instanceIds.stream()
+      .map(instanceId -> Keys.getInstanceKey(instanceId, account, region))
+      .collect(Collectors.toSet());
+
+    return cacheView.getAll(INSTANCES.getNs(), instanceKeys).stream()
+      .map(cacheData -> objectMapper.convertValue(cacheData.getAttributes(), Instance.class))
+      .collect(Collectors.toSet());
+  }
+
 }
@@ -33,7 +33,9 @@ import com.netflix.spinnaker.clouddriver.ecs.provider.EcsProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -143,16 +145,32 @@ abstract class AbstractEcsCachingAgent<T> implements CachingAgent {
   }
 
   CacheResult buildCacheResult(String authoritativeKeyName, List<T> items, ProviderCache providerCache) {
-    String prettyKeyName = CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, authoritativeKeyName);
+    return buildCacheResult(authoritativeKeyName, generateFreshData(items), Collections.emptySet(), providerCache);
+  }
 
-    Map<String, Collection<CacheData>> dataMap = generateFreshData(items);
+  /**
+   * @param failedClusters ARNs of the clusters that could not be loaded, their previously cached items are carried over
+   *                       rather than evicted.
+   */
+  CacheResult buildCacheResult(String authoritativeKeyName, Map<String, Collection<CacheData>> dataMap, Set<String> failedClusters,
+                               ProviderCache providerCache) {
+    String prettyKeyName = CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.LOWER_CAMEL, authoritativeKeyName);
 
     //Old keys can come from different account/region, filter them to the current account/region.
-    Set<String> oldKeys = providerCache.getAll(authoritativeKeyName).stream()
+    List<CacheData> oldData = providerCache.getAll(authoritativeKeyName).stream()
+      .filter(cacheData -> keyAccountRegionFilter(authoritativeKeyName, cacheData.getId()))
+      .collect(Collectors.toList());
+    Set<String> oldKeys = oldData.stream()
       .map(CacheData::getId)
-      .filter(key -> keyAccountRegionFilter(authoritativeKeyName, key))
       .collect(Collectors.toSet());
 
+    if (!failedClusters.isEmpty()) {
+      Collection<CacheData> carriedOver = carryOverFailedClusters(dataMap.get(authoritativeKeyName), oldData, failedClusters);
+      log.warn("Keeping " + (carriedOver.size() - dataMap.get(authoritativeKeyName).size()) + " previously cached " + prettyKeyName +
+        "s of " + failedClusters.size() + " cluster(s) that failed to load in " + getAgentType());
+      dataMap.put(authoritativeKeyName, carriedOver);
+    }
+
     Map<String, Collection<String>> evictions = computeEvictableData(dataMap.get(authoritativeKeyName), oldKeys);
     evictions = addExtraEvictions(evictions);
     log.info("Evicting " + evictions.size() + " " + prettyKeyName + (evictions.size() > 1 ? "s" : "") + " in " + getAgentType());
@@ -184,6 +202,25 @@ abstract class AbstractEcsCachingAgent<T> implements CachingAgent {
     return evictionsByKey;
   }
 
+  /**
+   * Adds the previously cached data of clusters that failed to load to the new data, so that it is neither evicted nor
+   * dropped from the authoritative namespace until the cluster can be loaded again.
+   * Data without a cluster ARN attribute cannot be attributed to a cluster and is not carried over.
+   */
+  private Collection<CacheData> carryOverFailedClusters(Collection<CacheData> newData, Collection<CacheData> oldData, Set<String> failedClusterArns) {
+    Set<String> newKeys = newData.stream()
+      .map(CacheData::getId)
+      .collect(Collectors.toSet());
+
+    Collection<CacheData> data = new ArrayList<>(newData);
+    oldData.stream()
+      .filter(cacheData -> !newKeys.contains(cacheData.getId()))
+      .filter(cacheData -> failedClusterArns.contains(cacheData.getAttributes().get("clusterArn")))
+      .forEach(data::add);
+
+    return data;
+  }
+
   protected boolean keyAccountRegionFilter(String authoritativeKeyName, String key) {
     Map<String, String> keyParts = Keys.parse(key);
     return keyParts != null &&
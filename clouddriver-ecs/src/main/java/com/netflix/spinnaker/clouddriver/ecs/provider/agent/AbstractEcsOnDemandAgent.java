@@ -18,26 +18,179 @@ package com.netflix.spinnaker.clouddriver.ecs.provider.agent;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.services.ecs.AmazonECS;
+import com.netflix.spectator.api.Id;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.agent.CacheResult;
+import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
 import com.netflix.spinnaker.clouddriver.cache.OnDemandAgent;
 import com.netflix.spinnaker.clouddriver.cache.OnDemandMetricsSupport;
 import com.netflix.spinnaker.clouddriver.ecs.EcsCloudProvider;
 import groovy.lang.Closure;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 abstract class AbstractEcsOnDemandAgent<T> extends AbstractEcsCachingAgent<T> implements OnDemandAgent {
+  static final long DEFAULT_CLUSTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
   final OnDemandMetricsSupport metricsSupport;
+  final Registry registry;
+  private final ExecutorService clusterPool;
+  private final long clusterTimeoutMillis;
+  private final Id clusterLoadId;
+  private final Logger log = LoggerFactory.getLogger(getClass());
 
   AbstractEcsOnDemandAgent(String accountName, String region, AmazonClientProvider amazonClientProvider, AWSCredentialsProvider awsCredentialsProvider, Registry registry) {
+    this(accountName, region, amazonClientProvider, awsCredentialsProvider, registry, null, DEFAULT_CLUSTER_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * @param clusterPool          Pool the clusters are loaded on concurrently, clusters are loaded one after another on the
+   *                             calling thread when null.
+   * @param clusterTimeoutMillis Time each cluster has to be loaded in, once its load has started, before it is considered
+   *                             failed.
+   */
+  AbstractEcsOnDemandAgent(String accountName, String region, AmazonClientProvider amazonClientProvider, AWSCredentialsProvider awsCredentialsProvider, Registry registry,
+                           ExecutorService clusterPool, long clusterTimeoutMillis) {
     super(accountName, region, amazonClientProvider, awsCredentialsProvider);
     this.metricsSupport = new OnDemandMetricsSupport(registry, this, EcsCloudProvider.ID + ":" + EcsCloudProvider.ID + ":${OnDemandAgent.OnDemandType.ServerGroup}");
+    this.registry = registry;
+    this.clusterPool = clusterPool;
+    this.clusterTimeoutMillis = clusterTimeoutMillis;
+    this.clusterLoadId = registry.createId("ecs.cachingAgent.clusterLoad")
+      .withTag("account", accountName)
+      .withTag("region", region)
+      .withTag("agent", getClass().getSimpleName());
+  }
+
+  /**
+   * Fetches items from the ECS service along with the clusters whose items could not be fetched.
+   * Agents that fetch their items cluster by cluster override this with {@link #getItemsFromClusters}.
+   */
+  ClusterItems<T> getClusterItems(AmazonECS ecs, ProviderCache providerCache) {
+    return ClusterItems.of(getItems(ecs, providerCache));
+  }
+
+  /**
+   * Generates the cache data of items fetched by {@link #getClusterItems}, for agents whose items do not carry the ARN
+   * of their cluster themselves.
+   */
+  Map<String, Collection<CacheData>> generateFreshData(ClusterItems<T> clusterItems) {
+    return generateFreshData(clusterItems.getItems());
+  }
+
+  CacheResult buildCacheResult(String authoritativeKeyName, ClusterItems<T> clusterItems, ProviderCache providerCache) {
+    return buildCacheResult(authoritativeKeyName, generateFreshData(clusterItems), clusterItems.getFailedClusters(), providerCache);
+  }
+
+  @Override
+  public CacheResult loadData(ProviderCache providerCache) {
+    AmazonECS ecs = amazonClientProvider.getAmazonEcs(accountName, awsCredentialsProvider, region);
+    return buildCacheResult(getAuthoritativeKeyName(), getClusterItems(ecs, providerCache), providerCache);
+  }
+
+  /**
+   * Loads the items of every cluster with the given loader, concurrently when a cluster pool is configured.
+   * All clusters are loaded with the same AmazonECS client, so they share the account's request rate limit.
+   *
+   * A cluster that fails or is not loaded within the cluster timeout (measured from when its load started, not from
+   * when it was queued) does not fail the others: it is returned as a failed cluster so that buildCacheResult keeps
+   * its previously cached items.
+   *
+   * @param clusters      The ARNs of the clusters to load.
+   * @param clusterLoader Loads the items of a single cluster.
+   * @return The items of all clusters that were loaded, and the clusters that were not.
+   */
+  ClusterItems<T> getItemsFromClusters(Set<String> clusters, Function<String, List<T>> clusterLoader) {
+    Map<String, Long> startTimes = new ConcurrentHashMap<>();
+    Map<String, Future<List<T>>> futures = new LinkedHashMap<>();
+    for (String cluster : clusters) {
+      FutureTask<List<T>> task = new FutureTask<>(() -> {
+        startTimes.put(cluster, System.currentTimeMillis());
+        return loadCluster(cluster, clusterLoader);
+      });
+      if (clusterPool == null) {
+        task.run();
+      } else {
+        clusterPool.execute(task);
+      }
+      futures.put(cluster, task);
+    }
+
+    ClusterItems<T> clusterItems = new ClusterItems<>();
+    try {
+      for (Map.Entry<String, Future<List<T>>> entry : futures.entrySet()) {
+        String cluster = entry.getKey();
+        try {
+          clusterItems.addCluster(cluster, awaitCluster(cluster, entry.getValue(), startTimes));
+        } catch (TimeoutException e) {
+          log.warn("Timed out loading cluster " + cluster + " in " + getAgentType());
+          clusterItems.addFailedCluster(cluster);
+        } catch (ExecutionException e) {
+          log.warn("Failed to load cluster " + cluster + " in " + getAgentType(), e.getCause());
+          clusterItems.addFailedCluster(cluster);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while loading clusters in " + getAgentType(), e);
+    } finally {
+      futures.values().forEach(future -> future.cancel(true));
+    }
+
+    return clusterItems;
+  }
+
+  /**
+   * Waits for a cluster to be loaded, for at most the cluster timeout once its load has started.
+   */
+  private List<T> awaitCluster(String cluster, Future<List<T>> future, Map<String, Long> startTimes)
+    throws InterruptedException, ExecutionException, TimeoutException {
+    while (true) {
+      Long startTime = startTimes.get(cluster);
+      long remaining = startTime == null ? clusterTimeoutMillis : startTime + clusterTimeoutMillis - System.currentTimeMillis();
+      try {
+        return future.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        startTime = startTimes.get(cluster);
+        if (startTime != null && System.currentTimeMillis() - startTime >= clusterTimeoutMillis) {
+          throw e;
+        }
+        // still queued behind other clusters, or started since the last check
+      }
+    }
+  }
+
+  private List<T> loadCluster(String cluster, Function<String, List<T>> clusterLoader) {
+    long start = registry.clock().monotonicTime();
+    boolean success = false;
+    try {
+      List<T> items = clusterLoader.apply(cluster);
+      success = true;
+      return items;
+    } finally {
+      registry.timer(clusterLoadId
+        .withTag("cluster", StringUtils.substringAfterLast(cluster, "/"))
+        .withTag("success", String.valueOf(success))
+      ).record(registry.clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
   }
 
   @Override
@@ -68,9 +221,9 @@ abstract class AbstractEcsOnDemandAgent<T> extends AbstractEcsCachingAgent<T> im
 
     AmazonECS ecs = amazonClientProvider.getAmazonEcs(accountName, awsCredentialsProvider, region);
 
-    List<T> items = metricsSupport.readData(new Closure<List<T>>(this, this) {
-      public List<T> doCall() {
-        return getItems(ecs, providerCache);
+    ClusterItems<T> items = metricsSupport.readData(new Closure<ClusterItems<T>>(this, this) {
+      public ClusterItems<T> doCall() {
+        return getClusterItems(ecs, providerCache);
       }
     });
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.clouddriver.ecs.provider.agent;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Items fetched from the ECS service, keyed by the cluster they were fetched from, along with the clusters whose items
+ * could not be fetched.
+ */
+class ClusterItems<T> {
+  private final List<T> items = new LinkedList<>();
+  private final Map<String, List<T>> itemsByCluster = new LinkedHashMap<>();
+  private final Set<String> failedClusters = new HashSet<>();
+
+  /**
+   * @param items Items that were not fetched cluster by cluster.
+   */
+  static <T> ClusterItems<T> of(List<T> items) {
+    ClusterItems<T> clusterItems = new ClusterItems<>();
+    clusterItems.items.addAll(items);
+    return clusterItems;
+  }
+
+  void addCluster(String clusterArn, List<T> clusterItems) {
+    itemsByCluster.put(clusterArn, clusterItems);
+    items.addAll(clusterItems);
+  }
+
+  void addFailedCluster(String clusterArn) {
+    failedClusters.add(clusterArn);
+  }
+
+  List<T> getItems() {
+    return Collections.unmodifiableList(items);
+  }
+
+  Map<String, List<T>> getItemsByCluster() {
+    return Collections.unmodifiableMap(itemsByCluster);
+  }
+
+  Set<String> getFailedClusters() {
+    return Collections.unmodifiableSet(failedClusters);
+  }
+}
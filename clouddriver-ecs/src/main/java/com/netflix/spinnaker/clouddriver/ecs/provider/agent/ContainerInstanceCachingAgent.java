@@ -40,7 +40,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE;
 import static com.netflix.spinnaker.clouddriver.ecs.cache.Keys.Namespace.CONTAINER_INSTANCES;
@@ -55,9 +55,25 @@ public class ContainerInstanceCachingAgent extends AbstractEcsOnDemandAgent<Cont
     super(accountName, region, amazonClientProvider, awsCredentialsProvider, registry);
   }
 
+  public ContainerInstanceCachingAgent(String accountName, String region, AmazonClientProvider amazonClientProvider, AWSCredentialsProvider awsCredentialsProvider, Registry registry,
+                                       ExecutorService clusterPool, long clusterTimeoutMillis) {
+    super(accountName, region, amazonClientProvider, awsCredentialsProvider, registry, clusterPool, clusterTimeoutMillis);
+  }
+
   public static Map<String, Object> convertContainerInstanceToAttributes(ContainerInstance containerInstance) {
+    return convertContainerInstanceToAttributes(containerInstance, null);
+  }
+
+  /**
+   * @param clusterArn The ARN of the cluster the container instance was fetched from, a container instance does not
+   *                   carry it itself.
+   */
+  public static Map<String, Object> convertContainerInstanceToAttributes(ContainerInstance containerInstance, String clusterArn) {
     Map<String, Object> attributes = new HashMap<>();
     attributes.put("containerInstanceArn", containerInstance.getContainerInstanceArn());
+    if (clusterArn != null) {
+      attributes.put("clusterArn", clusterArn);
+    }
     attributes.put("ec2InstanceId", containerInstance.getEc2InstanceId());
     for (Attribute containerAttribute : containerInstance.getAttributes()) {
       if (containerAttribute.getName().equals("ecs.availability-zone")) {
@@ -79,43 +95,57 @@ public class ContainerInstanceCachingAgent extends AbstractEcsOnDemandAgent<Cont
 
   @Override
   protected List<ContainerInstance> getItems(AmazonECS ecs, ProviderCache providerCache) {
+    return getClusterItems(ecs, providerCache).getItems();
+  }
+
+  @Override
+  ClusterItems<ContainerInstance> getClusterItems(AmazonECS ecs, ProviderCache providerCache) {
+    return getItemsFromClusters(getClusters(ecs, providerCache), cluster -> getClusterContainerInstances(ecs, cluster));
+  }
+
+  private List<ContainerInstance> getClusterContainerInstances(AmazonECS ecs, String cluster) {
     List<ContainerInstance> containerInstanceList = new LinkedList<>();
-    Set<String> clusters = getClusters(ecs, providerCache);
-
-    for (String cluster : clusters) {
-      String nextToken = null;
-      do {
-        ListContainerInstancesRequest listContainerInstancesRequest = new ListContainerInstancesRequest().withCluster(cluster);
-        if (nextToken != null) {
-          listContainerInstancesRequest.setNextToken(nextToken);
-        }
-
-        ListContainerInstancesResult listContainerInstancesResult = ecs.listContainerInstances(listContainerInstancesRequest);
-        List<String> containerInstanceArns = listContainerInstancesResult.getContainerInstanceArns();
-        if (containerInstanceArns.size() == 0) {
-          continue;
-        }
+    String nextToken = null;
+    do {
+      ListContainerInstancesRequest listContainerInstancesRequest = new ListContainerInstancesRequest().withCluster(cluster);
+      if (nextToken != null) {
+        listContainerInstancesRequest.setNextToken(nextToken);
+      }
 
+      ListContainerInstancesResult listContainerInstancesResult = ecs.listContainerInstances(listContainerInstancesRequest);
+      List<String> containerInstanceArns = listContainerInstancesResult.getContainerInstanceArns();
+      if (containerInstanceArns.size() != 0) {
         List<ContainerInstance> containerInstances = ecs.describeContainerInstances(new DescribeContainerInstancesRequest()
           .withCluster(cluster).withContainerInstances(containerInstanceArns)).getContainerInstances();
         containerInstanceList.addAll(containerInstances);
+      }
 
-        nextToken = listContainerInstancesResult.getNextToken();
-      } while (nextToken != null && nextToken.length() != 0);
-    }
+      nextToken = listContainerInstancesResult.getNextToken();
+    } while (nextToken != null && nextToken.length() != 0);
     return containerInstanceList;
   }
 
   @Override
   protected Map<String, Collection<CacheData>> generateFreshData(Collection<ContainerInstance> containerInstances) {
+    return generateFreshData(Collections.<String, Collection<ContainerInstance>>singletonMap(null, containerInstances));
+  }
+
+  @Override
+  Map<String, Collection<CacheData>> generateFreshData(ClusterItems<ContainerInstance> clusterItems) {
+    return generateFreshData(clusterItems.getItemsByCluster());
+  }
+
+  private Map<String, Collection<CacheData>> generateFreshData(Map<String, ? extends Collection<ContainerInstance>> containerInstancesByCluster) {
     Collection<CacheData> dataPoints = new LinkedList<>();
 
-    for (ContainerInstance containerInstance : containerInstances) {
-      Map<String, Object> attributes = convertContainerInstanceToAttributes(containerInstance);
+    containerInstancesByCluster.forEach((clusterArn, containerInstances) -> {
+      for (ContainerInstance containerInstance : containerInstances) {
+        Map<String, Object> attributes = convertContainerInstanceToAttributes(containerInstance, clusterArn);
 
-      String key = Keys.getContainerInstanceKey(accountName, region, containerInstance.getContainerInstanceArn());
-      dataPoints.add(new DefaultCacheData(key, attributes, Collections.emptyMap()));
-    }
+        String key = Keys.getContainerInstanceKey(accountName, region, containerInstance.getContainerInstanceArn());
+        dataPoints.add(new DefaultCacheData(key, attributes, Collections.emptyMap()));
+      }
+    });
 
     log.info("Caching " + dataPoints.size() + " container instances in " + getAgentType());
     Map<String, Collection<CacheData>> dataMap = new HashMap<>();
@@ -40,7 +40,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE;
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.INFORMATIVE;
@@ -58,6 +58,11 @@ public class ServiceCachingAgent extends AbstractEcsOnDemandAgent<Service> {
     super(accountName, region, amazonClientProvider, awsCredentialsProvider, registry);
   }
 
+  public ServiceCachingAgent(String accountName, String region, AmazonClientProvider amazonClientProvider, AWSCredentialsProvider awsCredentialsProvider, Registry registry,
+                             ExecutorService clusterPool, long clusterTimeoutMillis) {
+    super(accountName, region, amazonClientProvider, awsCredentialsProvider, registry, clusterPool, clusterTimeoutMillis);
+  }
+
   public static Map<String, Object> convertServiceToAttributes(String accountName, String region, Service service) {
     Map<String, Object> attributes = new HashMap<>();
     String applicationName = service.getServiceName().contains("-") ? StringUtils.substringBefore(service.getServiceName(), "-") : service.getServiceName();
@@ -93,28 +98,31 @@ public class ServiceCachingAgent extends AbstractEcsOnDemandAgent<Service> {
 
   @Override
   protected List<Service> getItems(AmazonECS ecs, ProviderCache providerCache) {
-    List<Service> serviceList = new LinkedList<>();
-    Set<String> clusters = getClusters(ecs, providerCache);
-
-    for (String cluster : clusters) {
-      String nextToken = null;
-      do {
-        ListServicesRequest listServicesRequest = new ListServicesRequest().withCluster(cluster);
-        if (nextToken != null) {
-          listServicesRequest.setNextToken(nextToken);
-        }
-        ListServicesResult listServicesResult = ecs.listServices(listServicesRequest);
-        List<String> serviceArns = listServicesResult.getServiceArns();
-        if (serviceArns.size() == 0) {
-          continue;
-        }
+    return getClusterItems(ecs, providerCache).getItems();
+  }
 
+  @Override
+  ClusterItems<Service> getClusterItems(AmazonECS ecs, ProviderCache providerCache) {
+    return getItemsFromClusters(getClusters(ecs, providerCache), cluster -> getClusterServices(ecs, cluster));
+  }
+
+  private List<Service> getClusterServices(AmazonECS ecs, String cluster) {
+    List<Service> serviceList = new LinkedList<>();
+    String nextToken = null;
+    do {
+      ListServicesRequest listServicesRequest = new ListServicesRequest().withCluster(cluster);
+      if (nextToken != null) {
+        listServicesRequest.setNextToken(nextToken);
+      }
+      ListServicesResult listServicesResult = ecs.listServices(listServicesRequest);
+      List<String> serviceArns = listServicesResult.getServiceArns();
+      if (serviceArns.size() != 0) {
         List<Service> services = ecs.describeServices(new DescribeServicesRequest().withCluster(cluster).withServices(serviceArns)).getServices();
         serviceList.addAll(services);
+      }
 
-        nextToken = listServicesResult.getNextToken();
-      } while (nextToken != null && nextToken.length() != 0);
-    }
+      nextToken = listServicesResult.getNextToken();
+    } while (nextToken != null && nextToken.length() != 0);
     return serviceList;
   }
 
@@ -42,7 +42,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE;
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.INFORMATIVE;
@@ -62,6 +62,11 @@ public class TaskCachingAgent extends AbstractEcsOnDemandAgent<Task> {
     super(accountName, region, amazonClientProvider, awsCredentialsProvider, registry);
   }
 
+  public TaskCachingAgent(String accountName, String region, AmazonClientProvider amazonClientProvider, AWSCredentialsProvider awsCredentialsProvider, Registry registry,
+                          ExecutorService clusterPool, long clusterTimeoutMillis) {
+    super(accountName, region, amazonClientProvider, awsCredentialsProvider, registry, clusterPool, clusterTimeoutMillis);
+  }
+
   public static Map<String, Object> convertTaskToAttributes(Task task) {
     String taskId = StringUtils.substringAfterLast(task.getTaskArn(), "/");
 
@@ -91,26 +96,30 @@ public class TaskCachingAgent extends AbstractEcsOnDemandAgent<Task> {
 
   @Override
   protected List<Task> getItems(AmazonECS ecs, ProviderCache providerCache) {
+    return getClusterItems(ecs, providerCache).getItems();
+  }
+
+  @Override
+  ClusterItems<Task> getClusterItems(AmazonECS ecs, ProviderCache providerCache) {
+    return getItemsFromClusters(getClusters(ecs, providerCache), cluster -> getClusterTasks(ecs, cluster));
+  }
+
+  private List<Task> getClusterTasks(AmazonECS ecs, String cluster) {
     List<Task> taskList = new LinkedList<>();
-    Set<String> clusters = getClusters(ecs, providerCache);
-
-    for (String cluster : clusters) {
-      String nextToken = null;
-      do {
-        ListTasksRequest listTasksRequest = new ListTasksRequest().withCluster(cluster);
-        if (nextToken != null) {
-          listTasksRequest.setNextToken(nextToken);
-        }
-        ListTasksResult listTasksResult = ecs.listTasks(listTasksRequest);
-        List<String> taskArns = listTasksResult.getTaskArns();
-        if (taskArns.size() == 0) {
-          continue;
-        }
+    String nextToken = null;
+    do {
+      ListTasksRequest listTasksRequest = new ListTasksRequest().withCluster(cluster);
+      if (nextToken != null) {
+        listTasksRequest.setNextToken(nextToken);
+      }
+      ListTasksResult listTasksResult = ecs.listTasks(listTasksRequest);
+      List<String> taskArns = listTasksResult.getTaskArns();
+      if (taskArns.size() != 0) {
         List<Task> tasks = ecs.describeTasks(new DescribeTasksRequest().withCluster(cluster).withTasks(taskArns)).getTasks();
         taskList.addAll(tasks);
-        nextToken = listTasksResult.getNextToken();
-      } while (nextToken != null && nextToken.length() != 0);
-    }
+      }
+      nextToken = listTasksResult.getNextToken();
+    } while (nextToken != null && nextToken.length() != 0);
     return taskList;
   }
 
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.netflix.spinnaker.clouddriver.ecs.provider.config;
+
+import com.netflix.spinnaker.cats.thread.NamedThreadFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pools the cluster-scoped ECS caching agents load clusters on, one per account and region.
+ *
+ * ECS throttles requests per account and region, and the clusters of an account and region are all loaded with the
+ * same rate limited client, so that is the unit a pool is sized for. An account or region with slow or throttled
+ * clusters only queues its own cluster loads. Idle pool threads time out, so regions without work hold no threads.
+ */
+public class EcsClusterCachingPools {
+  private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+  private final int threadPoolSize;
+  private final Map<String, ExecutorService> pools = new ConcurrentHashMap<>();
+
+  public EcsClusterCachingPools(int threadPoolSize) {
+    this.threadPoolSize = Math.max(1, threadPoolSize);
+  }
+
+  public ExecutorService getPool(String accountName, String region) {
+    return pools.computeIfAbsent(accountName + "/" + region, key -> {
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), new NamedThreadFactory("EcsClusterCaching-" + key));
+      pool.allowCoreThreadTimeOut(true);
+      return pool;
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pools.values().forEach(ExecutorService::shutdownNow);
+  }
+}
@@ -36,6 +36,7 @@ import com.netflix.spinnaker.clouddriver.ecs.provider.agent.TaskDefinitionCachin
 import com.netflix.spinnaker.clouddriver.ecs.provider.agent.TaskHealthCachingAgent;
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsRepository;
 import com.netflix.spinnaker.clouddriver.security.ProviderUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -47,6 +48,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.netflix.spinnaker.clouddriver.aws.security.AmazonCredentials.AWSRegion;
 
@@ -62,18 +65,28 @@ public class EcsProviderConfig {
   @DependsOn("netflixECSCredentials")
   public EcsProvider ecsProvider(AccountCredentialsRepository accountCredentialsRepository, AmazonClientProvider amazonClientProvider,
                                  AWSCredentialsProvider awsCredentialsProvider, Registry registry, IamPolicyReader iamPolicyReader,
-                                 ObjectMapper objectMapper) {
+                                 ObjectMapper objectMapper, EcsClusterCachingPools ecsClusterCachingPools,
+                                 @Value("${ecs.caching.clusterTimeoutSeconds:120}") long clusterTimeoutSeconds) {
     EcsProvider provider = new EcsProvider(accountCredentialsRepository, Collections.newSetFromMap(new ConcurrentHashMap<Agent, Boolean>()));
-    synchronizeEcsProvider(provider, accountCredentialsRepository, amazonClientProvider, awsCredentialsProvider, registry, iamPolicyReader, objectMapper);
+    synchronizeEcsProvider(provider, accountCredentialsRepository, amazonClientProvider, awsCredentialsProvider, registry, iamPolicyReader, objectMapper,
+      ecsClusterCachingPools, clusterTimeoutSeconds);
     return provider;
   }
 
+  @Bean
+  public EcsClusterCachingPools ecsClusterCachingPools(@Value("${ecs.caching.clusterThreadPoolSize:5}") int clusterThreadPoolSize) {
+    return new EcsClusterCachingPools(clusterThreadPoolSize);
+  }
+
   @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
   @Bean
   public EcsProviderSynchronizer synchronizeEcsProvider(EcsProvider ecsProvider, AccountCredentialsRepository accountCredentialsRepository,
                                                         AmazonClientProvider amazonClientProvider, AWSCredentialsProvider awsCredentialsProvider, Registry registry,
                                                         IamPolicyReader iamPolicyReader,
-                                                        ObjectMapper objectMapper) {
+                                                        ObjectMapper objectMapper,
+                                                        EcsClusterCachingPools ecsClusterCachingPools,
+                                                        @Value("${ecs.caching.clusterTimeoutSeconds:120}") long clusterTimeoutSeconds) {
+    long clusterTimeoutMillis = TimeUnit.SECONDS.toMillis(clusterTimeoutSeconds);
 
     Set<String> scheduledAccounts = ProviderUtils.getScheduledAccounts(ecsProvider);
     Set<NetflixAmazonCredentials> allAccounts = ProviderUtils.buildThreadSafeSetOfAccounts(accountCredentialsRepository, NetflixAmazonCredentials.class);
@@ -85,10 +98,14 @@ public class EcsProviderConfig {
 
         for (AWSRegion region : credentials.getRegions()) {
           if (!scheduledAccounts.contains(credentials.getName())) {
+            ExecutorService clusterPool = ecsClusterCachingPools.getPool(credentials.getName(), region.getName());
             newAgents.add(new EcsClusterCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider));
-            newAgents.add(new ServiceCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, registry));
-            newAgents.add(new TaskCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, registry));
-            newAgents.add(new ContainerInstanceCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, registry));
+            newAgents.add(new ServiceCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, registry,
+              clusterPool, clusterTimeoutMillis));
+            newAgents.add(new TaskCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, registry,
+              clusterPool, clusterTimeoutMillis));
+            newAgents.add(new ContainerInstanceCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, registry,
+              clusterPool, clusterTimeoutMillis));
             newAgents.add(new TaskDefinitionCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, registry, objectMapper));
             newAgents.add(new TaskHealthCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider, objectMapper));
             newAgents.add(new EcsCloudMetricAlarmCachingAgent(credentials.getName(), region.getName(), amazonClientProvider, awsCredentialsProvider));
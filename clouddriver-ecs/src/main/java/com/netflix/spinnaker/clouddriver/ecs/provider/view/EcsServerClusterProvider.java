@@ -32,6 +32,7 @@ import com.netflix.spinnaker.clouddriver.ecs.cache.client.TaskDefinitionCacheCli
 import com.netflix.spinnaker.clouddriver.ecs.cache.model.EcsMetricAlarm;
 import com.netflix.spinnaker.clouddriver.ecs.cache.model.Service;
 import com.netflix.spinnaker.clouddriver.ecs.cache.model.Task;
+import com.netflix.spinnaker.clouddriver.ecs.cache.model.TaskHealth;
 import com.netflix.spinnaker.clouddriver.ecs.model.EcsServerCluster;
 import com.netflix.spinnaker.clouddriver.ecs.model.EcsServerGroup;
 import com.netflix.spinnaker.clouddriver.ecs.model.EcsTask;
@@ -49,6 +50,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -107,39 +109,67 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
                                                                    AmazonCredentials credentials,
                                                                    AmazonCredentials.AWSRegion awsRegion,
                                                                    String application) {
+    String account = credentials.getName();
+    String region = awsRegion.getName();
+
+    Collection<Service> services = serviceCacheClient.getAll(account, region).stream()
+      .filter(service -> application == null || service.getApplicationName().equals(application))
+      .collect(Collectors.toList());
+    if (services.isEmpty()) {
+      return clusterMap;
+    }
 
-    Collection<Service> services = serviceCacheClient.getAll(credentials.getName(), awsRegion.getName());
-    Collection<Task> allTasks = taskCacheClient.getAll(credentials.getName(), awsRegion.getName());
+    // Everything the server groups are built from is read up front, one cache read per type, and joined in memory.
+    Map<String, List<Task>> tasksByGroup = taskCacheClient.getAll(account, region).stream()
+      .filter(task -> task.getGroup() != null)
+      .collect(Collectors.groupingBy(Task::getGroup));
+    List<Task> serviceTasks = services.stream()
+      .flatMap(service -> getServiceTasks(tasksByGroup, service).stream())
+      .collect(Collectors.toList());
+
+    Map<String, com.amazonaws.services.ec2.model.Instance> ec2Instances = containerInformationService.getEc2Instances(account, region, serviceTasks);
+    Map<String, TaskHealth> taskHealths = containerInformationService.getTaskHealths(account, region, serviceTasks.stream()
+      .map(Task::getTaskId)
+      .collect(Collectors.toSet()));
+
+    Map<String, com.amazonaws.services.ecs.model.TaskDefinition> taskDefinitions = taskDefinitionCacheClient.getAll(services.stream()
+      .map(service -> Keys.getTaskDefinitionKey(account, region, service.getTaskDefinition()))
+      .collect(Collectors.toSet()));
+    Map<String, ScalableTarget> scalableTargets = scalableTargetCacheClient.getAll(services.stream()
+      .map(service -> getScalableTargetKey(account, region, service.getClusterName(), service.getServiceName()))
+      .collect(Collectors.toSet()));
+
+    List<? extends LoadBalancer> regionLoadBalancers = ecsLoadbalancerCacheClient.find(account, region);
+    Collection<EcsMetricAlarm> metricAlarms = ecsCloudWatchAlarmCacheClient.getAll(account, region);
 
     for (Service service : services) {
       String applicationName = service.getApplicationName();
       String serviceName = service.getServiceName();
 
-      if (application != null && !applicationName.equals(application)) {
-        continue;
-      }
-
-      Set<LoadBalancer> loadBalancers = new HashSet<>(ecsLoadbalancerCacheClient.find(credentials.getName(), awsRegion.getName()));
+      Set<LoadBalancer> loadBalancers = new HashSet<>(regionLoadBalancers);
 
-      Set<Instance> instances = allTasks.stream()
-        .filter(task -> task.getGroup().equals("service:" + serviceName))
-        .map(task -> convertToEcsTask(credentials.getName(), awsRegion.getName(), serviceName, task))
-        .collect(Collectors.toSet());
+      Map<String, Task> tasks = new HashMap<>();
+      Set<Instance> instances = new HashSet<>();
+      for (Task task : getServiceTasks(tasksByGroup, service)) {
+        tasks.put(task.getTaskId(), task);
+        instances.add(convertToEcsTask(service, task, ec2Instances.get(task.getContainerInstanceArn()), taskHealths.get(task.getTaskId())));
+      }
 
-      String taskDefinitionKey = Keys.getTaskDefinitionKey(credentials.getName(), awsRegion.getName(), service.getTaskDefinition());
-      com.amazonaws.services.ecs.model.TaskDefinition taskDefinition = taskDefinitionCacheClient.get(taskDefinitionKey);
+      String taskDefinitionKey = Keys.getTaskDefinitionKey(account, region, service.getTaskDefinition());
+      com.amazonaws.services.ecs.model.TaskDefinition taskDefinition = taskDefinitions.get(taskDefinitionKey);
       if (taskDefinition == null) {
         continue;
       }
 
-      EcsServerGroup ecsServerGroup = buildEcsServerGroup(credentials.getName(), awsRegion.getName(),
-        serviceName, service.getDesiredCount(), instances, service.getCreatedAt(),
-        service.getClusterName(), taskDefinition);
-
-      if (ecsServerGroup == null) {
+      ScalableTarget scalableTarget = scalableTargets.get(getScalableTargetKey(account, region, service.getClusterName(), serviceName));
+      if (scalableTarget == null) {
         continue;
       }
 
+      EcsServerGroup ecsServerGroup = buildEcsServerGroup(region, serviceName, service.getDesiredCount(), instances,
+        service.getCreatedAt(), service.getClusterName(), taskDefinition, scalableTarget, tasks, ec2Instances,
+        ecsCloudWatchAlarmCacheClient.getMetricAlarms(serviceName, metricAlarms));
+
       if (clusterMap.containsKey(applicationName)) {
         String escClusterName = StringUtils.substringBeforeLast(ecsServerGroup.getName(), "-");
         boolean found = false;
@@ -165,14 +195,22 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
     return clusterMap;
   }
 
-  private EcsTask convertToEcsTask(String account, String region, String serviceName, Task task) {
+  private List<Task> getServiceTasks(Map<String, List<Task>> tasksByGroup, Service service) {
+    return tasksByGroup.getOrDefault("service:" + service.getServiceName(), Collections.emptyList());
+  }
+
+  private String getScalableTargetKey(String account, String region, String ecsCluster, String serviceName) {
+    String scalableTargetId = "service/" + ecsCluster + "/" + serviceName;
+    return Keys.getScalableTargetKey(account, region, scalableTargetId);
+  }
+
+  private EcsTask convertToEcsTask(Service service, Task task, com.amazonaws.services.ec2.model.Instance ec2Instance, TaskHealth taskHealth) {
     String taskId = task.getTaskId();
     Long launchTime = task.getStartedAt();
 
-    String address = containerInformationService.getTaskPrivateAddress(account, region, task);
-    List<Map<String, String>> healthStatus = containerInformationService.getHealthStatus(taskId, serviceName, account, region);
+    String address = containerInformationService.getTaskPrivateAddress(task, ec2Instance);
+    List<Map<String, String>> healthStatus = containerInformationService.getHealthStatus(taskId, service, taskHealth);
 
-    com.amazonaws.services.ec2.model.Instance ec2Instance = containerInformationService.getEc2Instance(account, region, task);
     String availabilityZone = ec2Instance.getPlacement().getAvailabilityZone();
 
     return new EcsTask(taskId, launchTime, task.getLastStatus(), task.getDesiredStatus(), availabilityZone, healthStatus, address);
@@ -217,24 +255,20 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
       .setServerGroups(Sets.newHashSet(ecsServerGroup));
   }
 
-  private EcsServerGroup buildEcsServerGroup(String account,
-                                             String region,
+  private EcsServerGroup buildEcsServerGroup(String region,
                                              String serviceName,
                                              int desiredCount,
                                              Set<Instance> instances,
                                              long creationTime,
                                              String ecsCluster,
-                                             com.amazonaws.services.ecs.model.TaskDefinition taskDefinition) {
+                                             com.amazonaws.services.ecs.model.TaskDefinition taskDefinition,
+                                             ScalableTarget scalableTarget,
+                                             Map<String, Task> tasks,
+                                             Map<String, com.amazonaws.services.ec2.model.Instance> ec2Instances,
+                                             List<EcsMetricAlarm> metricAlarms) {
     ServerGroup.InstanceCounts instanceCounts = buildInstanceCount(instances);
     TaskDefinition ecsTaskDefinition = buildTaskDefinition(taskDefinition);
 
-    String scalableTargetId = "service/" + ecsCluster + "/" + serviceName;
-    String scalableTargetKey = Keys.getScalableTargetKey(account, region, scalableTargetId);
-    ScalableTarget scalableTarget = scalableTargetCacheClient.get(scalableTargetKey);
-    if (scalableTarget == null) {
-      return null;
-    }
-
     ServerGroup.Capacity capacity = buildServerGroupCapacity(desiredCount, scalableTarget);
 
     String vpcId = "None"; //ENI will change the way VPCs are handled.
@@ -242,9 +276,8 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
 
     if (!instances.isEmpty()) {
       String taskId = instances.iterator().next().getName();
-      String taskKey = Keys.getTaskKey(account, region, taskId);
-      Task task = taskCacheClient.get(taskKey);
-      com.amazonaws.services.ec2.model.Instance ec2Instance = containerInformationService.getEc2Instance(account, region, task);
+      Task task = tasks.get(taskId);
+      com.amazonaws.services.ec2.model.Instance ec2Instance = ec2Instances.get(task.getContainerInstanceArn());
 
       vpcId = ec2Instance.getVpcId();
       securityGroups = ec2Instance.getSecurityGroups().stream()
@@ -253,7 +286,7 @@ public class EcsServerClusterProvider implements ClusterProvider<EcsServerCluste
     }
 
 
-    Set<String> metricAlarmNames = ecsCloudWatchAlarmCacheClient.getMetricAlarms(serviceName, account, region).stream()
+    Set<String> metricAlarmNames = metricAlarms.stream()
       .map(EcsMetricAlarm::getAlarmName)
       .collect(Collectors.toSet());
 
@@ -33,10 +33,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class ContainerInformationService {
@@ -70,6 +74,14 @@ public class ContainerInformationService {
     String healthKey = Keys.getTaskHealthKey(accountName, region, taskId);
     TaskHealth taskHealth = taskHealthCacheClient.get(healthKey);
 
+    return getHealthStatus(taskId, service, taskHealth);
+  }
+
+  /**
+   * Same as getHealthStatus(taskId, serviceName, accountName, region), for a service and task health that have
+   * already been read from the cache (see getTaskHealths).
+   */
+  public List<Map<String, String>> getHealthStatus(String taskId, Service service, TaskHealth taskHealth) {
     // A bit more of a graceful return, when the results haven't been cached yet - see the TO DO above.
     if (service == null || taskHealth == null) {
       List<Map<String, String>> healthMetrics = new ArrayList<>();
@@ -121,17 +133,7 @@ public class ContainerInformationService {
   }
 
   public String getTaskPrivateAddress(String accountName, String region, Task task) {
-    if (task.getContainers().size() > 1) {
-      throw new IllegalArgumentException("Multiple containers for a task is not supported.");
-    }
-
-    int hostPort;
-    try {
-      hostPort = task.getContainers().get(0).getNetworkBindings().get(0).getHostPort();
-    } catch (Exception e) {
-      hostPort = -1;
-    }
-
+    int hostPort = getHostPort(task);
     if (hostPort < 0 || hostPort > 65535) {
       return "unknown";
     }
@@ -145,6 +147,31 @@ public class ContainerInformationService {
     return String.format("%s:%s", hostPrivateIpAddress, hostPort);
   }
 
+  /**
+   * Same as getTaskPrivateAddress(accountName, region, task), for an EC2 instance that has already been read from
+   * the cache (see getEc2Instances).
+   */
+  public String getTaskPrivateAddress(Task task, Instance instance) {
+    int hostPort = getHostPort(task);
+    if (hostPort < 0 || hostPort > 65535 || instance == null) {
+      return "unknown";
+    }
+
+    return String.format("%s:%s", instance.getPrivateIpAddress(), hostPort);
+  }
+
+  private int getHostPort(Task task) {
+    if (task.getContainers().size() > 1) {
+      throw new IllegalArgumentException("Multiple containers for a task is not supported.");
+    }
+
+    try {
+      return task.getContainers().get(0).getNetworkBindings().get(0).getHostPort();
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
   public Instance getEc2Instance(String ecsAccount, String region, Task task){
     String containerInstanceCacheKey = Keys.getContainerInstanceKey(ecsAccount, region, task.getContainerInstanceArn());
     ContainerInstance containerInstance = containerInstanceCacheClient.get(containerInstanceCacheKey);
@@ -162,6 +189,70 @@ public class ContainerInformationService {
     return instances.iterator().next();
   }
 
+  /**
+   * Reads the EC2 instances hosting the given tasks, with one cache read for their container instances and one for
+   * the EC2 instances.
+   *
+   * @return EC2 instances associated to the container instance ARN of the tasks they host.
+   */
+  public Map<String, Instance> getEc2Instances(String ecsAccount, String region, Collection<Task> tasks) {
+    Set<String> containerInstanceKeys = tasks.stream()
+      .map(Task::getContainerInstanceArn)
+      .filter(Objects::nonNull)
+      .map(containerInstanceArn -> Keys.getContainerInstanceKey(ecsAccount, region, containerInstanceArn))
+      .collect(Collectors.toSet());
+    if (containerInstanceKeys.isEmpty()) {
+      return new HashMap<>();
+    }
+
+    Collection<ContainerInstance> containerInstances = containerInstanceCacheClient.getAll(containerInstanceKeys).values();
+    Set<String> ec2InstanceIds = containerInstances.stream()
+      .map(ContainerInstance::getEc2InstanceId)
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+
+    Map<String, Instance> ec2Instances = findEc2Instances(ec2InstanceIds, getAwsAccountName(ecsAccount), region).stream()
+      .collect(Collectors.toMap(Instance::getInstanceId, Function.identity(), (first, second) -> first));
+
+    Map<String, Instance> ec2InstancesByContainerInstance = new HashMap<>();
+    for (ContainerInstance containerInstance : containerInstances) {
+      Instance instance = ec2Instances.get(containerInstance.getEc2InstanceId());
+      if (instance != null) {
+        ec2InstancesByContainerInstance.put(containerInstance.getArn(), instance);
+      }
+    }
+    return ec2InstancesByContainerInstance;
+  }
+
+  private Set<Instance> findEc2Instances(Set<String> ec2InstanceIds, String awsAccount, String region) {
+    if (awsAccount != null) {
+      return ecsInstanceCacheClient.find(ec2InstanceIds, awsAccount, region);
+    }
+
+    // Without a mapped AWS account the instance keys cannot be built, fall back to a wildcard lookup per instance.
+    return ec2InstanceIds.stream()
+      .flatMap(ec2InstanceId -> ecsInstanceCacheClient.find(ec2InstanceId, null, region).stream())
+      .collect(Collectors.toSet());
+  }
+
+  /**
+   * Reads the health of the given tasks with a single cache read.
+   *
+   * @return Task health associated to the task ID, tasks without a cached health are omitted.
+   */
+  public Map<String, TaskHealth> getTaskHealths(String accountName, String region, Collection<String> taskIds) {
+    Map<String, String> taskIdsByKey = taskIds.stream()
+      .collect(Collectors.toMap(taskId -> Keys.getTaskHealthKey(accountName, region, taskId), Function.identity(), (first, second) -> first));
+    if (taskIdsByKey.isEmpty()) {
+      return new HashMap<>();
+    }
+
+    Map<String, TaskHealth> taskHealths = new HashMap<>();
+    taskHealthCacheClient.getAll(taskIdsByKey.keySet())
+      .forEach((key, taskHealth) -> taskHealths.put(taskIdsByKey.get(key), taskHealth));
+    return taskHealths;
+  }
+
   private String getAwsAccountName(String ecsAccountName) {
     for (ECSCredentialsConfig.Account ecsAccount : ecsCredentialsConfig.getAccounts()) {
       if (ecsAccount.getName().equals(ecsAccountName)) {
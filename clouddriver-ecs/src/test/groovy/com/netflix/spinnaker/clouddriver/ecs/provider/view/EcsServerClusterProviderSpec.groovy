@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.netflix.spinnaker.cats.cache.Cache
 import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.mem.InMemoryCache
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonCredentials
 import com.netflix.spinnaker.clouddriver.ecs.cache.Keys
 import com.netflix.spinnaker.clouddriver.ecs.cache.client.*
@@ -33,12 +34,18 @@ import com.netflix.spinnaker.clouddriver.ecs.model.EcsServerGroup
 import com.netflix.spinnaker.clouddriver.ecs.model.EcsTask
 import com.netflix.spinnaker.clouddriver.ecs.provider.agent.ServiceCachingAgent
 import com.netflix.spinnaker.clouddriver.ecs.provider.agent.TaskCachingAgent
+import com.netflix.spinnaker.clouddriver.ecs.security.ECSCredentialsConfig
 import com.netflix.spinnaker.clouddriver.ecs.services.ContainerInformationService
 import com.netflix.spinnaker.clouddriver.model.ServerGroup
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import spock.lang.IgnoreIf
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.Proxy
+import java.util.concurrent.atomic.AtomicInteger
+
 class EcsServerClusterProviderSpec extends Specification {
   def cacheView = Mock(Cache)
   def objectMapper = new ObjectMapper()
@@ -149,12 +156,14 @@ class EcsServerClusterProviderSpec extends Specification {
 
     accountCredentialsProvider.getAll() >> [creds]
     ecsLoadbalancerCacheClient.find(_, _) >> [loadbalancer]
-    containerInformationService.getTaskPrivateAddress(_, _, _) >> "${ip}:1337"
-    containerInformationService.getHealthStatus(_, _, _, _) >> [healthStatus]
-    containerInformationService.getEc2Instance(_, _, _) >> ec2Instance
-    taskDefinitionCacheClient.get(_) >> taskDefinition
-    scalableTargetCacheClient.get(_) >> scalableTarget
-    ecsCloudWatchAlarmCacheClient.getMetricAlarms(_, _, _) >> []
+    containerInformationService.getTaskPrivateAddress(_, _) >> "${ip}:1337"
+    containerInformationService.getHealthStatus(_, _, _) >> [healthStatus]
+    containerInformationService.getEc2Instances(_, _, _) >> ['container-instance-arn': ec2Instance]
+    containerInformationService.getTaskHealths(_, _, _) >> [:]
+    taskDefinitionCacheClient.getAll(_ as Collection) >> { Collection<String> keys -> keys.collectEntries { [(it): taskDefinition] } }
+    scalableTargetCacheClient.getAll(_ as Collection) >> { Collection<String> keys -> keys.collectEntries { [(it): scalableTarget] } }
+    ecsCloudWatchAlarmCacheClient.getAll(_, _) >> []
+    ecsCloudWatchAlarmCacheClient.getMetricAlarms(_, _) >> []
 
     cacheView.filterIdentifiers(_, _) >> ['key']
     cacheView.getAll(Keys.Namespace.SERVICES.ns, _) >> [serviceCacheData]
@@ -167,6 +176,94 @@ class EcsServerClusterProviderSpec extends Specification {
     retrievedCluster == expectedCluster
   }
 
+  @IgnoreIf({ !System.getProperty("benchmark") })
+  def "benchmark: building clusters from a cache with thousands of tasks"() {
+    given:
+    def account = 'test'
+    def region = 'us-west-1'
+    def serviceCount = 500
+    def tasksPerService = 10
+    def hostCount = 200
+
+    def backingCache = new InMemoryCache()
+    def cacheReads = new AtomicInteger()
+    def cache = (Cache) Proxy.newProxyInstance(Cache.classLoader, [Cache] as Class[], { proxy, method, args ->
+      cacheReads.incrementAndGet()
+      method.invoke(backingCache, args)
+    } as InvocationHandler)
+
+    (1..hostCount).each { host ->
+      backingCache.merge(Keys.Namespace.CONTAINER_INSTANCES.ns, new DefaultCacheData(
+        Keys.getContainerInstanceKey(account, region, "container-instance-${host}"),
+        [containerInstanceArn: "container-instance-${host}".toString(), ec2InstanceId: "i-${host}".toString()], [:]))
+      backingCache.merge(com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES.ns, new DefaultCacheData(
+        com.netflix.spinnaker.clouddriver.aws.data.Keys.getInstanceKey("i-${host}", 'aws-test', region),
+        objectMapper.convertValue(new Instance(instanceId: "i-${host}", vpcId: 'vpc-1', placement: new Placement(availabilityZone: "${region}a")), Map), [:]))
+    }
+
+    (1..serviceCount).each { serviceIndex ->
+      def serviceName = "myapp-stack-detail-v${serviceIndex}"
+      def service = new Service(
+        serviceName: serviceName,
+        clusterArn: 'arn:aws:ecs:cluster/mycluster',
+        taskDefinition: "task-definition-${serviceIndex}",
+        deploymentConfiguration: new DeploymentConfiguration(minimumHealthyPercent: 0, maximumPercent: 100),
+        createdAt: new Date(),
+        desiredCount: tasksPerService
+      )
+      backingCache.merge(Keys.Namespace.SERVICES.ns, new DefaultCacheData(Keys.getServiceKey(account, region, serviceName),
+        ServiceCachingAgent.convertServiceToAttributes(account, region, service), [:]))
+      backingCache.merge(Keys.Namespace.TASK_DEFINITIONS.ns, new DefaultCacheData(Keys.getTaskDefinitionKey(account, region, "task-definition-${serviceIndex}"),
+        [taskDefinitionArn: "task-definition-${serviceIndex}".toString(), containerDefinitions: [[image: 'my-image', portMappings: [[containerPort: 1337]]]]], [:]))
+      backingCache.merge(Keys.Namespace.SCALABLE_TARGETS.ns, new DefaultCacheData(Keys.getScalableTargetKey(account, region, "service/mycluster/${serviceName}"),
+        [minCapacity: 1, maxCapacity: tasksPerService], [:]))
+
+      (1..tasksPerService).each { taskIndex ->
+        def taskId = "task-${serviceIndex}-${taskIndex}"
+        def task = new Task(
+          taskArn: "arn:aws:ecs:task/${taskId}",
+          clusterArn: 'arn:aws:ecs:cluster/mycluster',
+          containerInstanceArn: "container-instance-${(serviceIndex * tasksPerService + taskIndex) % hostCount + 1}",
+          group: "service:${serviceName}",
+          lastStatus: 'RUNNING',
+          desiredStatus: 'RUNNING',
+          startedAt: new Date()
+        )
+        backingCache.merge(Keys.Namespace.TASKS.ns, new DefaultCacheData(Keys.getTaskKey(account, region, taskId),
+          TaskCachingAgent.convertTaskToAttributes(task) + [containers: []], [:]))
+      }
+    }
+
+    def ecsCredentialsConfig = new ECSCredentialsConfig(accounts: [new ECSCredentialsConfig.Account(name: account, awsAccount: 'aws-test')])
+    def benchmarkTaskCacheClient = new TaskCacheClient(cache, objectMapper)
+    def benchmarkServiceCacheClient = new ServiceCacheClient(cache, objectMapper)
+    def benchmarkProvider = new EcsServerClusterProvider(accountCredentialsProvider,
+      new ContainerInformationService(ecsCredentialsConfig, benchmarkTaskCacheClient, benchmarkServiceCacheClient,
+        new TaskHealthCacheClient(cache), new EcsInstanceCacheClient(cache, objectMapper), new ContainerInstanceCacheClient(cache)),
+      benchmarkTaskCacheClient,
+      benchmarkServiceCacheClient,
+      new ScalableTargetCacheClient(cache, objectMapper),
+      new EcsLoadbalancerCacheClient(cache, objectMapper),
+      new TaskDefinitionCacheClient(cache, objectMapper),
+      new EcsCloudWatchAlarmCacheClient(cache))
+
+    def creds = Mock(AmazonCredentials)
+    creds.getCloudProvider() >> 'ecs'
+    creds.getName() >> account
+    creds.getRegions() >> [new AmazonCredentials.AWSRegion(region, ["${region}a".toString()])]
+    accountCredentialsProvider.getAll() >> [creds]
+
+    when:
+    def start = System.nanoTime()
+    def clusters = benchmarkProvider.getClusterDetails('myapp')
+    def elapsedMillis = (System.nanoTime() - start) / 1e6d
+
+    then:
+    println "Built ${serviceCount} server groups with ${serviceCount * tasksPerService} tasks in " +
+      "${String.format('%.1f', elapsedMillis)}ms with ${cacheReads.get()} cache reads"
+    clusters['myapp']*.serverGroups.flatten().size() == serviceCount
+  }
+
   def makeEcsServerGroup(String serviceName, String region, long startTime, String taskId, Map healthStatus, String ip) {
     new EcsServerGroup(
       name: serviceName,
@@ -460,6 +460,64 @@ class ContainerInformationServiceSpec extends Specification {
     exception.message == 'There cannot be more than 1 EC2 container instance for a given region and instance ID.'
   }
 
+  def 'should return the ec2 instances of multiple tasks with one read per type'() {
+    given:
+    def tasks = [
+      new Task(containerInstanceArn: 'container-instance-arn-1'),
+      new Task(containerInstanceArn: 'container-instance-arn-1'),
+      new Task(containerInstanceArn: 'container-instance-arn-2'),
+      new Task(containerInstanceArn: 'container-instance-arn-3')
+    ]
+    def ecsAccount = new ECSCredentialsConfig.Account(
+      name: 'ecs-account',
+      awsAccount: 'aws-test-account'
+    )
+    def instance1 = new Instance(instanceId: 'i-deadbee1')
+    def instance2 = new Instance(instanceId: 'i-deadbee2')
+
+    ecsCredentialsConfig.getAccounts() >> [ecsAccount]
+
+    when:
+    def retrievedInstances = service.getEc2Instances('ecs-account', 'us-west-1', tasks)
+
+    then:
+    1 * containerInstanceCacheClient.getAll({ it.size() == 3 }) >> [
+      'key-1': new ContainerInstance(arn: 'container-instance-arn-1', ec2InstanceId: 'i-deadbee1'),
+      'key-2': new ContainerInstance(arn: 'container-instance-arn-2', ec2InstanceId: 'i-deadbee2'),
+      'key-3': new ContainerInstance(arn: 'container-instance-arn-3', ec2InstanceId: 'i-deadbee3')
+    ]
+    1 * ecsInstanceCacheClient.find(['i-deadbee1', 'i-deadbee2', 'i-deadbee3'] as Set, 'aws-test-account', 'us-west-1') >> [instance1, instance2]
+    0 * containerInstanceCacheClient.get(_)
+    retrievedInstances == ['container-instance-arn-1': instance1, 'container-instance-arn-2': instance2]
+  }
+
+  def 'should look up the ec2 instances of multiple tasks by wildcard when no aws account is mapped'() {
+    given:
+    def tasks = [
+      new Task(containerInstanceArn: 'container-instance-arn-1'),
+      new Task(containerInstanceArn: 'container-instance-arn-2')
+    ]
+    def ecsAccount = new ECSCredentialsConfig.Account(
+      name: 'ecs-account'
+    )
+    def instance1 = new Instance(instanceId: 'i-deadbee1')
+
+    ecsCredentialsConfig.getAccounts() >> [ecsAccount]
+
+    when:
+    def retrievedInstances = service.getEc2Instances('ecs-account', 'us-west-1', tasks)
+
+    then:
+    1 * containerInstanceCacheClient.getAll({ it.size() == 2 }) >> [
+      'key-1': new ContainerInstance(arn: 'container-instance-arn-1', ec2InstanceId: 'i-deadbee1'),
+      'key-2': new ContainerInstance(arn: 'container-instance-arn-2', ec2InstanceId: 'i-deadbee2')
+    ]
+    1 * ecsInstanceCacheClient.find('i-deadbee1', null, 'us-west-1') >> [instance1]
+    1 * ecsInstanceCacheClient.find('i-deadbee2', null, 'us-west-1') >> []
+    0 * ecsInstanceCacheClient.find(_ as Collection, _, _)
+    retrievedInstances == ['container-instance-arn-1': instance1]
+  }
+
   def 'should return an aws account name'(){
     given:
     def ecsAccount = new ECSCredentialsConfig.Account(
@@ -19,6 +19,7 @@ package com.netflix.spinnaker.clouddriver.ecs.provider.agent;
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.services.ecs.AmazonECS;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.spectator.api.NoopRegistry;
 import com.netflix.spectator.api.Registry;
 import com.netflix.spinnaker.cats.provider.ProviderCache;
 import com.netflix.spinnaker.clouddriver.aws.security.AmazonClientProvider;
@@ -65,7 +66,7 @@ public class CommonCachingAgent {
   static final AmazonClientProvider clientProvider = mock(AmazonClientProvider.class);
   final ProviderCache providerCache = mock(ProviderCache.class);
   final AWSCredentialsProvider credentialsProvider = mock(AWSCredentialsProvider.class);
-  final Registry registry = mock(Registry.class);
+  final Registry registry = new NoopRegistry();
   ObjectMapper mapper = new ObjectMapper();
 
   @BeforeClass
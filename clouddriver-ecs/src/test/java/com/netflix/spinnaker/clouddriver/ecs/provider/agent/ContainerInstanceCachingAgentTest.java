@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.clouddriver.ecs.provider.agent;
 
+import com.amazonaws.services.ecs.AmazonECS;
 import com.amazonaws.services.ecs.model.ContainerInstance;
 import com.amazonaws.services.ecs.model.DescribeContainerInstancesRequest;
 import com.amazonaws.services.ecs.model.DescribeContainerInstancesResult;
@@ -23,20 +24,28 @@ import com.amazonaws.services.ecs.model.ListClustersRequest;
 import com.amazonaws.services.ecs.model.ListClustersResult;
 import com.amazonaws.services.ecs.model.ListContainerInstancesRequest;
 import com.amazonaws.services.ecs.model.ListContainerInstancesResult;
+import com.netflix.spinnaker.cats.agent.CacheResult;
 import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.DefaultCacheData;
+import com.netflix.spinnaker.clouddriver.ecs.cache.Keys;
 import org.junit.Test;
 import spock.lang.Subject;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.netflix.spinnaker.clouddriver.ecs.cache.Keys.Namespace.CONTAINER_INSTANCES;
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 
@@ -104,4 +113,39 @@ public class ContainerInstanceCachingAgentTest extends CommonCachingAgent {
       assertTrue("Expected the EC2 instance ID to be in the " + ec2Ids + " list, but was not. The given arn is " + attributes.get("ec2InstanceId"), ec2Ids.contains(attributes.get("ec2InstanceId")));
     }
   }
+
+  @Test
+  public void shouldKeepContainerInstancesOfClustersThatFailedToLoad() {
+    //Given
+    AmazonECS clusterEcs = mock(AmazonECS.class);
+    String freshKey = Keys.getContainerInstanceKey(ACCOUNT, REGION, CONTAINER_INSTANCE_ARN_1);
+    String failedClusterKey = Keys.getContainerInstanceKey(ACCOUNT, REGION, CONTAINER_INSTANCE_ARN_2);
+    String unattributedKey = Keys.getContainerInstanceKey(ACCOUNT, REGION, CONTAINER_INSTANCE_ARN_1 + "-unattributed");
+
+    when(clusterEcs.listClusters(any(ListClustersRequest.class))).thenReturn(new ListClustersResult().withClusterArns(CLUSTER_ARN_1, CLUSTER_ARN_2));
+    when(clusterEcs.listContainerInstances(any(ListContainerInstancesRequest.class))).thenAnswer(invocation -> {
+      ListContainerInstancesRequest request = (ListContainerInstancesRequest) invocation.getArguments()[0];
+      if (request.getCluster().equals(CLUSTER_ARN_2)) {
+        throw new IllegalStateException("Rate exceeded");
+      }
+      return new ListContainerInstancesResult().withContainerInstanceArns(CONTAINER_INSTANCE_ARN_1);
+    });
+    when(clusterEcs.describeContainerInstances(any(DescribeContainerInstancesRequest.class))).thenReturn(new DescribeContainerInstancesResult()
+      .withContainerInstances(new ContainerInstance().withContainerInstanceArn(CONTAINER_INSTANCE_ARN_1).withEc2InstanceId(EC2_INSTANCE_ID_1)));
+
+    when(providerCache.getAll(CONTAINER_INSTANCES.toString())).thenReturn(Arrays.asList(
+      new DefaultCacheData(failedClusterKey, Collections.singletonMap("clusterArn", CLUSTER_ARN_2), Collections.emptyMap()),
+      new DefaultCacheData(unattributedKey, Collections.emptyMap(), Collections.emptyMap())
+    ));
+
+    //When
+    CacheResult cacheResult = agent.buildCacheResult(CONTAINER_INSTANCES.toString(), agent.getClusterItems(clusterEcs, providerCache), providerCache);
+
+    //Then
+    Map<String, CacheData> cached = cacheResult.getCacheResults().get(CONTAINER_INSTANCES.toString()).stream()
+      .collect(Collectors.toMap(CacheData::getId, cacheData -> cacheData));
+    assertEquals(new HashSet<>(Arrays.asList(freshKey, failedClusterKey)), cached.keySet());
+    assertEquals(CLUSTER_ARN_1, cached.get(freshKey).getAttributes().get("clusterArn"));
+    assertEquals(Collections.singleton(unattributedKey), new HashSet<>(cacheResult.getEvictions().get(CONTAINER_INSTANCES.toString())));
+  }
 }
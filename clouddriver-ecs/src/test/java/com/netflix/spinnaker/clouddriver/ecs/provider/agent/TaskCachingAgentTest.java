@@ -16,6 +16,7 @@
 
 package com.netflix.spinnaker.clouddriver.ecs.provider.agent;
 
+import com.amazonaws.services.ecs.AmazonECS;
 import com.amazonaws.services.ecs.model.DescribeTasksRequest;
 import com.amazonaws.services.ecs.model.DescribeTasksResult;
 import com.amazonaws.services.ecs.model.ListClustersRequest;
@@ -23,11 +24,14 @@ import com.amazonaws.services.ecs.model.ListClustersResult;
 import com.amazonaws.services.ecs.model.ListTasksRequest;
 import com.amazonaws.services.ecs.model.ListTasksResult;
 import com.amazonaws.services.ecs.model.Task;
+import com.netflix.spinnaker.cats.agent.CacheResult;
 import com.netflix.spinnaker.cats.cache.CacheData;
+import com.netflix.spinnaker.cats.cache.DefaultCacheData;
 import com.netflix.spinnaker.clouddriver.ecs.cache.Keys;
 import org.junit.Test;
 import spock.lang.Subject;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -36,11 +40,18 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.netflix.spinnaker.clouddriver.ecs.cache.Keys.Namespace.ECS_CLUSTERS;
 import static com.netflix.spinnaker.clouddriver.ecs.cache.Keys.Namespace.TASKS;
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 
@@ -113,4 +124,105 @@ public class TaskCachingAgentTest extends CommonCachingAgent {
       assertTrue("Expected the task ARN to be one of the following ARNs: " + taskArns.toString() + ". The task ARN is: " + cacheData.getAttributes().get("taskArn") + ".", taskArns.contains(cacheData.getAttributes().get("taskArn")));
     }
   }
+
+  @Test
+  public void shouldLoadClustersConcurrently() throws InterruptedException {
+    //Given
+    AmazonECS clusterEcs = mock(AmazonECS.class);
+    ExecutorService clusterPool = Executors.newFixedThreadPool(2);
+    TaskCachingAgent concurrentAgent = new TaskCachingAgent(ACCOUNT, REGION, clientProvider, credentialsProvider, registry, clusterPool, 5000);
+
+    // Each cluster only completes once both clusters are being loaded.
+    CountDownLatch clustersLoading = new CountDownLatch(2);
+    when(clusterEcs.listClusters(any(ListClustersRequest.class))).thenReturn(new ListClustersResult().withClusterArns(CLUSTER_ARN_1, CLUSTER_ARN_2));
+    when(clusterEcs.listTasks(any(ListTasksRequest.class))).thenAnswer(invocation -> {
+      clustersLoading.countDown();
+      clustersLoading.await(5, TimeUnit.SECONDS);
+      ListTasksRequest request = (ListTasksRequest) invocation.getArguments()[0];
+      return new ListTasksResult().withTaskArns(request.getCluster() + "-task");
+    });
+    when(clusterEcs.describeTasks(any(DescribeTasksRequest.class))).thenAnswer(invocation -> {
+      DescribeTasksRequest request = (DescribeTasksRequest) invocation.getArguments()[0];
+      return new DescribeTasksResult().withTasks(new Task().withClusterArn(request.getCluster()).withTaskArn(request.getTasks().get(0)));
+    });
+
+    try {
+      //When
+      ClusterItems<Task> clusterItems = concurrentAgent.getClusterItems(clusterEcs, providerCache);
+
+      //Then
+      Set<String> clusterArns = clusterItems.getItems().stream().map(Task::getClusterArn).collect(Collectors.toSet());
+      assertEquals(new HashSet<>(Arrays.asList(CLUSTER_ARN_1, CLUSTER_ARN_2)), clusterArns);
+      assertTrue("Expected no failed clusters, but got " + clusterItems.getFailedClusters(), clusterItems.getFailedClusters().isEmpty());
+    } finally {
+      clusterPool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldKeepTasksOfClustersThatFailedToLoad() {
+    //Given
+    AmazonECS clusterEcs = mock(AmazonECS.class);
+    String freshTaskArn = CLUSTER_ARN_1 + "-fresh";
+    String staleTaskKey = Keys.getTaskKey(ACCOUNT, REGION, "stale");
+    String failedClusterTaskKey = Keys.getTaskKey(ACCOUNT, REGION, "failed-cluster-task");
+
+    when(clusterEcs.listClusters(any(ListClustersRequest.class))).thenReturn(new ListClustersResult().withClusterArns(CLUSTER_ARN_1, CLUSTER_ARN_2));
+    when(clusterEcs.listTasks(any(ListTasksRequest.class))).thenAnswer(invocation -> {
+      ListTasksRequest request = (ListTasksRequest) invocation.getArguments()[0];
+      if (request.getCluster().equals(CLUSTER_ARN_2)) {
+        throw new IllegalStateException("Rate exceeded");
+      }
+      return new ListTasksResult().withTaskArns(freshTaskArn);
+    });
+    when(clusterEcs.describeTasks(any(DescribeTasksRequest.class))).thenReturn(new DescribeTasksResult().withTasks(
+      new Task().withClusterArn(CLUSTER_ARN_1)
+        .withTaskArn(freshTaskArn)
+        .withContainers(Collections.emptyList())
+        .withStartedAt(new Date())));
+
+    when(providerCache.getAll(TASKS.toString())).thenReturn(Arrays.asList(
+      new DefaultCacheData(staleTaskKey, Collections.singletonMap("clusterArn", CLUSTER_ARN_1), Collections.emptyMap()),
+      new DefaultCacheData(failedClusterTaskKey, Collections.singletonMap("clusterArn", CLUSTER_ARN_2), Collections.emptyMap())
+    ));
+
+    //When
+    CacheResult cacheResult = agent.buildCacheResult(TASKS.toString(), agent.getClusterItems(clusterEcs, providerCache), providerCache);
+
+    //Then
+    Set<String> cachedKeys = cacheResult.getCacheResults().get(TASKS.toString()).stream().map(CacheData::getId).collect(Collectors.toSet());
+    assertEquals(new HashSet<>(Arrays.asList(Keys.getTaskKey(ACCOUNT, REGION, CLUSTER_NAME_1 + "-fresh"), failedClusterTaskKey)), cachedKeys);
+    assertEquals(Collections.singleton(staleTaskKey), new HashSet<>(cacheResult.getEvictions().get(TASKS.toString())));
+  }
+
+  @Test
+  public void shouldNotCountTimeQueuedForThePoolAgainstTheClusterTimeout() {
+    //Given
+    AmazonECS clusterEcs = mock(AmazonECS.class);
+    ExecutorService clusterPool = Executors.newFixedThreadPool(1);
+    // The second cluster waits for the first one to finish, so it completes after longer than the timeout from submission.
+    TaskCachingAgent queuedAgent = new TaskCachingAgent(ACCOUNT, REGION, clientProvider, credentialsProvider, registry, clusterPool, 1000);
+
+    when(clusterEcs.listClusters(any(ListClustersRequest.class))).thenReturn(new ListClustersResult().withClusterArns(CLUSTER_ARN_1, CLUSTER_ARN_2));
+    when(clusterEcs.listTasks(any(ListTasksRequest.class))).thenAnswer(invocation -> {
+      Thread.sleep(600);
+      ListTasksRequest request = (ListTasksRequest) invocation.getArguments()[0];
+      return new ListTasksResult().withTaskArns(request.getCluster() + "-task");
+    });
+    when(clusterEcs.describeTasks(any(DescribeTasksRequest.class))).thenAnswer(invocation -> {
+      DescribeTasksRequest request = (DescribeTasksRequest) invocation.getArguments()[0];
+      return new DescribeTasksResult().withTasks(new Task().withClusterArn(request.getCluster()).withTaskArn(request.getTasks().get(0)));
+    });
+
+    try {
+      //When
+      ClusterItems<Task> clusterItems = queuedAgent.getClusterItems(clusterEcs, providerCache);
+
+      //Then
+      assertTrue("Expected no failed clusters, but got " + clusterItems.getFailedClusters(), clusterItems.getFailedClusters().isEmpty());
+      assertEquals(new HashSet<>(Arrays.asList(CLUSTER_ARN_1, CLUSTER_ARN_2)), clusterItems.getItemsByCluster().keySet());
+    } finally {
+      clusterPool.shutdownNow();
+    }
+  }
 }
@@ -32,6 +32,7 @@ import org.springframework.context.annotation.ComponentScan
 import org.springframework.context.annotation.Configuration
 import org.springframework.context.annotation.Scope
 
+import java.util.concurrent.TimeUnit
 import java.util.regex.Pattern
 
 @Configuration
@@ -56,7 +57,8 @@ class EurekaProviderConfiguration {
       accountConfig.regions.each { region ->
         String eurekaHost = accountConfig.readOnlyUrl.replaceAll(Pattern.quote('{{region}}'), region)
         boolean multipleEurekaPerAcc = eurekaAccountConfigurationProperties.allowMultipleEurekaPerAccount ?: false
-        agents << new EurekaCachingAgent(eurekaApiFactory.createApi(eurekaHost), region, objectMapper, eurekaHost, multipleEurekaPerAcc, accountConfig.name, eurekaAwareProviderList)
+        agents << new EurekaCachingAgent(eurekaApiFactory.createApi(eurekaHost), region, objectMapper, eurekaHost, multipleEurekaPerAcc, accountConfig.name, eurekaAwareProviderList,
+          TimeUnit.SECONDS.toMillis(eurekaAccountConfigurationProperties.fullSyncIntervalSeconds))
       }
     }
     EurekaCachingProvider eurekaCachingProvider = new EurekaCachingProvider(agents)
@@ -25,4 +25,12 @@ interface EurekaApi {
   @GET('/apps')
   @Headers(['Accept: application/json'])
   EurekaApplications loadEurekaApplications()
+
+  /**
+   * Instances added, modified or deleted (see EurekaInstance.actionType) in Eureka's recent change window, along with
+   * the hash code of the full registry once they are applied.
+   */
+  @GET('/apps/delta')
+  @Headers(['Accept: application/json'])
+  EurekaApplications loadEurekaApplicationsDelta()
 }
@@ -57,6 +57,11 @@ class EurekaInstance extends DiscoveryHealth {
   String titusTaskId
   String titusStack
 
+  /**
+   * ADDED, MODIFIED or DELETED for instances of a registry delta, null otherwise.
+   */
+  String actionType
+
   @JsonCreator
   public static EurekaInstance buildInstance(@JsonProperty('hostName') String hostName,
                                              @JsonProperty('app') String app,
@@ -71,7 +76,8 @@ class EurekaInstance extends DiscoveryHealth {
                                              @JsonProperty('lastUpdatedTimestamp') long lastUpdatedTimestamp,
                                              @JsonProperty('asgName') String asgName,
                                              @JsonProperty('metadata') Metadata metadata,
-                                             @JsonProperty('instanceId') String registrationInstanceId) {
+                                             @JsonProperty('instanceId') String registrationInstanceId,
+                                             @JsonProperty('actionType') String actionType) {
     def meta = dataCenterInfo.metadata
     final HealthState healthState
     if ('UP' == status) {
@@ -116,7 +122,8 @@ class EurekaInstance extends DiscoveryHealth {
       lastUpdatedTimestamp,
       asgName,
       metadata?.titusTaskId,
-      metadata?.titusStack)
+      metadata?.titusStack,
+      actionType)
   }
 }
 
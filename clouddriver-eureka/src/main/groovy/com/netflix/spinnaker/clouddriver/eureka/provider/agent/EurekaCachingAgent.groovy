@@ -32,9 +32,18 @@ import com.netflix.spinnaker.clouddriver.eureka.model.EurekaApplications
 import com.netflix.spinnaker.clouddriver.eureka.model.EurekaInstance
 import groovy.util.logging.Slf4j
 
+import java.time.Clock
+
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
 import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.INSTANCES
 
+/**
+ * Caches the health of the instances registered with a Eureka server.
+ *
+ * The agent keeps a snapshot of the registry: it is replaced by a full fetch every fullSyncIntervalMillis and updated
+ * from the registry delta in between. A delta is only trusted if the snapshot it yields matches the hash code Eureka
+ * reports for its registry, a full sync is done otherwise. Health records are only rebuilt for instances that changed.
+ */
 @Slf4j
 class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent {
 
@@ -44,11 +53,23 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent {
   private final String eurekaHost
   private final String eurekaAccountName
   private final boolean allowMultipleEurekaPerAccount
+  private final long fullSyncIntervalMillis
+  private final Clock clock
   final String healthId = "Discovery"
 
   private List<EurekaAwareProvider> eurekaAwareProviderList
 
+  // registry snapshot and the health records built from it, keyed by registry id (see registryId)
+  private Map<String, EurekaInstance> registry
+  private Map<String, Collection<CacheData>> healthCacheData
+  private long lastFullSync
+
   EurekaCachingAgent(EurekaApi eurekaApi, String region, ObjectMapper objectMapper, eurekaHost, allowMultipleEurekaPerAccount, eurekaAccountName, eurekaAwareProviderList) {
+    this(eurekaApi, region, objectMapper, eurekaHost, allowMultipleEurekaPerAccount, eurekaAccountName, eurekaAwareProviderList, 0)
+  }
+
+  EurekaCachingAgent(EurekaApi eurekaApi, String region, ObjectMapper objectMapper, eurekaHost, allowMultipleEurekaPerAccount, eurekaAccountName, eurekaAwareProviderList,
+                     long fullSyncIntervalMillis, Clock clock = Clock.systemDefaultZone()) {
     this.region = region
     this.eurekaApi = eurekaApi
     this.objectMapper = objectMapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
@@ -56,6 +77,8 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent {
     this.allowMultipleEurekaPerAccount = allowMultipleEurekaPerAccount
     this.eurekaAccountName = eurekaAccountName
     this.eurekaAwareProviderList = eurekaAwareProviderList
+    this.fullSyncIntervalMillis = fullSyncIntervalMillis
+    this.clock = clock
   }
 
   @Override
@@ -74,35 +97,119 @@ class EurekaCachingAgent implements CachingAgent, HealthProvidingCachingAgent {
   }
 
   @Override
-  CacheResult loadData(ProviderCache providerCache) {
+  synchronized CacheResult loadData(ProviderCache providerCache) {
     log.info("Describing items in ${agentType}")
+    if (!syncDelta()) {
+      syncFull()
+    }
+
+    // HEALTH is authoritative, so every record is part of the result: the records of unchanged instances are the
+    // same objects as in the previous result, and the cache skips writing records whose contents did not change.
+    Collection<CacheData> eurekaCacheData = new ArrayList<CacheData>()
+    healthCacheData.values().each { eurekaCacheData.addAll(it) }
+
+    log.info("Caching ${eurekaCacheData.size()} items in ${agentType}")
+    new DefaultCacheResult(
+      (INSTANCES.ns): new LinkedList<CacheData>(),
+      (HEALTH.ns): eurekaCacheData)
+  }
+
+  private void syncFull() {
     EurekaApplications disco = eurekaApi.loadEurekaApplications()
 
+    Map<String, EurekaInstance> registry = [:]
+    Map<String, Collection<CacheData>> healthCacheData = [:]
+    eachInstance(disco) { EurekaInstance instance ->
+      String id = registryId(instance)
+      registry[id] = instance
+      healthCacheData[id] = buildHealthCacheData(instance)
+    }
+
+    this.registry = registry
+    this.healthCacheData = healthCacheData
+    this.lastFullSync = clock.millis()
+  }
+
+  /**
+   * @return false if the snapshot could not be brought up to date from the registry delta, and needs a full sync
+   */
+  private boolean syncDelta() {
+    if (registry == null || clock.millis() - lastFullSync >= fullSyncIntervalMillis) {
+      return false
+    }
+
+    EurekaApplications delta
+    try {
+      delta = eurekaApi.loadEurekaApplicationsDelta()
+    } catch (Exception e) {
+      log.warn("Failed to load the registry delta in ${agentType}, falling back to a full sync", e)
+      return false
+    }
+
+    int changes = 0
+    eachInstance(delta) { EurekaInstance instance ->
+      String id = registryId(instance)
+      if (instance.actionType == 'DELETED') {
+        registry.remove(id)
+        healthCacheData.remove(id)
+      } else {
+        registry[id] = instance
+        healthCacheData[id] = buildHealthCacheData(instance)
+      }
+      changes++
+    }
+
+    String hashCode = reconcileHashCode(registry.values())
+    if (delta.appsHashCode != hashCode) {
+      log.info("Registry hash code ${hashCode} does not match ${delta.appsHashCode} after applying the delta in ${agentType}, falling back to a full sync")
+      return false
+    }
+
+    log.info("Applied ${changes} registry changes in ${agentType}")
+    return true
+  }
+
+  private Collection<CacheData> buildHealthCacheData(EurekaInstance instance) {
     Collection<CacheData> eurekaCacheData = new LinkedList<CacheData>()
-    Collection<CacheData> instanceCacheData = new LinkedList<CacheData>()
-
-    for (EurekaApplication application : disco.applications) {
-      for (EurekaInstance instance : application.instances) {
-        if (instance.instanceId) {
-          Map<String, Object> attributes = objectMapper.convertValue(instance, ATTRIBUTES)
-          attributes.eurekaAccountName = eurekaAccountName
-          attributes.allowMultipleEurekaPerAccount = allowMultipleEurekaPerAccount
-          eurekaAwareProviderList.each { provider ->
-            if (provider.isProviderForEurekaRecord(attributes)) {
-              String instanceKey = provider.getInstanceKey(attributes, region)
-              if (instanceKey) {
-                String instanceHealthKey = provider.getInstanceHealthKey(attributes, region, healthId)
-                Map<String, Collection<String>> relationships = [(INSTANCES.ns): [instanceKey]]
-                eurekaCacheData.add(new DefaultCacheData(instanceHealthKey, attributes, relationships))
-              }
-            }
+    if (instance.instanceId) {
+      Map<String, Object> attributes = objectMapper.convertValue(instance, ATTRIBUTES)
+      attributes.remove('actionType')
+      attributes.eurekaAccountName = eurekaAccountName
+      attributes.allowMultipleEurekaPerAccount = allowMultipleEurekaPerAccount
+      eurekaAwareProviderList.each { provider ->
+        if (provider.isProviderForEurekaRecord(attributes)) {
+          String instanceKey = provider.getInstanceKey(attributes, region)
+          if (instanceKey) {
+            String instanceHealthKey = provider.getInstanceHealthKey(attributes, region, healthId)
+            Map<String, Collection<String>> relationships = [(INSTANCES.ns): [instanceKey]]
+            eurekaCacheData.add(new DefaultCacheData(instanceHealthKey, attributes, relationships))
           }
         }
       }
     }
-    log.info("Caching ${eurekaCacheData.size()} items in ${agentType}")
-    new DefaultCacheResult(
-      (INSTANCES.ns): instanceCacheData,
-      (HEALTH.ns): eurekaCacheData)
+    return eurekaCacheData
+  }
+
+  private static void eachInstance(EurekaApplications applications, Closure closure) {
+    for (EurekaApplication application : applications?.applications ?: []) {
+      for (EurekaInstance instance : application.instances ?: []) {
+        closure.call(instance)
+      }
+    }
+  }
+
+  private static String registryId(EurekaInstance instance) {
+    "${instance.application}:${instance.instanceId ?: instance.hostName}"
+  }
+
+  /**
+   * Eureka's reconciliation hash code: the number of instances per status, ordered by status, e.g. "DOWN_1_UP_12_".
+   */
+  static String reconcileHashCode(Collection<EurekaInstance> instances) {
+    Map<String, Integer> countsByStatus = new TreeMap<String, Integer>()
+    for (EurekaInstance instance : instances) {
+      countsByStatus[instance.status] = (countsByStatus[instance.status] ?: 0) + 1
+    }
+    countsByStatus.collect { status, count -> "${status}_${count}_" }.join('')
   }
 }
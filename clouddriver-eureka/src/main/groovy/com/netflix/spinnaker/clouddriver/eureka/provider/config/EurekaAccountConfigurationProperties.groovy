@@ -29,4 +29,9 @@ class EurekaAccountConfigurationProperties {
   }
   List<EurekaAccount> accounts = []
   boolean allowMultipleEurekaPerAccount
+
+  /**
+   * Between full syncs, the caching agents only fetch the registry delta. A value of 0 disables deltas.
+   */
+  long fullSyncIntervalSeconds = 300
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.eureka.provider.agent
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.clouddriver.eureka.api.EurekaApi
+import com.netflix.spinnaker.clouddriver.eureka.model.EurekaApplication
+import com.netflix.spinnaker.clouddriver.eureka.model.EurekaApplications
+import com.netflix.spinnaker.clouddriver.eureka.model.EurekaInstance
+import spock.lang.Specification
+
+import java.time.Clock
+
+import static com.netflix.spinnaker.clouddriver.core.provider.agent.Namespace.HEALTH
+
+class EurekaCachingAgentSpec extends Specification {
+
+  def eurekaApi = Mock(EurekaApi)
+  def providerCache = Mock(ProviderCache)
+  long now = 0
+  def clock = Stub(Clock) {
+    millis() >> { now }
+  }
+  def eurekaAwareProvider = Stub(EurekaAwareProvider) {
+    isProviderForEurekaRecord(_) >> true
+    getInstanceKey(_, _) >> { Map attributes, String region -> "instances:${attributes.instanceId}".toString() }
+    getInstanceHealthKey(_, _, _) >> { Map attributes, String region, String healthId -> "health:${attributes.instanceId}".toString() }
+  }
+
+  def agent = new EurekaCachingAgent(eurekaApi, 'us-east-1', new ObjectMapper(), 'http://eureka', false, 'test', [eurekaAwareProvider], 60000, clock)
+
+  def "should apply registry deltas between full syncs"() {
+    given:
+    def full = applications(null, instance('i-1', 'UP'), instance('i-2', 'UP'), instance('i-3', 'UP'))
+
+    when:
+    def result = agent.loadData(providerCache)
+
+    then:
+    1 * eurekaApi.loadEurekaApplications() >> full
+    0 * eurekaApi.loadEurekaApplicationsDelta()
+    status(result) == ['health:i-1': 'UP', 'health:i-2': 'UP', 'health:i-3': 'UP']
+
+    when:
+    now = 30000
+    def unchanged = result.cacheResults[HEALTH.ns].find { it.id == 'health:i-1' }
+    def delta = applications('DOWN_1_UP_2_',
+      instance('i-2', 'DOWN', 'MODIFIED'), instance('i-3', 'UP', 'DELETED'), instance('i-4', 'UP', 'ADDED'))
+    result = agent.loadData(providerCache)
+
+    then:
+    1 * eurekaApi.loadEurekaApplicationsDelta() >> delta
+    0 * eurekaApi.loadEurekaApplications()
+    status(result) == ['health:i-1': 'UP', 'health:i-2': 'DOWN', 'health:i-4': 'UP']
+    result.cacheResults[HEALTH.ns].find { it.id == 'health:i-1' }.is(unchanged)
+    !result.cacheResults[HEALTH.ns].any { it.attributes.containsKey('actionType') }
+  }
+
+  def "should fall back to a full sync when the delta does not reconcile with the registry hash code"() {
+    given:
+    eurekaApi.loadEurekaApplications() >> applications(null, instance('i-1', 'UP'))
+    agent.loadData(providerCache)
+
+    when:
+    def result = agent.loadData(providerCache)
+
+    then:
+    1 * eurekaApi.loadEurekaApplicationsDelta() >> applications('DOWN_1_UP_1_', instance('i-2', 'UP', 'ADDED'))
+    1 * eurekaApi.loadEurekaApplications() >> applications(null, instance('i-1', 'DOWN'), instance('i-2', 'UP'))
+    status(result) == ['health:i-1': 'DOWN', 'health:i-2': 'UP']
+  }
+
+  def "should do a full sync once the full sync interval has elapsed"() {
+    given:
+    eurekaApi.loadEurekaApplications() >> applications(null, instance('i-1', 'UP'))
+    agent.loadData(providerCache)
+
+    when:
+    now = 60000
+    agent.loadData(providerCache)
+
+    then:
+    0 * eurekaApi.loadEurekaApplicationsDelta()
+    1 * eurekaApi.loadEurekaApplications() >> applications(null, instance('i-1', 'UP'))
+  }
+
+  def "should compute the reconciliation hash code from the status counts"() {
+    expect:
+    EurekaCachingAgent.reconcileHashCode([instance('i-1', 'UP'), instance('i-2', 'DOWN'), instance('i-3', 'UP')]) == 'DOWN_1_UP_2_'
+    EurekaCachingAgent.reconcileHashCode([]) == ''
+  }
+
+  private static EurekaApplications applications(String appsHashCode, EurekaInstance... instances) {
+    new EurekaApplications(appsHashCode: appsHashCode, applications: [new EurekaApplication(name: 'APP', instances: instances as List)])
+  }
+
+  private static EurekaInstance instance(String instanceId, String status, String actionType = null) {
+    new EurekaInstance(application: 'APP', hostName: "${instanceId}.host".toString(), instanceId: instanceId, status: status, actionType: actionType)
+  }
+
+  private static Map<String, String> status(result) {
+    result.cacheResults[HEALTH.ns].collectEntries { [(it.id): it.attributes.status] }
+  }
+}
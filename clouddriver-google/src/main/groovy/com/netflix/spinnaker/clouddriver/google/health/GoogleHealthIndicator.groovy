@@ -17,70 +17,41 @@
 package com.netflix.spinnaker.clouddriver.google.health
 
 import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.google.GoogleCloudProvider
 import com.netflix.spinnaker.clouddriver.google.GoogleExecutorTraits
-import com.netflix.spinnaker.clouddriver.google.security.GoogleCredentials
 import com.netflix.spinnaker.clouddriver.google.security.GoogleNamedAccountCredentials
-import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
 import groovy.transform.InheritConstructors
-import org.slf4j.Logger
-import org.slf4j.LoggerFactory
 import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
 import org.springframework.web.bind.annotation.ResponseStatus
 
-import java.util.concurrent.atomic.AtomicReference
-
 @Component
-class GoogleHealthIndicator implements HealthIndicator, GoogleExecutorTraits {
-
-  private static final Logger LOG = LoggerFactory.getLogger(GoogleHealthIndicator)
+class GoogleHealthIndicator extends AbstractAccountHealthIndicator<GoogleNamedAccountCredentials> implements GoogleExecutorTraits {
 
   @Autowired
   Registry registry
 
-  @Autowired
-  AccountCredentialsProvider accountCredentialsProvider
-
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
-
-  @Override
-  Health health() {
-    def ex = lastException.get()
-
-    if (ex) {
-      throw ex
-    }
-
-    new Health.Builder().up().build()
+  GoogleHealthIndicator() {
+    super(GoogleCloudProvider.ID, GoogleNamedAccountCredentials)
   }
 
   @Scheduled(fixedDelay = 300000L)
   void checkHealth() {
-    try {
-      Set<GoogleNamedAccountCredentials> googleCredentialsSet = accountCredentialsProvider.all.findAll {
-        it instanceof GoogleNamedAccountCredentials
-      } as Set<GoogleNamedAccountCredentials>
-
-      for (GoogleNamedAccountCredentials accountCredentials in googleCredentialsSet) {
-        try {
-          // This verifies that the specified credentials are sufficient to access the referenced project.
-          timeExecute(accountCredentials.compute.projects().get(accountCredentials.project),
-                      "compute.projects.get",
-                      TAG_SCOPE, SCOPE_GLOBAL)
-        } catch (IOException e) {
-          throw new GoogleIOException(e)
-        }
-      }
-
-      lastException.set(null)
-    } catch (Exception ex) {
-      LOG.warn "Unhealthy", ex
+    probeAccounts()
+  }
 
-      lastException.set(ex)
+  @Override
+  protected void probe(GoogleNamedAccountCredentials accountCredentials) {
+    try {
+      // This verifies that the specified credentials are sufficient to access the referenced project.
+      timeExecute(accountCredentials.compute.projects().get(accountCredentials.project),
+                  "compute.projects.get",
+                  TAG_SCOPE, SCOPE_GLOBAL)
+    } catch (IOException e) {
+      throw new GoogleIOException(e)
     }
   }
 
@@ -88,4 +59,3 @@ class GoogleHealthIndicator implements HealthIndicator, GoogleExecutorTraits {
   @InheritConstructors
   static class GoogleIOException extends RuntimeException {}
 }
-
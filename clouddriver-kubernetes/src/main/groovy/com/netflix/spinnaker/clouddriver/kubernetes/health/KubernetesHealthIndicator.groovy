@@ -16,65 +16,35 @@
 
 package com.netflix.spinnaker.clouddriver.kubernetes.health
 
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
+import com.netflix.spinnaker.clouddriver.kubernetes.KubernetesCloudProvider
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesCredentials
 import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesNamedAccountCredentials
-import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
 import groovy.transform.InheritConstructors
-import org.slf4j.Logger
-import org.slf4j.LoggerFactory
-import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
 import org.springframework.web.bind.annotation.ResponseStatus
 
-import java.util.concurrent.atomic.AtomicReference
-
 @Component
-class KubernetesHealthIndicator implements HealthIndicator {
-
-  private static final Logger LOG = LoggerFactory.getLogger(KubernetesHealthIndicator)
-
-  @Autowired
-  AccountCredentialsProvider accountCredentialsProvider
-
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
-
-  @Override
-  Health health() {
-    def ex = lastException.get()
+class KubernetesHealthIndicator extends AbstractAccountHealthIndicator<KubernetesNamedAccountCredentials> {
 
-    if (ex) {
-      throw ex
-    }
-
-    new Health.Builder().up().build()
+  KubernetesHealthIndicator() {
+    super(KubernetesCloudProvider.ID, KubernetesNamedAccountCredentials)
   }
 
   @Scheduled(fixedDelay = 300000L)
   void checkHealth() {
-    try {
-      Set<KubernetesNamedAccountCredentials> kubernetesCredentialsSet = accountCredentialsProvider.all.findAll {
-        it instanceof KubernetesNamedAccountCredentials
-      } as Set<KubernetesNamedAccountCredentials>
-
-      for (KubernetesNamedAccountCredentials accountCredentials in kubernetesCredentialsSet) {
-        KubernetesCredentials kubernetesCredentials = accountCredentials.credentials
-        kubernetesCredentials.getDeclaredNamespaces()
-      }
-
-      lastException.set(null)
-    } catch (Exception ex) {
-      LOG.warn "Unhealthy", ex
+    probeAccounts()
+  }
 
-      lastException.set(ex)
-    }
+  @Override
+  protected void probe(KubernetesNamedAccountCredentials accountCredentials) {
+    KubernetesCredentials kubernetesCredentials = accountCredentials.credentials
+    kubernetesCredentials.getDeclaredNamespaces()
   }
 
   @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Problem communicating with Kubernetes.")
   @InheritConstructors
   static class KubernetesIOException extends RuntimeException {}
 }
-
@@ -19,6 +19,8 @@ package com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.agent;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.cats.cache.DefaultCacheData;
 import com.netflix.spinnaker.clouddriver.kubernetes.KubernetesCloudProvider;
@@ -36,6 +38,7 @@ import com.netflix.spinnaker.kork.artifacts.model.Artifact;
 import com.netflix.spinnaker.moniker.Moniker;
 import com.netflix.spinnaker.moniker.Namer;
 import io.kubernetes.client.JSON;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -62,6 +65,7 @@ import static java.lang.Math.toIntExact;
 public class KubernetesCacheDataConverter {
   private static ObjectMapper mapper = new ObjectMapper();
   private static final JSON json = new JSON();
+  private static final ThreadLocal<Map<ResourceCacheKey, JsonElement>> requestResourceCache = new ThreadLocal<>();
   // TODO(lwander): make configurable
   private static final int logicalTtlSeconds = toIntExact(TimeUnit.MINUTES.toSeconds(10));
   private static final int infrastructureTtlSeconds = -1;
@@ -219,9 +223,62 @@ public class KubernetesCacheDataConverter {
     return mapper.convertValue(o, KubernetesManifest.class);
   }
 
+  /**
+   * Converts a manifest to its typed kubernetes client model. Within {@link #withRequestResourceCache(Supplier)}, a
+   * resource version of a manifest is only converted to a json tree once; every call still returns its own copy of the
+   * typed model, so callers are free to modify it.
+   */
   public static <T> T getResource(KubernetesManifest manifest, Class<T> clazz) {
-    // A little hacky, but the only way to deserialize any timestamps using string constructors
-    return json.deserialize(json.serialize(manifest), clazz);
+    // Converting through gson (rather than jackson) is the only way to deserialize any timestamps using string
+    // constructors; converting via a json tree avoids writing and re-parsing the manifest as a string
+    Gson gson = json.getGson();
+    Map<ResourceCacheKey, JsonElement> resourceCache = requestResourceCache.get();
+    ResourceCacheKey cacheKey = resourceCache == null ? null : ResourceCacheKey.of(manifest);
+    JsonElement tree = cacheKey == null ? gson.toJsonTree(manifest) : resourceCache.computeIfAbsent(cacheKey, k -> gson.toJsonTree(manifest));
+    return gson.fromJson(tree, clazz);
+  }
+
+  /**
+   * Caches the json trees of the manifests converted by {@link #getResource(KubernetesManifest, Class)} on this thread
+   * for the duration of the supplier (e.g. while building a single response that converts the same pods for server
+   * groups and load balancers). Nested calls share the outermost cache.
+   */
+  public static <T> T withRequestResourceCache(Supplier<T> supplier) {
+    if (requestResourceCache.get() != null) {
+      return supplier.get();
+    }
+
+    requestResourceCache.set(new HashMap<>());
+    try {
+      return supplier.get();
+    } finally {
+      requestResourceCache.remove();
+    }
+  }
+
+  @Value
+  private static class ResourceCacheKey {
+    String uid;
+    String resourceVersion;
+
+    /**
+     * @return a key identifying the contents of this manifest, or null if the manifest has no uid and resource version
+     */
+    @SuppressWarnings("unchecked")
+    static ResourceCacheKey of(KubernetesManifest manifest) {
+      Object metadata = manifest.get("metadata");
+      if (!(metadata instanceof Map)) {
+        return null;
+      }
+
+      Object uid = ((Map<String, Object>) metadata).get("uid");
+      Object resourceVersion = ((Map<String, Object>) metadata).get("resourceVersion");
+      if (uid == null || resourceVersion == null) {
+        return null;
+      }
+
+      return new ResourceCacheKey(uid.toString(), resourceVersion.toString());
+    }
   }
 
   static Map<String, Collection<String>> annotatedRelationships(String account,
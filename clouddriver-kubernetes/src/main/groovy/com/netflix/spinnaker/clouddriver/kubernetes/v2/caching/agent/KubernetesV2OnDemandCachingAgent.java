@@ -17,7 +17,6 @@
 
 package com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.agent;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
@@ -49,9 +48,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -69,6 +68,8 @@ public abstract class KubernetesV2OnDemandCachingAgent extends KubernetesV2Cachi
   private final static String CACHE_RESULTS_KEY = "cacheResults";
   private final static String MONIKER_KEY = "moniker";
   private final static String DETAILS_KEY = "details";
+  private final static TypeReference<Map<String, List<Map<String, Object>>>> ON_DEMAND_RESULTS_TYPE =
+      new TypeReference<Map<String, List<Map<String, Object>>>>() { };
   private final Namer<KubernetesManifest> namer;
 
   protected KubernetesV2OnDemandCachingAgent(KubernetesNamedAccountCredentials<KubernetesV2Credentials> namedAccountCredentials,
@@ -124,20 +125,28 @@ public abstract class KubernetesV2OnDemandCachingAgent extends KubernetesV2Cachi
     CacheResult result = buildCacheResult(primaryResource);
     Map<String, Collection<CacheData>> cacheResults = result.getCacheResults();
 
-    for (CacheData onDemandData : keepInOnDemand) {
-      String onDemandKey = onDemandData.getId();
-      log.info("On demand entry '{}' is overwriting load data entry", onDemandKey);
-
-      String onDemandResultsJson = (String) onDemandData.getAttributes().get(CACHE_RESULTS_KEY);
-      Map<String, Collection<CacheData>> onDemandResults;
-      try {
-        onDemandResults = objectMapper.readValue(onDemandResultsJson, new TypeReference<Map<String, List<DefaultCacheData>>>() { });
-      } catch (IOException e) {
-        log.error("Failure parsing stored on demand data for '{}'", onDemandKey, e);
-        continue;
+    if (!keepInOnDemand.isEmpty()) {
+      // index the cache result by id once, rather than scanning it for every on demand entry
+      Map<String, Map<String, CacheData>> cacheResultsById = indexById(cacheResults);
+      for (CacheData onDemandData : keepInOnDemand) {
+        String onDemandKey = onDemandData.getId();
+        log.info("On demand entry '{}' is overwriting load data entry", onDemandKey);
+
+        Map<String, Collection<CacheData>> onDemandResults;
+        try {
+          onDemandResults = readOnDemandResults(onDemandData.getAttributes().get(CACHE_RESULTS_KEY));
+        } catch (IOException | RuntimeException e) {
+          log.error("Failure parsing stored on demand data for '{}'", onDemandKey, e);
+          continue;
+        }
+
+        mergeIndexedCacheResults(cacheResultsById, onDemandResults);
       }
 
-      mergeCacheResults(cacheResults, onDemandResults);
+      cacheResults = new HashMap<>();
+      for (Map.Entry<String, Map<String, CacheData>> group : cacheResultsById.entrySet()) {
+        cacheResults.put(group.getKey(), new ArrayList<>(group.getValue().values()));
+      }
     }
 
     cacheResults.put(ON_DEMAND_TYPE, keepInOnDemand);
@@ -149,26 +158,77 @@ public abstract class KubernetesV2OnDemandCachingAgent extends KubernetesV2Cachi
   }
 
   protected void mergeCacheResults(Map<String, Collection<CacheData>> current, Map<String, Collection<CacheData>> added) {
+    Map<String, Map<String, CacheData>> currentById = new HashMap<>();
     for (String group : added.keySet()) {
-      Collection<CacheData> currentByGroup = current.get(group);
-      Collection<CacheData> addedByGroup = added.get(group);
+      currentById.put(group, indexById(current.get(group)));
+    }
 
-      currentByGroup = currentByGroup == null ? new ArrayList<>() : currentByGroup;
-      addedByGroup = addedByGroup == null ? new ArrayList<>() : addedByGroup;
+    mergeIndexedCacheResults(currentById, added);
 
-      for (CacheData addedCacheData : addedByGroup) {
-        CacheData mergedEntry = currentByGroup.stream()
-            .filter(cd -> cd.getId().equals(addedCacheData.getId()))
-            .findFirst()
-            .flatMap(cd -> Optional.of(KubernetesCacheDataConverter.mergeCacheData(cd, addedCacheData)))
-            .orElse(addedCacheData);
+    for (Map.Entry<String, Map<String, CacheData>> group : currentById.entrySet()) {
+      current.put(group.getKey(), new ArrayList<>(group.getValue().values()));
+    }
+  }
 
-        currentByGroup.removeIf(cd -> cd.getId().equals(addedCacheData.getId()));
-        currentByGroup.add(mergedEntry);
+  private static void mergeIndexedCacheResults(Map<String, Map<String, CacheData>> currentById, Map<String, Collection<CacheData>> added) {
+    for (Map.Entry<String, Collection<CacheData>> group : added.entrySet()) {
+      Map<String, CacheData> currentByGroup = currentById.computeIfAbsent(group.getKey(), k -> new LinkedHashMap<>());
+      if (group.getValue() == null) {
+        continue;
+      }
+
+      for (CacheData addedCacheData : group.getValue()) {
+        currentByGroup.merge(addedCacheData.getId(), addedCacheData, KubernetesCacheDataConverter::mergeCacheData);
       }
+    }
+  }
 
-      current.put(group, currentByGroup);
+  private static Map<String, Map<String, CacheData>> indexById(Map<String, Collection<CacheData>> cacheResults) {
+    Map<String, Map<String, CacheData>> cacheResultsById = new HashMap<>();
+    for (Map.Entry<String, Collection<CacheData>> group : cacheResults.entrySet()) {
+      cacheResultsById.put(group.getKey(), indexById(group.getValue()));
     }
+    return cacheResultsById;
+  }
+
+  private static Map<String, CacheData> indexById(Collection<CacheData> cacheData) {
+    Map<String, CacheData> cacheDataById = new LinkedHashMap<>();
+    if (cacheData != null) {
+      for (CacheData cd : cacheData) {
+        cacheDataById.put(cd.getId(), cd);
+      }
+    }
+    return cacheDataById;
+  }
+
+  /**
+   * On demand results are stored as structured attributes; entries written as a serialized JSON string by earlier
+   * versions are still accepted.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Collection<CacheData>> readOnDemandResults(Object storedResults) throws IOException {
+    if (storedResults instanceof String) {
+      return objectMapper.readValue((String) storedResults, new TypeReference<Map<String, List<DefaultCacheData>>>() { });
+    }
+
+    Map<String, Collection<CacheData>> onDemandResults = new HashMap<>();
+    ((Map<String, List<Map<String, Object>>>) storedResults).forEach((group, entries) -> onDemandResults.put(
+        group,
+        entries.stream().map(KubernetesV2OnDemandCachingAgent::toCacheData).collect(Collectors.toList())
+    ));
+    return onDemandResults;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static CacheData toCacheData(Map<String, Object> entry) {
+    Number ttlSeconds = (Number) entry.get("ttlSeconds");
+    Map<String, Collection<String>> relationships = (Map<String, Collection<String>>) entry.get("relationships");
+    return new DefaultCacheData(
+        (String) entry.get("id"),
+        ttlSeconds == null ? -1 : ttlSeconds.intValue(),
+        (Map<String, Object>) entry.get("attributes"),
+        relationships == null ? new HashMap<>() : relationships
+    );
   }
 
   private void processOnDemandEntry(CacheData onDemandEntry) {
@@ -205,17 +265,18 @@ public abstract class KubernetesV2OnDemandCachingAgent extends KubernetesV2Cachi
     return new OnDemandAgent.OnDemandResult(getOnDemandAgentType(), cacheResult, evictions);
   }
 
-  private OnDemandAgent.OnDemandResult addEntry(ProviderCache providerCache, String key, KubernetesManifest manifest) throws JsonProcessingException {
+  private OnDemandAgent.OnDemandResult addEntry(ProviderCache providerCache, String key, KubernetesManifest manifest) {
     Map<String, Collection<String>> evictions = new HashMap<>();
     CacheResult cacheResult;
 
     log.info("Storing on demand '{}'", key);
     cacheResult = buildCacheResult(manifest);
-    String jsonResult = objectMapper.writeValueAsString(cacheResult.getCacheResults());
+    // stored structured (rather than as a JSON string) so it doesn't need to be re-parsed on every caching cycle
+    Map<String, List<Map<String, Object>>> storedResults = objectMapper.convertValue(cacheResult.getCacheResults(), ON_DEMAND_RESULTS_TYPE);
 
     Map<String, Object> attributes = new ImmutableMap.Builder<String, Object>()
         .put(CACHE_TIME_KEY, System.currentTimeMillis())
-        .put(CACHE_RESULTS_KEY, jsonResult)
+        .put(CACHE_RESULTS_KEY, storedResults)
         .put(PROCESSED_COUNT_KEY, 0)
         .put(PROCESSED_TIME_KEY, -1)
         .put(MONIKER_KEY, namer.deriveMoniker(manifest))
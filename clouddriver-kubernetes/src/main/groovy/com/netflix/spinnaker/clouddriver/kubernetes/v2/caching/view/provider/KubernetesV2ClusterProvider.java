@@ -20,6 +20,7 @@ package com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.view.provider;
 import com.netflix.spinnaker.cats.cache.CacheData;
 import com.netflix.spinnaker.clouddriver.kubernetes.KubernetesCloudProvider;
 import com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.Keys;
+import com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.agent.KubernetesCacheDataConverter;
 import com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.view.model.KubernetesV2Cluster;
 import com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.view.model.KubernetesV2LoadBalancer;
 import com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.view.model.KubernetesV2ServerGroup;
@@ -138,7 +139,7 @@ public class KubernetesV2ClusterProvider implements ClusterProvider<KubernetesV2
         key,
         relatedTypes.toArray(new String[relatedTypes.size()]));
 
-    return serverGroupData.map(cd -> {
+    return serverGroupData.map(cd -> KubernetesCacheDataConverter.withRequestResourceCache(() -> {
       List<CacheData> instanceData = kindMap.translateSpinnakerKind(INSTANCES)
           .stream()
           .map(k -> cacheUtils.loadRelationshipsFromCache(Collections.singletonList(cd), k.toString()))
@@ -152,7 +153,7 @@ public class KubernetesV2ClusterProvider implements ClusterProvider<KubernetesV2
           .collect(Collectors.toList());
 
       return KubernetesV2ServerGroup.fromCacheData(cd, instanceData, loadBalancerData);
-    }).orElse(null);
+    })).orElse(null);
   }
 
   @Override
@@ -186,6 +187,11 @@ public class KubernetesV2ClusterProvider implements ClusterProvider<KubernetesV2
   }
 
   private Set<KubernetesV2Cluster> translateClustersWithRelationships(Collection<CacheData> clusterData) {
+    // the same instances are translated for both the server groups and load balancers of a cluster
+    return KubernetesCacheDataConverter.withRequestResourceCache(() -> doTranslateClustersWithRelationships(clusterData));
+  }
+
+  private Set<KubernetesV2Cluster> doTranslateClustersWithRelationships(Collection<CacheData> clusterData) {
     // TODO(lwander) possible optimization: store lb relationships in cluster object to cut down on number of loads here.
     List<CacheData> serverGroupData = kindMap.translateSpinnakerKind(SERVER_GROUPS)
         .stream()
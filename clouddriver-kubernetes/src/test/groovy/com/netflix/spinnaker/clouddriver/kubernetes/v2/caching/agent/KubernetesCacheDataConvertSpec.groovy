@@ -31,11 +31,17 @@ import com.netflix.spinnaker.clouddriver.kubernetes.v2.names.KubernetesManifestN
 import com.netflix.spinnaker.clouddriver.names.NamerRegistry
 import com.netflix.spinnaker.kork.artifacts.model.Artifact
 import com.netflix.spinnaker.moniker.Moniker
+import io.kubernetes.client.JSON
+import io.kubernetes.client.models.V1Pod
 import org.apache.commons.lang3.tuple.Pair
 import org.yaml.snakeyaml.Yaml
+import spock.lang.IgnoreIf
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.lang.management.ManagementFactory
+import java.util.function.Supplier
+
 class KubernetesCacheDataConvertSpec extends Specification {
   def mapper = new ObjectMapper()
   def yaml = new Yaml()
@@ -145,6 +151,93 @@ metadata:
     KubernetesKind.SERVICE     | KubernetesApiVersion.V1           | ["cluster": [Keys.cluster("account", "app", "name")], "application": [Keys.application("blarg"), Keys.application("asdfasdf")]]
   }
 
+  def "converts a manifest to its typed resource"() {
+    when:
+    def pod = KubernetesCacheDataConverter.getResource(podManifest("my-pod", "1"), V1Pod.class)
+
+    then:
+    pod.metadata.name == "my-pod"
+    pod.metadata.creationTimestamp.getMillis() == 1514764800000
+    pod.spec.containers*.image == ["nginx:1.13"]
+    pod.status.containerStatuses*.restartCount == [2]
+  }
+
+  def "returns an independent copy of a cached resource version within a request resource cache"() {
+    when:
+    def inside = KubernetesCacheDataConverter.withRequestResourceCache({
+      def resources = [podManifest("my-pod", "1"), podManifest("my-pod", "1"), podManifest("my-pod", "2")].collect {
+        KubernetesCacheDataConverter.getResource(it, V1Pod.class)
+      }
+      resources[0].metadata.name = "modified"
+      resources[0].spec.containers[0].image = "modified"
+      resources << KubernetesCacheDataConverter.getResource(podManifest("my-pod", "1"), V1Pod.class)
+      return resources
+    } as Supplier)
+
+    then:
+    !inside[0].is(inside[1])
+    inside[1].metadata.name == "my-pod"
+    inside[1].spec.containers*.image == ["nginx:1.13"]
+    inside[2].metadata.resourceVersion == "2"
+    inside[3].metadata.name == "my-pod"
+    inside[3].spec.containers*.image == ["nginx:1.13"]
+  }
+
+  @IgnoreIf({ !System.getProperty("benchmark") })
+  def "benchmark: manifest to typed resource conversion"() {
+    given:
+    def json = new JSON()
+    def manifests = (1..20000).collect { podManifest("pod-${it}", "1") }
+    def threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()
+    def measure = { String name, Closure convert ->
+      manifests.take(1000).each { convert(it) }
+      long cpu = threadMXBean.currentThreadCpuTime
+      long allocated = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().id)
+      manifests.each { convert(it) }
+      println String.format("%s: %.1fms cpu, %.1fMB allocated for %d pods",
+        name,
+        (threadMXBean.currentThreadCpuTime - cpu) / 1e6d,
+        (threadMXBean.getThreadAllocatedBytes(Thread.currentThread().id) - allocated) / 1e6d,
+        manifests.size())
+    }
+
+    when:
+    measure("string round trip") { json.deserialize(json.serialize(it), V1Pod.class) }
+    measure("tree conversion") { KubernetesCacheDataConverter.getResource(it, V1Pod.class) }
+    measure("tree conversion, converted twice per request") {
+      KubernetesCacheDataConverter.withRequestResourceCache({
+        KubernetesCacheDataConverter.getResource(it, V1Pod.class)
+        KubernetesCacheDataConverter.getResource(it, V1Pod.class)
+      } as Supplier)
+    }
+
+    then:
+    noExceptionThrown()
+  }
+
+  KubernetesManifest podManifest(String name, String resourceVersion) {
+    return stringToManifest("""
+apiVersion: v1
+kind: Pod
+metadata:
+  name: $name
+  namespace: $NAMESPACE
+  uid: uid-$name
+  resourceVersion: "$resourceVersion"
+  creationTimestamp: "2018-01-01T00:00:00Z"
+spec:
+  containers:
+  - name: nginx
+    image: nginx:1.13
+status:
+  phase: Running
+  containerStatuses:
+  - name: nginx
+    ready: true
+    restartCount: 2
+""")
+  }
+
   def filterRelationships(Collection<String> keys, List<Pair<KubernetesKind, String>> existingResources) {
     return keys.findAll { sk ->
       def key = (Keys.InfrastructureCacheKey) Keys.parseKey(sk).get()
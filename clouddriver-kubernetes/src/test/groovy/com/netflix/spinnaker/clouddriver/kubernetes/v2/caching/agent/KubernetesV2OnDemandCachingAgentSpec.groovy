@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.agent
+
+import com.fasterxml.jackson.core.type.TypeReference
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.netflix.spectator.api.NoopRegistry
+import com.netflix.spinnaker.cats.agent.CacheResult
+import com.netflix.spinnaker.cats.agent.DefaultCacheResult
+import com.netflix.spinnaker.cats.cache.CacheData
+import com.netflix.spinnaker.cats.cache.DefaultCacheData
+import com.netflix.spinnaker.cats.provider.ProviderCache
+import com.netflix.spinnaker.clouddriver.kubernetes.security.KubernetesNamedAccountCredentials
+import com.netflix.spinnaker.clouddriver.kubernetes.v2.caching.Keys
+import com.netflix.spinnaker.clouddriver.kubernetes.v2.description.manifest.KubernetesKind
+import com.netflix.spinnaker.clouddriver.kubernetes.v2.description.manifest.KubernetesManifest
+import com.netflix.spinnaker.clouddriver.kubernetes.v2.security.KubernetesV2Credentials
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+class KubernetesV2OnDemandCachingAgentSpec extends Specification {
+  def ACCOUNT = "my-account"
+  def NAMESPACE = "my-namespace"
+  def GROUP = KubernetesKind.REPLICA_SET.toString()
+
+  def objectMapper = new ObjectMapper()
+
+  def "should merge structured and legacy on demand entries into the cache result by id"() {
+    given:
+    def agent = agent(["rs-1", "rs-2"], [
+      cacheData("rs-1", [source: "load"]),
+      cacheData("rs-2", [source: "load"])
+    ])
+
+    def structured = onDemandEntry("rs-1", objectMapper.convertValue(
+      [(GROUP): [cacheData("rs-1", [source: "onDemand"])]],
+      new TypeReference<Map<String, List<Map<String, Object>>>>() {}
+    ))
+    def legacy = onDemandEntry("rs-2", objectMapper.writeValueAsString(
+      [(GROUP): [cacheData("rs-2", [source: "onDemand"]), cacheData("rs-3", [source: "onDemand"])]]
+    ))
+    def providerCache = Stub(ProviderCache) {
+      getAll(KubernetesV2OnDemandCachingAgent.ON_DEMAND_TYPE, _) >> [structured, legacy]
+    }
+
+    when:
+    def result = agent.loadData(providerCache)
+
+    then:
+    result.cacheResults[GROUP]*.id.sort() == ["rs-1", "rs-2", "rs-3"].collect { key(it) }
+    // the merge keeps the load data attributes over those of the on demand entry
+    result.cacheResults[GROUP].every { it.attributes.source == (it.id == key("rs-3") ? "onDemand" : "load") }
+    result.cacheResults[KubernetesV2OnDemandCachingAgent.ON_DEMAND_TYPE]*.id == [key("rs-1"), key("rs-2")]
+  }
+
+  def "should merge added cache data into existing groups"() {
+    given:
+    def agent = agent([], [])
+    def current = [(GROUP): [cacheData("rs-1", [a: "b"])]]
+
+    when:
+    agent.mergeCacheResults(current, [
+      (GROUP)   : [cacheData("rs-1", [c: "d"]), cacheData("rs-2", [:])],
+      "otherKind": [cacheData("other", [:])]
+    ])
+
+    then:
+    current[GROUP]*.id == [key("rs-1"), key("rs-2")]
+    current[GROUP][0].attributes == [a: "b", c: "d"]
+    current["otherKind"]*.id == [key("other")]
+  }
+
+  @IgnoreIf({ !System.getProperty("benchmark") })
+  def "benchmark: merging on demand entries"() {
+    given:
+    def manifestCount = 50000
+    def onDemandCount = 1000
+    def names = (1..manifestCount).collect { "rs-${it}".toString() }
+    def agent = agent(names, names.collect { cacheData(it, [source: "load"]) })
+
+    def onDemandEntries = names.take(onDemandCount).collect {
+      onDemandEntry(it, objectMapper.convertValue(
+        [(GROUP): [cacheData(it, [source: "onDemand"])]],
+        new TypeReference<Map<String, List<Map<String, Object>>>>() {}
+      ))
+    }
+    def providerCache = Stub(ProviderCache) {
+      getAll(KubernetesV2OnDemandCachingAgent.ON_DEMAND_TYPE, _) >> { onDemandEntries }
+    }
+
+    when:
+    def start = System.nanoTime()
+    def result = agent.loadData(providerCache)
+    def elapsedMillis = (System.nanoTime() - start) / 1e6d
+
+    then:
+    println "Merged ${onDemandCount} on demand entries into ${manifestCount} manifests in ${String.format('%.1f', elapsedMillis)}ms"
+    result.cacheResults[GROUP].size() == manifestCount
+  }
+
+  private KubernetesV2OnDemandCachingAgent agent(List<String> names, List<CacheData> loadedCacheData) {
+    def credentials = Stub(KubernetesV2Credentials) {
+      getDeclaredNamespaces() >> [NAMESPACE]
+    }
+    def namedAccountCredentials = Stub(KubernetesNamedAccountCredentials) {
+      getCredentials() >> credentials
+      getName() >> ACCOUNT
+    }
+
+    def manifests = names.collect { manifest(it) }
+    def group = GROUP
+    return new KubernetesReplicaSetCachingAgent(namedAccountCredentials, objectMapper, new NoopRegistry(), 0, 1) {
+      @Override
+      protected List<KubernetesManifest> loadPrimaryResourceList() {
+        return manifests
+      }
+
+      @Override
+      protected CacheResult buildCacheResult(List<KubernetesManifest> resources) {
+        return new DefaultCacheResult([(group): new ArrayList<>(loadedCacheData)])
+      }
+    }
+  }
+
+  private KubernetesManifest manifest(String name) {
+    def manifest = new KubernetesManifest()
+    manifest.put("kind", GROUP)
+    manifest.put("apiVersion", "extensions/v1beta1")
+    manifest.put("metadata", [name: name, namespace: NAMESPACE])
+    return manifest
+  }
+
+  private CacheData cacheData(String name, Map<String, Object> attributes) {
+    return new DefaultCacheData(key(name), attributes, [:])
+  }
+
+  private CacheData onDemandEntry(String name, Object cacheResults) {
+    return new DefaultCacheData(key(name), [
+      cacheTime     : System.currentTimeMillis() + 60000,
+      processedCount: 0,
+      cacheResults  : cacheResults
+    ], [:])
+  }
+
+  private String key(String name) {
+    return Keys.infrastructure(KubernetesKind.REPLICA_SET, ACCOUNT, NAMESPACE, name)
+  }
+}
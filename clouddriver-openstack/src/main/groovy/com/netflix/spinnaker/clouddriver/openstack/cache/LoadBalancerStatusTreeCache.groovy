@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.openstack.cache
+
+import com.netflix.spectator.api.Id
+import com.netflix.spectator.api.Registry
+import org.openstack4j.model.network.ext.LoadBalancerV2StatusTree
+
+import java.time.Clock
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * Load balancer status trees of a single account and region, shared by the caching agents of that region so that
+ * the status tree of a load balancer is fetched (roughly) once per caching cycle rather than once per server group.
+ *
+ * The load balancer caching agent publishes every status tree it fetches, other agents only fetch (and publish) the
+ * status trees that are missing or older than the ttl.
+ */
+class LoadBalancerStatusTreeCache {
+
+  static final long DEFAULT_TTL_MILLIS = TimeUnit.SECONDS.toMillis(60)
+
+  private final ConcurrentMap<String, CachedStatusTree> statusTrees = new ConcurrentHashMap<>()
+  private final long ttlMillis
+  private final Clock clock
+  private final Registry registry
+  private final Id lookupsId
+
+  LoadBalancerStatusTreeCache(Registry registry, String account, String region, long ttlMillis, Clock clock = Clock.systemDefaultZone()) {
+    this.registry = registry
+    this.ttlMillis = ttlMillis
+    this.clock = clock
+    this.lookupsId = registry.createId("openstack.loadBalancerStatusTrees.lookups")
+      .withTag("account", account)
+      .withTag("region", region)
+  }
+
+  /**
+   * Returns the cached status tree of the load balancer, fetching (and caching) it when it is missing or stale.
+   */
+  LoadBalancerV2StatusTree get(String loadBalancerId, Closure<LoadBalancerV2StatusTree> fetch) {
+    CachedStatusTree cached = statusTrees.get(loadBalancerId)
+    if (cached && clock.millis() - cached.cachedAt < ttlMillis) {
+      registry.counter(lookupsId.withTag("result", "hit")).increment()
+      return cached.statusTree
+    }
+
+    registry.counter(lookupsId.withTag("result", "miss")).increment()
+    LoadBalancerV2StatusTree statusTree = fetch.call()
+    put(loadBalancerId, statusTree)
+    statusTree
+  }
+
+  void put(String loadBalancerId, LoadBalancerV2StatusTree statusTree) {
+    if (statusTree) {
+      statusTrees.put(loadBalancerId, new CachedStatusTree(statusTree: statusTree, cachedAt: clock.millis()))
+    } else {
+      statusTrees.remove(loadBalancerId)
+    }
+  }
+
+  /**
+   * Drops the status trees of load balancers that no longer exist.
+   */
+  void retainAll(Collection<String> loadBalancerIds) {
+    statusTrees.keySet().retainAll(loadBalancerIds)
+  }
+
+  private static class CachedStatusTree {
+    LoadBalancerV2StatusTree statusTree
+    long cachedAt
+  }
+}
@@ -16,57 +16,32 @@
 
 package com.netflix.spinnaker.clouddriver.openstack.health
 
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
+import com.netflix.spinnaker.clouddriver.openstack.OpenstackCloudProvider
 import com.netflix.spinnaker.clouddriver.openstack.security.OpenstackCredentials
 import com.netflix.spinnaker.clouddriver.openstack.security.OpenstackNamedAccountCredentials
-import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
 import groovy.transform.InheritConstructors
-import org.slf4j.Logger
-import org.slf4j.LoggerFactory
-import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
 import org.springframework.web.bind.annotation.ResponseStatus
 
-import java.util.concurrent.atomic.AtomicReference
-
 @Component
-class OpenstackHealthIndicator implements HealthIndicator {
-  private static final Logger LOG = LoggerFactory.getLogger(OpenstackHealthIndicator)
-
-  @Autowired
-  AccountCredentialsProvider accountCredentialsProvider
-
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
-
-  @Override
-  Health health() {
-    def ex = lastException.get()
+class OpenstackHealthIndicator extends AbstractAccountHealthIndicator<OpenstackNamedAccountCredentials> {
 
-    if (ex) throw ex
-
-    new Health.Builder().up().build()
+  OpenstackHealthIndicator() {
+    super(OpenstackCloudProvider.ID, OpenstackNamedAccountCredentials)
   }
 
   @Scheduled(fixedDelay = 300000L)
   void checkHealth() {
-    try {
-      Set<OpenstackNamedAccountCredentials> openstackCredentialsSet = accountCredentialsProvider.all.findAll {
-        it instanceof OpenstackNamedAccountCredentials
-      } as Set<OpenstackNamedAccountCredentials>
-
-      for (OpenstackNamedAccountCredentials accountCredentials in openstackCredentialsSet) {
-        OpenstackCredentials openstackCredentials = accountCredentials.credentials
-        openstackCredentials.provider.tokenId
-      }
+    probeAccounts()
+  }
 
-      lastException.set(null)
-    } catch (Exception ex) {
-      LOG.warn "Unhealthy", ex
-      lastException.set(ex)
-    }
+  @Override
+  protected void probe(OpenstackNamedAccountCredentials accountCredentials) {
+    OpenstackCredentials openstackCredentials = accountCredentials.credentials
+    openstackCredentials.provider.tokenId
   }
 
   @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Problem communicating with Openstack.")
@@ -28,6 +28,7 @@ import com.netflix.spinnaker.clouddriver.cache.OnDemandAgent.OnDemandResult
 import com.netflix.spinnaker.clouddriver.cache.OnDemandMetricsSupport
 import com.netflix.spinnaker.clouddriver.openstack.cache.CacheResultBuilder
 import com.netflix.spinnaker.clouddriver.openstack.cache.Keys
+import com.netflix.spinnaker.clouddriver.openstack.cache.LoadBalancerStatusTreeCache
 import com.netflix.spinnaker.clouddriver.openstack.cache.UnresolvableKeyException
 import com.netflix.spinnaker.clouddriver.openstack.deploy.exception.OpenstackProviderException
 import com.netflix.spinnaker.clouddriver.openstack.model.OpenstackLoadBalancer
@@ -60,16 +61,18 @@ import static com.netflix.spinnaker.clouddriver.openstack.cache.Keys.Namespace.S
 import static com.netflix.spinnaker.clouddriver.openstack.cache.Keys.Namespace.SUBNETS
 import static com.netflix.spinnaker.clouddriver.openstack.provider.OpenstackInfrastructureProvider.ATTRIBUTES
 
-/*
-  TODO drmaas - we could cache the load balancer status tree with each load balancer too, which would be used
-  in the server group caching agent instead of re-querying openstack for the status trees
- */
 @Slf4j
 class OpenstackLoadBalancerCachingAgent extends AbstractOpenstackCachingAgent implements OnDemandAgent {
 
   final ObjectMapper objectMapper
   final OnDemandMetricsSupport metricsSupport
 
+  /**
+   * Status trees shared with the server group caching agent of this region, every status tree fetched here is
+   * published to it.
+   */
+  final LoadBalancerStatusTreeCache statusTreeCache
+
   Collection<AgentDataType> providedDataTypes = Collections.unmodifiableSet([
     AUTHORITATIVE.forType(LOAD_BALANCERS.ns),
     INFORMATIVE.forType(INSTANCES.ns)
@@ -82,8 +85,18 @@ class OpenstackLoadBalancerCachingAgent extends AbstractOpenstackCachingAgent im
                                     final String region,
                                     final ObjectMapper objectMapper,
                                     final Registry registry) {
+    this(account, region, objectMapper, registry,
+      new LoadBalancerStatusTreeCache(registry, account.name, region, LoadBalancerStatusTreeCache.DEFAULT_TTL_MILLIS))
+  }
+
+  OpenstackLoadBalancerCachingAgent(final OpenstackNamedAccountCredentials account,
+                                    final String region,
+                                    final ObjectMapper objectMapper,
+                                    final Registry registry,
+                                    final LoadBalancerStatusTreeCache statusTreeCache) {
     super(account, region)
     this.objectMapper = objectMapper
+    this.statusTreeCache = statusTreeCache
     this.metricsSupport = new OnDemandMetricsSupport(
       registry,
       this,
@@ -99,9 +112,12 @@ class OpenstackLoadBalancerCachingAgent extends AbstractOpenstackCachingAgent im
       clientProvider.getLoadBalancers(region)?.toSet()
     }
     Future<Map<String, ? extends LoadBalancerV2StatusTree>> statusTrees = loadBalancers.thenApplyAsync { lbs ->
-      lbs.collectEntries { lb ->
+      Map<String, ? extends LoadBalancerV2StatusTree> statusTreeMap = lbs.collectEntries { lb ->
         [(lb.id): clientProvider.getLoadBalancerStatusTree(region, lb.id)]
       }
+      statusTreeCache.retainAll(statusTreeMap.keySet())
+      statusTreeMap.each { id, statusTree -> statusTreeCache.put(id, statusTree) }
+      statusTreeMap
     }
     Future<Set<? extends ListenerV2>> listeners = CompletableFuture.supplyAsync {
       clientProvider.getListeners(region)?.toSet()
@@ -285,6 +301,7 @@ class OpenstackLoadBalancerCachingAgent extends AbstractOpenstackCachingAgent im
         }
         loadBalancerKey = Keys.getLoadBalancerKey(loadBalancerName, loadBalancer.id, accountName, region)
         statusMap[loadBalancer.id] = clientProvider.getLoadBalancerStatusTree(region, loadBalancer.id)
+        statusTreeCache.put(loadBalancer.id, statusMap[loadBalancer.id])
         portMap[loadBalancer.vipPortId] = clientProvider.getPort(region, loadBalancer.vipPortId)
       }
 
@@ -30,6 +30,7 @@ import com.netflix.spinnaker.clouddriver.cache.OnDemandAgent
 import com.netflix.spinnaker.clouddriver.cache.OnDemandMetricsSupport
 import com.netflix.spinnaker.clouddriver.openstack.cache.CacheResultBuilder
 import com.netflix.spinnaker.clouddriver.openstack.cache.Keys
+import com.netflix.spinnaker.clouddriver.openstack.cache.LoadBalancerStatusTreeCache
 import com.netflix.spinnaker.clouddriver.openstack.cache.OnDemandAware
 import com.netflix.spinnaker.clouddriver.openstack.deploy.description.servergroup.ServerGroupParameters
 import com.netflix.spinnaker.clouddriver.openstack.deploy.exception.OpenstackProviderException
@@ -41,8 +42,12 @@ import groovy.util.logging.Slf4j
 import org.openstack4j.model.heat.Stack
 import org.openstack4j.model.network.ext.status.LoadBalancerV2Status
 
+import java.util.concurrent.Callable
 import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
 import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
 
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.AUTHORITATIVE
 import static com.netflix.spinnaker.cats.agent.AgentDataType.Authority.INFORMATIVE
@@ -72,11 +77,31 @@ class OpenstackServerGroupCachingAgent extends AbstractOpenstackCachingAgent imp
   final String agentType = "${account.name}/${region}/${OpenstackServerGroupCachingAgent.simpleName}"
   final String onDemandAgentType = "${agentType}-OnDemand"
 
+  /**
+   * Status trees shared with the load balancer caching agent of this region.
+   */
+  final LoadBalancerStatusTreeCache statusTreeCache
+
+  /**
+   * This agent's pool used to fetch stack details concurrently, details are fetched sequentially on the caching thread
+   * when null.
+   */
+  final ExecutorService stackDetailPool
+
   OpenstackServerGroupCachingAgent(final OpenstackNamedAccountCredentials account, final String region,
                                    final ObjectMapper objectMapper, final Registry registry) {
+    this(account, region, objectMapper, registry,
+      new LoadBalancerStatusTreeCache(registry, account.name, region, LoadBalancerStatusTreeCache.DEFAULT_TTL_MILLIS), null)
+  }
+
+  OpenstackServerGroupCachingAgent(final OpenstackNamedAccountCredentials account, final String region,
+                                   final ObjectMapper objectMapper, final Registry registry,
+                                   final LoadBalancerStatusTreeCache statusTreeCache, final ExecutorService stackDetailPool) {
     super(account, region)
     this.objectMapper = objectMapper
     this.metricsSupport = new OnDemandMetricsSupport(registry, this, "${ID}:${ServerGroup}")
+    this.statusTreeCache = statusTreeCache
+    this.stackDetailPool = stackDetailPool
   }
 
   @Override
@@ -92,6 +117,7 @@ class OpenstackServerGroupCachingAgent extends AbstractOpenstackCachingAgent imp
   protected CacheResult buildCacheResult(ProviderCache providerCache, CacheResultBuilder cacheResultBuilder, List<Stack> stacks) {
     // Lookup all instances and group by stack Id
     Map<String, List<String>> instancesByStackId = getInstanceIdsByStack(region, stacks)
+    Map<String, Future<Stack>> stackDetails = getStackDetails(region, stacks)
 
     stacks?.each { Stack stack ->
       try {
@@ -119,14 +145,16 @@ class OpenstackServerGroupCachingAgent extends AbstractOpenstackCachingAgent imp
             relationships[SERVER_GROUPS.ns].add(serverGroupKey)
           }
 
-          Stack detail = clientProvider.getStack(region, stack.name)
+          Stack detail = await(stackDetails[stack.name])
           Set<String> loadBalancerKeys = [].toSet()
           Set<LoadBalancerV2Status> statuses = [].toSet()
           if (detail && detail.parameters) {
             statuses = ServerGroupParameters.fromParamsMap(detail.parameters).loadBalancers?.collect { loadBalancerId ->
               LoadBalancerV2Status status = null
               try {
-                status = clientProvider.getLoadBalancerStatusTree(region, loadBalancerId)?.loadBalancerV2Status
+                status = statusTreeCache.get(loadBalancerId) {
+                  clientProvider.getLoadBalancerStatusTree(region, loadBalancerId)
+                }?.loadBalancerV2Status
                 if (status) {
                   String loadBalancerKey = Keys.getLoadBalancerKey(status.name, status.id, accountName, region)
                   cacheResultBuilder.namespace(LOAD_BALANCERS.ns).keep(loadBalancerKey).with {
@@ -196,6 +224,32 @@ class OpenstackServerGroupCachingAgent extends AbstractOpenstackCachingAgent imp
     resourceMap.collectEntries([:]) { [it.key, it.value.get()] }
   }
 
+  /**
+   * Fetches the details of each stack on the stack detail pool (if any), keyed by stack name.
+   * @param stacks
+   * @return
+   */
+  Map<String, Future<Stack>> getStackDetails(String region, List<Stack> stacks) {
+    stacks?.collectEntries { Stack stack ->
+      String name = stack.name
+      Callable<Stack> fetch = { clientProvider.getStack(region, name) } as Callable<Stack>
+      if (stackDetailPool == null) {
+        FutureTask<Stack> task = new FutureTask<Stack>(fetch)
+        task.run()
+        return [(name): task]
+      }
+      [(name): stackDetailPool.submit(fetch)]
+    } ?: [:]
+  }
+
+  private static <T> T await(Future<T> future) {
+    try {
+      return future.get()
+    } catch (ExecutionException e) {
+      throw e.cause
+    }
+  }
+
   /**
    * Helper method for creating server group.
    * @param providerCache
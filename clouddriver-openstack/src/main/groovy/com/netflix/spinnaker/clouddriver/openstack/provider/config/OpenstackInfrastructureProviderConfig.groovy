@@ -21,6 +21,8 @@ import com.google.common.collect.Sets
 import com.netflix.spectator.api.Registry
 import com.netflix.spinnaker.cats.agent.CachingAgent
 import com.netflix.spinnaker.cats.provider.ProviderSynchronizerTypeWrapper
+import com.netflix.spinnaker.cats.thread.NamedThreadFactory
+import com.netflix.spinnaker.clouddriver.openstack.cache.LoadBalancerStatusTreeCache
 import com.netflix.spinnaker.clouddriver.openstack.provider.OpenstackInfrastructureProvider
 import com.netflix.spinnaker.clouddriver.openstack.provider.agent.OpenstackFloatingIPCachingAgent
 import com.netflix.spinnaker.clouddriver.openstack.provider.agent.OpenstackImageCachingAgent
@@ -35,12 +37,18 @@ import com.netflix.spinnaker.clouddriver.openstack.security.OpenstackNamedAccoun
 import com.netflix.spinnaker.clouddriver.security.AccountCredentialsRepository
 import com.netflix.spinnaker.clouddriver.security.ProviderUtils
 import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.beans.factory.config.ConfigurableBeanFactory
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
 import org.springframework.context.annotation.DependsOn
 import org.springframework.context.annotation.Scope
 
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
 @Configuration
 class OpenstackInfrastructureProviderConfig {
 
@@ -52,9 +60,11 @@ class OpenstackInfrastructureProviderConfig {
   @Bean
   @DependsOn('openstackNamedAccountCredentials')
   OpenstackInfrastructureProvider openstackInfastructureProvider(AccountCredentialsRepository accountCredentialsRepository,
-                                                                 @Qualifier('infraObjectMapper') ObjectMapper objectMapper, Registry registry) {
+                                                                 @Qualifier('infraObjectMapper') ObjectMapper objectMapper, Registry registry,
+                                                                 @Value('${openstack.caching.stackDetailThreadPoolSize:4}') int stackDetailThreadPoolSize,
+                                                                 @Value('${openstack.caching.statusTreeTtlSeconds:60}') long statusTreeTtlSeconds) {
     OpenstackInfrastructureProvider provider = new OpenstackInfrastructureProvider(Sets.newConcurrentHashSet())
-    synchronizeOpenstackProvider(provider, accountCredentialsRepository, objectMapper, registry)
+    synchronizeOpenstackProvider(provider, accountCredentialsRepository, objectMapper, registry, stackDetailThreadPoolSize, statusTreeTtlSeconds)
     provider
   }
 
@@ -77,7 +87,9 @@ class OpenstackInfrastructureProviderConfig {
   OpenstackProviderSynchronizer synchronizeOpenstackProvider(OpenstackInfrastructureProvider openstackInfastructureProvider,
                                                              AccountCredentialsRepository accountCredentialsRepository,
                                                              @Qualifier('infraObjectMapper') ObjectMapper objectMapper,
-                                                             Registry registry) {
+                                                             Registry registry,
+                                                             @Value('${openstack.caching.stackDetailThreadPoolSize:4}') int stackDetailThreadPoolSize,
+                                                             @Value('${openstack.caching.statusTreeTtlSeconds:60}') long statusTreeTtlSeconds) {
     def scheduledAccounts = ProviderUtils.getScheduledAccounts(openstackInfastructureProvider)
     def allAccounts = ProviderUtils.buildThreadSafeSetOfAccounts(accountCredentialsRepository, OpenstackNamedAccountCredentials)
 
@@ -86,14 +98,18 @@ class OpenstackInfrastructureProviderConfig {
     allAccounts.each { OpenstackNamedAccountCredentials credentials ->
       if (!scheduledAccounts.contains(credentials.name)) {
         credentials.credentials.provider.allRegions.each { String region ->
+          LoadBalancerStatusTreeCache statusTreeCache = new LoadBalancerStatusTreeCache(
+            registry, credentials.name, region, TimeUnit.SECONDS.toMillis(statusTreeTtlSeconds))
+
           newlyAddedAgents << new OpenstackInstanceCachingAgent(credentials, region, objectMapper)
-          newlyAddedAgents << new OpenstackServerGroupCachingAgent(credentials, region, objectMapper, registry)
+          newlyAddedAgents << new OpenstackServerGroupCachingAgent(credentials, region, objectMapper, registry, statusTreeCache,
+            newStackDetailPool(credentials.name, region, stackDetailThreadPoolSize))
           newlyAddedAgents << new OpenstackSubnetCachingAgent(credentials, region, objectMapper)
           newlyAddedAgents << new OpenstackNetworkCachingAgent(credentials, region, objectMapper)
           newlyAddedAgents << new OpenstackImageCachingAgent(credentials, region, objectMapper)
           newlyAddedAgents << new OpenstackSecurityGroupCachingAgent(credentials, region, objectMapper, registry)
           newlyAddedAgents << new OpenstackFloatingIPCachingAgent(credentials, region, objectMapper)
-          newlyAddedAgents << new OpenstackLoadBalancerCachingAgent(credentials, region, objectMapper, registry)
+          newlyAddedAgents << new OpenstackLoadBalancerCachingAgent(credentials, region, objectMapper, registry, statusTreeCache)
           newlyAddedAgents << new OpenstackInstanceTypeCachingAgent(credentials, region, objectMapper)
         }
       }
@@ -105,4 +121,17 @@ class OpenstackInfrastructureProviderConfig {
 
     new OpenstackProviderSynchronizer()
   }
+
+  /**
+   * Stack details of an account and region all come from that region's Heat endpoint, and only the server group
+   * caching agent of that account and region fetches them, so each of those agents gets its own pool: a slow region
+   * only delays its own stack details. Idle threads time out between caching runs.
+   */
+  private static ExecutorService newStackDetailPool(String accountName, String region, int threadPoolSize) {
+    int threads = Math.max(1, threadPoolSize)
+    def pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+      new NamedThreadFactory("${OpenstackServerGroupCachingAgent.simpleName}-${accountName}-${region}"))
+    pool.allowCoreThreadTimeOut(true)
+    return pool
+  }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License")
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.openstack.cache
+
+import com.netflix.spectator.api.DefaultRegistry
+import org.openstack4j.model.network.ext.LoadBalancerV2StatusTree
+import spock.lang.Specification
+
+import java.time.Clock
+
+class LoadBalancerStatusTreeCacheSpec extends Specification {
+
+  def registry = new DefaultRegistry()
+  def clock = Mock(Clock)
+  def statusTreeCache = new LoadBalancerStatusTreeCache(registry, 'test', 'east', 60000, clock)
+
+  void "should fetch a status tree once per ttl"() {
+    given:
+    LoadBalancerV2StatusTree statusTree = Mock(LoadBalancerV2StatusTree)
+    int fetches = 0
+    Closure<LoadBalancerV2StatusTree> fetch = { fetches++; statusTree }
+
+    when:
+    def first = statusTreeCache.get('lb-1', fetch)
+    def second = statusTreeCache.get('lb-1', fetch)
+
+    then:
+    _ * clock.millis() >> 0L
+    first == statusTree
+    second == statusTree
+    fetches == 1
+    lookups('hit') == 1
+    lookups('miss') == 1
+
+    when:
+    statusTreeCache.get('lb-1', fetch)
+
+    then:
+    _ * clock.millis() >> 60000L
+    fetches == 2
+  }
+
+  void "should serve published status trees and drop those of deleted load balancers"() {
+    given:
+    LoadBalancerV2StatusTree statusTree = Mock(LoadBalancerV2StatusTree)
+    clock.millis() >> 0L
+
+    when:
+    statusTreeCache.put('lb-1', statusTree)
+    statusTreeCache.put('lb-2', statusTree)
+    statusTreeCache.retainAll(['lb-1'])
+
+    then:
+    statusTreeCache.get('lb-1') { throw new IllegalStateException() } == statusTree
+    statusTreeCache.get('lb-2') { null } == null
+    lookups('miss') == 1
+  }
+
+  private long lookups(String result) {
+    registry.counter(registry.createId('openstack.loadBalancerStatusTrees.lookups',
+      [account: 'test', region: 'east', result: result])).count()
+  }
+}
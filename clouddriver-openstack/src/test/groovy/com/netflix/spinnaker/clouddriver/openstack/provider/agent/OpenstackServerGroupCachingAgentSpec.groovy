@@ -266,6 +266,41 @@ class OpenstackServerGroupCachingAgentSpec extends Specification {
                                               , (LOAD_BALANCERS.ns): Sets.newHashSet(loadBalancerKey), (INSTANCES.ns): Sets.newHashSet(instanceKey)]
   }
 
+  void "test build cache result fetches status trees of shared load balancers once"() {
+    given:
+    ProviderCache providerCache = Mock(ProviderCache)
+    String loadBalancerId = UUID.randomUUID().toString()
+    List<Stack> stacks = ['testapp-main-v000', 'testapp-main-v001'].collect { String name ->
+      Mock(Stack) {
+        getId() >> { name }
+        getName() >> { name }
+      }
+    }
+    LoadBalancerV2StatusTree lb = Mock(LoadBalancerV2StatusTree) {
+      it.loadBalancerV2Status >> {
+        Mock(LoadBalancerV2Status) {
+          getId() >> { loadBalancerId }
+          getName() >> { 'testapp-lb' }
+        }
+      }
+    }
+    Stack stackDetail = Mock(Stack) { getParameters() >> ['load_balancers': loadBalancerId] }
+    CacheResultBuilder cacheResultBuilder = new CacheResultBuilder()
+
+    when:
+    cachingAgent.buildCacheResult(providerCache, cacheResultBuilder, stacks)
+
+    then:
+    1 * cachingAgent.getInstanceIdsByStack(region, stacks) >> [:]
+    2 * provider.getStack(region, _) >> stackDetail
+    1 * provider.getLoadBalancerStatusTree(region, loadBalancerId) >> lb
+    2 * cachingAgent.buildServerGroup(providerCache, stackDetail, _, _) >> OpenstackServerGroup.builder().account(account).build()
+
+    and:
+    cacheResultBuilder.build().cacheResults.get(SERVER_GROUPS.ns)*.relationships*.get(LOAD_BALANCERS.ns) ==
+      [[Keys.getLoadBalancerKey('testapp-lb', loadBalancerId, account, region)] as Set] * 2
+  }
+
   void "test build cache result exception"() {
     given:
     ProviderCache providerCache = Mock(ProviderCache)
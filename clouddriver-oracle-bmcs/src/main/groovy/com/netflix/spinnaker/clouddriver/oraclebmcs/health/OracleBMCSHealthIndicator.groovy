@@ -8,60 +8,34 @@
  */
 package com.netflix.spinnaker.clouddriver.oraclebmcs.health
 
+import com.netflix.spinnaker.clouddriver.health.AbstractAccountHealthIndicator
+import com.netflix.spinnaker.clouddriver.oraclebmcs.OracleBMCSCloudProvider
 import com.netflix.spinnaker.clouddriver.oraclebmcs.security.OracleBMCSNamedAccountCredentials
-import com.netflix.spinnaker.clouddriver.security.AccountCredentialsProvider
 import com.oracle.bmc.identity.requests.ListAvailabilityDomainsRequest
 import groovy.transform.InheritConstructors
-import groovy.util.logging.Slf4j
-import org.springframework.beans.factory.annotation.Autowired
-import org.springframework.boot.actuate.health.Health
-import org.springframework.boot.actuate.health.HealthIndicator
 import org.springframework.http.HttpStatus
 import org.springframework.scheduling.annotation.Scheduled
 import org.springframework.stereotype.Component
 import org.springframework.web.bind.annotation.ResponseStatus
 
-import java.util.concurrent.atomic.AtomicReference
-
-@Slf4j
 @Component
-class OracleBMCSHealthIndicator implements HealthIndicator {
-
-  @Autowired
-  AccountCredentialsProvider accountCredentialsProvider
-
-  private final AtomicReference<Exception> lastException = new AtomicReference<>(null)
-
-  @Override
-  Health health() {
-    def ex = lastException.get()
-
-    if (ex) {
-      throw ex
-    }
+class OracleBMCSHealthIndicator extends AbstractAccountHealthIndicator<OracleBMCSNamedAccountCredentials> {
 
-    new Health.Builder().up().build()
+  OracleBMCSHealthIndicator() {
+    super(OracleBMCSCloudProvider.ID, OracleBMCSNamedAccountCredentials)
   }
 
   @Scheduled(fixedDelay = 300000L)
   void checkHealth() {
-    try {
-      Set<OracleBMCSNamedAccountCredentials> creds = accountCredentialsProvider.all.findAll {
-        it instanceof OracleBMCSNamedAccountCredentials
-      } as Set<OracleBMCSNamedAccountCredentials>
-
-      creds.each { OracleBMCSNamedAccountCredentials cred ->
-        try {
-          cred.identityClient.listAvailabilityDomains(ListAvailabilityDomainsRequest.builder().compartmentId(cred.compartmentId).build())
-        } catch(Exception ex) {
-          throw new OracleBMCSUnreachableException(ex)
-        }
-      }
+    probeAccounts()
+  }
 
-      lastException.set(null)
-    } catch (Exception ex) {
-      log.warn "Unhealthy", ex
-      lastException.set(ex)
+  @Override
+  protected void probe(OracleBMCSNamedAccountCredentials cred) {
+    try {
+      cred.identityClient.listAvailabilityDomains(ListAvailabilityDomainsRequest.builder().compartmentId(cred.compartmentId).build())
+    } catch(Exception ex) {
+      throw new OracleBMCSUnreachableException(ex)
     }
   }
 
@@ -69,4 +43,3 @@ class OracleBMCSHealthIndicator implements HealthIndicator {
   @InheritConstructors
   static class OracleBMCSUnreachableException extends RuntimeException {}
 }
-
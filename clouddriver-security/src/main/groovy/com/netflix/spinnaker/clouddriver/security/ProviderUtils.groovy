@@ -76,7 +76,7 @@ public class ProviderUtils {
         CatsModule catsModule = agentScheduler.catsModule
 
         agentsToSchedule.each { agent ->
-          agentScheduler.schedule(agent, agent.getAgentExecution(catsModule.providerRegistry), catsModule.executionInstrumentation)
+          agentScheduler.schedule(agent, agent.getAgentExecution(catsModule.providerRegistry, catsModule.executionInstrumentation), catsModule.executionInstrumentation)
         }
       }
     }
@@ -17,14 +17,17 @@
 package com.netflix.spinnaker.clouddriver
 
 import com.netflix.spectator.api.Registry
+import com.netflix.spinnaker.clouddriver.cache.CacheFreshnessMonitor
 import com.netflix.spinnaker.clouddriver.configuration.CredentialsConfiguration
 import com.netflix.spinnaker.clouddriver.configuration.ThreadPoolConfiguration
+import com.netflix.spinnaker.clouddriver.interceptors.CacheFreshnessInterceptor
 
 import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue
 import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueueConfiguration
 import com.netflix.spinnaker.filters.AuthenticatedRequestFilter
 import com.netflix.spinnaker.kork.web.interceptors.MetricsInterceptor
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.web.servlet.FilterRegistrationBean
 import org.springframework.context.annotation.Bean
@@ -54,6 +57,12 @@ public class WebConfig extends WebMvcConfigurerAdapter {
   @Autowired
   Registry registry
 
+  @Autowired(required = false)
+  CacheFreshnessMonitor cacheFreshnessMonitor
+
+  @Value('${caching.freshness.headers.enabled:false}')
+  boolean freshnessHeadersEnabled
+
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
     registry.addInterceptor(
@@ -61,6 +70,10 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         this.registry, "controller.invocations", ["account", "region"], ["BasicErrorController"]
       )
     )
+
+    if (freshnessHeadersEnabled && cacheFreshnessMonitor) {
+      registry.addInterceptor(new CacheFreshnessInterceptor(cacheFreshnessMonitor))
+    }
   }
 
   @Bean
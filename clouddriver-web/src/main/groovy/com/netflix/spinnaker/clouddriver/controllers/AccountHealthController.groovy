@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.health.AccountHealth
+import com.netflix.spinnaker.clouddriver.health.AccountHealthProber
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.web.bind.annotation.PathVariable
+import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RequestMethod
+import org.springframework.web.bind.annotation.RequestParam
+import org.springframework.web.bind.annotation.RestController
+
+@RestController
+@RequestMapping("/health/accounts")
+class AccountHealthController {
+
+  @Autowired
+  AccountHealthProber accountHealthProber
+
+  @RequestMapping(method = RequestMethod.GET)
+  List<AccountHealth> list(@RequestParam(value = "provider", required = false) String provider,
+                           @RequestParam(value = "unhealthyOnly", required = false) boolean unhealthyOnly) {
+    accountHealthProber.accountHealth.findAll { !provider || it.key == provider }.collectMany {
+      it.value.values().findAll { !unhealthyOnly || !it.healthy }.sort { it.account }
+    }
+  }
+
+  @RequestMapping(value = "/{account:.+}", method = RequestMethod.GET)
+  List<AccountHealth> get(@PathVariable("account") String account) {
+    def accountHealth = accountHealthProber.accountHealth.values().findResults { it[account] }
+    if (!accountHealth) {
+      throw new NotFoundException("Account health is unknown (name: ${account})")
+    }
+
+    return accountHealth
+  }
+}
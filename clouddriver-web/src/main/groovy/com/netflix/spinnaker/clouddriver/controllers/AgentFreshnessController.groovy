@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.cache.CacheFreshnessMonitor
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RequestMethod
+import org.springframework.web.bind.annotation.RequestParam
+import org.springframework.web.bind.annotation.RestController
+
+@RestController
+@RequestMapping("/agents/freshness")
+class AgentFreshnessController {
+
+  @Autowired
+  CacheFreshnessMonitor cacheFreshnessMonitor
+
+  /**
+   * Lists how long ago each caching agent last stored a result, least fresh first.
+   */
+  @RequestMapping(method = RequestMethod.GET)
+  List<CacheFreshnessMonitor.AgentFreshness> list(@RequestParam(value = "provider", required = false) String provider,
+                                                  @RequestParam(value = "staleOnly", required = false) boolean staleOnly) {
+    cacheFreshnessMonitor.freshness.findAll {
+      (!provider || it.provider == provider) && (!staleOnly || it.stale)
+    }.sort { -it.ageMillis }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.cache.AgentExecutionProfiler
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RequestMethod
+import org.springframework.web.bind.annotation.RequestParam
+import org.springframework.web.bind.annotation.RestController
+
+@RestController
+@RequestMapping("/agents/profiles")
+class AgentProfileController {
+
+  @Autowired
+  AgentExecutionProfiler agentExecutionProfiler
+
+  /**
+   * Lists the caching agents executed by this instance, most expensive first.
+   */
+  @RequestMapping(method = RequestMethod.GET)
+  List<Map> mostExpensiveAgents(@RequestParam(value = "sortBy", defaultValue = AgentExecutionProfiler.TOTAL) String sortBy,
+                                @RequestParam(value = "limit", defaultValue = "20") int limit) {
+    agentExecutionProfiler.getMostExpensiveAgents(sortBy, limit)
+  }
+}
@@ -55,9 +55,9 @@ class ApplicationsController {
   @RequestMapping(method = RequestMethod.GET)
   List<Application> list(@RequestParam(required = false, value = 'expand', defaultValue = 'true') boolean expand,
                          @RequestParam(required = false, value = 'restricted', defaultValue = 'true') boolean restricted) {
-    def results = requestQueue.execute("applications", {
+    List<Application> results = new ArrayList<>(requestQueue.execute("applications", "getApplications:${expand}", {
       applicationProviders.collectMany { it.getApplications(expand) ?: [] }
-    })
+    }))
     results.removeAll([null])
     results.sort { a, b -> a?.name?.toLowerCase() <=> b?.name?.toLowerCase() }
   }
@@ -66,7 +66,7 @@ class ApplicationsController {
   @RequestMapping(value = "/{name:.+}", method = RequestMethod.GET)
   ApplicationViewModel get(@PathVariable String name) {
     try {
-      def apps = requestQueue.execute(name, {
+      def apps = requestQueue.execute(name, "getApplication", {
         applicationProviders.collect { it.getApplication(name) }
       }) - null
       if (!apps) {
@@ -89,7 +89,7 @@ class ApplicationsController {
       attributes << app.attributes
 
       clusterProviders.collectMany { provider ->
-        requestQueue.execute(app.name, {
+        requestQueue.execute(app.name, "getClusterSummaries:${provider.class.name}", {
           provider.getClusterSummaries(app.name)?.values()?.flatten() as Set ?: []
         })
       }.each { Cluster cluster ->
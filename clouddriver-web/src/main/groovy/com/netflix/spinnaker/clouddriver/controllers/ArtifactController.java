@@ -29,8 +29,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -59,9 +61,10 @@ public class ArtifactController {
   }
 
   @RequestMapping(method = RequestMethod.GET, value = "/fetch")
-  String fetch(@RequestParam("artifactAccount") String artifactAccount,
+  StreamingResponseBody fetch(@RequestParam("artifactAccount") String artifactAccount,
       @RequestParam("type") String type,
-      @RequestParam("reference") String reference) {
+      @RequestParam("reference") String reference,
+      @RequestParam(value = "version", required = false) String version) {
     if (artifactDownloader == null) {
       throw new IllegalStateException("Artifacts have not been enabled. Enable them using 'artifacts.enabled' in clouddriver");
     }
@@ -70,12 +73,21 @@ public class ArtifactController {
         .type(type)
         .artifactAccount(artifactAccount)
         .reference(reference)
+        .version(version)
         .build();
 
+    // open the artifact before responding so that failures are reported as errors rather than truncated bodies
+    InputStream artifactStream;
     try {
-      return IOUtils.toString(artifactDownloader.download(artifact));
+      artifactStream = artifactDownloader.download(artifact);
     } catch (IOException e) {
       throw new RuntimeException("Failure fetching '" + artifact + "': " + e.getMessage(), e);
     }
+
+    return outputStream -> {
+      try (InputStream is = artifactStream) {
+        IOUtils.copy(is, outputStream);
+      }
+    };
   }
 }
@@ -90,7 +90,7 @@ class OperationsController {
                                               @RequestParam(value = "clientRequestId", required = false) String clientRequestId,
                                               @RequestBody List<Map<String, Map>> requestBody) {
     List<AtomicOperation> atomicOperations = collectAtomicOperations(cloudProvider, requestBody)
-    start(atomicOperations, clientRequestId)
+    start(cloudProvider, atomicOperations, clientRequestId)
   }
 
   @RequestMapping(value = "/{cloudProvider}/ops/{name}", method = RequestMethod.POST)
@@ -99,7 +99,7 @@ class OperationsController {
                                              @RequestParam(value = "clientRequestId", required = false) String clientRequestId,
                                              @RequestBody Map requestBody) {
     List<AtomicOperation> atomicOperations = collectAtomicOperations(cloudProvider, [[(name): requestBody]])
-    start(atomicOperations, clientRequestId)
+    start(cloudProvider, atomicOperations, clientRequestId)
   }
 
   /*
@@ -197,6 +197,12 @@ class OperationsController {
     [id: task.id, resourceUri: "/task/${task.id}".toString()]
   }
 
+  private Map<String, String> start(String cloudProvider, List<AtomicOperation> atomicOperations, String key) {
+    key = key ?: UUID.randomUUID().toString()
+    Task task = orchestrationProcessor.process(cloudProvider, atomicOperations, key)
+    [id: task.id, resourceUri: "/task/${task.id}".toString()]
+  }
+
   static Map processDescriptionInput(Collection<AtomicOperationDescriptionPreProcessor> descriptionPreProcessors,
                                      AtomicOperationConverter converter,
                                      Map descriptionInput) {
@@ -98,7 +98,7 @@ class ServerGroupController {
     return clusterProviders
       .findAll { cloudProvider ? cloudProvider.equalsIgnoreCase(it.cloudProviderId) : true }
       .findResults { ClusterProvider cp ->
-      requestQueue.execute(application, {
+      requestQueue.execute(application, "getClusterDetails:${cp.class.name}", {
         cp.getClusterDetails(application)?.values()
       })
     }
@@ -127,7 +127,9 @@ class ServerGroupController {
     def clusters = (Set<Cluster>) clusterProviders
       .findAll { cloudProvider ? cloudProvider.equalsIgnoreCase(it.cloudProviderId) : true }
       .findResults { provider ->
-      requestQueue.execute(application, { provider.getClusterDetails(application)?.values() })
+      requestQueue.execute(application, "getClusterDetails:${provider.class.name}", {
+        provider.getClusterDetails(application)?.values()
+      })
     }.flatten()
     clusters.each { Cluster cluster ->
       cluster.serverGroups.each { ServerGroup serverGroup ->
@@ -16,13 +16,16 @@
 
 package com.netflix.spinnaker.clouddriver.controllers
 
+import com.netflix.spinnaker.clouddriver.data.task.Status
 import com.netflix.spinnaker.clouddriver.data.task.Task
 import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
+import com.netflix.spinnaker.clouddriver.data.task.TaskState
 import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.RequestMapping
 import org.springframework.web.bind.annotation.RequestMethod
+import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.bind.annotation.RestController
 
 import javax.servlet.http.HttpServletRequest
@@ -42,8 +45,46 @@ class TaskController {
     return t
   }
 
+  /**
+   * Lists tasks, optionally filtered by state and phase.
+   *
+   * When a pageSize is supplied, tasks are ordered by most recently started and the requested (1-based) page is
+   * returned. Filtering and paging are applied to the full task listing of the repository.
+   */
   @RequestMapping(method = RequestMethod.GET)
-  List<Task> list() {
-    taskRepository.list()
+  List<Task> list(@RequestParam(value = "state", required = false) TaskState state,
+                  @RequestParam(value = "phase", required = false) String phase,
+                  @RequestParam(value = "pageSize", required = false) Integer pageSize,
+                  @RequestParam(value = "page", defaultValue = "1", required = false) int page) {
+    if (pageSize != null && pageSize < 1) {
+      throw new IllegalArgumentException("pageSize must be positive (pageSize: ${pageSize})")
+    }
+    if (page < 1) {
+      throw new IllegalArgumentException("page must be positive (page: ${page})")
+    }
+
+    List<Task> tasks = taskRepository.list()
+    if (state || phase) {
+      tasks = tasks.findAll { Task task ->
+        Status status = task.status
+        (!state || stateOf(status) == state) && (!phase || status.phase == phase)
+      }
+    }
+
+    if (pageSize == null) {
+      return tasks
+    }
+
+    int from = (page - 1) * pageSize
+    if (from >= tasks.size()) {
+      return []
+    }
+    return tasks
+      .sort(false) { Task a, Task b -> b.startTimeMs <=> a.startTimeMs ?: a.id <=> b.id }
+      .subList(from, Math.min(from + pageSize, tasks.size()))
+  }
+
+  private static TaskState stateOf(Status status) {
+    status.isFailed() ? TaskState.FAILED : status.isCompleted() ? TaskState.COMPLETED : TaskState.STARTED
   }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.interceptors
+
+import com.netflix.spinnaker.clouddriver.cache.CacheFreshnessMonitor
+import org.springframework.web.servlet.HandlerMapping
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter
+
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+
+/**
+ * Adds the freshness of the cached data of the account (and region) of a read request to its response:
+ * X-Cache-Last-Updated is when the least fresh matching agent last stored a result (epoch millis), and X-Cache-Stale
+ * whether any matching agent is stale.
+ */
+class CacheFreshnessInterceptor extends HandlerInterceptorAdapter {
+  static final String LAST_UPDATED_HEADER = "X-Cache-Last-Updated"
+  static final String STALE_HEADER = "X-Cache-Stale"
+
+  private final CacheFreshnessMonitor cacheFreshnessMonitor
+
+  CacheFreshnessInterceptor(CacheFreshnessMonitor cacheFreshnessMonitor) {
+    this.cacheFreshnessMonitor = cacheFreshnessMonitor
+  }
+
+  @Override
+  boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+    if (request.method != "GET") {
+      return true
+    }
+
+    Map<String, String> variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) as Map<String, String>
+    String account = variables?.account
+    String region = variables?.region
+    if (!account) {
+      return true
+    }
+
+    def agents = cacheFreshnessMonitor.lastFreshness.findAll {
+      it.account == account && (!region || !it.region || it.region == region)
+    }
+    if (agents) {
+      response.setHeader(LAST_UPDATED_HEADER, (System.currentTimeMillis() - agents*.ageMillis.max()).toString())
+      response.setHeader(STALE_HEADER, agents.any { it.stale }.toString())
+    }
+    return true
+  }
+}
@@ -35,7 +35,13 @@ public interface RequestQueue {
       return noop();
     }
 
-    return pooled(registry, config.getStartWorkTimeoutMillis(), config.getTimeoutMillis(), config.getPoolSize());
+    return new PooledRequestQueue(
+      registry,
+      config.getStartWorkTimeoutMillis(),
+      config.getTimeoutMillis(),
+      config.getPoolSize(),
+      config.getPartitionWeights()
+    );
   }
 
   static RequestQueue noop() {
@@ -64,6 +70,19 @@ public interface RequestQueue {
 
   <T> T execute(String partition, Callable<T> operation, long startWorkTimeout, long timeout, TimeUnit unit) throws Throwable;
 
+  /**
+   * Executes an operation that is identified by operationKey within its partition. Callers that request the same
+   * operation while it is already in flight share its result rather than executing it again, so the result must not be
+   * mutated by callers.
+   */
+  default <T> T execute(String partition, String operationKey, Callable<T> operation) throws Throwable {
+    return execute(partition, operationKey, operation, getDefaultStartWorkTimeoutMillis(), getDefaultTimeoutMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  default <T> T execute(String partition, String operationKey, Callable<T> operation, long startWorkTimeout, long timeout, TimeUnit unit) throws Throwable {
+    return execute(partition, operation, startWorkTimeout, timeout, unit);
+  }
+
   class NOOP implements RequestQueue {
     @Override
     public <T> T execute(String partition, Callable<T> operation, long startWorkTimeout, long timeout, TimeUnit unit) throws Throwable {
@@ -18,12 +18,16 @@ package com.netflix.spinnaker.clouddriver.requestqueue;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @ConfigurationProperties("requestQueue")
 public class RequestQueueConfiguration {
   private boolean enabled = false;
   private long startWorkTimeoutMillis = RequestQueue.DEFAULT_START_WORK_TIMEOUT_MILLIS;
   private long timeoutMillis = RequestQueue.DEFAULT_TIMEOUT_MILLIS;
   private int poolSize = 10;
+  private Map<String, Integer> partitionWeights = new HashMap<>();
 
   public boolean isEnabled() {
     return enabled;
@@ -56,4 +60,12 @@ public class RequestQueueConfiguration {
   public void setPoolSize(int poolSize) {
     this.poolSize = poolSize;
   }
+
+  public Map<String, Integer> getPartitionWeights() {
+    return partitionWeights;
+  }
+
+  public void setPartitionWeights(Map<String, Integer> partitionWeights) {
+    this.partitionWeights = partitionWeights;
+  }
 }
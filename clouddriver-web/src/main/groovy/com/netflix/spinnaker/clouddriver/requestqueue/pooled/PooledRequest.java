@@ -18,20 +18,26 @@ package com.netflix.spinnaker.clouddriver.requestqueue.pooled;
 
 import com.netflix.spectator.api.Registry;
 import com.netflix.spectator.api.Timer;
+import com.netflix.spectator.api.histogram.PercentileTimer;
 
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 class PooledRequest<T> implements Runnable {
   private final Timer timer;
   private final Promise<T> result;
+  private final String partition;
   private final Callable<T> work;
+  private final List<Runnable> completionListeners = new CopyOnWriteArrayList<>();
   private final long startTime = System.nanoTime();
 
   PooledRequest(Registry registry, String partition, Callable<T> work) {
-    this.timer = registry.timer(registry.createId("pooledRequestQueue.enqueueTime", "partition", partition));
+    this.timer = PercentileTimer.get(registry, registry.createId("pooledRequestQueue.enqueueTime", "partition", partition));
     this.result = new Promise<>(registry, partition);
+    this.partition = partition;
     this.work = work;
   }
 
@@ -39,6 +45,17 @@ class PooledRequest<T> implements Runnable {
     return result;
   }
 
+  String getPartition() {
+    return partition;
+  }
+
+  /**
+   * Registers a callback to be invoked once this request has been run (whether or not its work was started).
+   */
+  void onCompletion(Runnable listener) {
+    completionListeners.add(listener);
+  }
+
   void cancel() {
     result.completeWithException(new CancellationException());
   }
@@ -48,12 +65,16 @@ class PooledRequest<T> implements Runnable {
     timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
     //request may have expired with a timeout prior to this point, lets not
     // issue the work if that is the case as the caller has already moved on
-    if (result.shouldStart()) {
-      try {
-        result.complete(work.call());
-      } catch (Throwable t) {
-        result.completeWithException(t);
+    try {
+      if (result.shouldStart()) {
+        try {
+          result.complete(work.call());
+        } catch (Throwable t) {
+          result.completeWithException(t);
+        }
       }
+    } finally {
+      completionListeners.forEach(Runnable::run);
     }
   }
 }
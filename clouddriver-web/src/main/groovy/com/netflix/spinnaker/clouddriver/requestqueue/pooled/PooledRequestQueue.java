@@ -23,6 +23,8 @@ import com.netflix.spinnaker.clouddriver.requestqueue.RequestQueue;
 
 import javax.annotation.PreDestroy;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
@@ -36,6 +38,7 @@ import java.util.concurrent.TimeUnit;
 
 public class PooledRequestQueue implements RequestQueue {
   private final ConcurrentMap<String, Queue<PooledRequest<?>>> partitionedRequests = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, PooledRequest<?>> inFlightRequests = new ConcurrentHashMap<>();
   private final PollCoordinator pollCoordinator = new PollCoordinator();
 
   private final long defaultStartWorkTimeout;
@@ -47,6 +50,14 @@ public class PooledRequestQueue implements RequestQueue {
   private final Registry registry;
 
   public PooledRequestQueue(Registry registry, long defaultStartWorkTimeout, long defaultTimeout, int requestPoolSize) {
+    this(registry, defaultStartWorkTimeout, defaultTimeout, requestPoolSize, Collections.emptyMap());
+  }
+
+  public PooledRequestQueue(Registry registry,
+                            long defaultStartWorkTimeout,
+                            long defaultTimeout,
+                            int requestPoolSize,
+                            Map<String, Integer> partitionWeights) {
 
     if (defaultStartWorkTimeout <= 0) {
       throw new IllegalArgumentException("defaultStartWorkTimeout");
@@ -67,7 +78,14 @@ public class PooledRequestQueue implements RequestQueue {
     final int actualThreads = requestPoolSize + 1;
     this.executorService = new ThreadPoolExecutor(actualThreads, actualThreads, 0, TimeUnit.MILLISECONDS, submittedRequests);
     this.requestQueues = new CopyOnWriteArrayList<>();
-    this.requestDistributor = new RequestDistributor(registry, pollCoordinator, executorService, requestQueues);
+    this.requestDistributor = new RequestDistributor(
+      registry,
+      pollCoordinator,
+      executorService,
+      requestQueues,
+      requestPoolSize,
+      partition -> partitionWeights.getOrDefault(partition, 1)
+    );
     executorService.submit(requestDistributor);
   }
 
@@ -94,6 +112,34 @@ public class PooledRequestQueue implements RequestQueue {
   @Override
   public <T> T execute(String partition, Callable<T> operation, long startWorkTimeout, long timeout, TimeUnit unit) throws Throwable {
     final long startTime = System.nanoTime();
+    final PooledRequest<T> request = new PooledRequest<>(registry, partition, operation);
+    enqueue(partition, request);
+    return awaitResult(partition, request, startTime, startWorkTimeout, timeout, unit);
+  }
+
+  @Override
+  public <T> T execute(String partition, String operationKey, Callable<T> operation, long startWorkTimeout, long timeout, TimeUnit unit) throws Throwable {
+    final long startTime = System.nanoTime();
+    final String inFlightKey = partition + ":" + operationKey;
+    final PooledRequest<T> request = new PooledRequest<>(registry, partition, operation);
+
+    PooledRequest<?> inFlight = inFlightRequests.compute(inFlightKey, (key, existing) ->
+      (existing == null || existing.getPromise().isDone() || !existing.getPromise().join()) ? request : existing
+    );
+
+    if (inFlight != request) {
+      registry.counter(registry.createId("pooledRequestQueue.coalesced", "partition", partition)).increment();
+      @SuppressWarnings("unchecked")
+      PooledRequest<T> sharedRequest = (PooledRequest<T>) inFlight;
+      return awaitResult(partition, sharedRequest, startTime, startWorkTimeout, timeout, unit);
+    }
+
+    request.onCompletion(() -> inFlightRequests.remove(inFlightKey, request));
+    enqueue(partition, request);
+    return awaitResult(partition, request, startTime, startWorkTimeout, timeout, unit);
+  }
+
+  private void enqueue(String partition, PooledRequest<?> request) {
     final Queue<PooledRequest<?>> queue;
     if (!partitionedRequests.containsKey(partition)) {
       Queue<PooledRequest<?>> newQueue = new LinkedBlockingQueue<>();
@@ -109,11 +155,16 @@ public class PooledRequestQueue implements RequestQueue {
       queue = partitionedRequests.get(partition);
     }
 
-    final PooledRequest<T> request = new PooledRequest<>(registry, partition, operation);
-
     queue.offer(request);
     pollCoordinator.notifyItemsAdded();
+  }
 
+  private <T> T awaitResult(String partition,
+                            PooledRequest<T> request,
+                            long startTime,
+                            long startWorkTimeout,
+                            long timeout,
+                            TimeUnit unit) throws Throwable {
     Id id = registry.createId("pooledRequestQueue.totalTime", "partition", partition);
     try {
       T result = request.getPromise().blockingGetOrThrow(startWorkTimeout, timeout, unit);
@@ -22,6 +22,7 @@ import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 class Promise<T> {
@@ -54,6 +55,7 @@ class Promise<T> {
   private final CountDownLatch startingLatch = new CountDownLatch(1);
   private final CountDownLatch latch = new CountDownLatch(1);
   private final AtomicReference<Either<T>> result = new AtomicReference<>();
+  private final AtomicInteger waiters = new AtomicInteger(1);
   private final Registry registry;
   private final String partition;
 
@@ -85,19 +87,46 @@ class Promise<T> {
     latch.countDown();
   }
 
+  boolean isDone() {
+    return result.get() != null;
+  }
+
+  /**
+   * Registers an additional caller waiting on this promise (see {@link #blockingGetOrThrow}).
+   *
+   * @return false if every previous caller has already given up on this promise
+   */
+  boolean join() {
+    return waiters.getAndUpdate(count -> count > 0 ? count + 1 : count) > 0;
+  }
+
+  /**
+   * Waits for this promise using the caller's own timeouts, measured from when the caller started waiting.
+   *
+   * A caller that times out only fails the promise if no other caller is still waiting on it; otherwise it fails on
+   * its own and leaves the promise to the remaining callers.
+   */
   T blockingGetOrThrow(long startWorkTimeout, long timeout, TimeUnit unit) throws Throwable {
+    Throwable failure = null;
     try {
       if (startingLatch.await(startWorkTimeout, unit)) {
         if (!latch.await(timeout, unit)) {
           registry.counter(registry.createId("pooledRequestQueue.promise.timeout", "partition", partition)).increment();
-          completeWithException(new PromiseTimeoutException());
+          failure = new PromiseTimeoutException();
         }
       } else {
         registry.counter(registry.createId("pooledRequest.promise.notStarted", "partition", partition)).increment();
-        completeWithException(new PromiseNotStartedException());
+        failure = new PromiseNotStartedException();
       }
     } catch (Throwable t) {
-      completeWithException(t);
+      failure = t;
+    }
+
+    if (failure != null) {
+      if (waiters.decrementAndGet() > 0 && !isDone()) {
+        throw failure;
+      }
+      completeWithException(failure);
     }
     return this.result.get().getOrThrow();
   }
@@ -24,21 +24,44 @@ import org.slf4j.LoggerFactory;
 import java.util.Collection;
 import java.util.Queue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
 
+/**
+ * Dispatches queued requests to the executor, visiting each partition in turn and taking up to that partition's weight
+ * in requests per pass.
+ *
+ * At most maxDispatched requests are handed to the executor at a time, so requests wait in their partition's queue
+ * (where they are scheduled fairly) rather than in the executor's FIFO queue.
+ */
 class RequestDistributor implements Runnable {
   private final AtomicBoolean continueRunning = new AtomicBoolean(true);
   private final PollCoordinator pollCoordinator;
   private final Executor executor;
   private final Collection<Queue<PooledRequest<?>>> requestQueues;
+  private final Semaphore dispatchPermits;
+  private final ToIntFunction<String> partitionWeights;
   private final Counter submissionCounter;
 
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   RequestDistributor(Registry registry, PollCoordinator pollCoordinator, Executor executor, Collection<Queue<PooledRequest<?>>> requestQueues) {
+    this(registry, pollCoordinator, executor, requestQueues, Integer.MAX_VALUE, partition -> 1);
+  }
+
+  RequestDistributor(Registry registry,
+                     PollCoordinator pollCoordinator,
+                     Executor executor,
+                     Collection<Queue<PooledRequest<?>>> requestQueues,
+                     int maxDispatched,
+                     ToIntFunction<String> partitionWeights) {
     this.pollCoordinator = pollCoordinator;
     this.executor = executor;
     this.requestQueues = requestQueues;
+    this.dispatchPermits = new Semaphore(maxDispatched);
+    this.partitionWeights = partitionWeights;
     this.submissionCounter = registry.counter("pooledRequestQueue.submitted");
   }
 
@@ -58,9 +81,25 @@ class RequestDistributor implements Runnable {
       boolean hadItems = false;
       pollCoordinator.reset();
       for (Queue<PooledRequest<?>> queue : requestQueues) {
-        final PooledRequest<?> request = queue.poll();
-        if (request != null) {
+        PooledRequest<?> next = queue.peek();
+        if (next == null) {
+          continue;
+        }
+
+        int weight = Math.max(1, partitionWeights.applyAsInt(next.getPartition()));
+        for (int dispatched = 0; dispatched < weight; dispatched++) {
+          if (!acquireDispatchPermit()) {
+            return;
+          }
+
+          final PooledRequest<?> request = queue.poll();
+          if (request == null) {
+            dispatchPermits.release();
+            break;
+          }
+
           hadItems = true;
+          request.onCompletion(dispatchPermits::release);
           submissionCounter.increment();
           executor.execute(request);
         }
@@ -71,4 +110,13 @@ class RequestDistributor implements Runnable {
       log.warn("Throwable during processPartitions", t);
     }
   }
+
+  private boolean acquireDispatchPermit() throws InterruptedException {
+    while (continueRunning.get()) {
+      if (dispatchPermits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spectator.api.DefaultRegistry
+import com.netflix.spinnaker.clouddriver.health.AccountHealthProber
+import com.netflix.spinnaker.clouddriver.security.AccountCredentials
+import com.netflix.spinnaker.kork.web.exceptions.NotFoundException
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+class AccountHealthControllerSpec extends Specification {
+
+  def accountHealthProber = new AccountHealthProber(new DefaultRegistry())
+
+  @Subject
+  def controller = new AccountHealthController(accountHealthProber: accountHealthProber)
+
+  def setup() {
+    probe("aws", ["prod": true, "test": true])
+    probe("google", ["gce-prod": true, "gce-test": false])
+    probe("kubernetes", ["k8s-a": false, "k8s-b": false])
+  }
+
+  @Unroll
+  def "should list the health of #description"() {
+    expect:
+    controller.list(provider, unhealthyOnly).collect { "${it.provider}/${it.account}:${it.healthy}".toString() } == expected
+
+    where:
+    description                             | provider     | unhealthyOnly || expected
+    "every account"                         | null         | false         || ["aws/prod:true", "aws/test:true", "google/gce-prod:true", "google/gce-test:false", "kubernetes/k8s-a:false", "kubernetes/k8s-b:false"]
+    "every unhealthy account"               | null         | true          || ["google/gce-test:false", "kubernetes/k8s-a:false", "kubernetes/k8s-b:false"]
+    "a provider whose accounts are healthy" | "aws"        | false         || ["aws/prod:true", "aws/test:true"]
+    "a provider with mixed accounts"        | "google"     | false         || ["google/gce-prod:true", "google/gce-test:false"]
+    "a provider whose accounts are down"    | "kubernetes" | true          || ["kubernetes/k8s-a:false", "kubernetes/k8s-b:false"]
+    "a provider with no unhealthy account"  | "aws"        | true          || []
+    "an unknown provider"                   | "azure"      | false         || []
+  }
+
+  def "should get the health of a single account"() {
+    when:
+    def accountHealth = controller.get("gce-test")
+
+    then:
+    accountHealth.size() == 1
+    with(accountHealth.first()) {
+      provider == "google"
+      account == "gce-test"
+      !healthy
+      error == "unreachable gce-test"
+    }
+  }
+
+  def "should throw when the health of an account is unknown"() {
+    when:
+    controller.get("unknown")
+
+    then:
+    thrown(NotFoundException)
+  }
+
+  private void probe(String provider, Map<String, Boolean> accounts) {
+    def credentials = accounts.keySet().collect { String name ->
+      Stub(AccountCredentials) {
+        getName() >> name
+      }
+    }
+    accountHealthProber.probe(provider, credentials) { AccountCredentials account ->
+      if (!accounts[account.name]) {
+        throw new IllegalStateException("unreachable ${account.name}")
+      }
+    }
+  }
+}
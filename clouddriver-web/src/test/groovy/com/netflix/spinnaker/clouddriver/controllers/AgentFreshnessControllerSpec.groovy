@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.cache.CacheFreshnessMonitor
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+class AgentFreshnessControllerSpec extends Specification {
+
+  def cacheFreshnessMonitor = Stub(CacheFreshnessMonitor) {
+    getFreshness() >> [
+      freshness("aws", "ClusterCachingAgent", 1000, false),
+      freshness("google", "InstanceCachingAgent", 7000, true),
+      freshness("aws", "InstanceCachingAgent", 9000, true),
+      freshness("google", "ClusterCachingAgent", 3000, false)
+    ]
+  }
+
+  @Subject
+  def controller = new AgentFreshnessController(cacheFreshnessMonitor: cacheFreshnessMonitor)
+
+  @Unroll
+  def "should list the freshness of #description, least fresh first"() {
+    expect:
+    controller.list(provider, staleOnly).collect { "${it.provider}/${it.agentType}".toString() } == expected
+
+    where:
+    description                      | provider | staleOnly || expected
+    "every agent"                    | null     | false     || ["aws/InstanceCachingAgent", "google/InstanceCachingAgent", "google/ClusterCachingAgent", "aws/ClusterCachingAgent"]
+    "every stale agent"              | null     | true      || ["aws/InstanceCachingAgent", "google/InstanceCachingAgent"]
+    "the agents of a provider"       | "google" | false     || ["google/InstanceCachingAgent", "google/ClusterCachingAgent"]
+    "the stale agents of a provider" | "aws"    | true      || ["aws/InstanceCachingAgent"]
+    "an unknown provider"            | "azure"  | false     || []
+  }
+
+  private static CacheFreshnessMonitor.AgentFreshness freshness(String provider, String agentType, long ageMillis, boolean stale) {
+    new CacheFreshnessMonitor.AgentFreshness(
+      provider: provider,
+      agentType: agentType,
+      account: "test",
+      region: "us-east-1",
+      lastSuccessfulWrite: System.currentTimeMillis() - ageMillis,
+      ageMillis: ageMillis,
+      expectedIntervalMillis: 1000,
+      stale: stale
+    )
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.controllers
+
+import com.netflix.spinnaker.clouddriver.data.task.Status
+import com.netflix.spinnaker.clouddriver.data.task.Task
+import com.netflix.spinnaker.clouddriver.data.task.TaskRepository
+import com.netflix.spinnaker.clouddriver.data.task.TaskState
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+class TaskControllerSpec extends Specification {
+
+  def taskRepository = Mock(TaskRepository)
+
+  @Subject
+  def controller = new TaskController(taskRepository: taskRepository)
+
+  @Unroll
+  def "should filter tasks by state #state and phase #phase"() {
+    given:
+    def running = task("1", 1000, "DEPLOY")
+    def completed = task("2", 2000, "DEPLOY", TaskState.COMPLETED)
+    def failed = task("3", 3000, "DESTROY", TaskState.FAILED)
+
+    when:
+    def tasks = controller.list(state, phase, null, 1)
+
+    then:
+    1 * taskRepository.list() >> [running, completed, failed]
+    tasks*.id == expectedIds
+
+    where:
+    state               | phase     || expectedIds
+    null                | null      || ["1", "2", "3"]
+    TaskState.STARTED   | null      || ["1"]
+    TaskState.COMPLETED | null      || ["2"]
+    TaskState.FAILED    | null      || ["3"]
+    null                | "DEPLOY"  || ["1", "2"]
+    TaskState.FAILED    | "DEPLOY"  || []
+  }
+
+  def "should return pages of the most recently started tasks"() {
+    given:
+    def tasks = (1..5).collect { task(it.toString(), it * 1000, "DEPLOY") }
+    taskRepository.list() >> tasks
+
+    expect:
+    controller.list(null, null, 2, 1)*.id == ["5", "4"]
+    controller.list(null, null, 2, 3)*.id == ["1"]
+    controller.list(null, null, 2, 4).isEmpty()
+  }
+
+  @Unroll
+  def "should reject a pageSize of #pageSize and page of #page"() {
+    when:
+    controller.list(null, null, pageSize, page)
+
+    then:
+    thrown(IllegalArgumentException)
+    0 * taskRepository.list()
+
+    where:
+    pageSize | page
+    -1       | 1
+    0        | 1
+    10       | 0
+    10       | -2
+  }
+
+  private Task task(String id, long startTimeMs, String phase, TaskState state = TaskState.STARTED) {
+    def status = Stub(Status) {
+      getPhase() >> phase
+      isCompleted() >> state.isCompleted()
+      isFailed() >> state.isFailed()
+    }
+    Stub(Task) {
+      getId() >> id
+      getStartTimeMs() >> startTimeMs
+      getStatus() >> status
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netflix.spinnaker.clouddriver.interceptors
+
+import com.netflix.spinnaker.clouddriver.cache.CacheFreshnessMonitor
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.web.servlet.HandlerMapping
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+import static com.netflix.spinnaker.clouddriver.interceptors.CacheFreshnessInterceptor.LAST_UPDATED_HEADER
+import static com.netflix.spinnaker.clouddriver.interceptors.CacheFreshnessInterceptor.STALE_HEADER
+
+class CacheFreshnessInterceptorSpec extends Specification {
+
+  def cacheFreshnessMonitor = Stub(CacheFreshnessMonitor) {
+    getLastFreshness() >> [
+      freshness("prod", "us-east-1", 1000, false),
+      freshness("prod", "us-west-2", 5000, true),
+      freshness("prod", null, 2000, false),
+      freshness("test", "us-east-1", 9000, true)
+    ]
+  }
+
+  @Subject
+  def interceptor = new CacheFreshnessInterceptor(cacheFreshnessMonitor)
+
+  @Unroll
+  def "should report the freshness of the agents caching account #account in region #region"() {
+    given:
+    def request = httpRequest("GET", [account: account, region: region])
+    def response = new MockHttpServletResponse()
+
+    when:
+    long before = System.currentTimeMillis()
+    interceptor.preHandle(request, response, null)
+    long after = System.currentTimeMillis()
+
+    then:
+    Long.parseLong(response.getHeader(LAST_UPDATED_HEADER)) in (before - ageMillis)..(after - ageMillis)
+    response.getHeader(STALE_HEADER) == stale
+
+    where:
+    account | region      || ageMillis | stale
+    "prod"  | "us-east-1" || 2000      | "false"
+    "prod"  | "us-west-2" || 5000      | "true"
+    "prod"  | null        || 5000      | "true"
+    "test"  | "us-east-1" || 9000      | "true"
+  }
+
+  @Unroll
+  def "should not report freshness for #description"() {
+    given:
+    def response = new MockHttpServletResponse()
+
+    expect:
+    interceptor.preHandle(httpRequest(method, variables), response, null)
+    response.headerNames.empty
+
+    where:
+    description                           | method | variables
+    "requests without an account"         | "GET"  | [region: "us-east-1"]
+    "accounts without caching agents"     | "GET"  | [account: "unknown"]
+    "requests other than GET"             | "POST" | [account: "prod"]
+    "requests without template variables" | "GET"  | null
+  }
+
+  private static MockHttpServletRequest httpRequest(String method, Map<String, String> variables) {
+    def request = new MockHttpServletRequest(method, "/")
+    if (variables != null) {
+      request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables)
+    }
+    return request
+  }
+
+  private static CacheFreshnessMonitor.AgentFreshness freshness(String account, String region, long ageMillis, boolean stale) {
+    new CacheFreshnessMonitor.AgentFreshness(
+      provider: "aws",
+      agentType: "${account}/${region}/TestCachingAgent".toString(),
+      account: account,
+      region: region,
+      lastSuccessfulWrite: System.currentTimeMillis() - ageMillis,
+      ageMillis: ageMillis,
+      expectedIntervalMillis: 1000,
+      stale: stale
+    )
+  }
+}
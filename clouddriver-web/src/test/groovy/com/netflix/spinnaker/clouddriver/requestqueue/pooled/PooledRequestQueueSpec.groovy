@@ -21,7 +21,10 @@ import spock.lang.Specification
 
 import java.util.concurrent.Callable
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
 
 class PooledRequestQueueSpec extends Specification {
   def "should execute requests"() {
@@ -77,4 +80,72 @@ class PooledRequestQueueSpec extends Specification {
     thrown(PromiseNotStartedException)
     !itRan.get()
   }
+
+  def "should share the result of an identical in-flight operation"() {
+    given:
+    def queue = new PooledRequestQueue(new NoopRegistry(), 1000, 1000, 2)
+    def started = new CountDownLatch(1)
+    def release = new CountDownLatch(1)
+    def invocations = new AtomicInteger()
+    Callable<Long> operation = {
+      invocations.incrementAndGet()
+      started.countDown()
+      release.await()
+      return 12345L
+    }
+
+    when:
+    def first = Thread.start { assert queue.execute("foo", "op", operation) == 12345L }
+    started.await()
+    def second = Thread.start { assert queue.execute("foo", "op", operation) == 12345L }
+    Thread.sleep(50)
+    release.countDown()
+    first.join()
+    second.join()
+
+    then:
+    invocations.get() == 1
+
+    when: "the operation is requested again once complete"
+    queue.execute("foo", "op", operation)
+
+    then:
+    invocations.get() == 2
+  }
+
+  def "should give a coalesced caller its own timeout measured from when it joined"() {
+    given:
+    def queue = new PooledRequestQueue(new NoopRegistry(), 1000, 1000, 2)
+    def started = new CountDownLatch(1)
+    def release = new CountDownLatch(1)
+    def invocations = new AtomicInteger()
+    Callable<Long> operation = {
+      invocations.incrementAndGet()
+      started.countDown()
+      release.await()
+      return 12345L
+    }
+    def followerResult = new AtomicReference<Long>()
+
+    when: "the owner gives up while a later caller is still waiting"
+    def owner = Thread.start {
+      try {
+        queue.execute("foo", "op", operation, 1000, 100, TimeUnit.MILLISECONDS)
+        assert false
+      } catch (PromiseTimeoutException ignored) {
+      }
+    }
+    started.await()
+    Thread.sleep(50)
+    def follower = Thread.start {
+      followerResult.set(queue.execute("foo", "op", operation, 1000, 1000, TimeUnit.MILLISECONDS))
+    }
+    owner.join()
+    release.countDown()
+    follower.join()
+
+    then: "the follower still receives the shared result"
+    followerResult.get() == 12345L
+    invocations.get() == 1
+  }
 }
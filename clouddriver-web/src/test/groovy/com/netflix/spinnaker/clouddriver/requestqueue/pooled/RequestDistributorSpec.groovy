@@ -57,4 +57,52 @@ class RequestDistributorSpec extends Specification {
     reqs[1].getPromise().blockingGetOrThrow(1, 1, TimeUnit.MILLISECONDS) == 2
 
   }
+
+  def "should dispatch up to a partition's weight per pass"() {
+    given:
+    Registry registry = new NoopRegistry()
+    Collection<Queue<PooledRequest>> queues = [new LinkedBlockingQueue<>(), new LinkedBlockingQueue<>()]
+    (0..2).each { i -> queues[0].add(new PooledRequest<Integer>(registry, "appA", { return i })) }
+    (0..2).each { i -> queues[1].add(new PooledRequest<Integer>(registry, "appB", { return 10 + i })) }
+    List<PooledRequest<Integer>> reqs = []
+    def exec = Stub(Executor) {
+      execute(_) >> { Runnable r ->
+        reqs.add(r)
+        r.run()
+      }
+    }
+
+    RequestDistributor dist = new RequestDistributor(registry, Mock(PollCoordinator), exec, queues, 10, { it == "appA" ? 2 : 1 })
+
+    when:
+    dist.processPartitions()
+
+    then:
+    reqs*.getPromise()*.blockingGetOrThrow(1, 1, TimeUnit.MILLISECONDS) == [0, 1, 10]
+  }
+
+  def "should not dispatch more than the maximum number of requests at a time"() {
+    given:
+    Registry registry = new NoopRegistry()
+    Collection<Queue<PooledRequest>> queues = [new LinkedBlockingQueue<>(), new LinkedBlockingQueue<>()]
+    queues[0].add(new PooledRequest<Integer>(registry, "appA", { return 0 }))
+    queues[1].add(new PooledRequest<Integer>(registry, "appB", { return 1 }))
+    List<Runnable> dispatched = []
+    def exec = Stub(Executor) {
+      execute(_) >> { Runnable r -> dispatched.add(r) }
+    }
+
+    RequestDistributor dist = new RequestDistributor(registry, Mock(PollCoordinator), exec, queues, 1, { 1 })
+
+    when: "the only dispatch slot is still in use"
+    Thread.start {
+      Thread.sleep(200)
+      dist.shutdown()
+    }
+    dist.processPartitions()
+
+    then:
+    dispatched.size() == 1
+    queues[1].size() == 1
+  }
 }